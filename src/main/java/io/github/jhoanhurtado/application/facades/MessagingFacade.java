@@ -1,7 +1,15 @@
 package io.github.jhoanhurtado.application.facades;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.github.jhoanhurtado.domain.campaigns.CampaignProgress;
+import io.github.jhoanhurtado.domain.campaigns.SmsCampaign;
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
 import io.github.jhoanhurtado.domain.interfaces.MessagingStrategy;
+import io.github.jhoanhurtado.domain.models.SendResult;
 
 /**
  * Fachada para el envío de mensajes mediante una estrategia de mensajería
@@ -40,7 +48,70 @@ public class MessagingFacade {
     public void send(String queueOrTopic, MessageModel message, int priority, int deliveryMode) {
         strategy.sendMessage(queueOrTopic, message, priority, deliveryMode);
     }
+
+    /**
+     * Envía un mensaje de forma asíncrona a una cola o un tópico. A diferencia
+     * de {@link #send(String, MessageModel, int, int)}, permite saber si el
+     * mensaje llegó al broker.
+     *
+     * @param queueOrTopic Nombre de la cola o tópico de destino.
+     * @param message      Mensaje a enviar.
+     * @param priority     Prioridad del mensaje.
+     * @param deliveryMode Modo de entrega del mensaje.
+     * @return Futuro que se completa cuando el broker confirma el mensaje y
+     *         falla si el mensaje no pudo entregarse.
+     */
+    public CompletableFuture<Void> sendAsync(String queueOrTopic, MessageModel message, int priority, int deliveryMode) {
+        return strategy.sendAsync(queueOrTopic, message, priority, deliveryMode);
+    }
+
+    /**
+     * Envía un lote de mensajes a una cola o un tópico pagando el costo de
+     * canal, serialización y confirmación una sola vez por lote.
+     *
+     * @param queueOrTopic Nombre de la cola o tópico de destino.
+     * @param messages     Mensajes a enviar.
+     * @param priority     Prioridad de los mensajes.
+     * @param deliveryMode Modo de entrega de los mensajes.
+     * @return Resultado de cada mensaje, en el orden del lote.
+     */
+    public List<SendResult> sendBatch(String queueOrTopic, List<MessageModel> messages, int priority, int deliveryMode) {
+        return strategy.sendBatch(queueOrTopic, messages, priority, deliveryMode);
+    }
+
+    /**
+     * Envía una campaña de SMS por lotes y espera a que termine.
+     *
+     * @param queueOrTopic Nombre de la cola o tópico de destino.
+     * @param campaign     Campaña a enviar.
+     * @param priority     Prioridad de los mensajes.
+     * @param deliveryMode Modo de entrega de los mensajes.
+     * @return Progreso final de la campaña.
+     * @throws IOException Si el archivo de destinatarios no se puede leer.
+     */
+    public CampaignProgress sendCampaign(String queueOrTopic, SmsCampaign campaign, int priority, int deliveryMode)
+            throws IOException {
+        return campaign.send(strategy, queueOrTopic, priority, deliveryMode);
+    }
+
     public void read(String queueOrTopic, MessageModel message) {
         strategy.readMessage(queueOrTopic, message);
     }
+
+    /**
+     * Espera a que se entreguen los mensajes enviados que aún estén en
+     * memoria.
+     */
+    public void flush() {
+        strategy.flush();
+    }
+
+    /**
+     * Entrega los mensajes pendientes y libera los recursos de la estrategia.
+     *
+     * @param timeout Tiempo máximo de espera.
+     */
+    public void close(Duration timeout) {
+        strategy.close(timeout);
+    }
 }
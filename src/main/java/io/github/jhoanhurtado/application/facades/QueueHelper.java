@@ -2,20 +2,23 @@ package io.github.jhoanhurtado.application.facades;
 
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.rabbitmq.client.Connection;
 
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
 import io.github.jhoanhurtado.domain.interfaces.MessagingStrategy;
+import io.github.jhoanhurtado.domain.strategies.GatedLogger;
 import io.github.jhoanhurtado.domain.strategies.KafkaStrategy;
 import io.github.jhoanhurtado.domain.strategies.LoggerFactory;
 import io.github.jhoanhurtado.domain.strategies.RabbitMQStrategy;
 import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.infrastructure.config.KafkaProducerSettings;
 import io.github.jhoanhurtado.infrastructure.config.MessagingConnection;
-import io.github.jhoanhurtado.interfaces.Logger;
 
 /**
  * Clase fachada que gestiona conexiones a diferentes brokers de mensajería,
@@ -25,7 +28,7 @@ public class QueueHelper {
 
     private final Map<String, MessagingStrategy> strategies; // Mapa de estrategias por broker
     private final Map<String, Connection> connections; // Mapa de conexiones a los brokers
-    Logger compositeLogger = new LoggerFactory().getCompositeLogger();
+    GatedLogger logger = new LoggerFactory().getGatedLogger();
 
     /**
      * Constructor de la clase QueueHelper. Inicializa las conexiones y
@@ -55,18 +58,31 @@ public class QueueHelper {
             strategies.put(brokerName, new RabbitMQStrategy(connection));
             
             // Log de inicio de conexión con hora y fecha
-            String logMessage = String.format("Iniciando conexión a RabbitMQ broker %s en host %s - Hora: %s", 
-                brokerName, host, getFormattedCurrentTime());
-            compositeLogger.log(logMessage, LogLevel.INFO);
+            logger.log(LogLevel.INFO, () -> String.format("Iniciando conexión a RabbitMQ broker %s en host %s - Hora: %s",
+                brokerName, host, getFormattedCurrentTime()));
         } catch (Exception e) {
             // Log en caso de error en la conexión
-            String logMessage = String.format("Error al establecer conexión a RabbitMQ broker %s. Error: %s - Hora: %s", 
+            logger.log(LogLevel.CRITICAL, "Error al establecer conexión a RabbitMQ broker %s. Error: %s - Hora: %s",
                 brokerName, e.getMessage(), getFormattedCurrentTime());
-            compositeLogger.log(logMessage, LogLevel.CRITICAL);
             throw e; // Propagar la excepción
         }
     }
 
+    /**
+     * Establece una conexión a un clúster de RabbitMQ. La conexión prueba los
+     * nodos en orden aleatorio y se recupera automáticamente si se pierde
+     * (ver {@link MessagingConnection}).
+     *
+     * @param brokerName Nombre del broker (por ejemplo, "rabbitmq1").
+     * @param addresses Direcciones {@code host[:puerto]} de los nodos.
+     * @param username Nombre de usuario para la autenticación.
+     * @param password Contraseña para la autenticación.
+     * @throws IllegalStateException Si ningún nodo aceptó la conexión.
+     */
+    public void withRabbitMQ(String brokerName, List<String> addresses, String username, String password) {
+        withRabbitMQ(brokerName, addresses == null ? null : String.join(",", addresses), username, password);
+    }
+
     /**
      * Método para enviar un mensaje a un broker utilizando la estrategia
      * configurada.
@@ -84,13 +100,74 @@ public class QueueHelper {
         helper.strategies.put(queue, new KafkaStrategy(broker));
         
         // Log de configuración de Kafka
-        String logMessage = String.format("Configurando conexión con Kafka broker %s para cola %s - Hora: %s", 
-            broker, queue, getFormattedCurrentTime());
-        helper.compositeLogger.log(logMessage, LogLevel.INFO);
+        helper.logger.log(LogLevel.INFO, () -> String.format("Configurando conexión con Kafka broker %s para cola %s - Hora: %s",
+            broker, queue, getFormattedCurrentTime()));
         
         return helper;
     }
 
+    /**
+     * Configura un productor de Kafka con una configuración tipada y lo
+     * registra con un nombre de broker.
+     *
+     * @param brokerName Nombre del broker (por ejemplo, "kafka1").
+     * @param broker Dirección de los brokers de Kafka.
+     * @param settings Configuración del productor, por ejemplo
+     * {@link KafkaProducerSettings#throughput()}.
+     */
+    public void withKafka(String brokerName, String broker, KafkaProducerSettings settings) {
+        strategies.put(brokerName, new KafkaStrategy(broker, settings));
+
+        logger.log(LogLevel.INFO, () -> String.format("Configurando conexión con Kafka broker %s en %s - Hora: %s",
+            brokerName, broker, getFormattedCurrentTime()));
+    }
+
+    /**
+     * Obtiene la estrategia de mensajería registrada para un broker.
+     *
+     * @param brokerName Nombre del broker.
+     * @return La estrategia del broker, o null si no existe.
+     */
+    public MessagingStrategy getStrategy(String brokerName) {
+        return strategies.get(brokerName);
+    }
+
+    /**
+     * Espera a que se entreguen los mensajes pendientes de un broker.
+     *
+     * @param brokerName Nombre del broker.
+     */
+    public void flush(String brokerName) {
+        MessagingStrategy strategy = strategies.get(brokerName);
+        if (strategy != null) {
+            strategy.flush();
+        }
+    }
+
+    /**
+     * Entrega los mensajes pendientes de un broker y libera su estrategia y su
+     * conexión, esperando como máximo el tiempo indicado.
+     *
+     * @param brokerName Nombre del broker.
+     * @param timeout Tiempo máximo de espera.
+     */
+    public void close(String brokerName, Duration timeout) {
+        MessagingStrategy strategy = strategies.remove(brokerName);
+        if (strategy != null) {
+            strategy.close(timeout);
+        }
+        Connection connection = connections.remove(brokerName);
+        try {
+            if (connection != null && connection.isOpen()) {
+                connection.close();
+            }
+            logger.log(LogLevel.INFO, () -> String.format("Desconectando broker %s - Hora: %s", brokerName, getFormattedCurrentTime()));
+        } catch (IOException e) {
+            logger.log(LogLevel.CRITICAL, "Error al desconectar broker %s. Error: %s - Hora: %s",
+                brokerName, e.getMessage(), getFormattedCurrentTime());
+        }
+    }
+
     /**
      * Método para cerrar la conexión de un broker.
      *
@@ -100,19 +177,21 @@ public class QueueHelper {
         try {
             Connection connection = connections.get(brokerName);
             if (connection != null && connection.isOpen()) {
+                // Liberar los canales reutilizables antes de cerrar la conexión
+                if (strategies.get(brokerName) instanceof RabbitMQStrategy rabbitMQStrategy) {
+                    rabbitMQStrategy.close();
+                }
                 connection.close();
                 connections.remove(brokerName);
                 strategies.remove(brokerName);
                 
                 // Log de desconexión
-                String logMessage = String.format("Desconectando broker %s - Hora: %s", brokerName, getFormattedCurrentTime());
-                compositeLogger.log(logMessage, LogLevel.INFO);
+                logger.log(LogLevel.INFO, () -> String.format("Desconectando broker %s - Hora: %s", brokerName, getFormattedCurrentTime()));
             }
         } catch (IOException e) {
             // Log en caso de error al desconectar
-            String logMessage = String.format("Error al desconectar broker %s. Error: %s - Hora: %s", 
+            logger.log(LogLevel.CRITICAL, "Error al desconectar broker %s. Error: %s - Hora: %s",
                 brokerName, e.getMessage(), getFormattedCurrentTime());
-            compositeLogger.log(logMessage, LogLevel.CRITICAL);
         }
     }
 
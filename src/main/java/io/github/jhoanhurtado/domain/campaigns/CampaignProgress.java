@@ -0,0 +1,173 @@
+package io.github.jhoanhurtado.domain.campaigns;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.jhoanhurtado.domain.models.SendResult;
+
+/**
+ * Progreso y métricas de una campaña en curso o terminada.
+ *
+ * <p>
+ * Los contadores se pueden leer desde otro hilo mientras la campaña se
+ * envía. De los mensajes fallidos solo se conservan los primeros
+ * {@value #MAX_FAILURE_SAMPLES}, para que la memoria no dependa del tamaño de
+ * la campaña.
+ * </p>
+ */
+public final class CampaignProgress {
+
+    /**
+     * Número máximo de fallos que se conservan como muestra.
+     */
+    public static final int MAX_FAILURE_SAMPLES = 100;
+
+    private final long totalBytes;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong endNanos = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final List<SendResult> failureSamples = Collections.synchronizedList(new ArrayList<>());
+
+    CampaignProgress(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    void rowRead(long position) {
+        rows.increment();
+        bytesRead.set(position);
+    }
+
+    void rowSkipped() {
+        skipped.increment();
+    }
+
+    void batchSent(List<SendResult> results, long[] rowNumbers) {
+        batches.increment();
+        for (SendResult result : results) {
+            if (result.isSuccess()) {
+                sent.increment();
+            } else {
+                failed.increment();
+                if (failureSamples.size() < MAX_FAILURE_SAMPLES) {
+                    failureSamples.add(SendResult.failure((int) rowNumbers[result.getIndex()], result.getMessage(),
+                            result.getError()));
+                }
+            }
+        }
+    }
+
+    void finish() {
+        endNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    /**
+     * Obtiene las filas de datos leídas del archivo.
+     *
+     * @return Filas leídas.
+     */
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * Obtiene las filas omitidas por no tener teléfono.
+     *
+     * @return Filas omitidas.
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Obtiene los mensajes confirmados por el broker.
+     *
+     * @return Mensajes enviados.
+     */
+    public long getSent() {
+        return sent.sum();
+    }
+
+    /**
+     * Obtiene los mensajes que no se pudieron enviar.
+     *
+     * @return Mensajes fallidos.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Obtiene los lotes enviados.
+     *
+     * @return Lotes enviados.
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Obtiene la fracción del archivo leída.
+     *
+     * @return Valor entre 0 y 1.
+     */
+    public double getFractionRead() {
+        return totalBytes == 0 ? 1.0 : Math.min(1.0, (double) bytesRead.get() / totalBytes);
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido desde el inicio de la campaña hasta
+     * ahora o hasta que terminó.
+     *
+     * @return Tiempo transcurrido.
+     */
+    public Duration getElapsed() {
+        long end = endNanos.get();
+        return Duration.ofNanos((end == 0 ? System.nanoTime() : end) - startNanos);
+    }
+
+    /**
+     * Obtiene el rendimiento medio de la campaña.
+     *
+     * @return Mensajes enviados por segundo.
+     */
+    public double getMessagesPerSecond() {
+        long nanos = getElapsed().toNanos();
+        return nanos == 0 ? 0 : getSent() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Indica si la campaña terminó.
+     *
+     * @return true si ya no se envían mensajes.
+     */
+    public boolean isFinished() {
+        return endNanos.get() != 0;
+    }
+
+    /**
+     * Obtiene los primeros mensajes fallidos. El índice de cada resultado es
+     * el número de fila de datos (desde 0) en el archivo.
+     *
+     * @return Muestra de fallos.
+     */
+    public List<SendResult> getFailureSamples() {
+        synchronized (failureSamples) {
+            return List.copyOf(failureSamples);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CampaignProgress{filas=%d, enviados=%d, fallidos=%d, omitidos=%d, leído=%.1f%%, %.0f msg/s}",
+                getRows(), getSent(), getFailed(), getSkipped(), getFractionRead() * 100, getMessagesPerSecond());
+    }
+}
@@ -0,0 +1,252 @@
+package io.github.jhoanhurtado.domain.campaigns;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lector secuencial de un archivo CSV de destinatarios, mapeado en memoria.
+ *
+ * <p>
+ * El archivo se mapea por ventanas de tamaño fijo que se recorren una sola
+ * vez, así que la memoria usada no depende del tamaño del archivo. La primera
+ * fila es el encabezado con los nombres de las columnas. Se aceptan campos
+ * entre comillas dobles (con {@code ""} para una comilla), finales de línea
+ * {@code \n} o {@code \r\n}, un BOM UTF-8 inicial, y se omiten las filas
+ * vacías. El contenido se lee como UTF-8.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * try (CsvRecipientReader reader = new CsvRecipientReader(Path.of("campaña.csv"))) {
+ *     String[] row;
+ *     while ((row = reader.next()) != null) {
+ *         ...
+ *     }
+ * }
+ * }
+ * </pre>
+ */
+public final class CsvRecipientReader implements Closeable {
+
+    /**
+     * Tamaño por defecto de cada ventana mapeada.
+     */
+    public static final int DEFAULT_WINDOW_BYTES = 32 * 1024 * 1024;
+
+    private static final int EOF = -1;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowBytes;
+    private final char delimiter;
+    private final List<String> header;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long rowNumber;
+    private byte[] field = new byte[256];
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Abre un archivo separado por comas con ventanas del tamaño por defecto.
+     *
+     * @param file Archivo CSV.
+     * @throws IOException Si el archivo no se puede leer o no tiene
+     * encabezado.
+     */
+    public CsvRecipientReader(Path file) throws IOException {
+        this(file, ',', DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Abre un archivo CSV.
+     *
+     * @param file Archivo CSV.
+     * @param delimiter Separador de campos.
+     * @param windowBytes Tamaño de cada ventana mapeada.
+     * @throws IOException Si el archivo no se puede leer o no tiene
+     * encabezado.
+     */
+    public CsvRecipientReader(Path file, char delimiter, int windowBytes) throws IOException {
+        if (windowBytes <= 0) {
+            throw new IllegalArgumentException("El tamaño de la ventana debe ser mayor que cero.");
+        }
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Separador de campos inválido: " + delimiter);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            this.windowBytes = windowBytes;
+            this.delimiter = delimiter;
+            skipByteOrderMark();
+            String[] names = readRow();
+            if (names == null) {
+                throw new IOException("El archivo CSV no tiene encabezado: " + file);
+            }
+            for (int i = 0; i < names.length; i++) {
+                names[i] = names[i].trim();
+            }
+            this.header = List.of(names);
+            this.rowNumber = 0;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene los nombres de las columnas.
+     *
+     * @return Columnas del encabezado.
+     */
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Obtiene el número de filas de datos leídas.
+     *
+     * @return Filas leídas, sin contar el encabezado.
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Obtiene la posición de lectura dentro del archivo.
+     *
+     * @return Bytes leídos.
+     */
+    public long getPosition() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    /**
+     * Obtiene el tamaño del archivo.
+     *
+     * @return Tamaño en bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Lee la siguiente fila de datos.
+     *
+     * @return Valores de la fila, o null al final del archivo.
+     * @throws IOException Si el archivo no se puede leer o una comilla no se
+     * cierra.
+     */
+    public String[] next() throws IOException {
+        String[] row = readRow();
+        if (row != null) {
+            rowNumber++;
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private String[] readRow() throws IOException {
+        int c = read();
+        // Filas vacías
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        values.clear();
+        while (true) {
+            int length = 0;
+            if (c == '"') {
+                while (true) {
+                    c = read();
+                    if (c == EOF) {
+                        throw new IOException("Comilla sin cerrar en la fila " + (rowNumber + 1) + " del CSV.");
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    length = append(length, c);
+                }
+                // Lo que siga a la comilla de cierre hasta el separador se
+                // conserva
+                while (c != delimiter && c != '\n' && c != '\r' && c != EOF) {
+                    length = append(length, c);
+                    c = read();
+                }
+            } else {
+                while (c != delimiter && c != '\n' && c != '\r' && c != EOF) {
+                    length = append(length, c);
+                    c = read();
+                }
+            }
+            values.add(new String(field, 0, length, StandardCharsets.UTF_8));
+            if (c == delimiter) {
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                unreadIfNot('\n');
+            }
+            return values.toArray(new String[0]);
+        }
+    }
+
+    private int append(int length, int c) {
+        if (length == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[length] = (byte) c;
+        return length + 1;
+    }
+
+    private int read() throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            long next = window == null ? windowStart : windowStart + window.limit();
+            if (next >= size) {
+                return EOF;
+            }
+            windowStart = next;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowBytes, size - next));
+        }
+        return window.get() & 0xFF;
+    }
+
+    /**
+     * Consume el siguiente byte solo si es el indicado.
+     */
+    private void unreadIfNot(int expected) throws IOException {
+        int c = read();
+        if (c != expected && c != EOF) {
+            window.position(window.position() - 1);
+        }
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (size >= 3) {
+            MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+            if ((head.get(0) & 0xFF) == 0xEF && (head.get(1) & 0xFF) == 0xBB && (head.get(2) & 0xFF) == 0xBF) {
+                windowStart = 3;
+            }
+        }
+    }
+}
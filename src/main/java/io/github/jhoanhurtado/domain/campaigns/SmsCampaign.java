@@ -0,0 +1,298 @@
+package io.github.jhoanhurtado.domain.campaigns;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.interfaces.MessagingStrategy;
+import io.github.jhoanhurtado.domain.models.SendResult;
+import io.github.jhoanhurtado.domain.models.SmsMessage;
+import io.github.jhoanhurtado.domain.templates.TextTemplate;
+
+/**
+ * Campaña de SMS a los destinatarios de un archivo CSV.
+ *
+ * <p>
+ * Los destinatarios se leen en streaming con {@link CsvRecipientReader}: cada
+ * fila tiene el teléfono y las variables de la plantilla. La plantilla se
+ * analiza una sola vez y se comparte entre todas las filas, y los mensajes se
+ * publican por lotes con
+ * {@link MessagingStrategy#sendBatch(String, List, int, int)}. Solo hay en
+ * memoria un lote a la vez, así que la memoria usada no depende del tamaño de
+ * la campaña. Las filas sin teléfono se omiten.
+ * </p>
+ *
+ * <p>
+ * {@link #getProgress()} informa el avance y el rendimiento mientras la
+ * campaña se envía, y el mismo objeto se entrega a
+ * {@link Builder#onProgress(Consumer)} después de cada lote.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * SmsCampaign campaign = new SmsCampaign.Builder()
+ *         .recipients(Path.of("campaña.csv"))
+ *         .phoneColumn("telefono")
+ *         .template("Hola {nombre}, su código es {codigo}.")
+ *         .batchSize(1000)
+ *         .onProgress(progress -> System.out.println(progress))
+ *         .build();
+ * CampaignProgress result = campaign.send(strategy, "sms", 1, 2);
+ * }
+ * </pre>
+ */
+public final class SmsCampaign {
+
+    /**
+     * Tamaño por defecto de los lotes.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final Path recipients;
+    private final String phoneColumn;
+    private final TextTemplate template;
+    private final int batchSize;
+    private final char delimiter;
+    private final int windowBytes;
+    private final Consumer<CampaignProgress> progressListener;
+    private volatile CampaignProgress progress;
+
+    private SmsCampaign(Builder builder) {
+        this.recipients = builder.recipients;
+        this.phoneColumn = builder.phoneColumn;
+        this.template = builder.template;
+        this.batchSize = builder.batchSize;
+        this.delimiter = builder.delimiter;
+        this.windowBytes = builder.windowBytes;
+        this.progressListener = builder.progressListener;
+    }
+
+    /**
+     * Clase Builder para construir instancias de SmsCampaign.
+     */
+    public static class Builder {
+
+        /**
+         * Archivo CSV con los destinatarios. Tipo: Path
+         */
+        private Path recipients;
+
+        /**
+         * Columna con el número de teléfono. Tipo: String
+         */
+        private String phoneColumn = "phone";
+
+        /**
+         * Plantilla del texto. Tipo: TextTemplate
+         */
+        private TextTemplate template;
+
+        /**
+         * Mensajes por lote. Tipo: int
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Separador de campos del CSV. Tipo: char
+         */
+        private char delimiter = ',';
+
+        /**
+         * Tamaño de las ventanas mapeadas del CSV. Tipo: int
+         */
+        private int windowBytes = CsvRecipientReader.DEFAULT_WINDOW_BYTES;
+
+        /**
+         * Se llama después de cada lote. Tipo: Consumer
+         */
+        private Consumer<CampaignProgress> progressListener;
+
+        /**
+         * Establece el archivo CSV de destinatarios. La primera fila es el
+         * encabezado.
+         *
+         * @param recipients Ruta del archivo.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder recipients(Path recipients) {
+            this.recipients = recipients;
+            return this;
+        }
+
+        /**
+         * Establece la columna con el número de teléfono (por defecto
+         * {@code phone}).
+         *
+         * @param phoneColumn Nombre de la columna.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder phoneColumn(String phoneColumn) {
+            this.phoneColumn = phoneColumn;
+            return this;
+        }
+
+        /**
+         * Establece la plantilla del texto, con variables {@code {columna}}.
+         *
+         * @param template Texto de la plantilla.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         * @throws IllegalArgumentException Si la plantilla no es válida.
+         */
+        public Builder template(String template) {
+            this.template = TextTemplate.compile(template);
+            return this;
+        }
+
+        /**
+         * Establece una plantilla ya analizada, que se puede compartir entre
+         * campañas.
+         *
+         * @param template Plantilla del texto.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder template(TextTemplate template) {
+            this.template = template;
+            return this;
+        }
+
+        /**
+         * Establece el número de mensajes de cada lote.
+         *
+         * @param batchSize Mensajes por lote.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Establece el separador de campos del CSV (por defecto la coma).
+         *
+         * @param delimiter Separador de campos.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Establece el tamaño de las ventanas con que se mapea el CSV.
+         *
+         * @param windowBytes Tamaño en bytes.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder windowBytes(int windowBytes) {
+            this.windowBytes = windowBytes;
+            return this;
+        }
+
+        /**
+         * Establece una función que recibe el progreso después de cada lote.
+         *
+         * @param progressListener Función que recibe el progreso.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder onProgress(Consumer<CampaignProgress> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Construye la campaña.
+         *
+         * @return Nueva instancia de SmsCampaign.
+         * @throws IllegalArgumentException Si falta el archivo, la columna
+         * del teléfono o la plantilla, o el tamaño del lote no es positivo.
+         */
+        public SmsCampaign build() {
+            if (recipients == null) {
+                throw new IllegalArgumentException("El archivo de destinatarios no puede ser nulo.");
+            }
+            if (phoneColumn == null || phoneColumn.isBlank()) {
+                throw new IllegalArgumentException("La columna del teléfono no puede estar vacía.");
+            }
+            if (template == null) {
+                throw new IllegalArgumentException("La plantilla no puede ser nula.");
+            }
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("El tamaño del lote debe ser mayor que cero.");
+            }
+            return new SmsCampaign(this);
+        }
+    }
+
+    /**
+     * Envía la campaña y espera a que termine.
+     *
+     * @param strategy Estrategia con la que se publican los mensajes.
+     * @param queue Cola o tópico de destino.
+     * @param priority Prioridad de los mensajes.
+     * @param deliveryMode Modo de entrega de los mensajes.
+     * @return Progreso final de la campaña.
+     * @throws IOException Si el archivo no se puede leer.
+     * @throws IllegalArgumentException Si el archivo no tiene la columna del
+     * teléfono o alguna variable de la plantilla.
+     */
+    public CampaignProgress send(MessagingStrategy strategy, String queue, int priority, int deliveryMode)
+            throws IOException {
+        try (CsvRecipientReader reader = new CsvRecipientReader(recipients, delimiter, windowBytes)) {
+            int phone = reader.getHeader().indexOf(phoneColumn);
+            if (phone < 0) {
+                throw new IllegalArgumentException("El archivo no tiene la columna '" + phoneColumn + "': "
+                        + reader.getHeader() + ".");
+            }
+            TextTemplate.Binding binding = template.bind(reader.getHeader());
+            CampaignProgress current = new CampaignProgress(reader.getSize());
+            progress = current;
+            List<MessageModel> batch = new ArrayList<>(batchSize);
+            long[] rowNumbers = new long[batchSize];
+            try {
+                String[] row;
+                while ((row = reader.next()) != null) {
+                    current.rowRead(reader.getPosition());
+                    String number = phone < row.length ? row[phone].trim() : "";
+                    if (number.isEmpty()) {
+                        current.rowSkipped();
+                        continue;
+                    }
+                    rowNumbers[batch.size()] = reader.getRowNumber() - 1;
+                    batch.add(new SmsMessage(number, binding.render(row)));
+                    if (batch.size() == batchSize) {
+                        publish(strategy, queue, batch, rowNumbers, priority, deliveryMode, current);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    publish(strategy, queue, batch, rowNumbers, priority, deliveryMode, current);
+                }
+            } finally {
+                current.finish();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Obtiene el progreso del envío en curso o del último envío.
+     *
+     * @return Progreso, o null si la campaña no se ha enviado.
+     */
+    public CampaignProgress getProgress() {
+        return progress;
+    }
+
+    private void publish(MessagingStrategy strategy, String queue, List<MessageModel> batch, long[] rowNumbers,
+            int priority, int deliveryMode, CampaignProgress current) {
+        List<SendResult> results = strategy.sendBatch(queue, batch, priority, deliveryMode);
+        current.batchSent(results, rowNumbers);
+        batch.clear();
+        if (progressListener != null) {
+            progressListener.accept(current);
+        }
+    }
+}
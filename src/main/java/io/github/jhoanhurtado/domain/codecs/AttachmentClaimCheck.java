@@ -0,0 +1,88 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.io.IOException;
+
+import io.github.jhoanhurtado.domain.interfaces.BlobStore;
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.AttachmentContent;
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+
+/**
+ * Publica por referencia los adjuntos grandes de los correos (patrón
+ * claim-check).
+ *
+ * <p>
+ * Si el adjunto en Base64 de un {@link EmailMessage} alcanza el umbral, su
+ * contenido se guarda en el {@link BlobStore} y el mensaje publicado solo
+ * lleva la referencia. Como la referencia es el hash del contenido, el mismo
+ * adjunto enviado a muchos destinatarios se guarda una sola vez. Los demás
+ * mensajes no se modifican.
+ * </p>
+ */
+public final class AttachmentClaimCheck {
+
+    private final BlobStore blobStore;
+    private final int thresholdBytes;
+
+    /**
+     * Crea el claim-check.
+     *
+     * @param blobStore Almacén de los adjuntos.
+     * @param thresholdBytes Tamaño mínimo, en bytes del Base64, de los
+     * adjuntos que se publican por referencia.
+     */
+    public AttachmentClaimCheck(BlobStore blobStore, int thresholdBytes) {
+        if (blobStore == null) {
+            throw new IllegalArgumentException("El almacén de adjuntos no puede ser nulo.");
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("El umbral de los adjuntos no puede ser negativo.");
+        }
+        this.blobStore = blobStore;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    /**
+     * Sustituye el adjunto del mensaje por su referencia si alcanza el umbral.
+     *
+     * @param message Mensaje a publicar.
+     * @return El mensaje con el adjunto por referencia, o el mismo mensaje si
+     * no corresponde.
+     * @throws IOException Si el adjunto no se puede guardar.
+     * @throws IllegalArgumentException Si el adjunto no es Base64 válido.
+     */
+    public MessageModel apply(MessageModel message) throws IOException {
+        if (!(message instanceof EmailMessage)) {
+            return message;
+        }
+        EmailMessage email = (EmailMessage) message;
+        if (email.getAttachmentReference() != null) {
+            return email;
+        }
+        AttachmentContent attachment = email.getAttachmentContent();
+        if (attachment == null || attachment.base64Length() < thresholdBytes) {
+            return email;
+        }
+        String reference = blobStore.put(attachment.asByteBuffer());
+        return email.withAttachmentReference(reference);
+    }
+
+    /**
+     * Obtiene el almacén de los adjuntos.
+     *
+     * @return Almacén de los adjuntos.
+     */
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+
+    /**
+     * Obtiene el tamaño mínimo de los adjuntos que se publican por
+     * referencia.
+     *
+     * @return Umbral en bytes.
+     */
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+}
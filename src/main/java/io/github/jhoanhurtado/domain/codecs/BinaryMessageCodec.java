@@ -0,0 +1,408 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.jhoanhurtado.domain.interfaces.BlobStore;
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.AttachmentContent;
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.domain.models.SmsMessage;
+import io.github.jhoanhurtado.domain.templates.TemplateRegistry;
+
+/**
+ * Códec binario compacto para {@link EmailMessage} y {@link SmsMessage}.
+ *
+ * <p>
+ * Cada campo se escribe como su longitud en bytes (entero variable) seguida
+ * de sus bytes UTF-8, sin escapar ni citar nada, por lo que codificar y
+ * decodificar no recorre el texto carácter a carácter y los cuerpos con
+ * comillas, saltos de línea o HTML no crecen. La longitud se guarda sumando
+ * uno, de modo que 0 representa un campo nulo.
+ * </p>
+ *
+ * <p>Formato:</p>
+ * <pre>
+ * 'Q' versión tipo remitente campos...
+ * correo: senderEmail recipients ccRecipients bccRecipients subject body isHtml attachmentName attachmentBase64 attachmentRef templateId templateVariables
+ * SMS:    phoneNumber text
+ * </pre>
+ *
+ * <p>
+ * Las listas se escriben como su tamaño (también sumando uno) seguido de sus
+ * elementos, y las variables de la plantilla como su número (sumando uno)
+ * seguido de pares nombre y valor. El mensaje decodificado queda disponible
+ * en {@link MessageModelRequest#getPayload()}. La versión 1 del formato no
+ * tenía {@code attachmentRef} y la 2 no tenía la plantilla; ambas se siguen
+ * aceptando al decodificar.
+ * </p>
+ *
+ * <p>
+ * Si los correos llevan el adjunto por referencia, el consumidor registra
+ * {@link #resolvingWith(BlobStore)} para que los mensajes decodificados lean
+ * el adjunto del almacén. Del mismo modo, con {@link #withTemplates(TemplateRegistry)}
+ * los correos publicados por plantilla se renderizan con las plantillas del
+ * consumidor.
+ * </p>
+ */
+public final class BinaryMessageCodec implements MessageCodec {
+
+    /**
+     * Tipo de contenido del formato binario.
+     */
+    public static final String CONTENT_TYPE = "application/vnd.queue-helper.binary";
+
+    /**
+     * Instancia compartida.
+     */
+    public static final BinaryMessageCodec INSTANCE = new BinaryMessageCodec(null, null);
+
+    private static final byte MAGIC = 'Q';
+    private static final byte VERSION = 3;
+    private static final byte VERSION_WITHOUT_TEMPLATE = 2;
+    private static final byte VERSION_WITHOUT_REFERENCE = 1;
+    private static final byte EMAIL = 1;
+    private static final byte SMS = 2;
+    private static final int MAX_ESTIMATE = Integer.MAX_VALUE - 1024;
+
+    private final BlobStore blobStore;
+    private final TemplateRegistry templates;
+
+    private BinaryMessageCodec(BlobStore blobStore, TemplateRegistry templates) {
+        this.blobStore = blobStore;
+        this.templates = templates;
+    }
+
+    /**
+     * Crea un códec que asocia los correos decodificados al almacén indicado,
+     * de modo que sus adjuntos por referencia se lean de él al pedirlos.
+     *
+     * @param blobStore Almacén de los adjuntos.
+     * @return Códec con el mismo formato.
+     */
+    public static BinaryMessageCodec resolvingWith(BlobStore blobStore) {
+        if (blobStore == null) {
+            throw new IllegalArgumentException("El almacén de adjuntos no puede ser nulo.");
+        }
+        return new BinaryMessageCodec(blobStore, null);
+    }
+
+    /**
+     * Crea un códec que asocia los correos decodificados al registro de
+     * plantillas indicado, de modo que los publicados por plantilla se
+     * rendericen al pedir el asunto o el cuerpo.
+     *
+     * @param templates Registro de plantillas.
+     * @return Códec con el mismo formato y el mismo almacén de adjuntos.
+     */
+    public BinaryMessageCodec withTemplates(TemplateRegistry templates) {
+        if (templates == null) {
+            throw new IllegalArgumentException("El registro de plantillas no puede ser nulo.");
+        }
+        return new BinaryMessageCodec(blobStore, templates);
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return true;
+    }
+
+    @Override
+    public boolean supports(MessageModel message) {
+        return message instanceof EmailMessage || message instanceof SmsMessage;
+    }
+
+    @Override
+    public byte[] encode(MessageModel message) {
+        if (message instanceof EmailMessage) {
+            EmailMessage email = (EmailMessage) message;
+            // Un adjunto por referencia no se vuelve a incrustar
+            AttachmentContent attachment = email.getAttachmentReference() == null ? email.getAttachmentContent() : null;
+            int attachmentSize = attachment == null ? 0 : (int) Math.min(attachment.base64Length(), MAX_ESTIMATE);
+            // Un correo por plantilla lleva el id y las variables, no el texto
+            boolean byTemplate = email.getTemplateId() != null;
+            String subject = byTemplate ? null : email.getSubject();
+            String body = byTemplate ? null : email.getBody();
+            Writer writer = new Writer(EMAIL, attachmentSize + estimate(email.getDestination(), subject, body,
+                    email.getAttachmentName(), email.getAttachmentReference(), email.getTemplateId())
+                    + estimate(email.getTemplateVariables()));
+            writer.writeString(email.getDestination());
+            writer.writeList(email.getRecipients());
+            writer.writeList(email.getCcRecipients());
+            writer.writeList(email.getBccRecipients());
+            writer.writeString(subject);
+            writer.writeString(body);
+            writer.writeByte(email.isHtml() ? 1 : 0);
+            writer.writeString(email.getAttachmentName());
+            writer.writeAttachment(attachment);
+            writer.writeString(email.getAttachmentReference());
+            writer.writeString(email.getTemplateId());
+            writer.writeMap(email.getTemplateVariables());
+            return writer.toByteArray();
+        }
+        if (message instanceof SmsMessage) {
+            Writer writer = new Writer(SMS, estimate(message.getDestination(), message.getContent()));
+            writer.writeString(message.getDestination());
+            writer.writeString(message.getContent());
+            return writer.toByteArray();
+        }
+        throw new IllegalArgumentException("El códec binario no admite mensajes de tipo "
+                + (message == null ? "null" : message.getClass().getName()) + ".");
+    }
+
+    @Override
+    public MessageModelRequest decode(byte[] body) {
+        Reader reader = new Reader(body);
+        try {
+            if (reader.readByte() != MAGIC) {
+                throw new IllegalArgumentException("Mensaje binario inválido: encabezado desconocido.");
+            }
+            byte version = reader.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_TEMPLATE && version != VERSION_WITHOUT_REFERENCE) {
+                throw new IllegalArgumentException("Mensaje binario inválido: versión " + version + " desconocida.");
+            }
+            byte type = reader.readByte();
+            String sender = reader.readString();
+            MessageModel payload;
+            if (type == EMAIL) {
+                EmailMessage email = new EmailMessage(reader.readString(), reader.readList(), reader.readList(),
+                        reader.readList(), reader.readString(), reader.readString(), reader.readByte() != 0,
+                        reader.readString(), reader.readString(),
+                        version >= VERSION_WITHOUT_TEMPLATE ? reader.readString() : null,
+                        version == VERSION ? reader.readString() : null,
+                        version == VERSION ? reader.readMap() : null);
+                if (blobStore != null) {
+                    email = email.withBlobStore(blobStore);
+                }
+                payload = templates == null ? email : email.withTemplates(templates);
+            } else if (type == SMS) {
+                payload = new SmsMessage(reader.readString(), reader.readString());
+            } else {
+                throw new IllegalArgumentException("Mensaje binario inválido: tipo " + type + " desconocido.");
+            }
+            return MessageModelRequest.of(payload, sender);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Mensaje binario inválido: datos incompletos.", e);
+        }
+    }
+
+    private static int estimate(String... fields) {
+        int size = 64;
+        for (String field : fields) {
+            if (field != null) {
+                size += field.length() + 5;
+            }
+        }
+        return size;
+    }
+
+    private static int estimate(Map<String, String> values) {
+        int size = 0;
+        if (values != null) {
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                size += value.getKey().length() + value.getValue().length() + 10;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Búfer de escritura que crece según se necesita.
+     */
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(byte type, int initialSize) {
+            buffer = new byte[initialSize];
+            writeByte(MAGIC);
+            writeByte(VERSION);
+            writeByte(type);
+            writeString(EnvelopeEncoder.DEFAULT_SENDER);
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * Escribe el adjunto como una cadena, codificándolo en Base64
+         * directamente en el búfer.
+         */
+        void writeAttachment(AttachmentContent attachment) {
+            if (attachment == null) {
+                writeVarInt(0);
+                return;
+            }
+            long length = attachment.base64Length();
+            if (length >= MAX_ESTIMATE) {
+                throw new IllegalArgumentException("El adjunto es demasiado grande para el códec binario.");
+            }
+            writeVarInt((int) length + 1);
+            ensure((int) length);
+            int start = position;
+            try {
+                attachment.writeBase64(new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                        ensure(1);
+                        buffer[position++] = (byte) b;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        ensure(len);
+                        System.arraycopy(b, off, buffer, position, len);
+                        position += len;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el adjunto.", e);
+            }
+            if (position - start != length) {
+                throw new IllegalStateException("El adjunto cambió de tamaño mientras se codificaba.");
+            }
+        }
+
+        void writeList(List<String> values) {
+            if (values == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(values.size() + 1);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeMap(Map<String, String> values) {
+            if (values == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(values.size() + 1);
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                writeString(value.getKey());
+                writeString(value.getValue());
+            }
+        }
+
+        byte[] toByteArray() {
+            return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    /**
+     * Lector secuencial de los campos de un mensaje.
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            return data[position++];
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte next = readByte();
+                value |= (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Mensaje binario inválido: longitud mal formada.");
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Mensaje binario inválido: datos incompletos.");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        List<String> readList() {
+            int size = readVarInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            if (size > data.length - position) {
+                throw new IllegalArgumentException("Mensaje binario inválido: datos incompletos.");
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        Map<String, String> readMap() {
+            int size = readVarInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            if (size > data.length - position) {
+                throw new IllegalArgumentException("Mensaje binario inválido: datos incompletos.");
+            }
+            Map<String, String> values = new LinkedHashMap<>(Math.max(4, size * 2));
+            for (int i = 0; i < size; i++) {
+                values.put(readString(), readString());
+            }
+            return values;
+        }
+    }
+}
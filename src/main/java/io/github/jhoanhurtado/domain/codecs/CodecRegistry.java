@@ -0,0 +1,111 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registro inmutable de códecs por tipo de contenido.
+ *
+ * <p>
+ * {@link #defaults()} contiene el sobre JSON, el texto plano y el formato
+ * binario; {@link #with(MessageCodec)} crea un registro con un códec más (o
+ * que reemplaza al del mismo tipo de contenido). Los parámetros del tipo de
+ * contenido, como {@code ; charset=utf-8}, y las mayúsculas se ignoran al
+ * buscar. Los mensajes sin tipo de contenido o con un tipo no registrado
+ * (por ejemplo {@code application/octet-stream} o {@code text/json} de
+ * productores anteriores) se leen como sobre JSON.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * CodecRegistry codecs = CodecRegistry.defaults().with(new MiCodec());
+ * MessageModelRequest message = codecs.forContentType(properties.getContentType()).decode(body);
+ * }
+ * </pre>
+ */
+public final class CodecRegistry {
+
+    private static final CodecRegistry DEFAULTS = new CodecRegistry(Collections.emptyMap(),
+            JsonMessageCodec.of(EnvelopeEncoder.Format.EMBEDDED_JSON))
+            .with(TextMessageCodec.INSTANCE)
+            .with(BinaryMessageCodec.INSTANCE);
+
+    private final Map<String, MessageCodec> codecs;
+    private final MessageCodec fallback;
+
+    private CodecRegistry(Map<String, MessageCodec> codecs, MessageCodec fallback) {
+        Map<String, MessageCodec> copy = new HashMap<>(codecs);
+        copy.putIfAbsent(normalize(fallback.getContentType()), fallback);
+        this.codecs = Collections.unmodifiableMap(copy);
+        this.fallback = fallback;
+    }
+
+    /**
+     * Registro con los códecs incluidos. El sobre JSON se usa para los
+     * mensajes sin tipo de contenido o con un tipo no registrado.
+     *
+     * @return Registro compartido.
+     */
+    public static CodecRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Crea un registro con un códec más.
+     *
+     * @param codec Códec a registrar; reemplaza al del mismo tipo de
+     * contenido.
+     * @return Nuevo registro.
+     */
+    public CodecRegistry with(MessageCodec codec) {
+        if (codec == null || codec.getContentType() == null) {
+            throw new IllegalArgumentException("El códec y su tipo de contenido no pueden ser nulos.");
+        }
+        Map<String, MessageCodec> next = new HashMap<>(codecs);
+        next.put(normalize(codec.getContentType()), codec);
+        return new CodecRegistry(next, fallback);
+    }
+
+    /**
+     * Busca el códec de un tipo de contenido.
+     *
+     * @param contentType Tipo de contenido recibido.
+     * @return Códec registrado, o null si no hay ninguno.
+     */
+    public MessageCodec find(String contentType) {
+        return contentType == null ? null : codecs.get(normalize(contentType));
+    }
+
+    /**
+     * Obtiene el códec con el que se decodifica un mensaje.
+     *
+     * @param contentType Tipo de contenido recibido; si es nulo, vacío o no
+     * está registrado se usa el sobre JSON, el formato de los mensajes
+     * publicados antes de que existieran los códecs.
+     * @return Códec a usar.
+     */
+    public MessageCodec forContentType(String contentType) {
+        MessageCodec codec = find(contentType);
+        return codec != null ? codec : fallback;
+    }
+
+    /**
+     * Indica si un tipo de contenido no está registrado y se decodificaría
+     * con el sobre JSON por omisión.
+     *
+     * @param contentType Tipo de contenido recibido.
+     * @return true si el tipo no es vacío y no tiene un códec registrado.
+     */
+    public boolean isUnknown(String contentType) {
+        return contentType != null && !contentType.isBlank() && find(contentType) == null;
+    }
+
+    private static String normalize(String contentType) {
+        int parameters = contentType.indexOf(';');
+        String type = parameters < 0 ? contentType : contentType.substring(0, parameters);
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas acumuladas de un {@link PayloadCompressor}.
+ *
+ * <p>
+ * Los tiempos son de CPU del hilo que comprime o descomprime cuando la JVM
+ * lo permite (los hilos virtuales no lo informan) y, si no, tiempo
+ * transcurrido. Los contadores se actualizan sin bloqueo y se pueden leer en
+ * cualquier momento.
+ * </p>
+ */
+public final class CompressionMetrics {
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressNanos = new LongAdder();
+    private final LongAdder decompressed = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    CompressionMetrics() {
+    }
+
+    void recordCompression(int original, int result, long nanos) {
+        compressed.increment();
+        originalBytes.add(original);
+        compressedBytes.add(result);
+        compressNanos.add(nanos);
+    }
+
+    void recordSkipped(long nanos) {
+        skipped.increment();
+        compressNanos.add(nanos);
+    }
+
+    void recordDecompression(long nanos) {
+        decompressed.increment();
+        decompressNanos.add(nanos);
+    }
+
+    /**
+     * Obtiene el número de mensajes que se enviaron comprimidos.
+     *
+     * @return Mensajes comprimidos.
+     */
+    public long getCompressedCount() {
+        return compressed.sum();
+    }
+
+    /**
+     * Obtiene el número de mensajes que superaban el umbral pero se enviaron
+     * sin comprimir porque la compresión no reducía su tamaño.
+     *
+     * @return Mensajes no comprimidos por falta de ganancia.
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * Obtiene los bytes originales de los mensajes comprimidos.
+     *
+     * @return Bytes antes de comprimir.
+     */
+    public long getOriginalBytes() {
+        return originalBytes.sum();
+    }
+
+    /**
+     * Obtiene los bytes enviados de los mensajes comprimidos.
+     *
+     * @return Bytes después de comprimir.
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * Obtiene la relación de compresión de los mensajes comprimidos.
+     *
+     * @return Bytes originales entre bytes comprimidos (por ejemplo, 4.0
+     * indica que los mensajes ocupan la cuarta parte); 1.0 si aún no se
+     * comprimió ninguno.
+     */
+    public double getCompressionRatio() {
+        long result = compressedBytes.sum();
+        return result == 0 ? 1.0 : (double) originalBytes.sum() / result;
+    }
+
+    /**
+     * Obtiene el tiempo dedicado a comprimir, incluidos los intentos sin
+     * ganancia.
+     *
+     * @return Tiempo en nanosegundos.
+     */
+    public long getCompressNanos() {
+        return compressNanos.sum();
+    }
+
+    /**
+     * Obtiene el número de mensajes descomprimidos.
+     *
+     * @return Mensajes descomprimidos.
+     */
+    public long getDecompressedCount() {
+        return decompressed.sum();
+    }
+
+    /**
+     * Obtiene el tiempo dedicado a descomprimir.
+     *
+     * @return Tiempo en nanosegundos.
+     */
+    public long getDecompressNanos() {
+        return decompressNanos.sum();
+    }
+}
@@ -0,0 +1,228 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+
+/**
+ * Codificador del sobre {@code {content, sender}} con el que se publican los
+ * mensajes.
+ *
+ * <p>
+ * Escribe el sobre en una sola pasada directamente a bytes UTF-8, usando un
+ * {@link JsonFactory} compartido (seguro entre hilos) y un búfer reutilizable
+ * por hilo, sin construir mapas intermedios ni la cadena JSON completa.
+ * </p>
+ *
+ * <p>
+ * Con {@link Format#EMBEDDED_JSON} el JSON del mensaje se incrusta como objeto
+ * dentro de {@code content}, sin volver a escaparlo. {@link Format#LEGACY_STRING}
+ * conserva el formato anterior, en el que {@code content} es el JSON del
+ * mensaje como texto escapado, para consumidores que aún no lo soportan. Ambos
+ * formatos se pueden leer con
+ * {@link io.github.jhoanhurtado.domain.models.MessageModelRequest#fromJson(String)}.
+ * </p>
+ *
+ * <p>
+ * En el formato incrustado el sobre de un {@link EmailMessage} que conserva
+ * su JSON ({@link EmailMessage#retainsJson()}) se arma en un arreglo del
+ * tamaño exacto a partir de {@link EmailMessage#toJsonBytes()}, que el mensaje
+ * calcula una sola vez. Los demás (adjuntos en archivo o de más de 1 MiB) se
+ * escriben con {@link EmailMessage#writeJson(JsonGenerator)}, de modo que sus
+ * adjuntos se codifican en Base64 directamente en el búfer del sobre, sin una
+ * copia intermedia que se descartaría. Ese búfer no es el del hilo: se crea
+ * con el tamaño estimado del sobre ({@link EmailMessage#estimateJsonLength()}),
+ * así que no crece por duplicación y la única copia es el arreglo final.
+ * </p>
+ */
+public final class EnvelopeEncoder {
+
+    /**
+     * Formato del campo {@code content} del sobre.
+     */
+    public enum Format {
+        /**
+         * El JSON del mensaje se incrusta como objeto.
+         */
+        EMBEDDED_JSON,
+        /**
+         * El JSON del mensaje se envía como texto escapado (formato anterior).
+         */
+        LEGACY_STRING
+    }
+
+    /**
+     * Remitente que se escribe en el sobre de los mensajes publicados.
+     */
+    public static final String DEFAULT_SENDER = "application";
+
+    /**
+     * Tamaño inicial del búfer por hilo.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Tamaño máximo de búfer que se conserva entre usos; los búferes que
+     * crecen más allá (por ejemplo, por adjuntos grandes) se descartan.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Bytes del sobre que rodean al JSON del mensaje, sin el remitente.
+     */
+    private static final int ENVELOPE_OVERHEAD = 32;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFERS =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+
+    private static final byte[] CONTENT_PREFIX = "{\"content\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SENDER_PREFIX = ",\"sender\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private static final EnvelopeEncoder EMBEDDED = new EnvelopeEncoder(Format.EMBEDDED_JSON);
+    private static final EnvelopeEncoder LEGACY = new EnvelopeEncoder(Format.LEGACY_STRING);
+
+    private final Format format;
+
+    private EnvelopeEncoder(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Obtiene el codificador compartido para un formato.
+     *
+     * @param format Formato del campo {@code content}.
+     * @return Codificador compartido.
+     */
+    public static EnvelopeEncoder of(Format format) {
+        return format == Format.LEGACY_STRING ? LEGACY : EMBEDDED;
+    }
+
+    /**
+     * Obtiene el formato con el que escribe este codificador.
+     *
+     * @return Formato del campo {@code content}.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Codifica el sobre de un mensaje con el remitente por defecto.
+     *
+     * @param message Mensaje a codificar.
+     * @return Bytes UTF-8 del sobre.
+     * @throws IOException Si el mensaje no se puede serializar.
+     */
+    public byte[] encode(MessageModel message) throws IOException {
+        return encode(message, DEFAULT_SENDER);
+    }
+
+    /**
+     * Codifica el sobre de un mensaje.
+     *
+     * @param message Mensaje a codificar.
+     * @param sender Remitente que se escribe en el sobre.
+     * @return Bytes UTF-8 del sobre.
+     * @throws IOException Si el mensaje no se puede serializar.
+     */
+    public byte[] encode(MessageModel message, String sender) throws IOException {
+        EmailMessage email = format == Format.EMBEDDED_JSON && message instanceof EmailMessage
+                ? (EmailMessage) message : null;
+        if (email != null && email.retainsJson()) {
+            return embed(email.toJsonBytes(), sender);
+        }
+        if (email != null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(capacityFor(email, sender));
+            write(buffer, message, email, sender);
+            return buffer.toByteArray();
+        }
+        ByteArrayOutputStream buffer = BUFFERS.get();
+        buffer.reset();
+        write(buffer, message, null, sender);
+        byte[] envelope = buffer.toByteArray();
+        if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFERS.remove();
+        }
+        return envelope;
+    }
+
+    /**
+     * Calcula la capacidad del búfer para el sobre de un correo que no
+     * conserva su JSON.
+     *
+     * @param email Correo a codificar.
+     * @param sender Remitente que se escribe en el sobre.
+     * @return Capacidad estimada del sobre en bytes.
+     */
+    static int capacityFor(EmailMessage email, String sender) {
+        long size = (long) email.estimateJsonLength() + ENVELOPE_OVERHEAD
+                + (sender == null ? 4 : 3L * sender.length());
+        return (int) Math.min(size, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Escribe el sobre en un búfer.
+     *
+     * @param email El mensaje como correo si se incrusta con
+     * {@link EmailMessage#writeJson(JsonGenerator)}, o null.
+     */
+    private void write(ByteArrayOutputStream buffer, MessageModel message, EmailMessage email, String sender)
+            throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeFieldName("content");
+            if (email != null) {
+                email.writeJson(generator);
+            } else {
+                String payload = message.toJson();
+                if (format == Format.EMBEDDED_JSON && payload != null) {
+                    generator.writeRawValue(payload);
+                } else {
+                    generator.writeString(payload);
+                }
+            }
+            generator.writeStringField("sender", sender);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Arma el sobre con el JSON ya serializado del mensaje, copiándolo una
+     * sola vez.
+     */
+    private static byte[] embed(byte[] payload, String sender) {
+        byte[] quotedSender = sender == null ? NULL : quote(sender);
+        byte[] envelope = new byte[CONTENT_PREFIX.length + payload.length + SENDER_PREFIX.length
+                + quotedSender.length + 1];
+        int position = 0;
+        System.arraycopy(CONTENT_PREFIX, 0, envelope, position, CONTENT_PREFIX.length);
+        position += CONTENT_PREFIX.length;
+        System.arraycopy(payload, 0, envelope, position, payload.length);
+        position += payload.length;
+        System.arraycopy(SENDER_PREFIX, 0, envelope, position, SENDER_PREFIX.length);
+        position += SENDER_PREFIX.length;
+        System.arraycopy(quotedSender, 0, envelope, position, quotedSender.length);
+        position += quotedSender.length;
+        envelope[position] = '}';
+        return envelope;
+    }
+
+    private static byte[] quote(String value) {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+}
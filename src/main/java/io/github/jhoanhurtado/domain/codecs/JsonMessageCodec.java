@@ -0,0 +1,62 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.io.IOException;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+/**
+ * Códec del sobre JSON {@code {content, sender}}, el formato por defecto.
+ *
+ * <p>
+ * Codifica con {@link EnvelopeEncoder} y decodifica con
+ * {@link MessageModelRequest#fromBytes(byte[])}, por lo que acepta los dos
+ * formatos del sobre sin importar con cuál se configure.
+ * </p>
+ */
+public final class JsonMessageCodec implements MessageCodec {
+
+    /**
+     * Tipo de contenido del sobre JSON.
+     */
+    public static final String CONTENT_TYPE = "application/json";
+
+    private static final JsonMessageCodec EMBEDDED = new JsonMessageCodec(EnvelopeEncoder.of(EnvelopeEncoder.Format.EMBEDDED_JSON));
+    private static final JsonMessageCodec LEGACY = new JsonMessageCodec(EnvelopeEncoder.of(EnvelopeEncoder.Format.LEGACY_STRING));
+
+    private final EnvelopeEncoder encoder;
+
+    private JsonMessageCodec(EnvelopeEncoder encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Obtiene el códec compartido para un formato del sobre.
+     *
+     * @param format Formato del campo {@code content}.
+     * @return Códec compartido.
+     */
+    public static JsonMessageCodec of(EnvelopeEncoder.Format format) {
+        return format == EnvelopeEncoder.Format.LEGACY_STRING ? LEGACY : EMBEDDED;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean supports(MessageModel message) {
+        return message != null;
+    }
+
+    @Override
+    public byte[] encode(MessageModel message) throws IOException {
+        return encoder.encode(message);
+    }
+
+    @Override
+    public MessageModelRequest decode(byte[] body) {
+        return MessageModelRequest.fromBytes(body);
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.util.Arrays;
+
+/**
+ * Compresor LZ77 por bloques, al estilo de LZ4, sin dependencias.
+ *
+ * <p>
+ * Busca coincidencias de 4 bytes con una tabla hash de una sola entrada por
+ * posición y una ventana de 64 KiB, sin búsqueda exhaustiva, por lo que
+ * comprime en una sola pasada. El bloque empieza con la longitud original
+ * (entero variable) seguida de secuencias {@code token literales desplazamiento
+ * longitud}: el nibble alto del token es el número de literales y el bajo la
+ * longitud de la coincidencia menos 4; el valor 15 indica que la longitud
+ * continúa en bytes adicionales de 255. La última secuencia solo tiene
+ * literales.
+ * </p>
+ */
+final class LzBlock {
+
+    private static final int MIN_MATCH = 4;
+    private static final int HASH_BITS = 14;
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    private LzBlock() {
+    }
+
+    static byte[] compress(byte[] src) {
+        int length = src.length;
+        byte[] out = new byte[length + length / 255 + 16];
+        int pos = writeVarInt(out, 0, length);
+        int[] table = new int[1 << HASH_BITS];
+        int anchor = 0;
+        int i = 0;
+        int limit = length - MIN_MATCH;
+        while (i <= limit) {
+            int sequence = readInt(src, i);
+            int hash = (sequence * 0x9E3779B1) >>> (32 - HASH_BITS);
+            int candidate = table[hash] - 1;
+            table[hash] = i + 1;
+            if (candidate < 0 || i - candidate > MAX_OFFSET || readInt(src, candidate) != sequence) {
+                i++;
+                continue;
+            }
+            int matchLength = MIN_MATCH;
+            while (i + matchLength < length && src[candidate + matchLength] == src[i + matchLength]) {
+                matchLength++;
+            }
+            pos = writeSequence(out, pos, src, anchor, i - anchor, i - candidate, matchLength);
+            i += matchLength;
+            anchor = i;
+        }
+        pos = writeSequence(out, pos, src, anchor, length - anchor, 0, 0);
+        return Arrays.copyOf(out, pos);
+    }
+
+    static byte[] decompress(byte[] src, int maxBytes) {
+        try {
+            int[] cursor = {0};
+            int length = readVarInt(src, cursor);
+            if (length / 255 > src.length) {
+                throw new IllegalArgumentException("Cuerpo LZ inválido: longitud fuera de rango.");
+            }
+            if (length > maxBytes) {
+                throw new IllegalArgumentException("Cuerpo descomprimido mayor que el límite de " + maxBytes + " bytes.");
+            }
+            byte[] out = new byte[length];
+            int in = cursor[0];
+            int pos = 0;
+            while (in < src.length) {
+                int token = src[in++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int next;
+                    do {
+                        next = src[in++] & 0xFF;
+                        literals += next;
+                    } while (next == 255);
+                }
+                System.arraycopy(src, in, out, pos, literals);
+                in += literals;
+                pos += literals;
+                if (in >= src.length) {
+                    break;
+                }
+                int offset = (src[in] & 0xFF) | (src[in + 1] & 0xFF) << 8;
+                in += 2;
+                int matchLength = token & 0x0F;
+                if (matchLength == 15) {
+                    int next;
+                    do {
+                        next = src[in++] & 0xFF;
+                        matchLength += next;
+                    } while (next == 255);
+                }
+                matchLength += MIN_MATCH;
+                int from = pos - offset;
+                if (offset == 0 || from < 0) {
+                    throw new IllegalArgumentException("Cuerpo LZ inválido: desplazamiento fuera del bloque.");
+                }
+                // Las coincidencias pueden solaparse con lo que se está escribiendo
+                for (int k = 0; k < matchLength; k++) {
+                    out[pos++] = out[from + k];
+                }
+            }
+            if (pos != length) {
+                throw new IllegalArgumentException("Cuerpo LZ inválido: longitud inesperada.");
+            }
+            return out;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cuerpo LZ inválido: datos incompletos.", e);
+        }
+    }
+
+    private static int writeSequence(byte[] out, int pos, byte[] src, int start, int literals, int offset, int matchLength) {
+        int extraMatch = matchLength == 0 ? 0 : matchLength - MIN_MATCH;
+        int token = (Math.min(literals, 15) << 4) | Math.min(extraMatch, 15);
+        out[pos++] = (byte) token;
+        if (literals >= 15) {
+            pos = writeLength(out, pos, literals - 15);
+        }
+        System.arraycopy(src, start, out, pos, literals);
+        pos += literals;
+        if (matchLength == 0) {
+            return pos;
+        }
+        out[pos++] = (byte) offset;
+        out[pos++] = (byte) (offset >>> 8);
+        if (extraMatch >= 15) {
+            pos = writeLength(out, pos, extraMatch - 15);
+        }
+        return pos;
+    }
+
+    private static int writeLength(byte[] out, int pos, int remaining) {
+        while (remaining >= 255) {
+            out[pos++] = (byte) 255;
+            remaining -= 255;
+        }
+        out[pos++] = (byte) remaining;
+        return pos;
+    }
+
+    private static int writeVarInt(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int readVarInt(byte[] src, int[] cursor) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte next = src[cursor[0]++];
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Cuerpo LZ inválido: longitud mal formada.");
+    }
+
+    private static int readInt(byte[] src, int i) {
+        return (src[i] & 0xFF) | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF) << 16 | (src[i + 3] & 0xFF) << 24;
+    }
+}
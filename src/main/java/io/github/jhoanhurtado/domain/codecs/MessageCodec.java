@@ -0,0 +1,72 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.io.IOException;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+/**
+ * Formato con el que un {@link MessageModel} viaja por el broker.
+ *
+ * <p>
+ * Cada códec se identifica por su tipo de contenido, que el publicador envía
+ * en la propiedad {@code content-type} de AMQP o en la cabecera
+ * {@value MessageModelRequest#CONTENT_TYPE_HEADER} de Kafka. El consumidor
+ * busca el códec por ese valor en un {@link CodecRegistry} para decodificar el
+ * cuerpo recibido.
+ * </p>
+ *
+ * <p>
+ * Las implementaciones deben ser inmutables y seguras entre hilos: un mismo
+ * códec se comparte entre publicaciones y consumidores concurrentes.
+ * </p>
+ */
+public interface MessageCodec {
+
+    /**
+     * Obtiene el tipo de contenido que identifica al códec.
+     *
+     * @return Tipo de contenido, por ejemplo {@code application/json}.
+     */
+    String getContentType();
+
+    /**
+     * Indica si el códec produce bytes arbitrarios en lugar de texto UTF-8.
+     * Los códecs binarios no se pueden usar con transportes de texto, como el
+     * productor de Kafka de {@link io.github.jhoanhurtado.domain.strategies.KafkaStrategy}.
+     *
+     * @return true si el resultado de {@link #encode(MessageModel)} no es
+     * texto UTF-8.
+     */
+    default boolean isBinary() {
+        return false;
+    }
+
+    /**
+     * Indica si el códec puede codificar un mensaje.
+     *
+     * @param message Mensaje a evaluar.
+     * @return true si {@link #encode(MessageModel)} admite el mensaje.
+     */
+    boolean supports(MessageModel message);
+
+    /**
+     * Codifica un mensaje.
+     *
+     * @param message Mensaje a codificar.
+     * @return Cuerpo a publicar.
+     * @throws IOException Si el mensaje no se puede serializar.
+     * @throws IllegalArgumentException Si el códec no admite el mensaje.
+     */
+    byte[] encode(MessageModel message) throws IOException;
+
+    /**
+     * Decodifica el cuerpo de un mensaje recibido.
+     *
+     * @param body Cuerpo recibido.
+     * @return Mensaje decodificado, sin cabeceras de transporte.
+     * @throws IllegalArgumentException Si el cuerpo no tiene el formato del
+     * códec.
+     */
+    MessageModelRequest decode(byte[] body);
+}
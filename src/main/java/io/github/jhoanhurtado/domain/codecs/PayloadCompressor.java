@@ -0,0 +1,204 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Compresión opcional del cuerpo de los mensajes publicados.
+ *
+ * <p>
+ * Solo se comprimen los cuerpos de al menos {@code thresholdBytes} bytes, y
+ * solo se usan comprimidos si el resultado es menor que el original. El
+ * algoritmo usado se indica en la propiedad {@code content-encoding}
+ * ({@link CompressionAlgorithm#getEncoding()}), con la que el consumidor
+ * descomprime el cuerpo antes de decodificarlo.
+ * </p>
+ *
+ * <p>
+ * La descompresión se detiene con un error si el cuerpo descomprimido supera
+ * {@code maxDecompressedBytes} (por defecto 64 MiB), para que un mensaje
+ * pequeño y muy comprimido no agote la memoria del consumidor.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * PayloadCompressor compressor = PayloadCompressor.of(CompressionAlgorithm.LZ, 16 * 1024);
+ * byte[] body = compressor.compress(encoded);
+ * String encoding = compressor.encodingOf(encoded, body);
+ * }
+ * </pre>
+ */
+public final class PayloadCompressor {
+
+    /**
+     * Tamaño mínimo por defecto, en bytes, de los cuerpos que se comprimen.
+     */
+    public static final int DEFAULT_THRESHOLD_BYTES = 8 * 1024;
+
+    /**
+     * Tamaño máximo por defecto, en bytes, de un cuerpo descomprimido.
+     */
+    public static final int DEFAULT_MAX_DECOMPRESSED_BYTES = 64 * 1024 * 1024;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CompressionAlgorithm algorithm;
+    private final int thresholdBytes;
+    private final int maxDecompressedBytes;
+    private final CompressionMetrics metrics = new CompressionMetrics();
+
+    private PayloadCompressor(CompressionAlgorithm algorithm, int thresholdBytes, int maxDecompressedBytes) {
+        this.algorithm = algorithm;
+        this.thresholdBytes = thresholdBytes;
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    /**
+     * Crea un compresor.
+     *
+     * @param algorithm Algoritmo de compresión.
+     * @param thresholdBytes Tamaño mínimo, en bytes, de los cuerpos que se
+     * comprimen.
+     * @return Nuevo compresor, con sus propias métricas.
+     * @throws IllegalArgumentException Si el algoritmo es nulo o el umbral es
+     * negativo.
+     */
+    public static PayloadCompressor of(CompressionAlgorithm algorithm, int thresholdBytes) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("El algoritmo de compresión no puede ser nulo.");
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("El umbral de compresión no puede ser negativo.");
+        }
+        return new PayloadCompressor(algorithm, thresholdBytes, DEFAULT_MAX_DECOMPRESSED_BYTES);
+    }
+
+    /**
+     * Crea un compresor que no comprime, pero sí descomprime los cuerpos
+     * recibidos hasta {@link #DEFAULT_MAX_DECOMPRESSED_BYTES}.
+     *
+     * @return Nuevo compresor desactivado, con sus propias métricas.
+     */
+    public static PayloadCompressor disabled() {
+        return disabled(DEFAULT_MAX_DECOMPRESSED_BYTES);
+    }
+
+    /**
+     * Crea un compresor que no comprime, pero sí descomprime los cuerpos
+     * recibidos.
+     *
+     * @param maxDecompressedBytes Tamaño máximo, en bytes, de un cuerpo
+     * descomprimido.
+     * @return Nuevo compresor desactivado, con sus propias métricas.
+     * @throws IllegalArgumentException Si el límite no es positivo.
+     */
+    public static PayloadCompressor disabled(int maxDecompressedBytes) {
+        if (maxDecompressedBytes <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo descomprimido debe ser mayor que cero.");
+        }
+        return new PayloadCompressor(null, Integer.MAX_VALUE, maxDecompressedBytes);
+    }
+
+    /**
+     * Comprime un cuerpo si supera el umbral y la compresión reduce su
+     * tamaño.
+     *
+     * @param body Cuerpo codificado.
+     * @return El cuerpo comprimido, o el mismo arreglo recibido si no se
+     * comprimió.
+     */
+    public byte[] compress(byte[] body) {
+        if (algorithm == null || body.length < thresholdBytes) {
+            return body;
+        }
+        long start = now();
+        byte[] compressed = algorithm.compress(body);
+        long elapsed = now() - start;
+        if (compressed.length >= body.length) {
+            metrics.recordSkipped(elapsed);
+            return body;
+        }
+        metrics.recordCompression(body.length, compressed.length, elapsed);
+        return compressed;
+    }
+
+    /**
+     * Obtiene el {@code content-encoding} que corresponde al resultado de
+     * {@link #compress(byte[])}.
+     *
+     * @param original Cuerpo recibido por {@code compress}.
+     * @param result Cuerpo devuelto por {@code compress}.
+     * @return Identificador del algoritmo, o null si no se comprimió.
+     */
+    public String encodingOf(byte[] original, byte[] result) {
+        return result == original ? null : algorithm.getEncoding();
+    }
+
+    /**
+     * Descomprime un cuerpo recibido según su {@code content-encoding}.
+     *
+     * @param encoding Valor de {@code content-encoding}; los valores que no
+     * corresponden a una compresión conocida se ignoran.
+     * @param body Cuerpo recibido.
+     * @return El cuerpo descomprimido, o el mismo arreglo si no estaba
+     * comprimido.
+     * @throws IllegalArgumentException Si el cuerpo no es válido para el
+     * algoritmo indicado o descomprimido supera el tamaño máximo.
+     */
+    public byte[] decompress(String encoding, byte[] body) {
+        CompressionAlgorithm used = CompressionAlgorithm.forEncoding(encoding);
+        if (used == null) {
+            return body;
+        }
+        long start = now();
+        byte[] decompressed = used.decompress(body, maxDecompressedBytes);
+        metrics.recordDecompression(now() - start);
+        return decompressed;
+    }
+
+    /**
+     * Obtiene el algoritmo de compresión.
+     *
+     * @return Algoritmo, o null si el compresor está desactivado.
+     */
+    public CompressionAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Obtiene el tamaño mínimo de los cuerpos que se comprimen.
+     *
+     * @return Umbral en bytes.
+     */
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    /**
+     * Obtiene el tamaño máximo de un cuerpo descomprimido.
+     *
+     * @return Límite en bytes.
+     */
+    public int getMaxDecompressedBytes() {
+        return maxDecompressedBytes;
+    }
+
+    /**
+     * Obtiene las métricas de compresión y descompresión.
+     *
+     * @return Métricas acumuladas.
+     */
+    public CompressionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Obtiene el tiempo de CPU del hilo actual o, si no está disponible,
+     * el tiempo del reloj monotónico.
+     */
+    private static long now() {
+        long cpu = THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        return cpu >= 0 ? cpu : System.nanoTime();
+    }
+}
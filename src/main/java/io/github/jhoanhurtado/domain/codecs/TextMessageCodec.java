@@ -0,0 +1,49 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.nio.charset.StandardCharsets;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+/**
+ * Códec de texto plano: publica {@link MessageModel#getContent()} en UTF-8,
+ * sin sobre ni remitente. Es el formato con el que
+ * {@link io.github.jhoanhurtado.domain.strategies.KafkaStrategy} publica por
+ * defecto.
+ */
+public final class TextMessageCodec implements MessageCodec {
+
+    /**
+     * Tipo de contenido del texto plano.
+     */
+    public static final String CONTENT_TYPE = "text/plain";
+
+    /**
+     * Instancia compartida.
+     */
+    public static final TextMessageCodec INSTANCE = new TextMessageCodec();
+
+    private TextMessageCodec() {
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean supports(MessageModel message) {
+        return message != null;
+    }
+
+    @Override
+    public byte[] encode(MessageModel message) {
+        String content = message.getContent();
+        return content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public MessageModelRequest decode(byte[] body) {
+        return new MessageModelRequest(new String(body, StandardCharsets.UTF_8), null);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.jhoanhurtado.domain.interfaces;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Almacén de contenido direccionado por hash, usado para publicar adjuntos
+ * grandes por referencia (patrón claim-check).
+ *
+ * <p>
+ * La referencia de un contenido es {@code sha256:} seguido del hash SHA-256
+ * del contenido en hexadecimal, por lo que guardar dos veces el mismo
+ * contenido devuelve la misma referencia y se almacena una sola vez. El
+ * almacén debe ser accesible tanto por los publicadores como por los
+ * consumidores.
+ * </p>
+ */
+public interface BlobStore {
+
+    /**
+     * Prefijo de las referencias.
+     */
+    String REFERENCE_PREFIX = "sha256:";
+
+    /**
+     * Guarda un contenido, si no existe ya.
+     *
+     * @param data Contenido a guardar.
+     * @return Referencia del contenido.
+     * @throws IOException Si no se puede guardar.
+     */
+    String put(byte[] data) throws IOException;
+
+    /**
+     * Guarda los bytes restantes de un búfer, si no existen ya. Por defecto
+     * los copia a un arreglo; las implementaciones pueden escribirlos sin
+     * copiarlos.
+     *
+     * @param data Búfer con el contenido; su posición no se modifica.
+     * @return Referencia del contenido.
+     * @throws IOException Si no se puede guardar.
+     */
+    default String put(ByteBuffer data) throws IOException {
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return put(bytes);
+    }
+
+    /**
+     * Lee un contenido.
+     *
+     * @param reference Referencia devuelta por {@link #put(byte[])}.
+     * @return Búfer de solo lectura con el contenido.
+     * @throws IOException Si la referencia no existe o no se puede leer.
+     * @throws IllegalArgumentException Si la referencia no es válida.
+     */
+    ByteBuffer get(String reference) throws IOException;
+
+    /**
+     * Indica si el almacén tiene un contenido.
+     *
+     * @param reference Referencia del contenido.
+     * @return true si el contenido existe.
+     */
+    boolean contains(String reference);
+}
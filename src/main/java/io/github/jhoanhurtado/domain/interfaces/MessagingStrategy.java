@@ -1,5 +1,13 @@
 package io.github.jhoanhurtado.domain.interfaces;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.github.jhoanhurtado.domain.models.SendResult;
+
 /**
  * Interfaz que define la estrategia de mensajería para el envío de mensajes.
  * Permite implementar diferentes mecanismos de envío, como RabbitMQ, Kafka, etc.
@@ -15,5 +23,95 @@ public interface MessagingStrategy {
      * @param deliveryMode Modo de entrega del mensaje (valores mínimos deben ser 1 para evitar errores).
      */
     void sendMessage(String queue, MessageModel message, int priority, int deliveryMode);
+
+    /**
+     * Envía un mensaje de forma asíncrona. El futuro se completa cuando el
+     * broker confirma la recepción del mensaje y falla si no pudo entregarse.
+     *
+     * <p>
+     * La implementación por defecto delega en
+     * {@link #sendMessage(String, MessageModel, int, int)} y retorna un futuro
+     * ya completado; las estrategias que soportan confirmaciones del broker la
+     * sobrescriben.
+     * </p>
+     *
+     * @param queue        Nombre de la cola o tópico de destino.
+     * @param message      Objeto MessageModel que contiene el contenido del mensaje.
+     * @param priority     Prioridad del mensaje.
+     * @param deliveryMode Modo de entrega del mensaje.
+     * @return Futuro que se completa con la confirmación de entrega.
+     */
+    default CompletableFuture<Void> sendAsync(String queue, MessageModel message, int priority, int deliveryMode) {
+        try {
+            sendMessage(queue, message, priority, deliveryMode);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Envía un lote de mensajes a una misma cola o tópico y retorna el
+     * resultado de cada uno, en el mismo orden del lote, para poder reintentar
+     * solo los que fallaron.
+     *
+     * <p>
+     * La implementación por defecto envía cada mensaje con
+     * {@link #sendAsync(String, MessageModel, int, int)} y espera todas las
+     * confirmaciones; las estrategias la sobrescriben para reducir el costo
+     * por mensaje.
+     * </p>
+     *
+     * @param queue        Nombre de la cola o tópico de destino.
+     * @param messages     Mensajes a enviar.
+     * @param priority     Prioridad de los mensajes.
+     * @param deliveryMode Modo de entrega de los mensajes.
+     * @return Resultado de cada mensaje del lote.
+     */
+    default List<SendResult> sendBatch(String queue, List<MessageModel> messages, int priority, int deliveryMode) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(messages.size());
+        for (MessageModel message : messages) {
+            futures.add(sendAsync(queue, message, priority, deliveryMode));
+        }
+        List<SendResult> results = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                futures.get(i).join();
+                results.add(SendResult.success(i, messages.get(i)));
+            } catch (CompletionException e) {
+                results.add(SendResult.failure(i, messages.get(i), e.getCause()));
+            } catch (RuntimeException e) {
+                results.add(SendResult.failure(i, messages.get(i), e));
+            }
+        }
+        return results;
+    }
+
     void readMessage(String queue, MessageModel message);
+
+    /**
+     * Espera a que se entreguen al broker los mensajes enviados de forma
+     * asíncrona que aún estén en memoria.
+     *
+     * <p>
+     * La implementación por defecto no hace nada, para las estrategias que no
+     * acumulan mensajes.
+     * </p>
+     */
+    default void flush() {
+    }
+
+    /**
+     * Entrega los mensajes pendientes y libera los recursos de la estrategia,
+     * esperando como máximo el tiempo indicado.
+     *
+     * <p>
+     * La implementación por defecto no hace nada; las estrategias con recursos
+     * propios la sobrescriben.
+     * </p>
+     *
+     * @param timeout Tiempo máximo de espera.
+     */
+    default void close(Duration timeout) {
+    }
 }
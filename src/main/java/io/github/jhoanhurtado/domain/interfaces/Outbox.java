@@ -0,0 +1,55 @@
+package io.github.jhoanhurtado.domain.interfaces;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import io.github.jhoanhurtado.domain.models.OutboxEntry;
+
+/**
+ * Bandeja de salida local y duradera para los mensajes que no se pudieron
+ * publicar porque el broker no estaba disponible.
+ *
+ * <p>
+ * Las entradas se guardan en orden con un número de secuencia creciente. Un
+ * reenviador lee las más antiguas con {@link #peek(int)}, las publica y,
+ * cuando el broker las confirma, las descarta con
+ * {@link #acknowledge(long)}. Las entradas no confirmadas sobreviven a un
+ * reinicio de la aplicación.
+ * </p>
+ */
+public interface Outbox extends Closeable {
+
+    /**
+     * Guarda una entrada al final de la bandeja.
+     *
+     * @param entry Entrada a guardar; su secuencia se ignora.
+     * @return Número de secuencia asignado.
+     * @throws IOException Si la entrada no se puede guardar.
+     */
+    long append(OutboxEntry entry) throws IOException;
+
+    /**
+     * Lee las entradas más antiguas sin confirmar, sin retirarlas.
+     *
+     * @param max Número máximo de entradas.
+     * @return Entradas en orden de secuencia; vacía si no hay pendientes.
+     * @throws IOException Si la bandeja no se puede leer.
+     */
+    List<OutboxEntry> peek(int max) throws IOException;
+
+    /**
+     * Confirma todas las entradas hasta la secuencia indicada, inclusive.
+     *
+     * @param sequence Última secuencia confirmada por el broker.
+     * @throws IOException Si la confirmación no se puede guardar.
+     */
+    void acknowledge(long sequence) throws IOException;
+
+    /**
+     * Obtiene el número de entradas sin confirmar.
+     *
+     * @return Entradas pendientes.
+     */
+    long getPendingCount();
+}
@@ -0,0 +1,378 @@
+package io.github.jhoanhurtado.domain.models;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Contenido del archivo adjunto de un {@link EmailMessage}.
+ *
+ * <p>
+ * El adjunto se conserva en su forma original: bytes en memoria, un archivo o
+ * el texto Base64 recibido. Los serializadores lo codifican en Base64 al
+ * escribirlo, directamente en su búfer de salida, sin crear la cadena Base64
+ * completa; solo {@link #toBase64()} la crea. Un adjunto de un archivo se lee
+ * del disco cada vez que se serializa.
+ * </p>
+ *
+ * <p>
+ * Al serializar con Java, el contenido se reemplaza por su texto Base64.
+ * </p>
+ */
+public abstract class AttachmentContent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private AttachmentContent() {
+    }
+
+    /**
+     * Crea un adjunto a partir de su texto Base64.
+     *
+     * @param base64 Contenido codificado en Base64.
+     * @return Adjunto, o null si el texto es nulo.
+     */
+    public static AttachmentContent ofBase64(String base64) {
+        return base64 == null ? null : new Base64Text(base64);
+    }
+
+    /**
+     * Crea un adjunto a partir de sus bytes. El arreglo no se copia, por lo
+     * que no debe modificarse después.
+     *
+     * @param data Contenido del adjunto.
+     * @return Adjunto, o null si el arreglo es nulo.
+     */
+    public static AttachmentContent of(byte[] data) {
+        return data == null ? null : new Bytes(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Crea un adjunto con los bytes restantes de un búfer, sin copiarlos. El
+     * búfer no debe modificarse después.
+     *
+     * @param data Búfer con el contenido, desde su posición hasta su límite.
+     * @return Adjunto, o null si el búfer es nulo.
+     */
+    public static AttachmentContent of(ByteBuffer data) {
+        return data == null ? null : new Bytes(data.slice());
+    }
+
+    /**
+     * Crea un adjunto que se lee de un archivo al serializarlo.
+     *
+     * @param file Archivo del adjunto.
+     * @return Adjunto, o null si la ruta es nula.
+     * @throws IllegalArgumentException Si la ruta no es un archivo legible.
+     */
+    public static AttachmentContent of(Path file) {
+        if (file == null) {
+            return null;
+        }
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new IllegalArgumentException("El adjunto no es un archivo legible: " + file);
+        }
+        return new FileContent(file);
+    }
+
+    /**
+     * Crea un adjunto leyendo un flujo hasta el final. El flujo no se cierra.
+     *
+     * @param data Flujo con el contenido.
+     * @return Adjunto, o null si el flujo es nulo.
+     * @throws IOException Si el flujo no se puede leer.
+     */
+    public static AttachmentContent of(InputStream data) throws IOException {
+        return data == null ? null : of(data.readAllBytes());
+    }
+
+    /**
+     * Obtiene el tamaño del texto Base64 del adjunto.
+     *
+     * @return Número de caracteres del Base64.
+     */
+    public abstract long base64Length();
+
+    /**
+     * Escribe el adjunto en Base64 en un flujo, sin cerrarlo.
+     *
+     * @param out Flujo de salida.
+     * @throws IOException Si el adjunto no se puede leer o escribir.
+     */
+    public abstract void writeBase64(OutputStream out) throws IOException;
+
+    /**
+     * Escribe el adjunto como cadena JSON en Base64.
+     *
+     * @param generator Generador JSON.
+     * @throws IOException Si el adjunto no se puede leer o escribir.
+     */
+    public abstract void writeJson(JsonGenerator generator) throws IOException;
+
+    /**
+     * Obtiene los bytes del adjunto. Un adjunto de un archivo se mapea en
+     * memoria y uno en Base64 se decodifica.
+     *
+     * @return Búfer de solo lectura con el contenido.
+     * @throws IOException Si el adjunto no se puede leer.
+     * @throws IllegalArgumentException Si el texto no es Base64 válido.
+     */
+    public abstract ByteBuffer asByteBuffer() throws IOException;
+
+    /**
+     * Obtiene el adjunto codificado en Base64.
+     *
+     * @return Texto Base64 del adjunto.
+     * @throws UncheckedIOException Si el adjunto no se puede leer.
+     */
+    public abstract String toBase64();
+
+    /**
+     * Reemplaza el adjunto por su texto Base64 al serializarlo con Java.
+     *
+     * @return Adjunto equivalente en Base64.
+     */
+    protected Object writeReplace() {
+        return new Base64Text(toBase64());
+    }
+
+    /**
+     * Indica si el adjunto se lee de un archivo cada vez que se serializa.
+     */
+    boolean readsFromFile() {
+        return false;
+    }
+
+    private static long encodedLength(long size) {
+        return (size + 2) / 3 * 4;
+    }
+
+    /**
+     * Adjunto recibido o construido como texto Base64.
+     */
+    private static final class Base64Text extends AttachmentContent {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String text;
+
+        Base64Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public long base64Length() {
+            return text.length();
+        }
+
+        @Override
+        public void writeBase64(OutputStream out) throws IOException {
+            out.write(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public void writeJson(JsonGenerator generator) throws IOException {
+            generator.writeString(text);
+        }
+
+        @Override
+        public ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(Base64.getDecoder().decode(text)).asReadOnlyBuffer();
+        }
+
+        @Override
+        public String toBase64() {
+            return text;
+        }
+
+        @Override
+        protected Object writeReplace() {
+            return this;
+        }
+    }
+
+    /**
+     * Adjunto en memoria.
+     */
+    private static final class Bytes extends AttachmentContent {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer data;
+
+        Bytes(ByteBuffer data) {
+            // Se conserva el búfer original para escribir directamente desde
+            // su arreglo; hacia fuera solo se entregan vistas de lectura
+            this.data = data;
+        }
+
+        @Override
+        public long base64Length() {
+            return encodedLength(data.remaining());
+        }
+
+        @Override
+        public void writeBase64(OutputStream out) throws IOException {
+            try (OutputStream encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out))) {
+                writeTo(encoder);
+            }
+        }
+
+        @Override
+        public void writeJson(JsonGenerator generator) throws IOException {
+            if (data.hasArray()) {
+                generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, data.array(),
+                        data.arrayOffset() + data.position(), data.remaining());
+            } else {
+                generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, new ByteBufferInputStream(data.duplicate()),
+                        data.remaining());
+            }
+        }
+
+        @Override
+        public ByteBuffer asByteBuffer() {
+            return data.asReadOnlyBuffer();
+        }
+
+        @Override
+        public String toBase64() {
+            ByteBuffer encoded = Base64.getEncoder().encode(data.duplicate());
+            return StandardCharsets.ISO_8859_1.decode(encoded).toString();
+        }
+
+        private void writeTo(OutputStream out) throws IOException {
+            if (data.hasArray()) {
+                out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            } else {
+                new ByteBufferInputStream(data.duplicate()).transferTo(out);
+            }
+        }
+    }
+
+    /**
+     * Adjunto que se lee de un archivo.
+     */
+    private static final class FileContent extends AttachmentContent {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path file;
+
+        FileContent(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        boolean readsFromFile() {
+            return true;
+        }
+
+        @Override
+        public long base64Length() {
+            try {
+                return encodedLength(Files.size(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el adjunto " + file, e);
+            }
+        }
+
+        @Override
+        public void writeBase64(OutputStream out) throws IOException {
+            try (OutputStream encoder = Base64.getEncoder().wrap(new NonClosingOutputStream(out))) {
+                Files.copy(file, encoder);
+            }
+        }
+
+        @Override
+        public void writeJson(JsonGenerator generator) throws IOException {
+            try (InputStream in = Files.newInputStream(file)) {
+                generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, in, -1);
+            }
+        }
+
+        @Override
+        public ByteBuffer asByteBuffer() throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        @Override
+        public String toBase64() {
+            try {
+                return Base64.getEncoder().encodeToString(Files.readAllBytes(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el adjunto " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Flujo que deja abierto el flujo envuelto al cerrarse, para que el
+     * codificador Base64 escriba el relleno final sin cerrar la salida.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Flujo de lectura sobre un búfer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
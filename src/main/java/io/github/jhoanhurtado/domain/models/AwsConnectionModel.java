@@ -2,27 +2,22 @@
  * Modelo de conexión a AWS que carga configuraciones desde un archivo de propiedades local.
  * <p>
  * Esta clase se encarga de leer las configuraciones necesarias para la conexión a AWS CloudWatch
- * desde un archivo de propiedades denominado "local.properties".
+ * desde la configuración de "local.properties" compartida por {@link ConfigurationProvider}.
  * </p>
  * 
  * @author Jhoan Hurtado
  */
 package io.github.jhoanhurtado.domain.models;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
-
 import io.github.jhoanhurtado.enums.AwsRegion;
+import io.github.jhoanhurtado.infrastructure.config.ConfigurationProvider;
+import io.github.jhoanhurtado.infrastructure.config.ConfigurationSnapshot;
 
 /**
  * Clase que representa el modelo de conexión a AWS.
  */
 public class AwsConnectionModel {
 
-    /** Nombre del archivo de configuración. */
-    private static final String FILE_NAME = "local.properties";
-    
     /** Región de AWS configurada. */
     private AwsRegion awsRegion;
     
@@ -33,34 +28,24 @@ public class AwsConnectionModel {
     private String logStreamName;
 
     /**
-     * Constructor de la clase que inicializa la configuración desde el archivo de propiedades.
+     * Constructor de la clase que inicializa la configuración vigente de
+     * {@link ConfigurationProvider}, sin volver a leer el archivo.
      */
     public AwsConnectionModel() {
-        loadConfiguration();
+        this(ConfigurationProvider.getInstance().current());
     }
 
     /**
-     * Carga la configuración desde el archivo de propiedades.
-     * <p>
-     * Este método intenta leer el archivo "local.properties" y extrae los valores de configuración
-     * para la región de AWS, el grupo de logs y el flujo de logs. Si no se encuentra el archivo,
-     * se informa en la salida estándar.
-     * </p>
+     * Constructor de la clase que toma la configuración de una copia de
+     * "local.properties".
+     *
+     * @param configuration Configuración de la que se leen la región, el grupo
+     * y el flujo de logs.
      */
-    private void loadConfiguration() {
-        Properties properties = new Properties();
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(FILE_NAME)) {
-            if (inputStream != null) {
-                properties.load(inputStream);
-                this.awsRegion = AwsRegion.valueOf(properties.getProperty("cloudwatch.region", "US_EAST_1"));
-                this.logGroupName = properties.getProperty("cloudwatch.logGroupName", "");
-                this.logStreamName = properties.getProperty("cloudwatch.logStreamName", "");
-            } else {
-                System.out.println("El archivo de configuración no fue encontrado.");
-            }
-        } catch (IOException e) {
-            System.out.println("Error al cargar la configuración: " + e.getMessage());
-        }
+    public AwsConnectionModel(ConfigurationSnapshot configuration) {
+        this.awsRegion = configuration.getEnum("cloudwatch.region", AwsRegion.class, AwsRegion.US_EAST_1);
+        this.logGroupName = configuration.getString("cloudwatch.logGroupName", "");
+        this.logStreamName = configuration.getString("cloudwatch.logStreamName", "");
     }
 
     /**
@@ -1,23 +1,86 @@
 package io.github.jhoanhurtado.domain.models;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import io.github.jhoanhurtado.domain.interfaces.BlobStore;
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.templates.EmailTemplate;
+import io.github.jhoanhurtado.domain.templates.TemplateRegistry;
 
 /**
  * Representa un mensaje de correo electrónico que será enviado a una cola en un
  * broker de mensajería como RabbitMQ o Kafka para ser procesado por un servicio
  * de notificaciones.
+ *
+ * <p>
+ * Los adjuntos grandes se pueden publicar por referencia: el contenido se
+ * guarda en un {@link BlobStore} y el mensaje solo lleva su referencia
+ * ({@link #getAttachmentReference()}). Un mensaje recibido con referencia se
+ * asocia al almacén con {@link #withBlobStore(BlobStore)}, y el adjunto se lee
+ * del almacén la primera vez que se pide con {@link #getAttachmentBase64()} o
+ * {@link #getAttachmentInfo()}.
+ * </p>
+ *
+ * <p>
+ * El adjunto se puede dar como bytes, {@link ByteBuffer}, archivo o
+ * {@link InputStream} (ver {@link Builder#attachment(Path)} y sus variantes);
+ * se guarda sin codificar y {@link #writeJson(JsonGenerator)} lo escribe en
+ * Base64 directamente en la salida, sin crear la cadena Base64 completa.
+ * </p>
+ *
+ * <p>
+ * Como el mensaje es inmutable, su JSON ({@link #toJsonBytes()} y
+ * {@link #toJson()}), {@link #getContent()} y {@link #getFullEmailInfo()} se
+ * calculan una sola vez. El JSON se escribe en un búfer dimensionado a partir
+ * del tamaño de los campos. No se conservan las representaciones de los
+ * mensajes cuyo adjunto se lee de un archivo o cuyo JSON supera
+ * {@value #MAX_CACHED_JSON_LENGTH} bytes, para no retener adjuntos grandes.
+ * </p>
+ *
+ * <p>
+ * El asunto y el cuerpo se pueden renderizar de una {@link EmailTemplate}
+ * precompilada ({@link Builder#template(EmailTemplate, Map)}). Si el
+ * consumidor tiene la plantilla, el mensaje puede llevar solo el id de la
+ * plantilla y las variables ({@link Builder#templateReference(EmailTemplate, Map)});
+ * el consumidor lo asocia a sus plantillas con
+ * {@link #withTemplates(TemplateRegistry)} y el asunto y el cuerpo se
+ * renderizan la primera vez que se piden.
+ * </p>
  */
 public class EmailMessage implements MessageModel, Serializable {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Tamaño máximo, en bytes, del JSON que se conserva en el mensaje.
+     */
+    static final int MAX_CACHED_JSON_LENGTH = 1024 * 1024;
+
+    /**
+     * Nombres de campo, comillas y separadores del JSON, con margen.
+     */
+    private static final int JSON_OVERHEAD = 192;
+
     /**
      * Correo electrónico del remitente
      */
@@ -54,15 +117,88 @@ public class EmailMessage implements MessageModel, Serializable {
     private final boolean isHtml;
 
     /**
-     * Datos del archivo adjunto codificados en Base64 (opcional)
+     * Contenido del archivo adjunto (opcional)
      */
-    private final String attachmentBase64;
+    private final AttachmentContent attachment;
 
     /**
      * Nombre del archivo adjunto (opcional)
      */
     private final String attachmentName;
 
+    /**
+     * Referencia del adjunto en un {@link BlobStore} (opcional)
+     */
+    private final String attachmentReference;
+
+    /**
+     * Id de la plantilla con la que se renderizan el asunto y el cuerpo
+     * (opcional)
+     */
+    private final String templateId;
+
+    /**
+     * Variables de la plantilla
+     */
+    private final Map<String, String> templateVariables;
+
+    /**
+     * Almacén del que se lee el adjunto referenciado
+     */
+    private final transient BlobStore blobStore;
+
+    /**
+     * Plantillas con las que se renderiza un mensaje por referencia
+     */
+    private final transient TemplateRegistry templates;
+
+    /**
+     * Asunto renderizado de la plantilla
+     */
+    private transient volatile String renderedSubject;
+
+    /**
+     * Cuerpo renderizado de la plantilla
+     */
+    private transient volatile String renderedBody;
+
+    /**
+     * Adjunto leído del almacén
+     */
+    private transient volatile AttachmentContent resolvedAttachment;
+
+    /**
+     * JSON del mensaje en UTF-8, calculado la primera vez que se pide
+     */
+    private transient volatile byte[] jsonBytes;
+
+    /**
+     * JSON del mensaje, calculado la primera vez que se pide
+     */
+    private transient volatile String json;
+
+    /**
+     * Resultado de {@link #getContent()}
+     */
+    private transient volatile String content;
+
+    /**
+     * Resultado de {@link #getFullEmailInfo()}
+     */
+    private transient volatile String fullEmailInfo;
+
+    public EmailMessage(String sender, List<String> recipients, List<String> ccRecipients, List<String> bccRecipients,
+            String subject, String body, boolean isHtml, String attachmentName, String attachmentBase64) {
+        this(sender, recipients, ccRecipients, bccRecipients, subject, body, isHtml, attachmentName, attachmentBase64, null);
+    }
+
+    public EmailMessage(String sender, List<String> recipients, List<String> ccRecipients, List<String> bccRecipients,
+            String subject, String body, boolean isHtml, String attachmentName, String attachmentBase64,
+            String attachmentReference) {
+        this(sender, recipients, ccRecipients, bccRecipients, subject, body, isHtml, attachmentName, attachmentBase64,
+                attachmentReference, null, null);
+    }
+
     @JsonCreator
     public EmailMessage(
             @JsonProperty("sender") String sender,
@@ -73,17 +209,25 @@ public class EmailMessage implements MessageModel, Serializable {
             @JsonProperty("body") String body,
             @JsonProperty("isHtml") boolean isHtml,
             @JsonProperty("attachmentName") String attachmentName,
-            @JsonProperty("attachmentBase64") String attachmentBase64) {
+            @JsonProperty("attachmentBase64") String attachmentBase64,
+            @JsonProperty("attachmentRef") String attachmentReference,
+            @JsonProperty("templateId") String templateId,
+            @JsonProperty("templateVariables") Map<String, String> templateVariables) {
 
         this.senderEmail = sender;
-        this.recipients = recipients;
-        this.ccRecipients = ccRecipients;
-        this.bccRecipients = bccRecipients;
+        this.recipients = List.copyOf(Optional.ofNullable(recipients).orElse(List.of()));
+        this.ccRecipients = List.copyOf(Optional.ofNullable(ccRecipients).orElse(List.of()));
+        this.bccRecipients = List.copyOf(Optional.ofNullable(bccRecipients).orElse(List.of()));
         this.subject = subject;
         this.body = body;
         this.isHtml = isHtml;
         this.attachmentName = attachmentName;
-        this.attachmentBase64 = attachmentBase64;
+        this.attachment = AttachmentContent.ofBase64(attachmentBase64);
+        this.attachmentReference = attachmentReference;
+        this.templateId = templateId;
+        this.templateVariables = templateVariables == null ? Map.of() : copyOf(templateVariables);
+        this.blobStore = null;
+        this.templates = null;
     }
 
     /**
@@ -97,11 +241,40 @@ public class EmailMessage implements MessageModel, Serializable {
         this.recipients = List.copyOf(Optional.ofNullable(builder.recipients).orElse(List.of()));
         this.ccRecipients = List.copyOf(Optional.ofNullable(builder.ccRecipients).orElse(List.of()));
         this.bccRecipients = List.copyOf(Optional.ofNullable(builder.bccRecipients).orElse(List.of()));
-        this.subject = builder.subject;
-        this.body = builder.body;
+        // Con una referencia de plantilla, el asunto y el cuerpo los renderiza
+        // el consumidor
+        this.subject = builder.templateId == null ? builder.subject : null;
+        this.body = builder.templateId == null ? builder.body : null;
         this.isHtml = builder.isHtml;
-        this.attachmentBase64 = builder.attachmentBase64;
+        this.attachment = builder.attachment;
         this.attachmentName = builder.attachmentName;
+        this.attachmentReference = null;
+        this.templateId = builder.templateId;
+        this.templateVariables = builder.templateVariables == null ? Map.of() : builder.templateVariables;
+        this.blobStore = null;
+        this.templates = null;
+    }
+
+    /**
+     * Constructor privado para crear copias con otro adjunto, almacén o
+     * registro de plantillas.
+     */
+    private EmailMessage(EmailMessage source, AttachmentContent attachment, String attachmentReference,
+            BlobStore blobStore, TemplateRegistry templates) {
+        this.senderEmail = source.senderEmail;
+        this.recipients = source.recipients;
+        this.ccRecipients = source.ccRecipients;
+        this.bccRecipients = source.bccRecipients;
+        this.subject = source.subject;
+        this.body = source.body;
+        this.isHtml = source.isHtml;
+        this.attachmentName = source.attachmentName;
+        this.attachment = attachment;
+        this.attachmentReference = attachmentReference;
+        this.templateId = source.templateId;
+        this.templateVariables = source.templateVariables;
+        this.blobStore = blobStore;
+        this.templates = templates;
     }
 
     /**
@@ -152,9 +325,9 @@ public class EmailMessage implements MessageModel, Serializable {
         private boolean isHtml;
 
         /**
-         * Contenido del archivo adjunto codificado en Base64. Tipo: String
+         * Contenido del archivo adjunto. Tipo: AttachmentContent
          */
-        private String attachmentBase64;
+        private AttachmentContent attachment;
 
         /**
          * Nombre del archivo adjunto, incluyendo su extensión (ejemplo:
@@ -162,6 +335,17 @@ public class EmailMessage implements MessageModel, Serializable {
          */
         private String attachmentName;
 
+        /**
+         * Id de la plantilla que el consumidor renderiza. Tipo: String
+         */
+        private String templateId;
+
+        /**
+         * Variables de la plantilla que el consumidor renderiza. Tipo:
+         * Map<String, String>
+         */
+        private Map<String, String> templateVariables;
+
         /**
          * Establece la dirección de correo del remitente.
          *
@@ -181,7 +365,7 @@ public class EmailMessage implements MessageModel, Serializable {
          * @return Instancia del Builder para encadenamiento de métodos.
          */
         public Builder recipients(List<String> recipients) {
-            this.recipients = recipients;
+            this.recipients = recipients == null ? null : List.copyOf(recipients);
             return this;
         }
 
@@ -192,7 +376,7 @@ public class EmailMessage implements MessageModel, Serializable {
          * @return Instancia del Builder para encadenamiento de métodos.
          */
         public Builder ccRecipients(List<String> ccRecipients) {
-            this.ccRecipients = ccRecipients;
+            this.ccRecipients = ccRecipients == null ? null : List.copyOf(ccRecipients);
             return this;
         }
 
@@ -203,7 +387,7 @@ public class EmailMessage implements MessageModel, Serializable {
          * @return Instancia del Builder para encadenamiento de métodos.
          */
         public Builder bccRecipients(List<String> bccRecipients) {
-            this.bccRecipients = bccRecipients;
+            this.bccRecipients = bccRecipients == null ? null : List.copyOf(bccRecipients);
             return this;
         }
 
@@ -250,7 +434,61 @@ public class EmailMessage implements MessageModel, Serializable {
          * @return Instancia del Builder para encadenamiento de métodos.
          */
         public Builder attachmentBase64(String attachmentBase64) {
-            this.attachmentBase64 = attachmentBase64;
+            this.attachment = AttachmentContent.ofBase64(attachmentBase64);
+            return this;
+        }
+
+        /**
+         * Establece el contenido del archivo adjunto a partir de sus bytes. El
+         * arreglo no se copia, por lo que no debe modificarse después.
+         *
+         * @param attachment Bytes del archivo adjunto.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder attachment(byte[] attachment) {
+            this.attachment = AttachmentContent.of(attachment);
+            return this;
+        }
+
+        /**
+         * Establece el contenido del archivo adjunto con los bytes restantes
+         * del búfer, sin copiarlos.
+         *
+         * @param attachment Búfer con el contenido del archivo adjunto.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder attachment(ByteBuffer attachment) {
+            this.attachment = AttachmentContent.of(attachment);
+            return this;
+        }
+
+        /**
+         * Establece el archivo adjunto. El archivo se lee cada vez que se
+         * serializa el mensaje, por lo que debe existir hasta que se publique.
+         *
+         * @param attachment Ruta del archivo adjunto.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         * @throws IllegalArgumentException Si la ruta no es un archivo legible.
+         */
+        public Builder attachment(Path attachment) {
+            this.attachment = AttachmentContent.of(attachment);
+            return this;
+        }
+
+        /**
+         * Establece el contenido del archivo adjunto leyendo el flujo hasta el
+         * final. El flujo no se cierra.
+         *
+         * @param attachment Flujo con el contenido del archivo adjunto.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         * @throws UncheckedIOException Si el flujo no se puede leer.
+         */
+        public Builder attachment(InputStream attachment) {
+            try {
+                this.attachment = AttachmentContent.of(attachment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el adjunto.", e);
+            }
             return this;
         }
 
@@ -266,6 +504,58 @@ public class EmailMessage implements MessageModel, Serializable {
             return this;
         }
 
+        /**
+         * Establece el asunto, el cuerpo y el formato renderizando una
+         * plantilla con las variables del destinatario.
+         *
+         * @param template Plantilla precompilada.
+         * @param variables Valores de las variables; las que faltan quedan
+         * vacías.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         * @throws IllegalArgumentException Si la plantilla o las variables son
+         * nulas.
+         */
+        public Builder template(EmailTemplate template, Map<String, String> variables) {
+            checkTemplate(template, variables);
+            this.subject = template.renderSubject(variables);
+            this.body = template.renderBody(variables);
+            this.isHtml = template.isHtml();
+            this.templateId = null;
+            this.templateVariables = null;
+            return this;
+        }
+
+        /**
+         * Publica el id de la plantilla y las variables en lugar del asunto y
+         * el cuerpo renderizados. El consumidor debe tener la plantilla
+         * registrada (ver {@link EmailMessage#withTemplates(TemplateRegistry)}).
+         *
+         * @param template Plantilla que el consumidor tiene registrada.
+         * @param variables Valores de las variables; las que faltan quedan
+         * vacías.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         * @throws IllegalArgumentException Si la plantilla o las variables son
+         * nulas.
+         */
+        public Builder templateReference(EmailTemplate template, Map<String, String> variables) {
+            checkTemplate(template, variables);
+            this.subject = null;
+            this.body = null;
+            this.isHtml = template.isHtml();
+            this.templateId = template.getId();
+            this.templateVariables = copyOf(variables);
+            return this;
+        }
+
+        private static void checkTemplate(EmailTemplate template, Map<String, String> variables) {
+            if (template == null) {
+                throw new IllegalArgumentException("La plantilla no puede ser nula.");
+            }
+            if (variables == null) {
+                throw new IllegalArgumentException("Las variables de la plantilla no pueden ser nulas.");
+            }
+        }
+
         /**
          * Construye y devuelve una instancia de EmailMessage con los valores
          * configurados.
@@ -280,6 +570,9 @@ public class EmailMessage implements MessageModel, Serializable {
             if (recipients == null || recipients.isEmpty()) {
                 throw new IllegalArgumentException("Debe haber al menos un destinatario.");
             }
+            if (templateId != null) {
+                return new EmailMessage(this);
+            }
             if (subject == null || subject.isBlank()) {
                 throw new IllegalArgumentException("El asunto no puede estar vacío.");
             }
@@ -301,21 +594,41 @@ public class EmailMessage implements MessageModel, Serializable {
 
     /**
      * Obtiene el contenido del mensaje, incluyendo el asunto y el cuerpo del
-     * correo.
+     * correo y, si el consumidor los renderiza, el id y las variables de la
+     * plantilla.
      */
     @Override
     public String getContent() {
+        String cached = content;
+        if (cached != null) {
+            return cached;
+        }
         StringJoiner joiner = new StringJoiner("\n");
         joiner.add("Sender: " + senderEmail)
                 .add("Recipients: " + String.join(", ", Optional.ofNullable(recipients).orElse(List.of())))
                 .add("CC: " + String.join(", ", Optional.ofNullable(ccRecipients).orElse(List.of())))
                 .add("BCC: " + String.join(", ", Optional.ofNullable(bccRecipients).orElse(List.of())))
-                .add("Subject: " + subject)
-                .add("Body: " + body)
+                .add("Subject: " + getSubject())
+                .add("Body: " + getBody())
                 .add("Is HTML: " + isHtml)
                 .add("Attachment Name: " + attachmentName)
-                .add("Attachment (Base64): " + attachmentBase64);
-        return joiner.toString();
+                .add("Attachment (Base64): " + (attachment == null ? null : attachment.toBase64()));
+        if (attachmentReference != null) {
+            joiner.add("Attachment Reference: " + attachmentReference);
+        }
+        if (templateId != null) {
+            // Sin las plantillas el asunto y el cuerpo son nulos: el
+            // destinatario necesita la referencia para renderizarlos
+            StringJoiner variables = new StringJoiner(", ", "{", "}");
+            templateVariables.forEach((name, value) -> variables.add(name + "=" + value));
+            joiner.add("Template: " + templateId)
+                    .add("Template Variables: " + variables);
+        }
+        cached = joiner.toString();
+        if (isCacheable()) {
+            content = cached;
+        }
+        return cached;
     }
 
     /**
@@ -326,6 +639,10 @@ public class EmailMessage implements MessageModel, Serializable {
      * @return Cadena con la información estructurada del correo.
      */
     public String getFullEmailInfo() {
+        String cached = fullEmailInfo;
+        if (cached != null) {
+            return cached;
+        }
         StringJoiner emailInfo = new StringJoiner("\n");
 
         emailInfo.add("Remitente: " + senderEmail);
@@ -342,7 +659,9 @@ public class EmailMessage implements MessageModel, Serializable {
             emailInfo.add("CCO: " + String.join(", ", bccRecipients));
         }
 
-        return emailInfo.toString();
+        cached = emailInfo.toString();
+        fullEmailInfo = cached;
+        return cached;
     }
 
     /**
@@ -371,21 +690,86 @@ public class EmailMessage implements MessageModel, Serializable {
     }
 
     /**
-     * Recupera el asunto del mensaje de correo electrónico.
+     * Recupera el asunto del mensaje de correo electrónico. Si el mensaje se
+     * publicó por plantilla y está asociado a un registro de plantillas, se
+     * renderiza la primera vez.
      *
-     * @return el asunto del mensaje de correo electrónico como una cadena.
+     * @return el asunto del mensaje de correo electrónico como una cadena, o
+     * null si solo se tiene la referencia de la plantilla.
+     * @throws IllegalStateException si la plantilla no está registrada.
      */
     public String getSubject() {
-        return subject;
+        if (subject != null || templateId == null || templates == null) {
+            return subject;
+        }
+        String rendered = renderedSubject;
+        if (rendered == null) {
+            rendered = resolveTemplate().renderSubject(templateVariables);
+            renderedSubject = rendered;
+        }
+        return rendered;
     }
 
     /**
-     * Recupera el cuerpo del mensaje de correo electrónico.
+     * Recupera el cuerpo del mensaje de correo electrónico. Si el mensaje se
+     * publicó por plantilla y está asociado a un registro de plantillas, se
+     * renderiza la primera vez.
      *
-     * @return el cuerpo del mensaje de correo electrónico como una cadena.
+     * @return el cuerpo del mensaje de correo electrónico como una cadena, o
+     * null si solo se tiene la referencia de la plantilla.
+     * @throws IllegalStateException si la plantilla no está registrada.
      */
     public String getBody() {
-        return body;
+        if (body != null || templateId == null || templates == null) {
+            return body;
+        }
+        String rendered = renderedBody;
+        if (rendered == null) {
+            rendered = resolveTemplate().renderBody(templateVariables);
+            renderedBody = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * Recupera el id de la plantilla que el consumidor debe renderizar.
+     *
+     * @return el id de la plantilla, o null si el asunto y el cuerpo viajan
+     * en el mensaje.
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Recupera las variables de la plantilla que el consumidor debe
+     * renderizar.
+     *
+     * @return las variables, o un mapa vacío si el asunto y el cuerpo viajan
+     * en el mensaje.
+     */
+    public Map<String, String> getTemplateVariables() {
+        return templateVariables;
+    }
+
+    /**
+     * Crea una copia del mensaje que renderiza el asunto y el cuerpo con las
+     * plantillas del registro indicado.
+     *
+     * @param templates registro de plantillas
+     * @return copia asociada al registro, o este mismo mensaje si no se
+     * publicó por plantilla
+     */
+    public EmailMessage withTemplates(TemplateRegistry templates) {
+        if (templateId == null) {
+            return this;
+        }
+        return new EmailMessage(this, attachment, attachmentReference, blobStore, templates);
+    }
+
+    private EmailTemplate resolveTemplate() {
+        return templates.find(templateId).orElseThrow(
+                () -> new IllegalStateException("La plantilla '" + templateId + "' no está registrada."));
     }
 
     /**
@@ -398,6 +782,90 @@ public class EmailMessage implements MessageModel, Serializable {
         return isHtml;
     }
 
+    /**
+     * Recupera el nombre del archivo adjunto.
+     *
+     * @return el nombre del archivo adjunto, o null si no hay.
+     */
+    public String getAttachmentName() {
+        return attachmentName;
+    }
+
+    /**
+     * Recupera el contenido del archivo adjunto codificado en Base64. Si el
+     * adjunto se publicó por referencia y el mensaje está asociado a un
+     * almacén, se lee del almacén la primera vez.
+     *
+     * @return el contenido en Base64, o null si no hay archivo adjunto o si
+     * solo se tiene su referencia.
+     * @throws UncheckedIOException si el adjunto no se puede leer del almacén.
+     */
+    public String getAttachmentBase64() {
+        AttachmentContent content = getAttachmentContent();
+        return content == null ? null : content.toBase64();
+    }
+
+    /**
+     * Recupera el contenido del archivo adjunto sin codificarlo. Si el adjunto
+     * se publicó por referencia y el mensaje está asociado a un almacén, se
+     * lee del almacén la primera vez.
+     *
+     * @return el contenido del adjunto, o null si no hay archivo adjunto o si
+     * solo se tiene su referencia.
+     * @throws UncheckedIOException si el adjunto no se puede leer del almacén.
+     */
+    @JsonIgnore
+    public AttachmentContent getAttachmentContent() {
+        if (attachment != null || attachmentReference == null || blobStore == null) {
+            return attachment;
+        }
+        AttachmentContent resolved = resolvedAttachment;
+        if (resolved == null) {
+            try {
+                resolved = AttachmentContent.of(blobStore.get(attachmentReference));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el adjunto " + attachmentReference, e);
+            }
+            resolvedAttachment = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Recupera la referencia del adjunto en un {@link BlobStore}.
+     *
+     * @return la referencia, o null si el adjunto viaja en el mensaje.
+     */
+    @JsonProperty("attachmentRef")
+    public String getAttachmentReference() {
+        return attachmentReference;
+    }
+
+    /**
+     * Crea una copia del mensaje cuyo adjunto se publica por referencia.
+     *
+     * @param attachmentReference referencia del adjunto en el almacén
+     * @return copia sin el contenido del adjunto
+     */
+    public EmailMessage withAttachmentReference(String attachmentReference) {
+        return new EmailMessage(this, null, attachmentReference, blobStore, templates);
+    }
+
+    /**
+     * Crea una copia del mensaje que lee el adjunto referenciado del almacén
+     * indicado.
+     *
+     * @param blobStore almacén de los adjuntos
+     * @return copia asociada al almacén, o este mismo mensaje si no tiene
+     * adjunto por referencia
+     */
+    public EmailMessage withBlobStore(BlobStore blobStore) {
+        if (attachmentReference == null) {
+            return this;
+        }
+        return new EmailMessage(this, attachment, attachmentReference, blobStore, templates);
+    }
+
     /**
      * Recupera información sobre el archivo adjunto del correo electrónico.
      *
@@ -406,10 +874,14 @@ public class EmailMessage implements MessageModel, Serializable {
      * hay archivos adjuntos."
      */
     public String getAttachmentInfo() {
-        if (attachmentName == null || attachmentBase64 == null) {
+        if (attachmentName != null && attachment == null && attachmentReference != null && blobStore == null) {
+            return "FileName: " + attachmentName + "\nFileReference: " + attachmentReference;
+        }
+        String content = getAttachmentBase64();
+        if (attachmentName == null || content == null) {
             return "No hay archivos adjuntos.";
         }
-        return "FileName: " + attachmentName + "\nFileBase64: " + attachmentBase64;
+        return "FileName: " + attachmentName + "\nFileBase64: " + content;
     }
 
     @Override
@@ -427,27 +899,165 @@ public class EmailMessage implements MessageModel, Serializable {
 
     @Override
     public String toJson() {
-        StringBuilder json = new StringBuilder();
-        json.append("{");
-        json.append("\"sender\": \"").append(senderEmail).append("\", ");
-        json.append("\"recipients\": ").append(formatArray(recipients)).append(", ");
-        json.append("\"ccRecipients\": ").append(formatArray(ccRecipients)).append(", ");
-        json.append("\"bccRecipients\": ").append(formatArray(bccRecipients)).append(", ");
-        json.append("\"subject\": \"").append(subject).append("\", ");
-        json.append("\"body\": \"").append(body).append("\", ");
-        json.append("\"isHtml\": ").append(isHtml).append(", ");
-        json.append("\"attachmentName\": \"").append(attachmentName).append("\", ");
-        json.append("\"attachmentBase64\": \"").append(attachmentBase64).append("\"");
-        json.append("}");
-        return json.toString();
-    }
-
-    private String formatArray(List<String> list) {
-        if (list == null || list.isEmpty()) {
-            return "[]";
-        }
-        return "[" + list.stream()
-                .map(item -> "\"" + item + "\"")
-                .collect(Collectors.joining(", ")) + "]";
+        String cached = json;
+        if (cached == null) {
+            cached = new String(toJsonBytes(), StandardCharsets.UTF_8);
+            if (isCacheable()) {
+                json = cached;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Obtiene el JSON del mensaje en UTF-8. El arreglo se comparte entre
+     * llamadas y no debe modificarse.
+     *
+     * @return Bytes UTF-8 del JSON del mensaje.
+     * @throws UncheckedIOException Si el adjunto no se puede leer.
+     */
+    public byte[] toJsonBytes() {
+        byte[] cached = jsonBytes;
+        if (cached != null) {
+            return cached;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(estimateJsonLength());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer, JsonEncoding.UTF8)) {
+            writeJson(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo serializar el correo.", e);
+        }
+        cached = buffer.toByteArray();
+        if (isCacheable()) {
+            jsonBytes = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Escribe el mensaje como objeto JSON. El adjunto se codifica en Base64
+     * directamente en la salida del generador.
+     *
+     * @param generator Generador JSON.
+     * @throws IOException Si el adjunto no se puede leer o el JSON no se
+     * puede escribir.
+     */
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("sender", senderEmail);
+        writeArray(generator, "recipients", recipients);
+        writeArray(generator, "ccRecipients", ccRecipients);
+        writeArray(generator, "bccRecipients", bccRecipients);
+        generator.writeStringField("subject", subject);
+        generator.writeStringField("body", body);
+        generator.writeBooleanField("isHtml", isHtml);
+        generator.writeStringField("attachmentName", attachmentName);
+        generator.writeFieldName("attachmentBase64");
+        if (attachment == null) {
+            generator.writeNull();
+        } else {
+            attachment.writeJson(generator);
+        }
+        if (attachmentReference != null) {
+            generator.writeStringField("attachmentRef", attachmentReference);
+        }
+        if (templateId != null) {
+            generator.writeStringField("templateId", templateId);
+            generator.writeObjectFieldStart("templateVariables");
+            for (Map.Entry<String, String> variable : templateVariables.entrySet()) {
+                generator.writeStringField(variable.getKey(), variable.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Indica si el mensaje conserva su JSON después de calcularlo. Si no lo
+     * conserva, conviene escribirlo con {@link #writeJson(JsonGenerator)} en
+     * lugar de pedir {@link #toJsonBytes()}.
+     *
+     * @return true si el JSON se calcula una sola vez.
+     */
+    public boolean retainsJson() {
+        return jsonBytes != null || isCacheable();
+    }
+
+    /**
+     * Indica si las representaciones del mensaje se pueden conservar: no
+     * dependen de un archivo y no son demasiado grandes.
+     */
+    private boolean isCacheable() {
+        return attachment == null
+                || (!attachment.readsFromFile() && attachment.base64Length() <= MAX_CACHED_JSON_LENGTH);
+    }
+
+    /**
+     * Estima el tamaño en bytes del JSON a partir de la longitud de los
+     * campos, con margen para caracteres de más de un byte y escapes, más la
+     * longitud exacta del adjunto en Base64. Sirve para dimensionar el búfer
+     * en el que se escribe con {@link #writeJson(JsonGenerator)}.
+     *
+     * @return Tamaño estimado del JSON.
+     */
+    public int estimateJsonLength() {
+        long size = JSON_OVERHEAD + length(senderEmail) + length(subject) + length(body) + length(attachmentName)
+                + length(attachmentReference) + length(recipients) + length(ccRecipients) + length(bccRecipients)
+                + length(templateId) + length(templateVariables);
+        size += size / 8;
+        if (attachment != null) {
+            size += attachment.base64Length();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE - 8);
+    }
+
+    private static long length(String value) {
+        return value == null ? 4 : value.length();
+    }
+
+    private static long length(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = 0;
+        for (String value : values) {
+            size += length(value) + 3;
+        }
+        return size;
+    }
+
+    private static long length(Map<String, String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = 32;
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            size += length(value.getKey()) + length(value.getValue()) + 6;
+        }
+        return size;
+    }
+
+    /**
+     * Copia inmutable de las variables de una plantilla. Los valores nulos se
+     * omiten, como si faltaran.
+     */
+    private static Map<String, String> copyOf(Map<String, String> variables) {
+        Map<String, String> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            if (variable.getKey() != null && variable.getValue() != null) {
+                copy.put(variable.getKey(), variable.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static void writeArray(JsonGenerator generator, String field, List<String> list) throws IOException {
+        generator.writeArrayFieldStart(field);
+        if (list != null) {
+            for (String item : list) {
+                generator.writeString(item);
+            }
+        }
+        generator.writeEndArray();
     }
 }
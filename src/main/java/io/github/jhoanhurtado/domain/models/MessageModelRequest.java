@@ -1,29 +1,78 @@
 package io.github.jhoanhurtado.domain.models;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.google.gson.Gson;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
 
 /**
  * Representa un modelo de solicitud para un mensaje.
  * Esta clase incluye el contenido del mensaje y la información del remitente.
  * También proporciona métodos para convertir desde JSON y generar una representación en cadena.
- * 
+ *
  * <p>Ejemplo de uso:</p>
  * <pre>
  * {@code
- * MessageModelRequest request = new MessageModelRequest("¡Hola, Mundo!", "John Doe");
- * String json = new Gson().toJson(request);
- * MessageModelRequest fromJson = MessageModelRequest.fromJson(json);
+ * MessageModelRequest request = MessageModelRequest.fromBytes(delivery.getBody());
+ * String content = request.getContent();
  * }
  * </pre>
- * 
- * <p>Nota: Esta clase utiliza Gson para la serialización y deserialización de JSON.</p>
- * 
- * @see com.google.gson.Gson
+ *
+ * <p>
+ * Además del contenido y el remitente, el mensaje lleva las cabeceras de
+ * transporte (propiedades AMQP o cabeceras de Kafka) con las que llegó, por
+ * ejemplo {@value #CONTENT_TYPE_HEADER}.
+ * </p>
+ *
+ * <p>
+ * {@link #fromBytes(byte[])} lee el sobre directamente de los bytes recibidos
+ * con un analizador de streaming de Jackson compartido, sin crear una cadena
+ * intermedia. Cuando {@code content} es un objeto JSON incrustado, solo se
+ * registra su posición dentro de los bytes: la cadena se crea la primera vez
+ * que se llama a {@link #getContent()}, y {@link #getContentField(String)} lee
+ * los campos directamente de los bytes. El mensaje conserva una referencia a
+ * los bytes recibidos mientras el contenido no se haya decodificado.
+ * </p>
+ *
+ * <p>
+ * Los mensajes que llegan con un códec que reconstruye el modelo original
+ * (por ejemplo, el formato binario) lo exponen en {@link #getPayload()}; en
+ * ese caso el contenido es el {@link MessageModel#toJson()} del modelo (o su
+ * {@link MessageModel#getContent()} si no tiene representación JSON) y se
+ * genera la primera vez que se pide.
+ * </p>
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class MessageModelRequest {
-    private final String content;
+
+    /**
+     * Cabecera con el tipo de contenido del mensaje.
+     */
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ObjectMapper CONTENT_MAPPER = new ObjectMapper(JSON_FACTORY);
+    private static final JsonNode NOT_JSON = CONTENT_MAPPER.missingNode();
+
+    private volatile String content;
     private final String sender;
+    private final Map<String, String> headers;
+    private final transient byte[] source;
+    private final transient int contentOffset;
+    private final transient int contentLength;
+    private transient volatile JsonNode contentTree;
+    private final transient MessageModel payload;
 
     /**
      * Construye un nuevo MessageModelRequest con el contenido y remitente especificados.
@@ -32,8 +81,29 @@ public class MessageModelRequest {
      * @param sender el remitente del mensaje
      */
     public MessageModelRequest(String content, String sender) {
+        this(content, sender, Collections.emptyMap());
+    }
+
+    /**
+     * Construye un nuevo MessageModelRequest con cabeceras de transporte.
+     *
+     * @param content el contenido del mensaje
+     * @param sender el remitente del mensaje
+     * @param headers las cabeceras con las que llegó el mensaje
+     */
+    public MessageModelRequest(String content, String sender, Map<String, String> headers) {
+        this(content, null, 0, 0, null, sender, copyOf(headers));
+    }
+
+    private MessageModelRequest(String content, byte[] source, int contentOffset, int contentLength, MessageModel payload,
+            String sender, Map<String, String> headers) {
         this.content = content;
+        this.payload = payload;
+        this.source = source;
+        this.contentOffset = contentOffset;
+        this.contentLength = contentLength;
         this.sender = sender;
+        this.headers = headers;
     }
 
     /**
@@ -42,7 +112,27 @@ public class MessageModelRequest {
      * @return el contenido del mensaje como una cadena.
      */
     public String getContent() {
-        return content;
+        String decoded = content;
+        if (decoded == null && source != null) {
+            decoded = new String(source, contentOffset, contentLength, StandardCharsets.UTF_8);
+            content = decoded;
+        } else if (decoded == null && payload != null) {
+            decoded = contentOf(payload);
+            content = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * Recupera el modelo original del mensaje, si el códec con el que llegó
+     * lo reconstruye.
+     *
+     * @return el modelo decodificado, o null si el mensaje solo trae su
+     * contenido.
+     */
+    @JsonIgnore
+    public MessageModel getPayload() {
+        return payload;
     }
 
     /**
@@ -54,14 +144,212 @@ public class MessageModelRequest {
         return sender;
     }
 
+    /**
+     * Recupera las cabeceras de transporte del mensaje.
+     *
+     * @return mapa de solo lectura con las cabeceras; vacío si no hay.
+     */
+    @JsonIgnore
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Recupera una cabecera de transporte.
+     *
+     * @param name nombre de la cabecera
+     * @return el valor, o null si no existe
+     */
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Recupera el tipo de contenido del mensaje.
+     *
+     * @return el valor de la cabecera {@value #CONTENT_TYPE_HEADER}, o null.
+     */
+    @JsonIgnore
+    public String getContentType() {
+        return headers.get(CONTENT_TYPE_HEADER);
+    }
+
+    /**
+     * Crea una copia del mensaje con las cabeceras indicadas añadidas a las
+     * actuales. La copia comparte el contenido sin decodificarlo.
+     *
+     * @param extraHeaders cabeceras a añadir
+     * @return un nuevo mensaje, o este mismo si no hay cabeceras que añadir
+     */
+    public MessageModelRequest withHeaders(Map<String, String> extraHeaders) {
+        if (extraHeaders == null || extraHeaders.isEmpty()) {
+            return this;
+        }
+        Map<String, String> merged = new HashMap<>(headers);
+        merged.putAll(extraHeaders);
+        return new MessageModelRequest(content, source, contentOffset, contentLength, payload, sender,
+                Collections.unmodifiableMap(merged));
+    }
+
+    /**
+     * Recupera el valor de un campo de primer nivel del contenido, si el
+     * contenido es un objeto JSON. El contenido se analiza una sola vez por
+     * mensaje.
+     *
+     * @param field nombre del campo
+     * @return el valor como texto, o null si el campo no existe o el contenido
+     * no es un objeto JSON
+     */
+    public String getContentField(String field) {
+        JsonNode tree = contentTree;
+        if (tree == null) {
+            tree = parseContent();
+            contentTree = tree;
+        }
+        JsonNode value = tree.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    /**
+     * Crea un mensaje a partir de un modelo ya decodificado. El contenido se
+     * genera con {@link MessageModel#toJson()} la primera vez que se pide.
+     *
+     * @param payload el modelo del mensaje
+     * @param sender el remitente del mensaje
+     * @return un nuevo mensaje sin cabeceras
+     */
+    public static MessageModelRequest of(MessageModel payload, String sender) {
+        if (payload == null) {
+            throw new IllegalArgumentException("El modelo del mensaje no puede ser nulo.");
+        }
+        return new MessageModelRequest(null, null, 0, 0, payload, sender, Collections.emptyMap());
+    }
+
     /**
      * Convierte una cadena JSON en un objeto MessageModelRequest.
      *
+     * <p>
+     * Acepta los dos formatos de sobre: el actual, en el que {@code content}
+     * es el JSON del mensaje incrustado como objeto, y el anterior (modo de
+     * compatibilidad), en el que {@code content} es ese JSON como texto
+     * escapado. En ambos casos {@link #getContent()} devuelve el JSON del
+     * mensaje como cadena.
+     * </p>
+     *
      * @param json la cadena JSON a convertir
      * @return un objeto MessageModelRequest analizado desde la cadena JSON
+     * @throws IllegalArgumentException si la cadena no es un sobre JSON válido
      */
     public static MessageModelRequest fromJson(String json) {
-        return new Gson().fromJson(json, MessageModelRequest.class);
+        return fromBytes(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Convierte el cuerpo de un mensaje (JSON en UTF-8) en un objeto
+     * MessageModelRequest, sin copiar los bytes.
+     *
+     * @param body bytes del sobre JSON
+     * @return un objeto MessageModelRequest analizado desde los bytes
+     * @throws IllegalArgumentException si los bytes no son un sobre JSON válido
+     * @see #fromJson(String)
+     */
+    public static MessageModelRequest fromBytes(byte[] body) {
+        return fromBytes(body, 0, body.length);
+    }
+
+    /**
+     * Convierte los bytes restantes de un búfer (JSON en UTF-8) en un objeto
+     * MessageModelRequest. Si el búfer tiene un arreglo accesible no se copian
+     * los bytes; la posición del búfer no cambia.
+     *
+     * @param body búfer con el sobre JSON
+     * @return un objeto MessageModelRequest analizado desde el búfer
+     * @throws IllegalArgumentException si los bytes no son un sobre JSON válido
+     */
+    public static MessageModelRequest fromBytes(ByteBuffer body) {
+        if (body.hasArray()) {
+            return fromBytes(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        }
+        byte[] copy = new byte[body.remaining()];
+        body.duplicate().get(copy);
+        return fromBytes(copy, 0, copy.length);
+    }
+
+    private static MessageModelRequest fromBytes(byte[] data, int offset, int length) {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("El mensaje no es un objeto JSON.");
+            }
+            String sender = null;
+            String content = null;
+            int contentStart = -1;
+            int contentEnd = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("content".equals(field)) {
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        // Formato actual: se registra la posición del JSON incrustado
+                        contentStart = offset + (int) parser.currentTokenLocation().getByteOffset();
+                        parser.skipChildren();
+                        contentEnd = offset + (int) parser.currentLocation().getByteOffset();
+                        content = null;
+                    } else {
+                        // Formato anterior: el JSON del mensaje viaja como texto escapado
+                        content = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                        contentStart = -1;
+                    }
+                } else if ("sender".equals(field)) {
+                    sender = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (contentStart >= 0) {
+                return new MessageModelRequest(null, data, contentStart, contentEnd - contentStart, null, sender,
+                        Collections.emptyMap());
+            }
+            return new MessageModelRequest(content, null, 0, 0, null, sender, Collections.emptyMap());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Mensaje JSON inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private JsonNode parseContent() {
+        try {
+            JsonNode tree;
+            if (content == null && source != null) {
+                tree = CONTENT_MAPPER.readTree(source, contentOffset, contentLength);
+            } else {
+                String text = getContent();
+                if (text == null) {
+                    return NOT_JSON;
+                }
+                tree = CONTENT_MAPPER.readTree(text);
+            }
+            return tree != null && tree.isObject() ? tree : NOT_JSON;
+        } catch (IOException e) {
+            return NOT_JSON;
+        }
+    }
+
+    /**
+     * Obtiene el JSON de un modelo o, si el modelo no tiene representación
+     * JSON, su contenido.
+     */
+    private static String contentOf(MessageModel model) {
+        try {
+            return model.toJson();
+        } catch (UnsupportedOperationException e) {
+            return model.getContent();
+        }
+    }
+
+    private static Map<String, String> copyOf(Map<String, String> headers) {
+        return headers == null || headers.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(headers));
     }
 
     /**
@@ -73,8 +361,8 @@ public class MessageModelRequest {
     @Override
     public String toString() {
         return "MessageModel{" +
-                "content='" + content + '\'' +
+                "content='" + getContent() + '\'' +
                 ", sender='" + sender + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package io.github.jhoanhurtado.domain.models;
+
+/**
+ * Mensaje ya codificado guardado en una
+ * {@link io.github.jhoanhurtado.domain.interfaces.Outbox} para publicarlo
+ * cuando el broker vuelva a estar disponible.
+ *
+ * <p>
+ * Guarda el cuerpo tal como se publica (codificado y, si corresponde,
+ * comprimido) junto con las propiedades necesarias para reenviarlo.
+ * </p>
+ */
+public final class OutboxEntry {
+
+    private final long sequence;
+    private final String queue;
+    private final String contentType;
+    private final String contentEncoding;
+    private final int priority;
+    private final int deliveryMode;
+    private final byte[] body;
+
+    private OutboxEntry(long sequence, String queue, String contentType, String contentEncoding, int priority,
+            int deliveryMode, byte[] body) {
+        this.sequence = sequence;
+        this.queue = queue;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.priority = priority;
+        this.deliveryMode = deliveryMode;
+        this.body = body;
+    }
+
+    /**
+     * Crea una entrada sin secuencia.
+     *
+     * @param queue Cola de destino.
+     * @param contentType Tipo de contenido del cuerpo.
+     * @param contentEncoding Algoritmo de compresión del cuerpo, o null.
+     * @param priority Prioridad del mensaje.
+     * @param deliveryMode Modo de entrega del mensaje.
+     * @param body Cuerpo a publicar; no se copia.
+     * @return Nueva entrada.
+     * @throws IllegalArgumentException Si la cola o el cuerpo son nulos.
+     */
+    public static OutboxEntry of(String queue, String contentType, String contentEncoding, int priority,
+            int deliveryMode, byte[] body) {
+        if (queue == null) {
+            throw new IllegalArgumentException("La cola no puede ser nula.");
+        }
+        if (body == null) {
+            throw new IllegalArgumentException("El cuerpo no puede ser nulo.");
+        }
+        return new OutboxEntry(0, queue, contentType, contentEncoding, priority, deliveryMode, body);
+    }
+
+    /**
+     * Crea una copia de la entrada con la secuencia indicada.
+     *
+     * @param sequence Número de secuencia en la bandeja.
+     * @return Copia de la entrada.
+     */
+    public OutboxEntry withSequence(long sequence) {
+        return new OutboxEntry(sequence, queue, contentType, contentEncoding, priority, deliveryMode, body);
+    }
+
+    /**
+     * Obtiene el número de secuencia en la bandeja.
+     *
+     * @return Secuencia, o 0 si la entrada no se ha guardado.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Obtiene la cola de destino.
+     *
+     * @return Nombre de la cola.
+     */
+    public String getQueue() {
+        return queue;
+    }
+
+    /**
+     * Obtiene el tipo de contenido del cuerpo.
+     *
+     * @return Tipo de contenido.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Obtiene el algoritmo de compresión del cuerpo.
+     *
+     * @return Algoritmo de compresión, o null si no está comprimido.
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Obtiene la prioridad del mensaje.
+     *
+     * @return Prioridad.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Obtiene el modo de entrega del mensaje.
+     *
+     * @return Modo de entrega.
+     */
+    public int getDeliveryMode() {
+        return deliveryMode;
+    }
+
+    /**
+     * Obtiene el cuerpo a publicar. El arreglo no se copia y no debe
+     * modificarse.
+     *
+     * @return Cuerpo del mensaje.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEntry{sequence=" + sequence + ", queue='" + queue + "', bytes=" + body.length + '}';
+    }
+}
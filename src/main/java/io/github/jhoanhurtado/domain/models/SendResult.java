@@ -0,0 +1,103 @@
+package io.github.jhoanhurtado.domain.models;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+
+/**
+ * Resultado del envío de un mensaje dentro de un lote.
+ *
+ * <p>
+ * Permite identificar qué mensajes de un lote fallaron, para reintentarlos sin
+ * volver a enviar los que ya fueron confirmados por el broker.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * List<SendResult> results = facade.sendBatch("cola", messages, 1, 2);
+ * List<MessageModel> retry = results.stream()
+ *         .filter(result -> !result.isSuccess())
+ *         .map(SendResult::getMessage)
+ *         .toList();
+ * }
+ * </pre>
+ */
+public final class SendResult {
+
+    private final int index;
+    private final MessageModel message;
+    private final Throwable error;
+
+    private SendResult(int index, MessageModel message, Throwable error) {
+        this.index = index;
+        this.message = message;
+        this.error = error;
+    }
+
+    /**
+     * Crea un resultado exitoso.
+     *
+     * @param index Posición del mensaje en el lote.
+     * @param message Mensaje enviado.
+     * @return Resultado exitoso.
+     */
+    public static SendResult success(int index, MessageModel message) {
+        return new SendResult(index, message, null);
+    }
+
+    /**
+     * Crea un resultado fallido.
+     *
+     * @param index Posición del mensaje en el lote.
+     * @param message Mensaje que no pudo enviarse.
+     * @param error Causa del fallo.
+     * @return Resultado fallido.
+     */
+    public static SendResult failure(int index, MessageModel message, Throwable error) {
+        return new SendResult(index, message, error);
+    }
+
+    /**
+     * Obtiene la posición del mensaje en el lote enviado.
+     *
+     * @return Índice del mensaje.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Obtiene el mensaje al que corresponde el resultado.
+     *
+     * @return Mensaje enviado.
+     */
+    public MessageModel getMessage() {
+        return message;
+    }
+
+    /**
+     * Indica si el broker confirmó el mensaje.
+     *
+     * @return true si el mensaje fue entregado.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Obtiene la causa del fallo.
+     *
+     * @return Error del envío, o null si fue exitoso.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "SendResult{"
+                + "index=" + index
+                + ", success=" + isSuccess()
+                + (error != null ? ", error='" + error.getMessage() + '\'' : "")
+                + '}';
+    }
+}
@@ -1,12 +1,26 @@
 package io.github.jhoanhurtado.domain.models;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
 
+/**
+ * Representa un mensaje SMS que será enviado a una cola en un broker de
+ * mensajería para ser procesado por un servicio de notificaciones.
+ *
+ * <p>
+ * Su JSON es {@code {"phoneNumber": ..., "text": ...}} y se puede leer de
+ * vuelta con Jackson.
+ * </p>
+ */
 public class SmsMessage implements MessageModel {
     private final String phoneNumber;
     private final String text;
 
-    public SmsMessage(String phoneNumber, String text) {
+    @JsonCreator
+    public SmsMessage(@JsonProperty("phoneNumber") String phoneNumber, @JsonProperty("text") String text) {
         this.phoneNumber = phoneNumber;
         this.text = text;
     }
@@ -23,6 +37,26 @@ public class SmsMessage implements MessageModel {
 
     @Override
     public String toJson() {
-        throw new UnsupportedOperationException("Unimplemented method 'toJson'");
+        StringBuilder json = new StringBuilder(32 + length(phoneNumber) + length(text));
+        json.append("{\"phoneNumber\":");
+        appendString(json, phoneNumber);
+        json.append(",\"text\":");
+        appendString(json, text);
+        json.append('}');
+        return json.toString();
+    }
+
+    private static int length(String value) {
+        return value == null ? 4 : value.length() + 2;
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        JsonStringEncoder.getInstance().quoteAsString(value, json);
+        json.append('"');
     }
 }
@@ -0,0 +1,172 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.rabbitmq.client.Channel;
+
+import io.github.jhoanhurtado.enums.LogLevel;
+
+/**
+ * Agrupa las confirmaciones (ack) de un canal de RabbitMQ en un único
+ * {@code basicAck(multiple=true)}.
+ *
+ * <p>
+ * Las confirmaciones se acumulan hasta completar {@code batchSize} mensajes o
+ * hasta que pasan {@code flushIntervalMillis} milisegundos desde la primera
+ * confirmación pendiente, lo que ocurra primero. Como un ack múltiple confirma
+ * todos los mensajes anteriores del canal, cada entrega se registra con
+ * {@link #track(long)} al recibirse y solo se confirma el prefijo de entregas
+ * ya terminadas: si los mensajes se procesan en paralelo y terminan en otro
+ * orden, la confirmación espera a los anteriores. Los rechazos
+ * ({@code basicNack}) se envían de inmediato y solo afectan al mensaje
+ * rechazado.
+ * </p>
+ */
+final class AckCoalescer {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "queue-helper-ack-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Channel channel;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final GatedLogger logger;
+
+    /**
+     * Entregas sin confirmar en orden de entrega; el valor indica si ya
+     * terminaron con éxito ({@code TRUE}) o siguen en proceso ({@code FALSE}).
+     */
+    private final TreeMap<Long, Boolean> inFlight = new TreeMap<>();
+
+    private long lastDeliveryTag;
+    private int pendingCount;
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Crea el agrupador para un canal.
+     *
+     * @param channel Canal en modo de confirmación manual.
+     * @param batchSize Mensajes por confirmación.
+     * @param flushIntervalMillis Espera máxima de una confirmación pendiente.
+     * @param logger Logger para los errores al confirmar.
+     */
+    AckCoalescer(Channel channel, int batchSize, long flushIntervalMillis, GatedLogger logger) {
+        this.channel = channel;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.logger = logger;
+    }
+
+    /**
+     * Registra una entrega recibida. Debe llamarse en el orden de entrega,
+     * antes de procesar el mensaje.
+     *
+     * @param deliveryTag Etiqueta de entrega del mensaje.
+     */
+    synchronized void track(long deliveryTag) {
+        inFlight.put(deliveryTag, Boolean.FALSE);
+    }
+
+    /**
+     * Registra la confirmación de un mensaje procesado. La confirmación se
+     * envía cuando todas las entregas anteriores también terminaron.
+     *
+     * @param deliveryTag Etiqueta de entrega del mensaje.
+     */
+    synchronized void ack(long deliveryTag) {
+        inFlight.put(deliveryTag, Boolean.TRUE);
+        advance();
+        flushIfDue();
+    }
+
+    /**
+     * Rechaza un mensaje cuyo procesamiento falló. Las confirmaciones que
+     * esperaban a este mensaje se envían después del rechazo.
+     *
+     * @param deliveryTag Etiqueta de entrega del mensaje.
+     * @param requeue true para devolverlo a la cola.
+     */
+    synchronized void nack(long deliveryTag, boolean requeue) {
+        inFlight.remove(deliveryTag);
+        advance();
+        try {
+            channel.basicNack(deliveryTag, false, requeue);
+        } catch (IOException | RuntimeException e) {
+            logger.log(LogLevel.ERROR, "Error al rechazar el mensaje %s: %s", deliveryTag, e.getMessage());
+        }
+        // El rechazo va antes, para que la confirmación múltiple no lo incluya
+        flushIfDue();
+    }
+
+    /**
+     * Envía las confirmaciones pendientes.
+     */
+    synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pendingCount == 0) {
+            return;
+        }
+        try {
+            if (channel.isOpen()) {
+                channel.basicAck(lastDeliveryTag, true);
+            }
+        } catch (IOException | RuntimeException e) {
+            // El broker volverá a entregar los mensajes no confirmados.
+            logger.log(LogLevel.ERROR, "Error al confirmar los mensajes hasta %s: %s", lastDeliveryTag, e.getMessage());
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Descarta las confirmaciones pendientes, por ejemplo cuando el canal se
+     * cerró y el broker las volverá a entregar.
+     */
+    synchronized void discard() {
+        inFlight.clear();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Pasa a pendientes de confirmar las entregas terminadas al inicio de la
+     * secuencia.
+     */
+    /**
+     * Envía las confirmaciones pendientes si completan un lote, o programa su
+     * envío si aún no está programado.
+     */
+    private void flushIfDue() {
+        if (pendingCount == 0) {
+            return;
+        }
+        if (pendingCount >= batchSize) {
+            flush();
+        } else if (scheduledFlush == null) {
+            scheduledFlush = SCHEDULER.schedule(this::flush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void advance() {
+        Map.Entry<Long, Boolean> first;
+        while ((first = inFlight.firstEntry()) != null && first.getValue()) {
+            inFlight.pollFirstEntry();
+            lastDeliveryTag = first.getKey();
+            pendingCount++;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.interfaces.Logger;
+
+/**
+ * {@link Logger} asíncrono que desacopla a quien escribe en el log de la
+ * escritura en disco y en CloudWatch.
+ *
+ * <p>
+ * Cada llamada a {@link #log(String, LogLevel)} solo deposita el registro en
+ * un buffer circular acotado y sin bloqueos; un único hilo de fondo lo vacía
+ * por lotes. Los destinos locales (archivo) reciben los registros del lote
+ * uno a uno desde ese hilo, y los destinos remotos reciben una sola llamada
+ * por cada grupo consecutivo de registros del mismo nivel, unidos por saltos
+ * de línea, para reducir las llamadas de red.
+ * </p>
+ *
+ * <p>
+ * Cuando el buffer está lleno se aplica la {@link OverflowPolicy}
+ * configurada. Los registros de nivel WARN o superior nunca se descartan:
+ * esperan a que haya espacio.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * AsyncLogAppender appender = new AsyncLogAppender(List.of(fileLogger), List.of(cloudWatchLogger),
+ *         8192, AsyncLogAppender.OverflowPolicy.DROP_LOWEST_LEVEL, 1);
+ * appender.log("Mensaje enviado", LogLevel.INFO);
+ * appender.close();
+ * }
+ * </pre>
+ */
+public class AsyncLogAppender implements Logger, AutoCloseable {
+
+    /**
+     * Tamaño por defecto del buffer, en registros.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * Número máximo de registros que el hilo de fondo procesa por lote.
+     */
+    static final int MAX_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 5_000L;
+
+    /**
+     * Qué hacer con un registro cuando el buffer está lleno.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Quien escribe espera a que haya espacio. No se pierden registros.
+         */
+        BLOCK,
+        /**
+         * Los registros de nivel inferior a WARN se descartan; los demás
+         * esperan a que haya espacio.
+         */
+        DROP_LOWEST_LEVEL,
+        /**
+         * De los registros de nivel inferior a WARN que no caben se conserva
+         * uno de cada {@code sampleRate} (esperando espacio) y se descartan
+         * los demás; los de nivel WARN o superior esperan a que haya espacio.
+         */
+        SAMPLE;
+
+        /**
+         * Convierte un nombre en una política.
+         *
+         * @param name Nombre de la política, sin distinguir mayúsculas.
+         * @param defaultPolicy Política a usar si el nombre no es válido.
+         * @return Política correspondiente.
+         */
+        public static OverflowPolicy parse(String name, OverflowPolicy defaultPolicy) {
+            if (name == null || name.isBlank()) {
+                return defaultPolicy;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return defaultPolicy;
+            }
+        }
+    }
+
+    private final Logger[] localSinks;
+    private final Logger[] remoteSinks;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] messages;
+    private final LogLevel[] levels;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong sinkErrorCount = new AtomicLong();
+
+    private final Thread drainer;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * Crea el appender e inicia su hilo de fondo.
+     *
+     * @param localSinks Destinos locales (por ejemplo, archivo).
+     * @param remoteSinks Destinos remotos (por ejemplo, CloudWatch).
+     * @param bufferSize Capacidad del buffer; se redondea a la siguiente
+     * potencia de dos.
+     * @param overflowPolicy Política cuando el buffer está lleno.
+     * @param sampleRate Para {@link OverflowPolicy#SAMPLE}, se conserva uno de
+     * cada {@code sampleRate} registros que no caben.
+     * @throws IllegalArgumentException Si el tamaño del buffer o la tasa de
+     * muestreo no son válidos.
+     */
+    public AsyncLogAppender(List<Logger> localSinks, List<Logger> remoteSinks, int bufferSize,
+            OverflowPolicy overflowPolicy, int sampleRate) {
+        if (bufferSize < 1 || bufferSize > (1 << 30)) {
+            throw new IllegalArgumentException("El tamaño del buffer de logs debe estar entre 1 y 2^30.");
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("La tasa de muestreo de logs debe ser mayor que cero.");
+        }
+        this.localSinks = localSinks.toArray(new Logger[0]);
+        this.remoteSinks = remoteSinks.toArray(new Logger[0]);
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.BLOCK : overflowPolicy;
+        this.sampleRate = sampleRate;
+        int size = Math.max(2, bufferSize);
+        this.capacity = Integer.bitCount(size) == 1 ? size : Integer.highestOneBit(size) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.messages = new String[capacity];
+        this.levels = new LogLevel[capacity];
+        this.drainer = new Thread(this::drainLoop, "queue-helper-log-appender");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Encola un registro para escribirlo en segundo plano. Una vez cerrado el
+     * appender, los registros se escriben de forma síncrona.
+     *
+     * @param message Mensaje a registrar.
+     * @param level Nivel del mensaje.
+     */
+    @Override
+    public void log(String message, LogLevel level) {
+        if (closed) {
+            write(message, level);
+            return;
+        }
+        if (offer(message, level)) {
+            published();
+            return;
+        }
+        long overflow = overflowCount.incrementAndGet();
+        if (GatedLogger.severity(level) < GatedLogger.severity(LogLevel.WARN)) {
+            if (overflowPolicy == OverflowPolicy.DROP_LOWEST_LEVEL
+                    || overflowPolicy == OverflowPolicy.SAMPLE && overflow % sampleRate != 0) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+        }
+        offerBlocking(message, level);
+    }
+
+    /**
+     * Espera a que se escriban todos los registros encolados hasta el momento.
+     *
+     * @param timeoutMillis Tiempo máximo de espera.
+     * @return true si se escribieron todos dentro del tiempo de espera.
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (head < target) {
+            if (!drainer.isAlive() || System.nanoTime() - deadline > 0) {
+                return head >= target;
+            }
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Escribe los registros pendientes y detiene el hilo de fondo. Los
+     * registros posteriores se escriben de forma síncrona.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush(DEFAULT_CLOSE_TIMEOUT_MILLIS);
+        closed = true;
+        LockSupport.unpark(drainer);
+        // Registros encolados mientras el hilo de fondo terminaba. Los que se
+        // publiquen después de este vaciado los escribe quien los publica.
+        drainRemaining();
+    }
+
+    /**
+     * Obtiene el número de registros descartados por falta de espacio.
+     *
+     * @return Registros descartados.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Obtiene el número de veces que un registro encontró el buffer lleno,
+     * se haya descartado o no.
+     *
+     * @return Registros que encontraron el buffer lleno.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * Obtiene el número de registros escritos por el hilo de fondo.
+     *
+     * @return Registros escritos.
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Obtiene el número de errores lanzados por los destinos al escribir.
+     *
+     * @return Errores de los destinos.
+     */
+    public long getSinkErrorCount() {
+        return sinkErrorCount.get();
+    }
+
+    /**
+     * Obtiene el número de registros que esperan ser escritos.
+     *
+     * @return Registros pendientes.
+     */
+    public int getPendingCount() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * Obtiene la capacidad efectiva del buffer.
+     *
+     * @return Capacidad en registros.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Intenta reservar una posición del buffer y publicar el registro en
+     * ella. Cada posición lleva un número de secuencia que indica si está
+     * libre para el productor ({@code seq == pos}) o lista para el hilo de
+     * fondo ({@code seq == pos + 1}).
+     */
+    private boolean offer(String message, LogLevel level) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    messages[index] = message;
+                    levels[index] = level;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    private void offerBlocking(String message, LogLevel level) {
+        while (!offer(message, level)) {
+            if (closed || !drainer.isAlive()) {
+                write(message, level);
+                return;
+            }
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        published();
+    }
+
+    /**
+     * Avisa que se publicó un registro. Si el appender se cerró mientras se
+     * publicaba, puede que nadie más vacíe el buffer, así que se vacía desde
+     * este hilo.
+     */
+    private void published() {
+        if (closed) {
+            drainRemaining();
+        } else if (idle) {
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    /**
+     * Escribe desde este hilo los registros que quedan en el buffer después
+     * del cierre. Espera a que termine el hilo de fondo para no consumir el
+     * buffer a la vez que él.
+     */
+    private synchronized void drainRemaining() {
+        if (Thread.currentThread() == drainer) {
+            return;
+        }
+        try {
+            drainer.join(DEFAULT_CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!drainer.isAlive()) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        String[] batchMessages = new String[MAX_BATCH_SIZE];
+        LogLevel[] batchLevels = new LogLevel[MAX_BATCH_SIZE];
+        while (true) {
+            int count = poll(batchMessages, batchLevels);
+            if (count > 0) {
+                writeBatch(batchMessages, batchLevels, count);
+                continue;
+            }
+            if (closed) {
+                return;
+            }
+            idle = true;
+            if (tail.get() == head) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    private int poll(String[] batchMessages, LogLevel[] batchLevels) {
+        long current = head;
+        int count = 0;
+        while (count < MAX_BATCH_SIZE) {
+            int index = (int) (current & mask);
+            if (sequences.get(index) != current + 1) {
+                break;
+            }
+            batchMessages[count] = messages[index];
+            batchLevels[count] = levels[index];
+            messages[index] = null;
+            levels[index] = null;
+            sequences.set(index, current + capacity);
+            current++;
+            count++;
+        }
+        return count;
+    }
+
+    private void writeBatch(String[] batchMessages, LogLevel[] batchLevels, int count) {
+        for (Logger sink : localSinks) {
+            for (int i = 0; i < count; i++) {
+                writeTo(sink, batchMessages[i], batchLevels[i]);
+            }
+        }
+        for (Logger sink : remoteSinks) {
+            int start = 0;
+            while (start < count) {
+                int end = start + 1;
+                while (end < count && batchLevels[end] == batchLevels[start]) {
+                    end++;
+                }
+                writeTo(sink, join(batchMessages, start, end), batchLevels[start]);
+                start = end;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            batchMessages[i] = null;
+            batchLevels[i] = null;
+        }
+        writtenCount.addAndGet(count);
+        head += count;
+    }
+
+    private static String join(String[] batchMessages, int start, int end) {
+        if (end - start == 1) {
+            return batchMessages[start];
+        }
+        StringBuilder joined = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                joined.append('\n');
+            }
+            joined.append(batchMessages[i]);
+        }
+        return joined.toString();
+    }
+
+    private void write(String message, LogLevel level) {
+        for (Logger sink : localSinks) {
+            writeTo(sink, message, level);
+        }
+        for (Logger sink : remoteSinks) {
+            writeTo(sink, message, level);
+        }
+    }
+
+    private void writeTo(Logger sink, String message, LogLevel level) {
+        try {
+            sink.log(message, level);
+        } catch (RuntimeException e) {
+            // Un destino con fallos no debe detener el hilo de fondo ni a los demás destinos.
+            sinkErrorCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+
+/**
+ * Pool acotado de canales de RabbitMQ de larga duración.
+ *
+ * <p>
+ * Abrir y cerrar un {@link Channel} por cada mensaje cuesta varias idas y
+ * vueltas AMQP; este pool mantiene hasta {@code maxSize} canales abiertos y
+ * los reutiliza entre publicaciones. Cada canal prestado con
+ * {@link #borrow()} debe devolverse con {@link #release(Channel)} si sigue
+ * siendo utilizable, o con {@link #invalidate(Channel)} si falló durante su
+ * uso, para que sea descartado.
+ * </p>
+ *
+ * <p>
+ * Un canal solo es usado por un hilo a la vez, ya que los canales de RabbitMQ
+ * no deben compartirse para publicar de forma concurrente.
+ * </p>
+ *
+ * <p>
+ * Si la conexión se recupera automáticamente, tras cada recuperación se
+ * cierran los canales libres y los prestados se cierran al devolverse, de
+ * modo que las publicaciones siguientes usan canales nuevos sin el estado de
+ * confirmaciones de antes de la caída.
+ * </p>
+ */
+public class ChannelPool implements AutoCloseable {
+
+    /**
+     * Número de canales por defecto que mantiene el pool.
+     */
+    public static final int DEFAULT_SIZE = 8;
+
+    /**
+     * Tiempo máximo por defecto (en milisegundos) que se espera por un canal
+     * libre antes de fallar.
+     */
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 5_000L;
+
+    private final Connection connection;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final BlockingQueue<Channel> idleChannels;
+    private final Semaphore permits;
+    private final Set<Channel> borrowed = ConcurrentHashMap.newKeySet();
+    private final Set<Channel> stale = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Crea un pool con el tamaño y tiempo de espera por defecto.
+     *
+     * @param connection Conexión de la que se crean los canales.
+     */
+    public ChannelPool(Connection connection) {
+        this(connection, DEFAULT_SIZE, DEFAULT_BORROW_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Crea un pool de canales.
+     *
+     * @param connection Conexión de la que se crean los canales.
+     * @param maxSize Número máximo de canales abiertos simultáneamente.
+     * @param borrowTimeoutMillis Tiempo máximo de espera por un canal libre.
+     * @throws IllegalArgumentException Si el tamaño o el tiempo de espera no
+     * son válidos.
+     */
+    public ChannelPool(Connection connection, int maxSize, long borrowTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("El tamaño del pool de canales debe ser mayor que cero.");
+        }
+        if (borrowTimeoutMillis < 0) {
+            throw new IllegalArgumentException("El tiempo de espera del pool de canales no puede ser negativo.");
+        }
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleChannels = new ArrayBlockingQueue<>(maxSize);
+        this.permits = new Semaphore(maxSize, true);
+        if (connection instanceof Recoverable recoverable) {
+            recoverable.addRecoveryListener(new RecoveryListener() {
+                @Override
+                public void handleRecovery(Recoverable recovered) {
+                    discardChannels();
+                }
+
+                @Override
+                public void handleRecoveryStarted(Recoverable recovering) {
+                    // Los canales se descartan cuando la conexión vuelve.
+                }
+            });
+        }
+    }
+
+    /**
+     * Toma un canal del pool. Reutiliza un canal libre si existe; de lo
+     * contrario abre uno nuevo mientras no se supere el tamaño máximo.
+     *
+     * @return Canal abierto y de uso exclusivo hasta que se devuelva.
+     * @throws IOException Si no se pudo crear el canal, el pool está cerrado o
+     * no hubo un canal libre dentro del tiempo de espera.
+     */
+    public Channel borrow() throws IOException {
+        ensureOpen();
+        acquirePermit();
+        try {
+            Channel channel;
+            while ((channel = idleChannels.poll()) != null) {
+                if (channel.isOpen()) {
+                    borrowed.add(channel);
+                    return channel;
+                }
+                closeQuietly(channel);
+            }
+            channel = connection.createChannel();
+            if (channel == null) {
+                throw new IOException("La conexión no tiene canales disponibles.");
+            }
+            borrowed.add(channel);
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve un canal al pool para que sea reutilizado. Si el canal está
+     * cerrado o el pool ya fue cerrado, el canal se descarta.
+     *
+     * @param channel Canal obtenido con {@link #borrow()}.
+     */
+    public void release(Channel channel) {
+        if (channel == null) {
+            return;
+        }
+        borrowed.remove(channel);
+        if (stale.remove(channel) || closed || !channel.isOpen() || !idleChannels.offer(channel)) {
+            closeQuietly(channel);
+        } else if (closed) {
+            // El pool se cerró mientras el canal se devolvía.
+            close();
+        }
+        permits.release();
+    }
+
+    /**
+     * Descarta un canal que falló durante su uso, liberando su lugar en el
+     * pool para que se abra uno nuevo en el próximo préstamo.
+     *
+     * @param channel Canal obtenido con {@link #borrow()}.
+     */
+    public void invalidate(Channel channel) {
+        if (channel == null) {
+            return;
+        }
+        borrowed.remove(channel);
+        stale.remove(channel);
+        closeQuietly(channel);
+        permits.release();
+    }
+
+    /**
+     * Obtiene el número máximo de canales del pool.
+     *
+     * @return Tamaño máximo del pool.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Obtiene el número de canales abiertos que esperan ser reutilizados.
+     *
+     * @return Cantidad de canales libres.
+     */
+    public int getIdleCount() {
+        return idleChannels.size();
+    }
+
+    /**
+     * Cierra el pool y todos los canales libres. Los canales prestados se
+     * cierran cuando se devuelven.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Channel channel;
+        while ((channel = idleChannels.poll()) != null) {
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Descarta los canales abiertos antes de una recuperación de la conexión:
+     * cierra los libres y marca los prestados para cerrarlos al devolverse.
+     */
+    void discardChannels() {
+        stale.addAll(borrowed);
+        Channel channel;
+        while ((channel = idleChannels.poll()) != null) {
+            closeQuietly(channel);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("El pool de canales está cerrado.");
+        }
+    }
+
+    private void acquirePermit() throws IOException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException(String.format("No hubo canales libres después de %d ms (tamaño del pool: %d).",
+                        borrowTimeoutMillis, maxSize));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido mientras se esperaba un canal libre.", e);
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            if (channel.isOpen()) {
+                channel.close();
+            }
+        } catch (IOException | TimeoutException | RuntimeException e) {
+            // El canal ya no es utilizable; no hay nada más que hacer con él.
+        }
+    }
+}
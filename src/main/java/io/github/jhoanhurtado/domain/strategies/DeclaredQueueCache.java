@@ -0,0 +1,203 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+
+/**
+ * Caché por conexión de las colas que ya fueron declaradas en RabbitMQ.
+ *
+ * <p>
+ * {@code queueDeclare} es una llamada síncrona al broker; una vez que la cola
+ * fue declarada con éxito en una conexión no es necesario repetirla en cada
+ * publicación. La caché se limpia cuando la conexión se cierra o se recupera
+ * automáticamente, y la entrada de una cola se invalida cuando el broker
+ * responde con un error de canal 404 (NOT_FOUND) o 406 (PRECONDITION_FAILED),
+ * ya sea como excepción de una llamada o al cerrar de forma asíncrona un
+ * canal con el que se declararon colas.
+ * </p>
+ *
+ * <p>
+ * Quien no quiera usar la caché (por ejemplo, si las colas pueden ser
+ * eliminadas por terceros) puede seguir declarando la cola directamente; ver
+ * {@link RabbitMQStrategy.Builder#cacheQueueDeclarations(boolean)}.
+ * </p>
+ */
+public final class DeclaredQueueCache {
+
+    /**
+     * Código AMQP de error cuando la cola no existe.
+     */
+    static final int NOT_FOUND = 404;
+
+    /**
+     * Código AMQP de error cuando la cola existe con otros argumentos.
+     */
+    static final int PRECONDITION_FAILED = 406;
+
+    private static final Map<Connection, DeclaredQueueCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Set<String> declaredQueues = ConcurrentHashMap.newKeySet();
+    private final Set<Channel> watchedChannels = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final ShutdownListener shutdownListener = this::handleShutdown;
+
+    private DeclaredQueueCache() {
+    }
+
+    /**
+     * Obtiene la caché asociada a una conexión, creándola si no existe. La
+     * caché se limpia cuando la conexión se cierra y, si se recupera
+     * automáticamente, tras cada recuperación.
+     *
+     * @param connection Conexión a RabbitMQ.
+     * @return Caché de colas declaradas de la conexión.
+     */
+    public static DeclaredQueueCache forConnection(Connection connection) {
+        if (connection == null) {
+            return new DeclaredQueueCache();
+        }
+        return CACHES.computeIfAbsent(connection, c -> {
+            DeclaredQueueCache cache = new DeclaredQueueCache();
+            c.addShutdownListener(cache.shutdownListener);
+            if (c instanceof Recoverable recoverable) {
+                recoverable.addRecoveryListener(new RecoveryListener() {
+                    @Override
+                    public void handleRecovery(Recoverable recovered) {
+                        cache.clear();
+                    }
+
+                    @Override
+                    public void handleRecoveryStarted(Recoverable recovering) {
+                        cache.clear();
+                    }
+                });
+            }
+            return cache;
+        });
+    }
+
+    /**
+     * Declara una cola duradera si aún no se declaró en esta conexión.
+     *
+     * @param channel Canal con el que se declara la cola.
+     * @param queue Nombre de la cola.
+     * @return {@code true} si se envió la declaración al broker,
+     * {@code false} si se omitió porque ya estaba declarada.
+     * @throws IOException Si el broker rechaza la declaración.
+     */
+    public boolean declareIfNeeded(Channel channel, String queue) throws IOException {
+        if (watchedChannels.add(channel)) {
+            channel.addShutdownListener(shutdownListener);
+        }
+        if (declaredQueues.contains(queue)) {
+            return false;
+        }
+        try {
+            channel.queueDeclare(queue, true, false, false, null);
+        } catch (IOException | RuntimeException e) {
+            handleChannelError(queue, e);
+            throw e;
+        }
+        declaredQueues.add(queue);
+        return true;
+    }
+
+    /**
+     * Invalida la cola si el error recibido es un cierre de canal 404 o 406,
+     * para que se vuelva a declarar en el siguiente uso.
+     *
+     * @param queue Nombre de la cola afectada.
+     * @param error Error recibido del broker.
+     */
+    public void handleChannelError(String queue, Throwable error) {
+        if (isTopologyError(error)) {
+            invalidate(queue);
+        }
+    }
+
+    /**
+     * Actualiza la caché cuando se cierra la conexión o uno de sus canales.
+     * El cierre de la conexión limpia toda la caché; el cierre de un canal
+     * por 404 o 406 invalida las colas que menciona el broker en el motivo
+     * del cierre o, si no menciona ninguna conocida, toda la caché.
+     *
+     * @param cause Motivo del cierre.
+     */
+    void handleShutdown(ShutdownSignalException cause) {
+        if (cause.isHardError()) {
+            clear();
+            return;
+        }
+        if (!isTopologyError(cause)) {
+            return;
+        }
+        String replyText = ((AMQP.Channel.Close) cause.getReason()).getReplyText();
+        boolean matched = false;
+        if (replyText != null) {
+            for (String queue : declaredQueues) {
+                // El broker nombra la cola entre comillas simples: "no queue 'x' in vhost '/'"
+                if (replyText.contains("'" + queue + "'")) {
+                    declaredQueues.remove(queue);
+                    matched = true;
+                }
+            }
+        }
+        if (!matched) {
+            clear();
+        }
+    }
+
+    /**
+     * Elimina una cola de la caché.
+     *
+     * @param queue Nombre de la cola.
+     */
+    public void invalidate(String queue) {
+        declaredQueues.remove(queue);
+    }
+
+    /**
+     * Elimina todas las colas de la caché.
+     */
+    public void clear() {
+        declaredQueues.clear();
+    }
+
+    /**
+     * Indica si una cola está registrada como declarada.
+     *
+     * @param queue Nombre de la cola.
+     * @return {@code true} si la cola está en la caché.
+     */
+    public boolean isDeclared(String queue) {
+        return declaredQueues.contains(queue);
+    }
+
+    /**
+     * Determina si un error corresponde a un cierre de canal por 404 o 406.
+     *
+     * @param error Error a inspeccionar, incluyendo sus causas.
+     * @return {@code true} si el broker cerró el canal con 404 o 406.
+     */
+    static boolean isTopologyError(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ShutdownSignalException signal
+                    && signal.getReason() instanceof AMQP.Channel.Close close) {
+                int code = close.getReplyCode();
+                return code == NOT_FOUND || code == PRECONDITION_FAILED;
+            }
+        }
+        return false;
+    }
+}
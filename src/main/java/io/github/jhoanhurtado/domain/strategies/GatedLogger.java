@@ -0,0 +1,322 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.interfaces.Logger;
+
+/**
+ * Fachada de logging sobre el {@link Logger} compuesto de {@link LoggerFactory}
+ * que descarta los mensajes por nivel antes de construirlos.
+ *
+ * <p>
+ * El nivel se verifica antes de formatear, de modo que en las rutas por
+ * mensaje no se crean cadenas cuando el nivel está desactivado. Los mensajes
+ * pueden pasarse como plantilla con argumentos (se formatean solo si el nivel
+ * está activo) o como {@link Supplier}. Para valores con argumentos primitivos
+ * en rutas calientes se recomienda verificar {@link #isEnabled(LogLevel)}
+ * antes de la llamada, para evitar también el autoboxing.
+ * </p>
+ *
+ * <p>
+ * {@link #payload(String)} recorta los contenidos de los mensajes a una
+ * longitud máxima y oculta los campos JSON configurados (por ejemplo
+ * {@code attachmentBase64}) antes de escribirlos en el log.
+ * </p>
+ */
+public final class GatedLogger {
+
+    /**
+     * Longitud máxima por defecto de un contenido escrito en el log.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD_LENGTH = 512;
+
+    private static final String REDACTED = "[REDACTED]";
+
+    private final Logger delegate;
+    private volatile int threshold;
+    private volatile int maxPayloadLength;
+    private volatile String[] redactedFields;
+
+    /**
+     * Crea una fachada sobre un logger.
+     *
+     * @param delegate Logger que escribe los mensajes.
+     * @param threshold Nivel mínimo que se escribe.
+     * @param maxPayloadLength Longitud máxima de los contenidos; 0 o negativo
+     * para no recortar.
+     * @param redactedFields Nombres de campos JSON cuyo valor se oculta.
+     */
+    public GatedLogger(Logger delegate, LogLevel threshold, int maxPayloadLength, Collection<String> redactedFields) {
+        this.delegate = delegate;
+        this.threshold = severity(threshold);
+        this.maxPayloadLength = maxPayloadLength;
+        this.redactedFields = redactedFields.toArray(new String[0]);
+    }
+
+    /**
+     * Indica si un nivel se escribe en el log.
+     *
+     * @param level Nivel a verificar.
+     * @return true si el nivel está activo.
+     */
+    public boolean isEnabled(LogLevel level) {
+        return severity(level) >= threshold;
+    }
+
+    /**
+     * Escribe un mensaje si el nivel está activo.
+     *
+     * @param level Nivel del mensaje.
+     * @param message Mensaje.
+     */
+    public void log(LogLevel level, String message) {
+        if (isEnabled(level)) {
+            delegate.log(message, level);
+        }
+    }
+
+    /**
+     * Escribe un mensaje construido de forma perezosa si el nivel está activo.
+     *
+     * @param level Nivel del mensaje.
+     * @param message Proveedor del mensaje.
+     */
+    public void log(LogLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            delegate.log(message.get(), level);
+        }
+    }
+
+    /**
+     * Formatea y escribe un mensaje si el nivel está activo.
+     *
+     * @param level Nivel del mensaje.
+     * @param format Plantilla de {@link String#format(String, Object...)}.
+     * @param arg Argumento de la plantilla.
+     */
+    public void log(LogLevel level, String format, Object arg) {
+        if (isEnabled(level)) {
+            delegate.log(String.format(format, arg), level);
+        }
+    }
+
+    /**
+     * Formatea y escribe un mensaje si el nivel está activo.
+     *
+     * @param level Nivel del mensaje.
+     * @param format Plantilla de {@link String#format(String, Object...)}.
+     * @param arg1 Primer argumento de la plantilla.
+     * @param arg2 Segundo argumento de la plantilla.
+     */
+    public void log(LogLevel level, String format, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            delegate.log(String.format(format, arg1, arg2), level);
+        }
+    }
+
+    /**
+     * Formatea y escribe un mensaje si el nivel está activo.
+     *
+     * @param level Nivel del mensaje.
+     * @param format Plantilla de {@link String#format(String, Object...)}.
+     * @param arg1 Primer argumento de la plantilla.
+     * @param arg2 Segundo argumento de la plantilla.
+     * @param arg3 Tercer argumento de la plantilla.
+     */
+    public void log(LogLevel level, String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(level)) {
+            delegate.log(String.format(format, arg1, arg2, arg3), level);
+        }
+    }
+
+    /**
+     * Prepara un contenido para el log: oculta los campos configurados y lo
+     * recorta a la longitud máxima.
+     *
+     * @param payload Contenido del mensaje.
+     * @return Contenido apto para el log.
+     */
+    public String payload(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        String redacted = redact(payload);
+        int max = maxPayloadLength;
+        if (max <= 0 || redacted.length() <= max) {
+            return redacted;
+        }
+        return redacted.substring(0, max) + "...(" + (redacted.length() - max) + " caracteres omitidos)";
+    }
+
+    /**
+     * Prepara un contenido UTF-8 para el log, decodificando solo la parte que
+     * se va a escribir.
+     *
+     * @param payload Contenido del mensaje en bytes UTF-8.
+     * @return Contenido apto para el log.
+     */
+    public String payload(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        int max = maxPayloadLength;
+        if (max <= 0 || payload.length <= max) {
+            return payload(new String(payload, StandardCharsets.UTF_8));
+        }
+        String head = redact(new String(payload, 0, max, StandardCharsets.UTF_8));
+        return head + "...(" + (payload.length - max) + " bytes omitidos)";
+    }
+
+    /**
+     * Cambia el nivel mínimo que se escribe.
+     *
+     * @param threshold Nuevo nivel mínimo.
+     */
+    public void setThreshold(LogLevel threshold) {
+        this.threshold = severity(threshold);
+    }
+
+    /**
+     * Cambia la longitud máxima de los contenidos.
+     *
+     * @param maxPayloadLength Longitud máxima; 0 o negativo para no recortar.
+     */
+    public void setMaxPayloadLength(int maxPayloadLength) {
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    /**
+     * Cambia los campos JSON cuyo valor se oculta.
+     *
+     * @param redactedFields Nombres de los campos.
+     */
+    public void setRedactedFields(Collection<String> redactedFields) {
+        this.redactedFields = redactedFields.toArray(new String[0]);
+    }
+
+    /**
+     * Obtiene el logger al que delega esta fachada.
+     *
+     * @return Logger compuesto.
+     */
+    public Logger getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Convierte el nombre de un nivel en un {@link LogLevel}.
+     *
+     * @param name Nombre del nivel, sin distinguir mayúsculas.
+     * @param defaultLevel Nivel a usar si el nombre no es válido.
+     * @return Nivel correspondiente.
+     */
+    public static LogLevel parseLevel(String name, LogLevel defaultLevel) {
+        if (name == null || name.isBlank()) {
+            return defaultLevel;
+        }
+        try {
+            return LogLevel.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+
+    /**
+     * Obtiene la severidad relativa de un nivel.
+     *
+     * @param level Nivel.
+     * @return Severidad; mayor es más grave.
+     */
+    static int severity(LogLevel level) {
+        if (level == null) {
+            return Integer.MAX_VALUE;
+        }
+        return switch (level) {
+            case DEBUG -> 10;
+            case INFO -> 20;
+            case WARN -> 30;
+            case ERROR -> 40;
+            case CRITICAL -> 50;
+        };
+    }
+
+    /**
+     * Reemplaza por {@value #REDACTED} el valor de texto de los campos JSON
+     * configurados.
+     */
+    private String redact(String json) {
+        String[] fields = redactedFields;
+        if (fields.length == 0) {
+            return json;
+        }
+        String result = json;
+        for (String field : fields) {
+            result = redactField(result, field);
+        }
+        return result;
+    }
+
+    private static String redactField(String json, String field) {
+        String key = "\"" + field + "\"";
+        int from = json.indexOf(key);
+        if (from < 0) {
+            return json;
+        }
+        StringBuilder redacted = new StringBuilder(json.length());
+        int copied = 0;
+        while (from >= 0) {
+            int valueStart = skipToStringValue(json, from + key.length());
+            if (valueStart < 0) {
+                from = json.indexOf(key, from + key.length());
+                continue;
+            }
+            int valueEnd = findStringEnd(json, valueStart + 1);
+            redacted.append(json, copied, valueStart + 1).append(REDACTED);
+            copied = valueEnd < 0 ? json.length() : valueEnd;
+            from = valueEnd < 0 ? -1 : json.indexOf(key, valueEnd);
+        }
+        redacted.append(json, copied, json.length());
+        return redacted.toString();
+    }
+
+    /**
+     * Devuelve la posición de la comilla de apertura del valor de texto que
+     * sigue a una clave, o -1 si lo que sigue no es un valor de texto.
+     */
+    private static int skipToStringValue(String json, int index) {
+        int i = skipSpaces(json, index);
+        if (i >= json.length() || json.charAt(i) != ':') {
+            return -1;
+        }
+        i = skipSpaces(json, i + 1);
+        return i < json.length() && json.charAt(i) == '"' ? i : -1;
+    }
+
+    private static int skipSpaces(String json, int index) {
+        int i = index;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Devuelve la posición de la comilla de cierre de un texto JSON, o -1 si
+     * el texto está incompleto (por ejemplo, por un recorte).
+     */
+    private static int findStringEnd(String json, int index) {
+        for (int i = index; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
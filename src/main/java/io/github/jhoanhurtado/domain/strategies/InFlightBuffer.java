@@ -0,0 +1,303 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer acotado de mensajes en proceso entre la entrega del broker y los
+ * observadores.
+ *
+ * <p>
+ * La ocupación cuenta los mensajes aceptados que todavía no terminaron de
+ * procesarse, tanto los que esperan en la cola como los que se están
+ * procesando. Al alcanzar la marca alta ({@code highWatermark}) el buffer
+ * avisa para pausar el consumo; cuando la ocupación baja hasta la marca baja
+ * ({@code lowWatermark}) avisa para reanudarlo. Entre la pausa y la llegada del
+ * último mensaje ya enviado por el broker la ocupación puede seguir creciendo
+ * hasta la capacidad; por encima de ella el mensaje espera o se descarta,
+ * según lo indique quien lo entrega.
+ * </p>
+ *
+ * <p>
+ * Los avisos de pausa y reanudación se invocan fuera del bloqueo interno.
+ * </p>
+ *
+ * @param <T> Tipo de los mensajes.
+ */
+public final class InFlightBuffer<T> {
+
+    /**
+     * Recibe los avisos de control de flujo del buffer.
+     */
+    interface FlowListener {
+
+        /**
+         * La ocupación alcanzó la marca alta.
+         */
+        void onPause();
+
+        /**
+         * La ocupación bajó hasta la marca baja.
+         */
+        void onResume();
+    }
+
+    private final int capacity;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final FlowListener listener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<T> queue;
+
+    private int occupancy;
+    private int peakOccupancy;
+    private boolean paused;
+    private boolean closed;
+    private long pausedSinceNanos;
+    private long totalPausedNanos;
+    private long pauseCount;
+    private long shedCount;
+
+    /**
+     * Crea el buffer.
+     *
+     * @param capacity Mensajes en proceso como máximo.
+     * @param highWatermark Ocupación a partir de la cual se pausa el consumo.
+     * @param lowWatermark Ocupación a la que se reanuda el consumo.
+     * @param listener Receptor de los avisos de pausa y reanudación.
+     */
+    InFlightBuffer(int capacity, int highWatermark, int lowWatermark, FlowListener listener) {
+        this.capacity = capacity;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.listener = listener;
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Agrega un mensaje al buffer.
+     *
+     * @param item Mensaje a agregar.
+     * @param waitIfFull true para esperar a que haya espacio; false para
+     * descartarlo si el buffer está lleno.
+     * @return true si el mensaje se agregó; false si se descartó o el buffer
+     * está cerrado.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    boolean put(T item, boolean waitIfFull) throws InterruptedException {
+        boolean pause = false;
+        lock.lockInterruptibly();
+        try {
+            while (occupancy >= capacity && !closed) {
+                if (!waitIfFull) {
+                    shedCount++;
+                    return false;
+                }
+                notFull.await();
+            }
+            if (closed) {
+                return false;
+            }
+            queue.addLast(item);
+            occupancy++;
+            peakOccupancy = Math.max(peakOccupancy, occupancy);
+            if (!paused && occupancy >= highWatermark) {
+                paused = true;
+                pausedSinceNanos = System.nanoTime();
+                pauseCount++;
+                pause = true;
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (pause) {
+            listener.onPause();
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el siguiente mensaje, esperando si no hay ninguno.
+     *
+     * @return Mensaje, o null si el buffer se cerró y está vacío.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return queue.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica que un mensaje obtenido con {@link #take()} terminó de
+     * procesarse.
+     */
+    void release() {
+        boolean resume = false;
+        lock.lock();
+        try {
+            occupancy--;
+            notFull.signal();
+            if (paused && occupancy <= lowWatermark) {
+                paused = false;
+                totalPausedNanos += System.nanoTime() - pausedSinceNanos;
+                resume = true;
+            }
+            if (occupancy == 0) {
+                notFull.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (resume) {
+            listener.onResume();
+        }
+    }
+
+    /**
+     * Espera a que terminen todos los mensajes aceptados.
+     *
+     * @param timeout Tiempo máximo de espera.
+     * @param unit Unidad del tiempo.
+     * @return true si el buffer quedó vacío a tiempo.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    boolean awaitEmpty(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (occupancy > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el buffer: no acepta más mensajes y {@link #take()} devuelve null
+     * cuando se vacía.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene la capacidad del buffer.
+     *
+     * @return Mensajes en proceso como máximo.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtiene la ocupación actual.
+     *
+     * @return Mensajes aceptados que aún no terminaron.
+     */
+    public int getOccupancy() {
+        lock.lock();
+        try {
+            return occupancy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene la mayor ocupación alcanzada.
+     *
+     * @return Ocupación máxima.
+     */
+    public int getPeakOccupancy() {
+        lock.lock();
+        try {
+            return peakOccupancy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica si el consumo está pausado.
+     *
+     * @return true si la ocupación alcanzó la marca alta y aún no bajó a la
+     * marca baja.
+     */
+    public boolean isPaused() {
+        lock.lock();
+        try {
+            return paused;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de veces que se pausó el consumo.
+     *
+     * @return Pausas.
+     */
+    public long getPauseCount() {
+        lock.lock();
+        try {
+            return pauseCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el tiempo total que el consumo estuvo pausado, incluida la pausa
+     * en curso.
+     *
+     * @return Tiempo en milisegundos.
+     */
+    public long getPausedMillis() {
+        lock.lock();
+        try {
+            long nanos = totalPausedNanos + (paused ? System.nanoTime() - pausedSinceNanos : 0);
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de mensajes descartados por falta de espacio.
+     *
+     * @return Mensajes descartados.
+     */
+    public long getShedCount() {
+        lock.lock();
+        try {
+            return shedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,622 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import io.github.jhoanhurtado.domain.codecs.CodecRegistry;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.observer.MessageObserver;
+
+/**
+ * Consumer de Kafka que usa el patrón Observer para notificar los mensajes; es
+ * la contraparte de {@link RabbitMQConsumer}.
+ *
+ * <p>
+ * Un hilo ejecuta el ciclo de {@code poll} y reparte los registros por
+ * partición. Cada partición se procesa en un hilo virtual, de uno en uno y en
+ * orden, por lo que el paralelismo crece con el número de particiones
+ * asignadas sin perder el orden dentro de cada una. Cuando una partición
+ * acumula {@code maxPendingPerPartition} registros sin procesar se pausa, y
+ * se reanuda cuando baja a la mitad.
+ * </p>
+ *
+ * <p>
+ * Los offsets se confirman de forma manual y asíncrona después de procesar
+ * los registros ({@code enable.auto.commit=false}); al perder particiones en
+ * un rebalanceo y al detenerse, se confirman de forma síncrona. Si un mensaje
+ * no puede decodificarse o un oyente falla, el error se registra y el
+ * registro se da por procesado, igual que en {@link RabbitMQConsumer}.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * KafkaConsumerRunner runner = new KafkaConsumerRunner.Builder()
+ *         .bootstrapServers("localhost:9092")
+ *         .groupId("notificaciones")
+ *         .topics(List.of("emails"))
+ *         .observer(observer)
+ *         .build();
+ * runner.startListening();
+ * ...
+ * runner.close();
+ * }
+ * </pre>
+ */
+public class KafkaConsumerRunner implements AutoCloseable {
+
+    /**
+     * Registros pendientes por partición a partir de los cuales se pausa la
+     * partición.
+     */
+    public static final int DEFAULT_MAX_PENDING_PER_PARTITION = 1_000;
+
+    /**
+     * Tiempo máximo por defecto que espera cada {@code poll}.
+     */
+    public static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofMillis(100);
+
+    /**
+     * Decodificador que toma el valor del registro como contenido del
+     * mensaje, tal como lo publica {@link KafkaStrategy}.
+     */
+    public static final Function<ConsumerRecord<String, String>, MessageModelRequest> CONTENT_DECODER =
+            record -> new MessageModelRequest(record.value(), null);
+
+    /**
+     * Decodificador para registros cuyo valor es un sobre JSON con
+     * {@code content} y {@code sender}, como los de RabbitMQ.
+     */
+    public static final Function<ConsumerRecord<String, String>, MessageModelRequest> ENVELOPE_DECODER =
+            record -> MessageModelRequest.fromJson(record.value());
+
+    /**
+     * Decodificador que elige el códec por la cabecera
+     * {@value MessageModelRequest#CONTENT_TYPE_HEADER} del registro, entre los
+     * de {@link CodecRegistry#defaults()}. Los registros sin esa cabecera se
+     * decodifican como {@link #CONTENT_DECODER}. Es el decodificador por
+     * defecto.
+     */
+    public static final Function<ConsumerRecord<String, String>, MessageModelRequest> CODEC_DECODER =
+            codecDecoder(CodecRegistry.defaults());
+
+    private static final long REVOKE_WAIT_MILLIS = 5_000L;
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Consumer<String, String> consumer;
+    private final Collection<String> topics;
+    private final MessageObserver observer;
+    private final Function<ConsumerRecord<String, String>, MessageModelRequest> decoder;
+    private final int maxPendingPerPartition;
+    private final Duration pollTimeout;
+    private final Map<TopicPartition, PartitionWorker> workers = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> paused = new HashSet<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final GatedLogger logger = new LoggerFactory().getGatedLogger();
+    private volatile Thread pollThread;
+
+    /**
+     * Crea un decodificador que elige el códec por la cabecera
+     * {@value MessageModelRequest#CONTENT_TYPE_HEADER} del registro.
+     *
+     * @param codecs Códecs disponibles.
+     * @return Decodificador de registros.
+     */
+    public static Function<ConsumerRecord<String, String>, MessageModelRequest> codecDecoder(CodecRegistry codecs) {
+        return record -> {
+            Header header = record.headers().lastHeader(MessageModelRequest.CONTENT_TYPE_HEADER);
+            if (header == null || header.value() == null) {
+                return CONTENT_DECODER.apply(record);
+            }
+            String value = record.value();
+            byte[] body = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+            return codecs.forContentType(new String(header.value(), StandardCharsets.UTF_8)).decode(body);
+        };
+    }
+
+    private KafkaConsumerRunner(Builder builder) {
+        this.consumer = builder.consumer != null ? builder.consumer : new KafkaConsumer<>(builder.consumerProperties());
+        this.topics = List.copyOf(builder.topics);
+        this.observer = builder.observer;
+        this.decoder = builder.decoder;
+        this.maxPendingPerPartition = builder.maxPendingPerPartition;
+        this.pollTimeout = builder.pollTimeout;
+    }
+
+    /**
+     * Se suscribe a los tópicos e inicia el ciclo de {@code poll} en un hilo
+     * propio.
+     *
+     * @throws IllegalStateException Si el consumer ya fue iniciado.
+     */
+    public void startListening() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("El consumer de Kafka ya fue iniciado.");
+        }
+        consumer.subscribe(topics, new RebalanceListener());
+        Thread thread = new Thread(this::pollLoop, "queue-helper-kafka-consumer");
+        pollThread = thread;
+        thread.start();
+        logger.log(LogLevel.INFO, "Escuchando mensajes en los tópicos de Kafka %s...", topics);
+    }
+
+    /**
+     * Detiene el ciclo de {@code poll}, confirma los offsets procesados y
+     * cierra el consumer.
+     */
+    @Override
+    public void close() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        consumer.wakeup();
+        Thread thread = pollThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Obtiene el número de registros recibidos que aún no se procesaron.
+     *
+     * @return Registros pendientes en todas las particiones.
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (PartitionWorker worker : workers.values()) {
+            pending += worker.pending.get();
+        }
+        return pending;
+    }
+
+    private void pollLoop() {
+        try {
+            while (running.get()) {
+                ConsumerRecords<String, String> records = consumer.poll(pollTimeout);
+                for (TopicPartition partition : records.partitions()) {
+                    PartitionWorker worker = workers.computeIfAbsent(partition, PartitionWorker::new);
+                    worker.enqueue(records.records(partition));
+                }
+                updatePausedPartitions();
+                commitProcessed(false);
+            }
+        } catch (WakeupException e) {
+            // close() interrumpe el poll para detener el ciclo.
+        } catch (RuntimeException e) {
+            logger.log(LogLevel.CRITICAL, "Ocurrió un error al consumir los tópicos %s: %s", topics, e.getMessage());
+        } finally {
+            running.set(false);
+            shutdown();
+        }
+    }
+
+    private void updatePausedPartitions() {
+        List<TopicPartition> toPause = new ArrayList<>();
+        List<TopicPartition> toResume = new ArrayList<>();
+        for (PartitionWorker worker : workers.values()) {
+            int pending = worker.pending.get();
+            if (!paused.contains(worker.partition) && pending >= maxPendingPerPartition) {
+                toPause.add(worker.partition);
+            } else if (paused.contains(worker.partition) && pending <= maxPendingPerPartition / 2) {
+                toResume.add(worker.partition);
+            }
+        }
+        if (!toPause.isEmpty()) {
+            consumer.pause(toPause);
+            paused.addAll(toPause);
+            logger.log(LogLevel.DEBUG, "Particiones pausadas por registros pendientes: %s", toPause);
+        }
+        if (!toResume.isEmpty()) {
+            consumer.resume(toResume);
+            toResume.forEach(paused::remove);
+            logger.log(LogLevel.DEBUG, "Particiones reanudadas: %s", toResume);
+        }
+    }
+
+    private void commitProcessed(boolean sync) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (PartitionWorker worker : workers.values()) {
+            long next = worker.nextOffset;
+            // Un commit asíncrono ya solicitado no se repite mientras no falle
+            if (next > worker.committedOffset && (sync || next > worker.requestedOffset)) {
+                offsets.put(worker.partition, new OffsetAndMetadata(next));
+                worker.requestedOffset = next;
+            }
+        }
+        commit(offsets, sync);
+    }
+
+    /**
+     * Confirma offsets. El offset confirmado de cada partición solo avanza
+     * cuando el broker acepta el commit; si falla, se vuelve a intentar en
+     * el siguiente ciclo o al detener el consumer.
+     */
+    private void commit(Map<TopicPartition, OffsetAndMetadata> offsets, boolean sync) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        if (sync) {
+            try {
+                commitSync(offsets);
+                markCommitted(offsets);
+            } catch (RuntimeException e) {
+                markFailed(offsets);
+                logger.log(LogLevel.ERROR, "Error confirmando offsets %s: %s", offsets, e.getMessage());
+            }
+        } else {
+            // El callback se ejecuta en el hilo de poll
+            consumer.commitAsync(offsets, (committed, exception) -> {
+                if (exception == null) {
+                    markCommitted(offsets);
+                } else {
+                    markFailed(offsets);
+                    logger.log(LogLevel.ERROR, "Error confirmando offsets %s: %s", offsets, exception.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Confirma offsets de forma síncrona. Si {@link #close()} llamó a
+     * {@code wakeup()} mientras el hilo de poll no estaba en {@code poll},
+     * el wakeup pendiente interrumpe la primera llamada con
+     * {@link WakeupException}; el wakeup se consume y el commit se reintenta
+     * una vez.
+     */
+    private void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        try {
+            consumer.commitSync(offsets);
+        } catch (WakeupException e) {
+            consumer.commitSync(offsets);
+        }
+    }
+
+    private void markCommitted(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : offsets.entrySet()) {
+            PartitionWorker worker = workers.get(entry.getKey());
+            if (worker != null) {
+                worker.committedOffset = Math.max(worker.committedOffset, entry.getValue().offset());
+            }
+        }
+    }
+
+    private void markFailed(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        for (TopicPartition partition : offsets.keySet()) {
+            PartitionWorker worker = workers.get(partition);
+            if (worker != null) {
+                worker.requestedOffset = worker.committedOffset;
+            }
+        }
+    }
+
+    private void shutdown() {
+        for (PartitionWorker worker : workers.values()) {
+            worker.revoke();
+        }
+        for (PartitionWorker worker : workers.values()) {
+            worker.awaitIdle(REVOKE_WAIT_MILLIS);
+        }
+        commitProcessed(true);
+        workers.clear();
+        executor.shutdown();
+        consumer.close();
+        logger.log(LogLevel.INFO, "Consumer de Kafka detenido para los tópicos %s.", topics);
+    }
+
+    private void process(ConsumerRecord<String, String> record) {
+        try {
+            MessageModelRequest message = decoder.apply(record).withHeaders(headersOf(record));
+            // El offset solo avanza cuando todos los oyentes terminan
+            CompletableFuture<Void> completion = observer.notify(message);
+            if (completion != null) {
+                completion.join();
+            }
+        } catch (RuntimeException e) {
+            logger.log(LogLevel.ERROR, "Error al procesar el registro %s@%s: %s",
+                    record.topic() + "-" + record.partition(), record.offset(), e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene las cabeceras de un registro como texto UTF-8, para que los
+     * selectores de los observadores puedan usarlas.
+     */
+    private static Map<String, String> headersOf(ConsumerRecord<String, String> record) {
+        Map<String, String> headers = new HashMap<>();
+        for (Header header : record.headers()) {
+            if (header.value() != null) {
+                headers.put(header.key(), new String(header.value(), StandardCharsets.UTF_8));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Procesa en orden los registros de una partición. A lo sumo hay una
+     * tarea activa por partición; la tarea termina cuando la cola se vacía y
+     * se vuelve a programar al llegar nuevos registros.
+     */
+    private final class PartitionWorker {
+
+        private final TopicPartition partition;
+        private final Queue<ConsumerRecord<String, String>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean revoked;
+        private volatile long nextOffset = -1;
+        /**
+         * Último offset confirmado por el broker; solo lo usa el hilo de
+         * {@code poll}.
+         */
+        private long committedOffset = -1;
+        /**
+         * Último offset enviado en un commit; solo lo usa el hilo de
+         * {@code poll}.
+         */
+        private long requestedOffset = -1;
+
+        private PartitionWorker(TopicPartition partition) {
+            this.partition = partition;
+        }
+
+        private void enqueue(List<ConsumerRecord<String, String>> records) {
+            pending.addAndGet(records.size());
+            queue.addAll(records);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!revoked && !queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                ConsumerRecord<String, String> record;
+                while (!revoked && (record = queue.poll()) != null) {
+                    process(record);
+                    nextOffset = record.offset() + 1;
+                    pending.decrementAndGet();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Registros que llegaron mientras la tarea terminaba.
+            schedule();
+        }
+
+        private void revoke() {
+            revoked = true;
+            pending.addAndGet(-queue.size());
+            queue.clear();
+        }
+
+        private void awaitIdle(long timeoutMillis) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (scheduled.get() && System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(IDLE_WAIT_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Confirma lo procesado de las particiones revocadas antes de que pasen a
+     * otro consumer y descarta sus registros pendientes, que el nuevo dueño
+     * volverá a leer desde el último offset confirmado.
+     */
+    private final class RebalanceListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                PartitionWorker worker = workers.remove(partition);
+                paused.remove(partition);
+                if (worker == null) {
+                    continue;
+                }
+                worker.revoke();
+                worker.awaitIdle(REVOKE_WAIT_MILLIS);
+                if (worker.nextOffset > worker.committedOffset) {
+                    offsets.put(partition, new OffsetAndMetadata(worker.nextOffset));
+                }
+            }
+            commit(offsets, true);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            logger.log(LogLevel.INFO, "Particiones de Kafka asignadas: %s", partitions);
+        }
+    }
+
+    /**
+     * Constructor de {@link KafkaConsumerRunner}.
+     */
+    public static class Builder {
+
+        private String bootstrapServers;
+        private String groupId;
+        private Collection<String> topics = List.of();
+        private MessageObserver observer;
+        private Function<ConsumerRecord<String, String>, MessageModelRequest> decoder = CODEC_DECODER;
+        private int maxPendingPerPartition = DEFAULT_MAX_PENDING_PER_PARTITION;
+        private Duration pollTimeout = DEFAULT_POLL_TIMEOUT;
+        private final Properties properties = new Properties();
+        private Consumer<String, String> consumer;
+
+        /**
+         * Dirección de los brokers de Kafka.
+         *
+         * @param bootstrapServers Lista de brokers separada por comas.
+         * @return Este constructor.
+         */
+        public Builder bootstrapServers(String bootstrapServers) {
+            this.bootstrapServers = bootstrapServers;
+            return this;
+        }
+
+        /**
+         * Grupo de consumidores.
+         *
+         * @param groupId Identificador del grupo.
+         * @return Este constructor.
+         */
+        public Builder groupId(String groupId) {
+            this.groupId = groupId;
+            return this;
+        }
+
+        /**
+         * Tópicos a consumir.
+         *
+         * @param topics Nombres de los tópicos.
+         * @return Este constructor.
+         */
+        public Builder topics(Collection<String> topics) {
+            this.topics = topics;
+            return this;
+        }
+
+        /**
+         * Observador al que se notifican los mensajes.
+         *
+         * @param observer Observador de mensajes.
+         * @return Este constructor.
+         */
+        public Builder observer(MessageObserver observer) {
+            this.observer = observer;
+            return this;
+        }
+
+        /**
+         * Forma de convertir un registro en mensaje. Por defecto
+         * {@link #CODEC_DECODER}.
+         *
+         * @param decoder Decodificador de registros.
+         * @return Este constructor.
+         */
+        public Builder decoder(Function<ConsumerRecord<String, String>, MessageModelRequest> decoder) {
+            this.decoder = decoder;
+            return this;
+        }
+
+        /**
+         * Registros pendientes por partición a partir de los cuales se pausa
+         * la partición.
+         *
+         * @param maxPendingPerPartition Límite de registros pendientes.
+         * @return Este constructor.
+         */
+        public Builder maxPendingPerPartition(int maxPendingPerPartition) {
+            this.maxPendingPerPartition = maxPendingPerPartition;
+            return this;
+        }
+
+        /**
+         * Tiempo máximo que espera cada {@code poll}.
+         *
+         * @param pollTimeout Tiempo de espera.
+         * @return Este constructor.
+         */
+        public Builder pollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+            return this;
+        }
+
+        /**
+         * Agrega una propiedad del consumer de Kafka, por ejemplo
+         * {@code max.poll.records}.
+         *
+         * @param key Nombre de la propiedad de Kafka.
+         * @param value Valor de la propiedad.
+         * @return Este constructor.
+         */
+        public Builder property(String key, String value) {
+            this.properties.put(key, value);
+            return this;
+        }
+
+        /**
+         * Consumer ya creado, para pruebas.
+         */
+        Builder consumer(Consumer<String, String> consumer) {
+            this.consumer = consumer;
+            return this;
+        }
+
+        /**
+         * Crea el consumer.
+         *
+         * @return Consumer de Kafka sin iniciar.
+         * @throws IllegalArgumentException Si falta algún dato obligatorio.
+         */
+        public KafkaConsumerRunner build() {
+            if (observer == null) {
+                throw new IllegalArgumentException("El observador de mensajes es obligatorio.");
+            }
+            if (topics == null || topics.isEmpty()) {
+                throw new IllegalArgumentException("Debe indicarse al menos un tópico.");
+            }
+            if (consumer == null && (bootstrapServers == null || groupId == null)) {
+                throw new IllegalArgumentException("La dirección de los brokers y el grupo son obligatorios.");
+            }
+            if (maxPendingPerPartition < 1) {
+                throw new IllegalArgumentException("El límite de registros pendientes debe ser mayor que cero.");
+            }
+            if (decoder == null || pollTimeout == null) {
+                throw new IllegalArgumentException("El decodificador y el tiempo de poll son obligatorios.");
+            }
+            return new KafkaConsumerRunner(this);
+        }
+
+        private Properties consumerProperties() {
+            Properties props = new Properties();
+            props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+            props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+            props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+            props.putAll(properties);
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+            return props;
+        }
+    }
+}
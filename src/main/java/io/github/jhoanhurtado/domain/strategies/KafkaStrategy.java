@@ -1,31 +1,274 @@
 package io.github.jhoanhurtado.domain.strategies;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
+import io.github.jhoanhurtado.domain.codecs.MessageCodec;
+import io.github.jhoanhurtado.domain.codecs.TextMessageCodec;
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
 import io.github.jhoanhurtado.domain.interfaces.MessagingStrategy;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.domain.models.SendResult;
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.infrastructure.config.KafkaProducerSettings;
+import io.github.jhoanhurtado.infrastructure.config.KafkaProducerSettings.Acks;
 
+/**
+ * Implementación de la estrategia de mensajería utilizando Kafka.
+ *
+ * <p>
+ * Los envíos no bloquean: el productor agrupa los registros según su
+ * {@link KafkaProducerSettings} y el resultado de cada uno se conoce por
+ * callback. La prioridad se envía en la cabecera {@value #PRIORITY_HEADER}, ya
+ * que Kafka no ordena por prioridad. El modo de entrega indica la
+ * confirmación mínima requerida (ver {@link Acks#forDeliveryMode(int)}). Todos
+ * los registros se envían con un único productor, para conservar el orden por
+ * clave y la idempotencia, así que un modo de entrega que requiere más
+ * confirmación que la configurada se rechaza.
+ * </p>
+ *
+ * <p>
+ * El valor de cada registro se codifica con un {@link MessageCodec} de texto
+ * (por defecto {@link TextMessageCodec}, el contenido del mensaje) y su tipo
+ * de contenido se envía en la cabecera {@value #CONTENT_TYPE_HEADER}, que
+ * {@link KafkaConsumerRunner#CODEC_DECODER} usa para decodificarlo.
+ * </p>
+ */
 public class KafkaStrategy implements MessagingStrategy {
+
+    /**
+     * Cabecera con la prioridad del mensaje.
+     */
+    public static final String PRIORITY_HEADER = "priority";
+
+    /**
+     * Cabecera con el tipo de contenido del valor.
+     */
+    public static final String CONTENT_TYPE_HEADER = MessageModelRequest.CONTENT_TYPE_HEADER;
+
     protected KafkaProducer<String, String> producer;
+    private final KafkaProducerSettings settings;
+    private final MessageCodec codec;
+    private final byte[] contentType;
+    private final GatedLogger logger = new LoggerFactory().getGatedLogger();
 
+    /**
+     * Crea la estrategia con la configuración por defecto del productor.
+     *
+     * @param broker Dirección de los brokers de Kafka.
+     */
     public KafkaStrategy(String broker) {
-        Properties props = new Properties();
-        props.put("bootstrap.servers", broker);
-        props.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        props.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        this.producer = new KafkaProducer<>(props);
+        this(broker, KafkaProducerSettings.defaults());
+    }
+
+    /**
+     * Crea la estrategia con una configuración del productor.
+     *
+     * @param broker Dirección de los brokers de Kafka.
+     * @param settings Configuración del productor.
+     */
+    public KafkaStrategy(String broker, KafkaProducerSettings settings) {
+        this(broker, settings, TextMessageCodec.INSTANCE);
+    }
+
+    /**
+     * Crea la estrategia con una configuración del productor y un códec.
+     *
+     * @param broker Dirección de los brokers de Kafka.
+     * @param settings Configuración del productor.
+     * @param codec Códec de texto con el que se codifica el valor de los
+     * registros.
+     * @throws IllegalArgumentException Si el códec es nulo o binario, ya que
+     * el productor envía los valores como texto.
+     */
+    public KafkaStrategy(String broker, KafkaProducerSettings settings, MessageCodec codec) {
+        if (codec == null || codec.isBinary()) {
+            throw new IllegalArgumentException("Kafka requiere un códec de texto; los valores se envían como cadenas.");
+        }
+        this.settings = settings;
+        this.codec = codec;
+        this.contentType = codec.getContentType().getBytes(StandardCharsets.UTF_8);
+        this.producer = createProducer(settings.toProperties(broker));
     }
 
+    /**
+     * Envía un mensaje sin esperar la confirmación del broker. Los fallos se
+     * registran en el log cuando el productor los informa.
+     *
+     * @throws IllegalArgumentException Si el modo de entrega requiere más
+     * confirmación que la configurada en el productor.
+     */
     @Override
     public void sendMessage(String topic, MessageModel message, int priority, int deliveryMode) {
-        producer.send(new ProducerRecord<>(topic, message.getDestination(), message.getContent()));
+        requireAcks(deliveryMode);
+        producer.send(buildRecord(topic, message, priority), (metadata, exception) -> {
+            if (exception != null) {
+                logger.log(LogLevel.ERROR, "Error enviando mensaje a Kafka. Tópico: %s, Error: %s", topic, exception.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Envía un mensaje sin bloquear. El futuro falla con
+     * {@link IllegalArgumentException} si el modo de entrega requiere más
+     * confirmación que la configurada en el productor.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(String topic, MessageModel message, int priority, int deliveryMode) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            requireAcks(deliveryMode);
+            producer.send(buildRecord(topic, message, priority), completing(future));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Envía un lote de mensajes a un tópico de Kafka. Todos los registros se
+     * entregan al productor, que los agrupa en sus propios lotes, y se hace un
+     * único {@code flush} al final antes de recoger el resultado de cada uno.
+     *
+     * @param topic Tópico de destino.
+     * @param messages Mensajes a enviar.
+     * @param priority Prioridad de los mensajes.
+     * @param deliveryMode Modo de entrega de los mensajes.
+     * @return Resultado de cada mensaje, en el orden del lote.
+     * @throws IllegalArgumentException Si el modo de entrega requiere más
+     * confirmación que la configurada en el productor.
+     */
+    @Override
+    public List<SendResult> sendBatch(String topic, List<MessageModel> messages, int priority, int deliveryMode) {
+        requireAcks(deliveryMode);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(messages.size());
+        for (MessageModel message : messages) {
+            futures.add(sendAsync(topic, message, priority, deliveryMode));
+        }
+        producer.flush();
+
+        List<SendResult> results = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            CompletableFuture<Void> future = futures.get(i);
+            if (!future.isDone()) {
+                // flush garantiza que el productor ya invocó todos los callbacks
+                results.add(SendResult.failure(i, messages.get(i), new IllegalStateException("El productor no confirmó el registro.")));
+                continue;
+            }
+            try {
+                future.join();
+                results.add(SendResult.success(i, messages.get(i)));
+            } catch (CompletionException e) {
+                results.add(SendResult.failure(i, messages.get(i), e.getCause()));
+            }
+        }
+        return results;
     }
 
+    /**
+     * No soportado: el consumo de Kafka se hace con {@link KafkaConsumerRunner}.
+     */
     @Override
     public void readMessage(String queue, MessageModel message) {
-        throw new UnsupportedOperationException("Unimplemented method 'readMessage'");
+        throw new UnsupportedOperationException("Para consumir de Kafka utilice KafkaConsumerRunner.");
+    }
+
+    /**
+     * Espera a que el productor entregue los registros pendientes.
+     */
+    @Override
+    public void flush() {
+        producer.flush();
+    }
+
+    /**
+     * Entrega los registros pendientes y cierra el productor.
+     *
+     * @param timeout Tiempo máximo de espera.
+     */
+    @Override
+    public void close(Duration timeout) {
+        producer.close(timeout);
+    }
+
+    /**
+     * Obtiene la configuración del productor.
+     *
+     * @return Configuración del productor.
+     */
+    public KafkaProducerSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Crea un productor de Kafka.
+     *
+     * @param props Propiedades del productor.
+     * @return Productor nuevo.
+     */
+    protected KafkaProducer<String, String> createProducer(Properties props) {
+        return new KafkaProducer<>(props);
+    }
+
+    /**
+     * Comprueba que el productor cumple la confirmación que requiere un modo
+     * de entrega. Un segundo productor con otra confirmación rompería el orden
+     * por clave y la idempotencia, por eso no se crea.
+     *
+     * @throws IllegalArgumentException Si la confirmación configurada es menor
+     * que la requerida.
+     */
+    private void requireAcks(int deliveryMode) {
+        Acks required = Acks.forDeliveryMode(deliveryMode);
+        Acks configured = settings.getEffectiveAcks();
+        if (required != null && configured.compareTo(required) < 0) {
+            throw new IllegalArgumentException("El modo de entrega " + deliveryMode + " requiere acks="
+                    + required.getValue() + ", pero el productor está configurado con acks=" + configured.getValue() + ".");
+        }
+    }
+
+    private ProducerRecord<String, String> buildRecord(String topic, MessageModel message, int priority) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, message.getDestination(), encode(message));
+        record.headers().add(CONTENT_TYPE_HEADER, contentType);
+        if (priority > 0) {
+            record.headers().add(PRIORITY_HEADER, Integer.toString(priority).getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+
+    private String encode(MessageModel message) {
+        if (codec == TextMessageCodec.INSTANCE) {
+            return message.getContent();
+        }
+        if (!codec.supports(message)) {
+            throw new IllegalArgumentException("El códec " + codec.getContentType() + " no admite el mensaje "
+                    + message.getClass().getSimpleName() + ".");
+        }
+        try {
+            return new String(codec.encode(message), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Callback completing(CompletableFuture<Void> future) {
+        return (metadata, exception) -> {
+            if (exception != null) {
+                future.completeExceptionally(exception);
+            } else {
+                future.complete(null);
+            }
+        };
     }
 }
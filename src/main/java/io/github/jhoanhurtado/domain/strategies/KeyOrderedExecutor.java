@@ -0,0 +1,60 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Ejecuta tareas en paralelo conservando el orden entre las tareas con la
+ * misma clave.
+ *
+ * <p>
+ * Cada clave tiene una cadena de tareas: una tarea nueva se encadena al final
+ * de la última tarea de su clave y se ejecuta cuando esta termina, aunque haya
+ * fallado. Las tareas con claves distintas, o sin clave, se ejecutan en
+ * paralelo en el {@link Executor} indicado. La cadena de una clave se elimina
+ * cuando su última tarea termina, por lo que el mapa solo contiene las claves
+ * con tareas en curso.
+ * </p>
+ */
+final class KeyOrderedExecutor {
+
+    private final Executor executor;
+    private final ConcurrentHashMap<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Crea el ejecutor.
+     *
+     * @param executor Ejecutor de las tareas.
+     */
+    KeyOrderedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Envía una tarea.
+     *
+     * @param key Clave de orden; null si la tarea no depende de ninguna otra.
+     * @param task Tarea a ejecutar.
+     * @return Futuro que se completa cuando la tarea termina.
+     */
+    CompletableFuture<Void> submit(Object key, Runnable task) {
+        if (key == null) {
+            return CompletableFuture.runAsync(task, executor);
+        }
+        CompletableFuture<Void> next = tails.compute(key, (k, tail) -> tail == null
+                ? CompletableFuture.runAsync(task, executor)
+                : tail.handle((result, error) -> null).thenRunAsync(task, executor));
+        next.whenComplete((result, error) -> tails.remove(key, next));
+        return next;
+    }
+
+    /**
+     * Obtiene el número de claves con tareas en curso.
+     *
+     * @return Número de claves activas.
+     */
+    int getActiveKeyCount() {
+        return tails.size();
+    }
+}
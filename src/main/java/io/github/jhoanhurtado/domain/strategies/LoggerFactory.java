@@ -1,92 +1,192 @@
 package io.github.jhoanhurtado.domain.strategies;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
 
 import io.github.jhoanhurtado.domain.models.AwsConnectionModel;
+import io.github.jhoanhurtado.enums.LogLevel;
 import io.github.jhoanhurtado.impl.CloudWatchLogger;
 import io.github.jhoanhurtado.impl.CompositeLogger;
 import io.github.jhoanhurtado.impl.FileLogger;
+import io.github.jhoanhurtado.infrastructure.config.ConfigurationProvider;
+import io.github.jhoanhurtado.infrastructure.config.ConfigurationSnapshot;
 import io.github.jhoanhurtado.interfaces.Logger;
 
 /**
- * Fábrica singleton para crear y gestionar un {@link CompositeLogger}.
+ * Fábrica singleton para crear y gestionar el logger compartido de la
+ * librería.
  *
- * Esta clase proporciona un único punto de acceso para crear una instancia de
- * {@link CompositeLogger}, que permite registrar logs tanto en un archivo local
- * como en AWS CloudWatch (si se proporciona una configuración de AWS).
+ * Esta clase proporciona un único punto de acceso al logger que registra los
+ * logs en un archivo local y en AWS CloudWatch (si se proporciona una
+ * configuración de AWS). El logger devuelto delega en un
+ * {@link CompositeLogger} o, si {@code log.async.enable} está activo, en un
+ * {@link AsyncLogAppender}, y cambia de destinos cuando cambia la
+ * configuración.
  *
  * La inicialización de la instancia se realiza de manera perezosa y es segura
- * para entornos multi-hilo.
+ * para entornos multi-hilo. La configuración se toma de
+ * {@link ConfigurationProvider}, por lo que obtener el logger no lee
+ * {@code local.properties}; cuando el archivo cambia, los destinos y la
+ * configuración de {@link GatedLogger} se actualizan sin reiniciar.
  */
 public class LoggerFactory {
 
-    private static Logger compositeLogger;
+    /**
+     * Prefijos de las propiedades que determinan los destinos del log.
+     */
+    private static final String[] SINK_PROPERTIES = {"filelog.", "cloudwatch.", "log.async."};
+
+    private static volatile ReloadableLogger compositeLogger;
+    private static volatile GatedLogger gatedLogger;
     private static final Object lock = new Object();
     /**
      * Constructor privado para evitar la instanciación de la clase.
      */
 
     /**
-     * Devuelve una única instancia de {@link CompositeLogger}, inicializándola
-     * si es necesario.
+     * Devuelve el logger compartido, inicializándolo si es necesario. Los
+     * logs se escriben con un {@link CompositeLogger} o, si
+     * {@code log.async.enable} está activo, con un {@link AsyncLogAppender}.
      *
-     * @param pathString Ruta del archivo de logs. Si es null o vacío, se
-     * utiliza una ruta predeterminada en el directorio
-     * "Documentos/logs/queue-helper".
-     * @param awsConnectionModel Configuración opcional para CloudWatch. Si es
-     * null, solo se utilizará el archivo local.
-     * @return Instancia única de {@link CompositeLogger}.
+     * <p>
+     * Los destinos se configuran con {@code filelog.enable},
+     * {@code filelog.location} (si es vacío se utiliza una ruta predeterminada
+     * en el directorio "Documentos/logs/queue-helper"), {@code cloudwatch.*}
+     * y {@code log.async.*}.
+     * </p>
+     *
+     * @return Instancia única del logger, que se reconfigura al recargar la
+     * configuración.
      */
     public Logger getCompositeLogger() {
-        String pathString = loadLogPathFromProperties("filelog.location");
-        boolean localLogsEnable = Boolean.parseBoolean(loadLogPathFromProperties("filelog.enable"));
-        boolean cloudLogEnable = Boolean.parseBoolean(loadLogPathFromProperties("cloudwatch.enable"));
-        AwsConnectionModel awsConnectionModel = new AwsConnectionModel();
-        if (compositeLogger == null) {
+        ReloadableLogger logger = compositeLogger;
+        if (logger == null) {
             synchronized (lock) {
-                // Crear los loggers
-                List<Logger> loggers = new ArrayList<>();
-                if (compositeLogger == null) {
-                    // Determinar la ruta del archivo de logs
-                    if (localLogsEnable) {
-                        Path defaultLogPath = Paths.get(System.getProperty("user.home"), "Documents", "logs", "queue-helper", "queue-helper.log");
-                        Path logFilePath = (pathString == null || pathString.isEmpty() || pathString.equals("")) ? defaultLogPath : Paths.get(pathString);
-
-                        // Asegurar que las carpetas existen
-                        ensureDirectoriesExist(logFilePath.getParent());
-                        loggers.add(new FileLogger(logFilePath.toString()));
-                    }
-
-                    if (isValidAwsConfig(awsConnectionModel) && cloudLogEnable) {
-                        loggers.add(new CloudWatchLogger(
-                                awsConnectionModel.getAwsRegion().getId(),
-                                awsConnectionModel.getLogGroupName(),
-                                awsConnectionModel.getLogStreamName()
-                        ));
-                    }
-                    // Crear el CompositeLogger
-                    compositeLogger = new CompositeLogger(loggers);
+                logger = compositeLogger;
+                if (logger == null) {
+                    ConfigurationProvider provider = ConfigurationProvider.getInstance();
+                    ConfigurationSnapshot configuration = provider.current();
+                    logger = new ReloadableLogger(createLogger(configuration), configuration);
+                    compositeLogger = logger;
+                    provider.addListener(LoggerFactory::applyConfiguration);
+                    Runtime.getRuntime().addShutdownHook(new Thread(
+                            () -> closeQuietly(compositeLogger.delegate), "queue-helper-log-flush"));
                 }
             }
         }
-        return compositeLogger;
+        return logger;
     }
 
-    private String loadLogPathFromProperties(String properti) {
-        Properties properties = new Properties();
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("local.properties")) {
-            properties.load(inputStream);
-            return properties.getProperty(properti, ""); // Retorna vacío si no se encuentra la propiedad
-        } catch (IOException e) {
-            System.err.println("Error al cargar local.properties: " + e.getMessage());
-            return "";
+    /**
+     * Devuelve la fachada compartida que filtra por nivel antes de construir
+     * los mensajes del logger de {@link #getCompositeLogger()}.
+     *
+     * <p>
+     * Se configura con las propiedades {@code log.level} (nivel mínimo, por
+     * defecto INFO), {@code log.payload.maxLength} (longitud máxima de los
+     * contenidos escritos) y {@code log.payload.redactFields} (campos JSON,
+     * separados por comas, cuyo valor se oculta).
+     * </p>
+     *
+     * @return Instancia única de {@link GatedLogger}.
+     */
+    public GatedLogger getGatedLogger() {
+        GatedLogger logger = gatedLogger;
+        if (logger == null) {
+            Logger delegate = getCompositeLogger();
+            synchronized (lock) {
+                logger = gatedLogger;
+                if (logger == null) {
+                    ConfigurationSnapshot configuration = ConfigurationProvider.getInstance().current();
+                    logger = new GatedLogger(delegate,
+                            GatedLogger.parseLevel(configuration.getString("log.level", ""), LogLevel.INFO),
+                            configuration.getInt("log.payload.maxLength", GatedLogger.DEFAULT_MAX_PAYLOAD_LENGTH),
+                            configuration.getList("log.payload.redactFields"));
+                    gatedLogger = logger;
+                }
+            }
+        }
+        return logger;
+    }
+
+    /**
+     * Aplica una nueva configuración: reemplaza los destinos si cambió alguna
+     * propiedad de {@link #SINK_PROPERTIES} y actualiza el {@link GatedLogger}.
+     */
+    private static void applyConfiguration(ConfigurationSnapshot configuration) {
+        synchronized (lock) {
+            ReloadableLogger logger = compositeLogger;
+            if (logger != null && configuration.differs(logger.configuration, SINK_PROPERTIES)) {
+                Logger previous = logger.delegate;
+                logger.delegate = createLogger(configuration);
+                closeQuietly(previous);
+            }
+            if (logger != null) {
+                logger.configuration = configuration;
+            }
+            GatedLogger gated = gatedLogger;
+            if (gated != null) {
+                gated.setThreshold(GatedLogger.parseLevel(configuration.getString("log.level", ""), LogLevel.INFO));
+                gated.setMaxPayloadLength(configuration.getInt("log.payload.maxLength", GatedLogger.DEFAULT_MAX_PAYLOAD_LENGTH));
+                gated.setRedactedFields(configuration.getList("log.payload.redactFields"));
+            }
+        }
+    }
+
+    private static Logger createLogger(ConfigurationSnapshot configuration) {
+        String pathString = configuration.getString("filelog.location", "");
+        boolean localLogsEnable = configuration.getBoolean("filelog.enable", false);
+        boolean cloudLogEnable = configuration.getBoolean("cloudwatch.enable", false);
+        AwsConnectionModel awsConnectionModel = new AwsConnectionModel(configuration);
+
+        // Crear los loggers
+        List<Logger> loggers = new ArrayList<>();
+        List<Logger> remoteLoggers = new ArrayList<>();
+        // Determinar la ruta del archivo de logs
+        if (localLogsEnable) {
+            Path defaultLogPath = Paths.get(System.getProperty("user.home"), "Documents", "logs", "queue-helper", "queue-helper.log");
+            Path logFilePath = pathString.isEmpty() ? defaultLogPath : Paths.get(pathString);
+
+            // Asegurar que las carpetas existen
+            ensureDirectoriesExist(logFilePath.getParent());
+            loggers.add(new FileLogger(logFilePath.toString()));
+        }
+
+        if (isValidAwsConfig(awsConnectionModel) && cloudLogEnable) {
+            remoteLoggers.add(new CloudWatchLogger(
+                    awsConnectionModel.getAwsRegion().getId(),
+                    awsConnectionModel.getLogGroupName(),
+                    awsConnectionModel.getLogStreamName()
+            ));
+        }
+        if (configuration.getBoolean("log.async.enable", false)) {
+            return createAsyncAppender(configuration, loggers, remoteLoggers);
+        }
+        // Crear el CompositeLogger
+        loggers.addAll(remoteLoggers);
+        return new CompositeLogger(loggers);
+    }
+
+    /**
+     * Crea el {@link AsyncLogAppender} configurado con {@code log.async.bufferSize},
+     * {@code log.async.overflowPolicy} y {@code log.async.sampleRate}.
+     */
+    private static AsyncLogAppender createAsyncAppender(ConfigurationSnapshot configuration,
+            List<Logger> localLoggers, List<Logger> remoteLoggers) {
+        return new AsyncLogAppender(localLoggers, remoteLoggers,
+                configuration.getInt("log.async.bufferSize", AsyncLogAppender.DEFAULT_BUFFER_SIZE),
+                configuration.getEnum("log.async.overflowPolicy", AsyncLogAppender.OverflowPolicy.class,
+                        AsyncLogAppender.OverflowPolicy.BLOCK),
+                Math.max(1, configuration.getInt("log.async.sampleRate", 1)));
+    }
+
+    private static void closeQuietly(Logger logger) {
+        if (logger instanceof AsyncLogAppender appender) {
+            appender.close();
         }
     }
 
@@ -119,4 +219,24 @@ public class LoggerFactory {
                 && awsConfig.getLogGroupName() != null && !awsConfig.getLogGroupName().isEmpty()
                 && awsConfig.getLogStreamName() != null && !awsConfig.getLogStreamName().isEmpty();
     }
+
+    /**
+     * Logger cuyos destinos pueden reemplazarse cuando cambia la
+     * configuración, sin que quienes ya lo obtuvieron deban pedirlo de nuevo.
+     */
+    private static final class ReloadableLogger implements Logger {
+
+        private volatile Logger delegate;
+        private volatile ConfigurationSnapshot configuration;
+
+        private ReloadableLogger(Logger delegate, ConfigurationSnapshot configuration) {
+            this.delegate = delegate;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void log(String message, LogLevel level) {
+            delegate.log(message, level);
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+
+/**
+ * Seguimiento de confirmaciones del publicador (publisher confirms) para un
+ * canal de RabbitMQ.
+ *
+ * <p>
+ * Pone el canal en modo confirmación ({@code confirmSelect}) y asocia cada
+ * número de secuencia de publicación a un {@link CompletableFuture}. El
+ * {@link ConfirmListener} del canal completa los futuros cuando el broker
+ * confirma (ack) o rechaza (nack) los mensajes, incluyendo confirmaciones
+ * múltiples. Si el canal se cierra, todos los futuros pendientes fallan.
+ * </p>
+ *
+ * <p>
+ * Como el canal es de uso exclusivo mientras está prestado por el
+ * {@link ChannelPool}, {@link #register(Channel)} no compite con otros
+ * publicadores del mismo canal.
+ * </p>
+ */
+public final class PublisherConfirms {
+
+    private final ConcurrentNavigableMap<Long, CompletableFuture<Void>> pending = new ConcurrentSkipListMap<>();
+
+    private PublisherConfirms() {
+    }
+
+    /**
+     * Activa las confirmaciones del publicador en un canal.
+     *
+     * @param channel Canal a poner en modo confirmación.
+     * @param onClose Acción a ejecutar cuando el canal se cierra; puede ser
+     * null.
+     * @return Seguimiento de confirmaciones del canal.
+     * @throws IOException Si el broker rechaza {@code confirmSelect}.
+     */
+    public static PublisherConfirms enable(Channel channel, Runnable onClose) throws IOException {
+        PublisherConfirms confirms = new PublisherConfirms();
+        channel.confirmSelect();
+        channel.addConfirmListener(new ConfirmListener() {
+            @Override
+            public void handleAck(long deliveryTag, boolean multiple) {
+                confirms.complete(deliveryTag, multiple, true);
+            }
+
+            @Override
+            public void handleNack(long deliveryTag, boolean multiple) {
+                confirms.complete(deliveryTag, multiple, false);
+            }
+        });
+        channel.addShutdownListener(cause -> {
+            confirms.failAll(new IOException("El canal se cerró antes de recibir la confirmación del broker.", cause));
+            if (onClose != null) {
+                onClose.run();
+            }
+        });
+        return confirms;
+    }
+
+    /**
+     * Registra la próxima publicación del canal. Debe llamarse justo antes de
+     * {@code basicPublish}.
+     *
+     * @param channel Canal en modo confirmación.
+     * @return Futuro que se completa cuando el broker confirma el mensaje.
+     */
+    public CompletableFuture<Void> register(Channel channel) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pending.put(channel.getNextPublishSeqNo(), future);
+        return future;
+    }
+
+    /**
+     * Obtiene el número de publicaciones que esperan confirmación.
+     *
+     * @return Cantidad de confirmaciones pendientes.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void complete(long deliveryTag, boolean multiple, boolean ack) {
+        if (multiple) {
+            Map<Long, CompletableFuture<Void>> confirmed = pending.headMap(deliveryTag, true);
+            confirmed.values().forEach(future -> settle(future, deliveryTag, ack));
+            confirmed.clear();
+        } else {
+            CompletableFuture<Void> future = pending.remove(deliveryTag);
+            if (future != null) {
+                settle(future, deliveryTag, ack);
+            }
+        }
+    }
+
+    private static void settle(CompletableFuture<Void> future, long deliveryTag, boolean ack) {
+        if (ack) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(new IOException("El broker rechazó (nack) el mensaje con secuencia " + deliveryTag + "."));
+        }
+    }
+
+    private void failAll(Throwable cause) {
+        for (Long sequence : pending.keySet()) {
+            CompletableFuture<Void> future = pending.remove(sequence);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+}
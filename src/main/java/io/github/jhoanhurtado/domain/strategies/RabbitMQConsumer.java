@@ -1,28 +1,114 @@
 package io.github.jhoanhurtado.domain.strategies;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
 
+import io.github.jhoanhurtado.domain.codecs.CodecRegistry;
+import io.github.jhoanhurtado.domain.codecs.CompressionMetrics;
+import io.github.jhoanhurtado.domain.codecs.PayloadCompressor;
 import io.github.jhoanhurtado.domain.models.MessageModelRequest;
 import io.github.jhoanhurtado.enums.LogLevel;
-import io.github.jhoanhurtado.interfaces.Logger;
+import io.github.jhoanhurtado.infrastructure.config.ConsumerOptions;
+import io.github.jhoanhurtado.infrastructure.config.ConsumerOptions.PauseMode;
+import io.github.jhoanhurtado.infrastructure.config.ConsumerOptions.SheddingPolicy;
 import io.github.jhoanhurtado.observer.MessageObserver;
 
 /**
  * Consumer de RabbitMQ que usa el patrón Observer para notificar los mensajes.
+ *
+ * <p>
+ * La confirmación de los mensajes se configura con {@link ConsumerOptions}.
+ * En modo manual cada mensaje se confirma solo después de que los
+ * observadores lo procesan sin errores; las confirmaciones se agrupan y los
+ * mensajes que fallan se rechazan con {@code basicNack}.
+ * </p>
+ *
+ * <p>
+ * Con {@link ConsumerOptions#getParallelism()} mayor que 1 los mensajes se
+ * decodifican en el hilo de entrega y se notifican a los observadores en
+ * paralelo, conservando el orden entre los mensajes con la misma clave
+ * ({@link ConsumerOptions#getOrderingKey()}). El hilo de entrega espera cuando
+ * hay tantos mensajes en proceso como el paralelismo configurado.
+ * </p>
+ *
+ * <p>
+ * Con {@link ConsumerOptions#getInFlightCapacity()} mayor que 0 el hilo de
+ * entrega solo deja cada mensaje en un {@link InFlightBuffer} acotado, del que
+ * un hilo virtual los toma para decodificarlos y notificarlos. Cuando el
+ * buffer alcanza la marca alta el consumo se pausa y se reanuda al bajar a la
+ * marca baja, de modo que los mensajes pendientes no se acumulan sin límite en
+ * memoria del cliente.
+ * </p>
+ *
+ * <p>
+ * El cuerpo de cada mensaje se decodifica con el códec de
+ * {@link ConsumerOptions#getCodecs()} que corresponde a su propiedad
+ * {@code content-type}; los mensajes sin tipo de contenido o con un tipo
+ * no registrado se leen como sobre JSON. Si el cuerpo llegó comprimido (propiedad {@code content-encoding}),
+ * se descomprime antes; {@link #getCompressionMetrics()} informa el tiempo
+ * empleado.
+ * </p>
+ *
+ * <p>
+ * Si la conexión se recupera automáticamente (ver
+ * {@link io.github.jhoanhurtado.infrastructure.config.MessagingConnection}),
+ * el cliente de RabbitMQ vuelve a registrar el consumidor y su
+ * {@code basicQos} en el canal recuperado. Las confirmaciones pendientes de
+ * antes de la caída se descartan, ya que el broker reentrega esos mensajes.
+ * </p>
  */
 public class RabbitMQConsumer {
 
     private final String queueName;
     private final MessageObserver observer;
     private final Connection connection;
-    Logger compositeLogger = new LoggerFactory().getCompositeLogger();
+    private final ConsumerOptions options;
+    private volatile Channel channel;
+    private volatile String consumerTag;
+    private volatile AckCoalescer acks;
+    private volatile KeyOrderedExecutor workers;
+    private volatile ExecutorService ownedExecutor;
+    private final Semaphore permits;
+    private final Object flowLock = new Object();
+    private volatile DeliverCallback deliverCallback;
+    private volatile InFlightBuffer<Delivery> buffer;
+    private volatile ExecutorService flowExecutor;
+    private final PayloadCompressor decompressor;
+    private final Set<String> unknownContentTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Número máximo de tipos de contenido desconocidos que se advierten en el
+     * log, para no llenarlo si cada mensaje trae uno distinto.
+     */
+    private static final int MAX_UNKNOWN_CONTENT_TYPES = 32;
+
+    /**
+     * Tiempo máximo que {@link #stopListening()} espera a los mensajes en
+     * proceso.
+     */
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+    GatedLogger logger = new LoggerFactory().getGatedLogger();
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -36,10 +122,26 @@ public class RabbitMQConsumer {
      * @param connection nombre de la cola RabbitMQ
      */
     public RabbitMQConsumer(MessageObserver observer, Connection connection, String queue) {
+        this(observer, connection, queue, ConsumerOptions.autoAck());
+    }
+
+    /**
+     * Construye un nuevo RabbitMQConsumer con opciones de consumo.
+     *
+     * @param observer el MessageObserver que manejará los mensajes consumidos
+     * de la cola
+     * @param connection la Connection al servidor RabbitMQ
+     * @param queue nombre de la cola RabbitMQ
+     * @param options opciones de confirmación y prefetch
+     */
+    public RabbitMQConsumer(MessageObserver observer, Connection connection, String queue, ConsumerOptions options) {
         this.observer = observer;
         this.connection = connection;
         this.queueName = queue;
-        compositeLogger.log(getCurrentDateTime() + " - Inicializando RabbitMQConsumer con conexión establecida", LogLevel.INFO);
+        this.options = options;
+        this.permits = new Semaphore(options.getParallelism());
+        this.decompressor = PayloadCompressor.disabled(options.getMaxDecompressedBytes());
+        logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Inicializando RabbitMQConsumer con conexión establecida");
     }
 
     /**
@@ -54,50 +156,427 @@ public class RabbitMQConsumer {
      * un objeto MessageModelRequest y luego se notifican a los observadores.
      *
      * <p>
+     * En modo de confirmación manual se aplica {@code basicQos} con el prefetch
+     * configurado y cada mensaje se confirma cuando los observadores terminan
+     * de procesarlo; si el procesamiento falla, se rechaza. Con paralelismo
+     * mayor que 1, los observadores se notifican fuera del hilo de entrega.
+     *
+     * <p>
      * Si hay un error al conectar con RabbitMQ, se lanza una RuntimeException.
      *
      * @throws RuntimeException si hay un error al conectar con RabbitMQ
      */
     @SuppressWarnings("squid:S2095")
     public void startListening() {
-        String logMessage = getCurrentDateTime() + " - Iniciando escucha de la cola RabbitMQ: " + queueName;
-        compositeLogger.log(logMessage, LogLevel.INFO);
+        logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Iniciando escucha de la cola RabbitMQ: " + queueName);
         
         try {
             var channel = connection.createChannel();
-            compositeLogger.log(getCurrentDateTime() + " - Canal RabbitMQ creado correctamente.", LogLevel.INFO);
+            logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Canal RabbitMQ creado correctamente.");
 
-            // Declarar la cola
-            channel.queueDeclare(queueName, true, false, false, null);
-            compositeLogger.log(getCurrentDateTime() + " - Cola declarada exitosamente: " + queueName, LogLevel.INFO);
+            boolean autoAck = options.isAutoAck();
+            AckCoalescer coalescer = null;
+            if (!autoAck) {
+                channel.basicQos(options.getPrefetch());
+                coalescer = new AckCoalescer(channel, options.getAckBatchSize(), options.getAckFlushIntervalMillis(), logger);
+                // Al cerrarse el canal el broker reentrega lo no confirmado
+                AckCoalescer closing = coalescer;
+                channel.addShutdownListener(cause -> closing.discard());
+            }
+            if (channel instanceof Recoverable recoverable) {
+                recoverable.addRecoveryListener(new RecoveryListener() {
+                    @Override
+                    public void handleRecovery(Recoverable recovered) {
+                        logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Canal RabbitMQ recuperado; se reanuda la escucha de la cola: " + queueName);
+                    }
+
+                    @Override
+                    public void handleRecoveryStarted(Recoverable recovering) {
+                        // El registro se hace cuando el canal vuelve.
+                    }
+                });
+            }
+            AckCoalescer acknowledger = coalescer;
+
+            // Declarar la cola si aún no se declaró en esta conexión
+            if (DeclaredQueueCache.forConnection(connection).declareIfNeeded(channel, queueName)) {
+                logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Cola declarada exitosamente: " + queueName);
+            }
+
+            if (options.getParallelism() > 1) {
+                ExecutorService executor = options.getExecutor();
+                if (executor == null) {
+                    executor = Executors.newVirtualThreadPerTaskExecutor();
+                    ownedExecutor = executor;
+                }
+                workers = new KeyOrderedExecutor(executor);
+            }
+
+            if (options.getInFlightCapacity() > 0) {
+                startBuffer(coalescer);
+            }
 
             // Crear un DeliverCallback para manejar los mensajes entrantes
             DeliverCallback deliverCallback = (consumerTag, delivery) -> {
-                String jsonMessage = new String(delivery.getBody(), StandardCharsets.UTF_8);
-                compositeLogger.log(getCurrentDateTime() + " - Mensaje recibido, procesando: " + jsonMessage, LogLevel.INFO);
-
-                try {
-                    // Convertir JSON a MessageModel (usar librería como Gson o Jackson)
-                    MessageModelRequest messageModel = MessageModelRequest.fromJson(jsonMessage);
-                    compositeLogger.log(getCurrentDateTime() + " - Mensaje procesado correctamente, notificando a los observadores." + messageModel.getContent(), LogLevel.INFO);
-                    
-                    // Notificar a los observadores
-                    observer.notify(messageModel);
-                } catch (Exception e) {
-                    compositeLogger.log(getCurrentDateTime() + " - Error al procesar el mensaje: " + e.getMessage(), LogLevel.ERROR);
+                if (acknowledger != null) {
+                    acknowledger.track(delivery.getEnvelope().getDeliveryTag());
+                }
+                InFlightBuffer<Delivery> pending = buffer;
+                if (pending == null) {
+                    handle(delivery, acknowledger, () -> {
+                    });
+                } else {
+                    accept(pending, delivery, acknowledger);
                 }
             };
+            this.deliverCallback = deliverCallback;
 
             // Iniciar la escucha de mensajes
-            channel.basicConsume(queueName, true, deliverCallback, consumerTag -> {
-                // No se realiza ninguna acción sobre el consumerTag
-            });
+            this.channel = channel;
+            this.acks = coalescer;
+            this.consumerTag = consume(channel);
 
-            compositeLogger.log(getCurrentDateTime() + " - Escuchando mensajes en la cola " + queueName + "...", LogLevel.INFO);
+            logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Escuchando mensajes en la cola " + queueName + "...");
         } catch (IOException e) {
-            String errorMessage = String.format(" %s - Ocurrió un error al consumir la cola %s: %s", getCurrentDateTime(),queueName, e.getMessage());
-            compositeLogger.log(errorMessage, LogLevel.CRITICAL);
+            logger.log(LogLevel.CRITICAL, " %s - Ocurrió un error al consumir la cola %s: %s", getCurrentDateTime(), queueName, e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene la escucha: cancela el consumidor, envía las confirmaciones
+     * pendientes y cierra el canal.
+     */
+    public void stopListening() {
+        Channel current = channel;
+        if (current == null) {
+            return;
+        }
+        try {
+            synchronized (flowLock) {
+                channel = null;
+                if (consumerTag != null && current.isOpen()) {
+                    current.basicCancel(consumerTag);
+                }
+                consumerTag = null;
+            }
+            stopBuffer();
+            awaitInFlight();
+            if (acks != null) {
+                acks.flush();
+            }
+            if (current.isOpen()) {
+                current.close();
+            }
+            logger.log(LogLevel.INFO, () -> getCurrentDateTime() + " - Escucha detenida en la cola " + queueName);
+        } catch (IOException | TimeoutException e) {
+            logger.log(LogLevel.ERROR, "%s - Error al detener la escucha de la cola %s: %s", getCurrentDateTime(), queueName, e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene el buffer de mensajes en proceso, con sus métricas de ocupación
+     * y pausas.
+     *
+     * @return Buffer, o null si no se configuró o aún no se inició la escucha.
+     */
+    public InFlightBuffer<?> getInFlightBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Obtiene las métricas de descompresión de los mensajes recibidos.
+     *
+     * @return Métricas de descompresión.
+     */
+    public CompressionMetrics getCompressionMetrics() {
+        return decompressor.getMetrics();
+    }
+
+    private String consume(Channel current) throws IOException {
+        return current.basicConsume(queueName, options.isAutoAck(), deliverCallback, consumerTag -> {
+            // No se realiza ninguna acción sobre el consumerTag
+        });
+    }
+
+    /**
+     * Decodifica un mensaje y lo notifica a los observadores, en este hilo o
+     * en los hilos de trabajo.
+     *
+     * @param done Se invoca cuando el mensaje terminó de procesarse.
+     */
+    private void handle(Delivery delivery, AckCoalescer acknowledger, Runnable done) {
+        AMQP.BasicProperties properties = delivery.getProperties();
+        if (logger.isEnabled(LogLevel.INFO)) {
+            // El cuerpo aún puede estar comprimido o ser binario: el contenido
+            // se registra cuando ya está decodificado
+            logger.log(LogLevel.INFO, "%s - Mensaje recibido (%d bytes, tipo: %s, codificación: %s), procesando",
+                    getCurrentDateTime(), delivery.getBody().length,
+                    properties == null ? null : properties.getContentType(),
+                    properties == null ? null : properties.getContentEncoding());
+        }
+
+        MessageModelRequest messageModel;
+        try {
+            // Elegir el códec por el tipo de contenido y leer directamente de los bytes
+            byte[] body = properties == null ? delivery.getBody()
+                    : decompressor.decompress(properties.getContentEncoding(), delivery.getBody());
+            String contentType = properties == null ? null : properties.getContentType();
+            CodecRegistry codecs = options.getCodecs();
+            if (codecs.isUnknown(contentType)) {
+                warnUnknownContentType(contentType);
+            }
+            messageModel = codecs.forContentType(contentType)
+                    .decode(body)
+                    .withHeaders(headersOf(delivery));
+        } catch (Exception e) {
+            // El mismo cuerpo volvería a fallar: no se reencola, para que lo
+            // reciba la cola de mensajes muertos si está configurada
+            logger.log(LogLevel.ERROR, "%s - Error al decodificar el mensaje: %s", getCurrentDateTime(), e.getMessage());
+            reject(acknowledger, delivery, false);
+            done.run();
+            return;
+        }
+
+        KeyOrderedExecutor executor = workers;
+        if (executor == null) {
+            try {
+                process(messageModel, delivery, acknowledger);
+            } finally {
+                done.run();
+            }
+        } else {
+            dispatch(executor, messageModel, delivery, acknowledger, done);
+        }
+    }
+
+    /**
+     * Advierte una vez por tipo de contenido que los mensajes sin códec
+     * registrado se leen como sobre JSON.
+     */
+    private void warnUnknownContentType(String contentType) {
+        if (unknownContentTypes.size() < MAX_UNKNOWN_CONTENT_TYPES && unknownContentTypes.add(contentType)) {
+            logger.log(LogLevel.WARN, "%s - No hay un códec para el tipo de contenido '%s' en la cola %s; se lee como sobre JSON.",
+                    getCurrentDateTime(), contentType, queueName);
+        }
+    }
+
+    /**
+     * Obtiene el tipo de contenido y las cabeceras AMQP de una entrega, para
+     * que los selectores de los observadores puedan usarlos.
+     */
+    private static Map<String, String> headersOf(Delivery delivery) {
+        AMQP.BasicProperties properties = delivery.getProperties();
+        if (properties == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> headers = new HashMap<>();
+        if (properties.getHeaders() != null) {
+            properties.getHeaders().forEach((name, value) -> {
+                if (value != null) {
+                    headers.put(name, value.toString());
+                }
+            });
+        }
+        if (properties.getContentType() != null) {
+            headers.put(MessageModelRequest.CONTENT_TYPE_HEADER, properties.getContentType());
+        }
+        return headers;
+    }
+
+    /**
+     * Notifica un mensaje a los observadores y lo confirma o rechaza según el
+     * resultado.
+     */
+    private void process(MessageModelRequest messageModel, Delivery delivery, AckCoalescer acknowledger) {
+        try {
+            if (logger.isEnabled(LogLevel.INFO)) {
+                logger.log(LogLevel.INFO, "%s - Mensaje procesado correctamente, notificando a los observadores. %s",
+                        getCurrentDateTime(), logger.payload(messageModel.getContent()));
+            }
+
+            // Notificar a los observadores y esperar a que terminen antes de confirmar
+            CompletableFuture<Void> completion = observer.notify(messageModel);
+            if (completion != null) {
+                completion.join();
+            }
+            if (acknowledger != null) {
+                acknowledger.ack(delivery.getEnvelope().getDeliveryTag());
+            }
+        } catch (Exception e) {
+            logger.log(LogLevel.ERROR, "%s - Error al procesar el mensaje: %s", getCurrentDateTime(), e.getMessage());
+            reject(acknowledger, delivery);
+        }
+    }
+
+    /**
+     * Envía un mensaje a los hilos de trabajo. Bloquea el hilo de entrega
+     * mientras se alcance el paralelismo configurado.
+     */
+    private void dispatch(KeyOrderedExecutor executor, MessageModelRequest messageModel, Delivery delivery, AckCoalescer acknowledger,
+            Runnable done) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(acknowledger, delivery);
+            done.run();
+            return;
+        }
+        Object key = null;
+        try {
+            if (options.getOrderingKey() != null) {
+                key = options.getOrderingKey().apply(messageModel);
+            }
+            executor.submit(key, () -> process(messageModel, delivery, acknowledger))
+                    .whenComplete((result, error) -> {
+                        permits.release();
+                        done.run();
+                    });
+        } catch (RuntimeException e) {
+            permits.release();
+            done.run();
+            logger.log(LogLevel.ERROR, "%s - Error al despachar el mensaje: %s", getCurrentDateTime(), e.getMessage());
+            reject(acknowledger, delivery);
+        }
+    }
+
+    private void reject(AckCoalescer acknowledger, Delivery delivery) {
+        reject(acknowledger, delivery, options.isRequeueOnFailure());
+    }
+
+    private void reject(AckCoalescer acknowledger, Delivery delivery, boolean requeue) {
+        if (acknowledger != null) {
+            acknowledger.nack(delivery.getEnvelope().getDeliveryTag(), requeue);
+        }
+    }
+
+    /**
+     * Crea el buffer de mensajes en proceso y el hilo que lo vacía.
+     */
+    private void startBuffer(AckCoalescer acknowledger) {
+        ExecutorService flow = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "queue-helper-rabbitmq-flow");
+            thread.setDaemon(true);
+            return thread;
+        });
+        InFlightBuffer<Delivery> pending = new InFlightBuffer<>(options.getInFlightCapacity(), options.getHighWatermark(),
+                options.getLowWatermark(), new InFlightBuffer.FlowListener() {
+            @Override
+            public void onPause() {
+                flow.execute(() -> applyFlow(true));
+            }
+
+            @Override
+            public void onResume() {
+                flow.execute(() -> applyFlow(false));
+            }
+        });
+        flowExecutor = flow;
+        buffer = pending;
+        Thread.ofVirtual().name("queue-helper-rabbitmq-drainer").start(() -> drain(pending, acknowledger));
+    }
+
+    private void drain(InFlightBuffer<Delivery> pending, AckCoalescer acknowledger) {
+        try {
+            Delivery delivery;
+            while ((delivery = pending.take()) != null) {
+                handle(delivery, acknowledger, pending::release);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deja un mensaje en el buffer o, si está lleno y la política no es
+     * {@link SheddingPolicy#BLOCK}, lo descarta.
+     */
+    private void accept(InFlightBuffer<Delivery> pending, Delivery delivery, AckCoalescer acknowledger) {
+        SheddingPolicy policy = options.getSheddingPolicy();
+        try {
+            if (pending.put(delivery, policy == SheddingPolicy.BLOCK)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (logger.isEnabled(LogLevel.WARN)) {
+            logger.log(LogLevel.WARN, "%s - Buffer lleno, mensaje descartado de la cola %s (%s)", getCurrentDateTime(), queueName, policy);
+        }
+        if (acknowledger != null) {
+            acknowledger.nack(delivery.getEnvelope().getDeliveryTag(), policy != SheddingPolicy.REJECT);
+        }
+    }
+
+    /**
+     * Pausa o reanuda el consumo según {@link ConsumerOptions#getPauseMode()}.
+     */
+    private void applyFlow(boolean pause) {
+        synchronized (flowLock) {
+            Channel current = channel;
+            if (current == null || !current.isOpen()) {
+                return;
+            }
+            try {
+                if (options.getPauseMode() == PauseMode.REDUCE_PREFETCH) {
+                    // Límite global del canal: se suma al prefetch por consumidor
+                    current.basicQos(pause ? 1 : 0, true);
+                } else if (pause && consumerTag != null) {
+                    current.basicCancel(consumerTag);
+                    consumerTag = null;
+                } else if (!pause && consumerTag == null) {
+                    consumerTag = consume(current);
+                }
+                logger.log(LogLevel.INFO, "%s - Consumo %s en la cola %s", getCurrentDateTime(), pause ? "pausado" : "reanudado", queueName);
+            } catch (IOException | RuntimeException e) {
+                logger.log(LogLevel.ERROR, "%s - Error al %s el consumo de la cola %s", getCurrentDateTime(),
+                        pause ? "pausar" : "reanudar", queueName + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Espera a que se procesen los mensajes del buffer y lo cierra.
+     */
+    private void stopBuffer() {
+        InFlightBuffer<Delivery> pending = buffer;
+        if (pending == null) {
+            return;
+        }
+        try {
+            if (!pending.awaitEmpty(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.log(LogLevel.WARN, "%s - Mensajes en el buffer sin procesar al detener la cola %s", getCurrentDateTime(), queueName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.close();
+        flowExecutor.shutdown();
+    }
+
+    /**
+     * Espera a que terminen los mensajes en proceso y libera los hilos de
+     * trabajo propios.
+     */
+    private void awaitInFlight() {
+        if (workers == null) {
+            return;
+        }
+        int parallelism = options.getParallelism();
+        try {
+            if (permits.tryAcquire(parallelism, STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                permits.release(parallelism);
+            } else {
+                logger.log(LogLevel.WARN, "%s - Mensajes en proceso sin terminar al detener la cola %s", getCurrentDateTime(), queueName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
         }
+        workers = null;
     }
 
     /**
@@ -1,27 +1,130 @@
 package io.github.jhoanhurtado.domain.strategies;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+import com.rabbitmq.client.ShutdownSignalException;
 
+import io.github.jhoanhurtado.domain.codecs.AttachmentClaimCheck;
+import io.github.jhoanhurtado.domain.codecs.CompressionAlgorithm;
+import io.github.jhoanhurtado.domain.codecs.CompressionMetrics;
+import io.github.jhoanhurtado.domain.codecs.EnvelopeEncoder;
+import io.github.jhoanhurtado.domain.codecs.JsonMessageCodec;
+import io.github.jhoanhurtado.domain.codecs.MessageCodec;
+import io.github.jhoanhurtado.domain.codecs.PayloadCompressor;
+import io.github.jhoanhurtado.domain.interfaces.BlobStore;
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
 import io.github.jhoanhurtado.domain.interfaces.MessagingStrategy;
+import io.github.jhoanhurtado.domain.interfaces.Outbox;
+import io.github.jhoanhurtado.domain.models.OutboxEntry;
+import io.github.jhoanhurtado.domain.models.SendResult;
 import io.github.jhoanhurtado.enums.LogLevel;
-import io.github.jhoanhurtado.interfaces.Logger;
 
 /**
  * Implementación de la estrategia de mensajería utilizando RabbitMQ. Esta clase
  * permite enviar mensajes a una cola de RabbitMQ siguiendo el patrón de
  * estrategia (Strategy Pattern).
+ *
+ * <p>
+ * Los mensajes se codifican con el {@link MessageCodec} configurado (por
+ * defecto, el sobre JSON) y su tipo de contenido se envía en la propiedad
+ * {@code content-type}, con la que {@link RabbitMQConsumer} elige cómo
+ * decodificarlos.
+ * </p>
+ *
+ * <p>
+ * Con {@link Builder#compression(CompressionAlgorithm, int)} los cuerpos que
+ * superan el umbral se comprimen y el algoritmo se indica en la propiedad
+ * {@code content-encoding}; {@link RabbitMQConsumer} los descomprime antes de
+ * decodificarlos. {@link #getCompressionMetrics()} informa la relación de
+ * compresión y el tiempo de CPU empleado.
+ * </p>
+ *
+ * <p>
+ * Con {@link Builder#claimCheck(BlobStore, int)} los adjuntos grandes de los
+ * correos se guardan en un {@link BlobStore} y solo se publica su referencia.
+ * </p>
+ *
+ * <p>
+ * Con {@link Builder#outbox(Outbox)} los mensajes que no se pueden publicar
+ * porque el broker no está disponible, o que el broker rechaza, se guardan en
+ * una bandeja de salida local en lugar de perderse. Mientras la bandeja tenga
+ * mensajes pendientes, los nuevos envíos también se guardan en ella para
+ * conservar el orden, con la latencia del disco local. Un hilo en segundo
+ * plano los reenvía por lotes cuando la conexión se recupera y los retira de
+ * la bandeja cuando el broker los confirma; la entrega es al menos una vez.
+ * Los errores que no se resuelven reintentando (la cola no existe o se declaró
+ * con otros argumentos, 404 o 406) no se guardan. Si el broker rechaza
+ * {@link Builder#maxReplayAttempts(int)} veces el mismo mensaje de la bandeja,
+ * se aparta a la bandeja de mensajes fallidos
+ * ({@link Builder#deadLetterOutbox(Outbox)}) o, si no hay, se descarta, para
+ * que no bloquee a los siguientes.
+ * </p>
  */
-public class RabbitMQStrategy implements MessagingStrategy {
+public class RabbitMQStrategy implements MessagingStrategy, AutoCloseable {
+
+    /**
+     * Tiempo máximo por defecto (en milisegundos) que se esperan las
+     * confirmaciones de un lote.
+     */
+    public static final long DEFAULT_CONFIRM_TIMEOUT_MILLIS = 30_000L;
+
+    /**
+     * Intervalo por defecto (en milisegundos) entre intentos de reenviar la
+     * bandeja de salida.
+     */
+    public static final long DEFAULT_REPLAY_INTERVAL_MILLIS = 1_000L;
+
+    /**
+     * Número por defecto de mensajes de la bandeja de salida que se reenvían
+     * por lote.
+     */
+    public static final int DEFAULT_REPLAY_BATCH_SIZE = 500;
+
+    /**
+     * Número por defecto de veces que el broker puede rechazar un mensaje de
+     * la bandeja de salida antes de apartarlo.
+     */
+    public static final int DEFAULT_MAX_REPLAY_ATTEMPTS = 5;
 
     private final Connection connection;
-    private final Logger compositeLogger;
+    private final ChannelPool channelPool;
+    private final DeclaredQueueCache declaredQueues;
+    private final Map<Channel, PublisherConfirms> confirmations = new ConcurrentHashMap<>();
+    private final long confirmTimeoutMillis;
+    private final MessageCodec codec;
+    private final PayloadCompressor compressor;
+    private final AttachmentClaimCheck claimCheck;
+    private final Outbox outbox;
+    private final int replayBatchSize;
+    private final int maxReplayAttempts;
+    private final Outbox deadLetters;
+    private final ReentrantLock replayLock = new ReentrantLock();
+    /**
+     * Secuencia del primer mensaje de la bandeja que el broker rechazó y
+     * número de rechazos; solo se usan con {@code replayLock}.
+     */
+    private long rejectedSequence;
+    private int rejectedAttempts;
+    private final ScheduledExecutorService replayer;
+    private final GatedLogger logger;
     /**
      * Constructor de la clase RabbitMQStrategy.
      *
@@ -29,8 +132,359 @@ public class RabbitMQStrategy implements MessagingStrategy {
      *                  mensajes.
      */
     public RabbitMQStrategy(Connection connection) {
-        this.connection = connection;
-        this.compositeLogger = new LoggerFactory().getCompositeLogger();
+        this(new Builder().connection(connection));
+    }
+
+    /**
+     * Constructor privado para crear instancias a través del Builder.
+     *
+     * @param builder Instancia del Builder con los valores configurados.
+     */
+    private RabbitMQStrategy(Builder builder) {
+        this.connection = builder.connection;
+        this.channelPool = new ChannelPool(builder.connection, builder.channelPoolSize, builder.borrowTimeoutMillis);
+        this.declaredQueues = builder.cacheQueueDeclarations ? DeclaredQueueCache.forConnection(builder.connection) : null;
+        this.confirmTimeoutMillis = builder.confirmTimeoutMillis;
+        this.codec = builder.codec != null ? builder.codec : JsonMessageCodec.of(builder.envelopeFormat);
+        this.compressor = builder.compression != null
+                ? PayloadCompressor.of(builder.compression, builder.compressionThresholdBytes)
+                : PayloadCompressor.disabled();
+        this.claimCheck = builder.claimCheck;
+        this.outbox = builder.outbox;
+        this.replayBatchSize = builder.replayBatchSize;
+        this.maxReplayAttempts = builder.maxReplayAttempts;
+        this.deadLetters = builder.deadLetterOutbox;
+        this.logger = new LoggerFactory().getGatedLogger();
+        if (outbox != null) {
+            this.replayer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "queue-helper-outbox-replayer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            replayer.scheduleWithFixedDelay(this::replayOutbox, builder.replayIntervalMillis,
+                    builder.replayIntervalMillis, TimeUnit.MILLISECONDS);
+            if (connection instanceof Recoverable recoverable) {
+                // La bandeja se vacía en cuanto la conexión vuelve, sin
+                // esperar al siguiente intervalo.
+                recoverable.addRecoveryListener(new RecoveryListener() {
+                    @Override
+                    public void handleRecovery(Recoverable recovered) {
+                        if (!replayer.isShutdown()) {
+                            replayer.execute(RabbitMQStrategy.this::replayOutbox);
+                        }
+                    }
+
+                    @Override
+                    public void handleRecoveryStarted(Recoverable recovering) {
+                        // Nada que hacer hasta que la conexión vuelva.
+                    }
+                });
+            }
+        } else {
+            this.replayer = null;
+        }
+    }
+
+    /**
+     * Clase Builder para construir instancias de RabbitMQStrategy con
+     * parámetros opcionales.
+     */
+    public static class Builder {
+
+        /**
+         * Conexión activa a RabbitMQ. Tipo: Connection
+         */
+        private Connection connection;
+
+        /**
+         * Número máximo de canales reutilizables para publicar. Tipo: int
+         */
+        private int channelPoolSize = ChannelPool.DEFAULT_SIZE;
+
+        /**
+         * Tiempo máximo de espera por un canal libre, en milisegundos. Tipo:
+         * long
+         */
+        private long borrowTimeoutMillis = ChannelPool.DEFAULT_BORROW_TIMEOUT_MILLIS;
+
+        /**
+         * Indica si se omite {@code queueDeclare} para colas ya declaradas en
+         * la conexión. Tipo: boolean
+         */
+        private boolean cacheQueueDeclarations = true;
+
+        /**
+         * Tiempo máximo de espera por las confirmaciones de un lote, en
+         * milisegundos. Tipo: long
+         */
+        private long confirmTimeoutMillis = DEFAULT_CONFIRM_TIMEOUT_MILLIS;
+
+        /**
+         * Formato del sobre publicado. Tipo: EnvelopeEncoder.Format
+         */
+        private EnvelopeEncoder.Format envelopeFormat = EnvelopeEncoder.Format.EMBEDDED_JSON;
+
+        /**
+         * Códec con el que se codifican los mensajes. Tipo: MessageCodec
+         */
+        private MessageCodec codec;
+
+        /**
+         * Algoritmo de compresión de los cuerpos; null para no comprimir.
+         * Tipo: CompressionAlgorithm
+         */
+        private CompressionAlgorithm compression;
+
+        /**
+         * Tamaño mínimo, en bytes, de los cuerpos que se comprimen. Tipo: int
+         */
+        private int compressionThresholdBytes = PayloadCompressor.DEFAULT_THRESHOLD_BYTES;
+
+        /**
+         * Claim-check de los adjuntos grandes; null para publicarlos en el
+         * mensaje. Tipo: AttachmentClaimCheck
+         */
+        private AttachmentClaimCheck claimCheck;
+
+        /**
+         * Bandeja de salida de los mensajes que no se pudieron publicar; null
+         * para descartarlos. Tipo: Outbox
+         */
+        private Outbox outbox;
+
+        /**
+         * Intervalo entre intentos de reenviar la bandeja de salida, en
+         * milisegundos. Tipo: long
+         */
+        private long replayIntervalMillis = DEFAULT_REPLAY_INTERVAL_MILLIS;
+
+        /**
+         * Mensajes de la bandeja de salida reenviados por lote. Tipo: int
+         */
+        private int replayBatchSize = DEFAULT_REPLAY_BATCH_SIZE;
+
+        /**
+         * Rechazos del broker tras los que se aparta un mensaje de la bandeja
+         * de salida. Tipo: int
+         */
+        private int maxReplayAttempts = DEFAULT_MAX_REPLAY_ATTEMPTS;
+
+        /**
+         * Bandeja donde se apartan los mensajes rechazados; null para
+         * descartarlos. Tipo: Outbox
+         */
+        private Outbox deadLetterOutbox;
+
+        /**
+         * Establece la conexión a RabbitMQ.
+         *
+         * @param connection Conexión activa a RabbitMQ.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder connection(Connection connection) {
+            this.connection = connection;
+            return this;
+        }
+
+        /**
+         * Establece el número máximo de canales que se mantienen abiertos para
+         * publicar.
+         *
+         * @param channelPoolSize Tamaño del pool de canales (mínimo 1).
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder channelPoolSize(int channelPoolSize) {
+            this.channelPoolSize = channelPoolSize;
+            return this;
+        }
+
+        /**
+         * Establece el tiempo máximo de espera por un canal libre cuando
+         * todos los canales del pool están en uso.
+         *
+         * @param borrowTimeoutMillis Tiempo de espera en milisegundos.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder borrowTimeoutMillis(long borrowTimeoutMillis) {
+            this.borrowTimeoutMillis = borrowTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Define si las colas se declaran una sola vez por conexión
+         * (comportamiento por defecto) o en cada publicación.
+         *
+         * @param cacheQueueDeclarations true para usar la caché de colas
+         * declaradas, false para declarar la cola en cada envío.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder cacheQueueDeclarations(boolean cacheQueueDeclarations) {
+            this.cacheQueueDeclarations = cacheQueueDeclarations;
+            return this;
+        }
+
+        /**
+         * Establece el tiempo máximo de espera por las confirmaciones del
+         * broker al enviar un lote con {@code sendBatch}.
+         *
+         * @param confirmTimeoutMillis Tiempo de espera en milisegundos.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder confirmTimeoutMillis(long confirmTimeoutMillis) {
+            this.confirmTimeoutMillis = confirmTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Establece el formato del sobre publicado. Por defecto el JSON del
+         * mensaje se incrusta como objeto; use
+         * {@link EnvelopeEncoder.Format#LEGACY_STRING} mientras existan
+         * consumidores que esperan {@code content} como texto.
+         *
+         * @param envelopeFormat Formato del sobre.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder envelopeFormat(EnvelopeEncoder.Format envelopeFormat) {
+            this.envelopeFormat = envelopeFormat;
+            return this;
+        }
+
+        /**
+         * Establece el códec con el que se codifican los mensajes, por
+         * ejemplo {@link io.github.jhoanhurtado.domain.codecs.BinaryMessageCodec}.
+         * Si se indica, {@link #envelopeFormat(EnvelopeEncoder.Format)} se
+         * ignora.
+         *
+         * @param codec Códec de los mensajes publicados.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder codec(MessageCodec codec) {
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * Activa la compresión de los cuerpos de al menos
+         * {@code thresholdBytes} bytes, por ejemplo correos con adjuntos.
+         *
+         * @param algorithm Algoritmo de compresión; null para no comprimir.
+         * @param thresholdBytes Tamaño mínimo en bytes de los cuerpos que se
+         * comprimen.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder compression(CompressionAlgorithm algorithm, int thresholdBytes) {
+            this.compression = algorithm;
+            this.compressionThresholdBytes = thresholdBytes;
+            return this;
+        }
+
+        /**
+         * Publica por referencia los adjuntos de los correos de al menos
+         * {@code thresholdBytes} bytes: el adjunto se guarda en el almacén y
+         * el mensaje solo lleva su referencia. Los consumidores deben tener
+         * acceso al mismo almacén.
+         *
+         * @param blobStore Almacén de los adjuntos.
+         * @param thresholdBytes Tamaño mínimo en bytes (del Base64) de los
+         * adjuntos que se publican por referencia.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         * @throws IllegalArgumentException Si el almacén es nulo o el umbral
+         * negativo.
+         */
+        public Builder claimCheck(BlobStore blobStore, int thresholdBytes) {
+            this.claimCheck = new AttachmentClaimCheck(blobStore, thresholdBytes);
+            return this;
+        }
+
+        /**
+         * Guarda en una bandeja de salida local los mensajes que no se pueden
+         * publicar porque el broker no está disponible o los rechaza, y los
+         * reenvía cuando la conexión se recupera. La bandeja no se cierra al
+         * cerrar la estrategia.
+         *
+         * @param outbox Bandeja de salida, por ejemplo
+         * {@link io.github.jhoanhurtado.infrastructure.storage.FileOutbox}.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder outbox(Outbox outbox) {
+            this.outbox = outbox;
+            return this;
+        }
+
+        /**
+         * Establece el intervalo entre intentos de reenviar la bandeja de
+         * salida.
+         *
+         * @param replayIntervalMillis Intervalo en milisegundos.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder replayIntervalMillis(long replayIntervalMillis) {
+            this.replayIntervalMillis = replayIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Establece cuántos mensajes de la bandeja de salida se reenvían por
+         * lote.
+         *
+         * @param replayBatchSize Mensajes por lote.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder replayBatchSize(int replayBatchSize) {
+            this.replayBatchSize = replayBatchSize;
+            return this;
+        }
+
+        /**
+         * Establece cuántas veces puede rechazar el broker un mensaje de la
+         * bandeja de salida (nack o cierre del canal por ese mensaje, con la
+         * conexión abierta) antes de apartarlo para que no bloquee a los
+         * siguientes.
+         *
+         * @param maxReplayAttempts Número de rechazos.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder maxReplayAttempts(int maxReplayAttempts) {
+            this.maxReplayAttempts = maxReplayAttempts;
+            return this;
+        }
+
+        /**
+         * Establece la bandeja donde se apartan los mensajes de la bandeja de
+         * salida que el broker rechaza repetidamente. Sin ella se descartan.
+         * La bandeja no se cierra al cerrar la estrategia.
+         *
+         * @param deadLetterOutbox Bandeja de mensajes fallidos, por ejemplo un
+         * {@link io.github.jhoanhurtado.infrastructure.storage.FileOutbox} en
+         * otro directorio.
+         * @return Instancia del Builder para encadenamiento de métodos.
+         */
+        public Builder deadLetterOutbox(Outbox deadLetterOutbox) {
+            this.deadLetterOutbox = deadLetterOutbox;
+            return this;
+        }
+
+        /**
+         * Construye y devuelve una instancia de RabbitMQStrategy con los
+         * valores configurados.
+         *
+         * @return Nueva instancia de RabbitMQStrategy.
+         */
+        public RabbitMQStrategy build() {
+            if (connection == null) {
+                throw new IllegalArgumentException("La conexión a RabbitMQ no puede ser nula.");
+            }
+            if (compressionThresholdBytes < 0) {
+                throw new IllegalArgumentException("El umbral de compresión no puede ser negativo.");
+            }
+            if (replayIntervalMillis <= 0 || replayBatchSize <= 0) {
+                throw new IllegalArgumentException("El intervalo y el lote de reenvío deben ser mayores que cero.");
+            }
+            if (maxReplayAttempts <= 0) {
+                throw new IllegalArgumentException("El número de intentos de reenvío debe ser mayor que cero.");
+            }
+            return new RabbitMQStrategy(this);
+        }
     }
 
     /**
@@ -47,38 +501,573 @@ public class RabbitMQStrategy implements MessagingStrategy {
      */
     @Override
     public void sendMessage(String queue, MessageModel message, int priority, int deliveryMode) {
-        String startLogMessage = String.format("Iniciando envío de mensaje a RabbitMQ. Cola: %s, Prioridad: %d, Modo de entrega: %d", queue, priority, deliveryMode);
-        compositeLogger.log(startLogMessage, LogLevel.INFO);
+        if (logger.isEnabled(LogLevel.INFO)) {
+            logger.log(LogLevel.INFO, "Iniciando envío de mensaje a RabbitMQ. Cola: %s, Prioridad: %d, Modo de entrega: %d", queue, priority, deliveryMode);
+        }
 
-        try (Channel channel = connection.createChannel()) {
+        // Codificar el mensaje con el códec configurado
+        byte[] encoded;
+        byte[] body;
+        AMQP.BasicProperties properties;
+        try {
+            encoded = encode(message);
+            if (logger.isEnabled(LogLevel.DEBUG)) {
+                logger.log(LogLevel.DEBUG, "Mensaje codificado como %s: %s", codec.getContentType(), describe(encoded));
+            }
+            body = compressor.compress(encoded);
+            properties = buildProperties(priority, deliveryMode, compressor.encodingOf(encoded, body));
+        } catch (Exception e) {
+            logger.log(LogLevel.CRITICAL, "Error codificando mensaje para RabbitMQ. Cola: %s, Error: %s", queue, e.getMessage());
+            return;
+        }
+        if (isSpooling()) {
+            spool(queue, properties, body);
+            return;
+        }
+
+        Channel channel = null;
+        boolean channelBroken = false;
+        try {
+            channel = channelPool.borrow();
             // Declarar la cola si no existe
-            channel.queueDeclare(queue, true, false, false, null);
-            compositeLogger.log("Cola declarada exitosamente: " + queue, LogLevel.INFO);
+            if (declareQueue(channel, queue)) {
+                logger.log(LogLevel.INFO, "Cola declarada exitosamente: %s", queue);
+            }
 
-            // Crear las propiedades del mensaje
-            AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
-                    .deliveryMode(deliveryMode < 1 ? 1 : deliveryMode)
-                    .priority(priority < 1 ? 1 : priority)
-                    .build();
+            // Publicar el mensaje en la cola especificada
+            channel.basicPublish("", queue, properties, body);
+            if (logger.isEnabled(LogLevel.INFO)) {
+                logger.log(LogLevel.INFO, "Mensaje enviado con éxito a la cola: %s. Contenido: %s", queue, describe(encoded));
+            }
 
-            // Convertir el mensaje a JSON
-            ObjectMapper objectMapper = new ObjectMapper();
-            Map<String, Object> messagesMap = new HashMap<>();
-            messagesMap.put("content", message.toJson());
-            messagesMap.put("sender", "application");
+        } catch (Exception e) {
+            channelBroken = isChannelFailure(e);
+            if (declaredQueues != null) {
+                declaredQueues.handleChannelError(queue, e);
+            }
+            if (outbox == null || !isTransient(e)) {
+                logger.log(LogLevel.CRITICAL, "Error enviando mensaje a RabbitMQ. Cola: %s, Error: %s", queue, e.getMessage());
+            } else if (spool(queue, properties, body)) {
+                logger.log(LogLevel.WARN, "Error enviando mensaje a RabbitMQ; se guardó en la bandeja de salida. Cola: %s, Error: %s", queue, e.getMessage());
+            }
+        } finally {
+            if (channelBroken) {
+                channelPool.invalidate(channel);
+            } else {
+                channelPool.release(channel);
+            }
+        }
+    }
 
-            String jsonMessage = objectMapper.writeValueAsString(messagesMap);
-            compositeLogger.log("Mensaje convertido a JSON: " + jsonMessage, LogLevel.DEBUG);
+    /**
+     * Envía un mensaje a una cola de RabbitMQ de forma asíncrona usando
+     * confirmaciones del publicador (publisher confirms).
+     *
+     * <p>
+     * El método retorna en cuanto el mensaje se entrega al canal; el futuro se
+     * completa cuando el broker confirma el mensaje y falla si el broker lo
+     * rechaza (nack), si el canal se cierra antes de la confirmación o si no
+     * fue posible publicarlo. No se bloquea esperando cada confirmación, por
+     * lo que pueden mantenerse miles de publicaciones en vuelo.
+     * </p>
+     *
+     * @param queue Nombre de la cola a la que se enviará el mensaje.
+     * @param message Objeto MessageModel que contiene el contenido del mensaje.
+     * @param priority Prioridad del mensaje (mínimo 1 máximo 255).
+     * @param deliveryMode Modo de entrega del mensaje: 1 no persistente, 2
+     * persistente.
+     * @return Futuro que se completa con la confirmación del broker o, si hay
+     * bandeja de salida y el mensaje no se pudo publicar, cuando se guarda en
+     * ella.
+     */
+    @Override
+    public CompletableFuture<Void> sendAsync(String queue, MessageModel message, int priority, int deliveryMode) {
+        byte[] body;
+        AMQP.BasicProperties properties;
+        try {
+            byte[] encoded = encode(message);
+            body = compressor.compress(encoded);
+            properties = buildProperties(priority, deliveryMode, compressor.encodingOf(encoded, body));
+        } catch (Exception e) {
+            logger.log(LogLevel.CRITICAL, "Error codificando mensaje asíncrono para RabbitMQ. Cola: %s, Error: %s", queue, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+        if (isSpooling()) {
+            return spoolAsync(queue, properties, body, null);
+        }
 
-            // Publicar el mensaje en la cola especificada
-            channel.basicPublish("", queue, properties, jsonMessage.getBytes());
-            String logMessageString = String.format("Mensaje enviado con éxito a la cola: %s. Contenido: %s", queue, jsonMessage);
-            compositeLogger.log(logMessageString, LogLevel.INFO);
+        Channel channel = null;
+        boolean channelBroken = false;
+        try {
+            channel = channelPool.borrow();
+            declareQueue(channel, queue);
+
+            CompletableFuture<Void> confirmation = confirmationsFor(channel).register(channel);
+            channel.basicPublish("", queue, properties, body);
+            if (outbox == null) {
+                return confirmation;
+            }
+            // Un rechazo del broker o el cierre del canal guardan el mensaje
+            return confirmation.exceptionallyCompose(error -> isTransient(error)
+                    ? spoolAsync(queue, properties, body, error)
+                    : CompletableFuture.failedFuture(error));
+        } catch (Exception e) {
+            channelBroken = isChannelFailure(e);
+            if (declaredQueues != null) {
+                declaredQueues.handleChannelError(queue, e);
+            }
+            if (outbox != null && isTransient(e)) {
+                logger.log(LogLevel.WARN, "Error enviando mensaje asíncrono a RabbitMQ; se guarda en la bandeja de salida. Cola: %s, Error: %s", queue, e.getMessage());
+                return spoolAsync(queue, properties, body, e);
+            }
+            logger.log(LogLevel.CRITICAL, "Error enviando mensaje asíncrono a RabbitMQ. Cola: %s, Error: %s", queue, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            if (channelBroken) {
+                channelPool.invalidate(channel);
+            } else {
+                channelPool.release(channel);
+            }
+        }
+    }
+
+    /**
+     * Envía un lote de mensajes a una cola de RabbitMQ usando un único canal.
+     *
+     * <p>
+     * Todo el lote se serializa antes de tomar el canal, se publica sin
+     * esperas intermedias y las confirmaciones del broker se esperan una sola
+     * vez al final. Los mensajes que no se pudieron serializar, publicar o que
+     * el broker rechazó se reportan como fallidos en su posición del lote. Si
+     * hay bandeja de salida, los que no se pudieron publicar o el broker
+     * rechazó se guardan en ella y se reportan como enviados.
+     * </p>
+     *
+     * @param queue Nombre de la cola a la que se enviarán los mensajes.
+     * @param messages Mensajes a enviar.
+     * @param priority Prioridad de los mensajes (mínimo 1 máximo 255).
+     * @param deliveryMode Modo de entrega: 1 no persistente, 2 persistente.
+     * @return Resultado de cada mensaje, en el orden del lote.
+     */
+    @Override
+    public List<SendResult> sendBatch(String queue, List<MessageModel> messages, int priority, int deliveryMode) {
+        int size = messages.size();
+        SendResult[] results = new SendResult[size];
+        byte[][] bodies = new byte[size][];
+        boolean[] compressed = new boolean[size];
+
+        // Serializar todo el lote antes de ocupar un canal
+        for (int i = 0; i < size; i++) {
+            try {
+                byte[] encoded = encode(messages.get(i));
+                bodies[i] = compressor.compress(encoded);
+                compressed[i] = bodies[i] != encoded;
+            } catch (IOException | RuntimeException e) {
+                results[i] = SendResult.failure(i, messages.get(i), e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] confirmationsByIndex = new CompletableFuture[size];
+        AMQP.BasicProperties properties = buildProperties(priority, deliveryMode, null);
+        AMQP.BasicProperties compressedProperties = compressor.getAlgorithm() == null ? properties
+                : buildProperties(priority, deliveryMode, compressor.getAlgorithm().getEncoding());
+        if (isSpooling()) {
+            for (int i = 0; i < size; i++) {
+                if (results[i] == null) {
+                    results[i] = spool(queue, compressed[i] ? compressedProperties : properties, bodies[i])
+                            ? SendResult.success(i, messages.get(i))
+                            : SendResult.failure(i, messages.get(i), new IOException("No se pudo guardar en la bandeja de salida."));
+                }
+            }
+            return Arrays.asList(results);
+        }
+
+        Channel channel = null;
+        boolean channelBroken = false;
+        try {
+            channel = channelPool.borrow();
+            declareQueue(channel, queue);
+            PublisherConfirms confirms = confirmationsFor(channel);
+            for (int i = 0; i < size; i++) {
+                if (bodies[i] != null) {
+                    confirmationsByIndex[i] = confirms.register(channel);
+                    channel.basicPublish("", queue, compressed[i] ? compressedProperties : properties, bodies[i]);
+                }
+            }
+        } catch (Exception e) {
+            channelBroken = isChannelFailure(e);
+            if (declaredQueues != null) {
+                declaredQueues.handleChannelError(queue, e);
+            }
+            logger.log(LogLevel.CRITICAL, "Error enviando lote a RabbitMQ. Cola: %s, Error: %s", queue, e.getMessage());
+            for (int i = 0; i < size; i++) {
+                if (results[i] == null && confirmationsByIndex[i] == null) {
+                    results[i] = SendResult.failure(i, messages.get(i), e);
+                }
+            }
+        } finally {
+            if (channelBroken) {
+                channelPool.invalidate(channel);
+            } else {
+                channelPool.release(channel);
+            }
+        }
+
+        awaitConfirmations(confirmationsByIndex);
+
+        int failed = 0;
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) {
+                results[i] = toSendResult(i, messages.get(i), confirmationsByIndex[i]);
+                if (!results[i].isSuccess() && outbox != null && isTransient(results[i].getError())
+                        && spool(queue, compressed[i] ? compressedProperties : properties, bodies[i])) {
+                    results[i] = SendResult.success(i, messages.get(i));
+                }
+            }
+            if (!results[i].isSuccess()) {
+                failed++;
+            }
+        }
+        LogLevel summaryLevel = failed == 0 ? LogLevel.INFO : LogLevel.ERROR;
+        if (logger.isEnabled(summaryLevel)) {
+            logger.log(summaryLevel, "Lote enviado a la cola %s. Mensajes: %d, Fallidos: %d", queue, size, failed);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Espera las confirmaciones de un lote hasta el tiempo máximo configurado.
+     *
+     * @param confirmations Futuros de confirmación; las posiciones nulas se
+     * ignoran.
+     */
+    private void awaitConfirmations(CompletableFuture<Void>[] confirmations) {
+        List<CompletableFuture<Void>> pendingConfirmations = new ArrayList<>(confirmations.length);
+        for (CompletableFuture<Void> confirmation : confirmations) {
+            if (confirmation != null) {
+                pendingConfirmations.add(confirmation);
+            }
+        }
+        try {
+            CompletableFuture.allOf(pendingConfirmations.toArray(new CompletableFuture[0]))
+                    .get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // El resultado de cada mensaje se evalúa de forma individual
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Convierte el estado de la confirmación de un mensaje en su resultado.
+     *
+     * @param index Posición del mensaje en el lote.
+     * @param message Mensaje enviado.
+     * @param confirmation Futuro de confirmación del mensaje.
+     * @return Resultado del mensaje.
+     */
+    private SendResult toSendResult(int index, MessageModel message, CompletableFuture<Void> confirmation) {
+        if (!confirmation.isDone()) {
+            return SendResult.failure(index, message, new TimeoutException(
+                    "No se recibió la confirmación del broker en " + confirmTimeoutMillis + " ms."));
+        }
+        try {
+            confirmation.join();
+            return SendResult.success(index, message);
+        } catch (RuntimeException e) {
+            return SendResult.failure(index, message, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * Obtiene el seguimiento de confirmaciones de un canal, poniéndolo en modo
+     * confirmación la primera vez que se usa para envíos asíncronos.
+     *
+     * @param channel Canal prestado por el pool.
+     * @return Seguimiento de confirmaciones del canal.
+     * @throws IOException Si el broker rechaza {@code confirmSelect}.
+     */
+    private PublisherConfirms confirmationsFor(Channel channel) throws IOException {
+        PublisherConfirms confirms = confirmations.get(channel);
+        if (confirms == null) {
+            confirms = PublisherConfirms.enable(channel, () -> confirmations.remove(channel));
+            confirmations.put(channel, confirms);
+        }
+        return confirms;
+    }
 
+    /**
+     * Reenvía los mensajes de la bandeja de salida por lotes, hasta vaciarla
+     * o hasta que un lote no se confirme por completo. Lo hace periódicamente
+     * un hilo en segundo plano; si ya hay un reenvío en curso, no hace nada.
+     * El primer mensaje sin confirmar que el broker rechaza
+     * {@code maxReplayAttempts} veces se aparta y el reenvío continúa.
+     *
+     * @return Número de mensajes confirmados y retirados de la bandeja.
+     */
+    public long replayOutbox() {
+        if (outbox == null || !replayLock.tryLock()) {
+            return 0;
+        }
+        long replayed = 0;
+        try {
+            while (outbox.getPendingCount() > 0 && connection.isOpen()) {
+                List<OutboxEntry> entries = outbox.peek(replayBatchSize);
+                if (entries.isEmpty()) {
+                    break;
+                }
+                CompletableFuture<Void>[] confirmations = publishEntries(entries);
+                int confirmed = 0;
+                while (confirmed < confirmations.length && isConfirmed(confirmations[confirmed])) {
+                    confirmed++;
+                }
+                if (confirmed > 0) {
+                    outbox.acknowledge(entries.get(confirmed - 1).getSequence());
+                    replayed += confirmed;
+                }
+                if (confirmed < entries.size()
+                        && !(isRejected(confirmations[confirmed]) && discardIfExhausted(entries.get(confirmed)))) {
+                    break;
+                }
+            }
+            if (replayed > 0 && logger.isEnabled(LogLevel.INFO)) {
+                logger.log(LogLevel.INFO, "Reenviados %d mensajes de la bandeja de salida. Pendientes: %d", replayed, outbox.getPendingCount());
+            }
+        } catch (Exception e) {
+            logger.log(LogLevel.WARN, "No se pudo reenviar la bandeja de salida: %s", e.getMessage());
+        } finally {
+            replayLock.unlock();
+        }
+        return replayed;
+    }
+
+    /**
+     * Obtiene la bandeja de salida de la estrategia.
+     *
+     * @return Bandeja de salida, o null si no está configurada.
+     */
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    /**
+     * Publica un lote de la bandeja de salida con un único canal y espera
+     * sus confirmaciones.
+     *
+     * @param entries Mensajes a publicar, en orden.
+     * @return Confirmación de cada mensaje; nula si no llegó a publicarse.
+     * Si el broker cierra el canal por 404 o 406 al publicar un mensaje, su
+     * confirmación falla con ese error.
+     */
+    private CompletableFuture<Void>[] publishEntries(List<OutboxEntry> entries) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] confirmationsByIndex = new CompletableFuture[entries.size()];
+        Channel channel = null;
+        boolean channelBroken = false;
+        int current = 0;
+        try {
+            channel = channelPool.borrow();
+            PublisherConfirms confirms = confirmationsFor(channel);
+            for (; current < entries.size(); current++) {
+                OutboxEntry entry = entries.get(current);
+                declareQueue(channel, entry.getQueue());
+                confirmationsByIndex[current] = confirms.register(channel);
+                channel.basicPublish("", entry.getQueue(), new AMQP.BasicProperties.Builder()
+                        .contentType(entry.getContentType())
+                        .contentEncoding(entry.getContentEncoding())
+                        .deliveryMode(entry.getDeliveryMode())
+                        .priority(entry.getPriority())
+                        .build(), entry.getBody());
+            }
         } catch (Exception e) {
-            String errorLogMessage = String.format("Error enviando mensaje a RabbitMQ. Cola: %s, Error: %s", queue, e.getMessage());
-            compositeLogger.log(errorLogMessage, LogLevel.CRITICAL);
+            channelBroken = isChannelFailure(e);
+            if (!isTransient(e) && current < entries.size() && confirmationsByIndex[current] == null) {
+                confirmationsByIndex[current] = CompletableFuture.failedFuture(e);
+            }
+            logger.log(LogLevel.WARN, "Error reenviando la bandeja de salida a RabbitMQ: %s", e.getMessage());
+        } finally {
+            if (channelBroken) {
+                channelPool.invalidate(channel);
+            } else {
+                channelPool.release(channel);
+            }
         }
+
+        awaitConfirmations(confirmationsByIndex);
+        return confirmationsByIndex;
+    }
+
+    private static boolean isConfirmed(CompletableFuture<Void> confirmation) {
+        return confirmation != null && confirmation.isDone() && !confirmation.isCompletedExceptionally();
+    }
+
+    /**
+     * Indica si el broker rechazó el mensaje: la confirmación falló con la
+     * conexión abierta. Las caídas de la conexión y las esperas agotadas no
+     * cuentan como rechazo.
+     */
+    private boolean isRejected(CompletableFuture<Void> confirmation) {
+        return confirmation != null && confirmation.isCompletedExceptionally() && connection.isOpen();
+    }
+
+    /**
+     * Cuenta un rechazo del primer mensaje sin confirmar de la bandeja y, al
+     * llegar a {@code maxReplayAttempts}, lo aparta en la bandeja de mensajes
+     * fallidos (o lo descarta) y lo confirma en la bandeja de salida.
+     *
+     * @param entry Mensaje rechazado.
+     * @return true si el mensaje se retiró de la bandeja de salida.
+     * @throws IOException Si no se puede confirmar en la bandeja de salida.
+     */
+    private boolean discardIfExhausted(OutboxEntry entry) throws IOException {
+        if (entry.getSequence() != rejectedSequence) {
+            rejectedSequence = entry.getSequence();
+            rejectedAttempts = 0;
+        }
+        if (++rejectedAttempts < maxReplayAttempts) {
+            return false;
+        }
+        if (deadLetters == null) {
+            logger.log(LogLevel.CRITICAL, "Mensaje de la bandeja de salida rechazado %d veces por el broker; se descarta. Cola: %s, Secuencia: %d",
+                    rejectedAttempts, entry.getQueue(), entry.getSequence());
+        } else {
+            try {
+                deadLetters.append(entry);
+            } catch (IOException | RuntimeException e) {
+                logger.log(LogLevel.CRITICAL, "Error apartando un mensaje rechazado de la bandeja de salida. Cola: %s, Secuencia: %d, Error: %s",
+                        entry.getQueue(), entry.getSequence(), e.getMessage());
+                return false;
+            }
+            logger.log(LogLevel.CRITICAL, "Mensaje de la bandeja de salida rechazado %d veces por el broker; se apartó en la bandeja de mensajes fallidos. Cola: %s, Secuencia: %d",
+                    rejectedAttempts, entry.getQueue(), entry.getSequence());
+        }
+        outbox.acknowledge(entry.getSequence());
+        rejectedAttempts = 0;
+        return true;
+    }
+
+    /**
+     * Indica si un error deja el canal inutilizable y debe descartarse del
+     * pool: errores de E/S y cierres del canal o de la conexión (incluida
+     * {@code AlreadyClosedException}). Los demás errores no afectan al canal,
+     * que se devuelve al pool.
+     *
+     * @param e Error ocurrido mientras se usaba el canal.
+     * @return true si el canal debe descartarse.
+     */
+    private static boolean isChannelFailure(Exception e) {
+        return e instanceof IOException || e instanceof ShutdownSignalException;
+    }
+
+    /**
+     * Indica si un error de publicación puede resolverse reintentando más
+     * tarde. Un cierre del canal por 404 o 406 (la cola no existe o se
+     * declaró con otros argumentos) se repetiría en cada reenvío, así que el
+     * mensaje no se guarda en la bandeja de salida.
+     *
+     * @param error Error de la publicación o de su confirmación.
+     * @return true si el mensaje puede guardarse para reenviarlo.
+     */
+    private static boolean isTransient(Throwable error) {
+        return !DeclaredQueueCache.isTopologyError(error);
+    }
+
+    /**
+     * Indica si los envíos deben ir a la bandeja de salida porque todavía
+     * tiene mensajes sin reenviar.
+     */
+    private boolean isSpooling() {
+        return outbox != null && outbox.getPendingCount() > 0;
+    }
+
+    /**
+     * Guarda un mensaje ya codificado en la bandeja de salida.
+     *
+     * @return true si se guardó.
+     */
+    private boolean spool(String queue, AMQP.BasicProperties properties, byte[] body) {
+        try {
+            outbox.append(OutboxEntry.of(queue, properties.getContentType(), properties.getContentEncoding(),
+                    properties.getPriority(), properties.getDeliveryMode(), body));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.log(LogLevel.CRITICAL, "Error guardando mensaje en la bandeja de salida. Cola: %s, Error: %s", queue, e.getMessage());
+            return false;
+        }
+    }
+
+    private CompletableFuture<Void> spoolAsync(String queue, AMQP.BasicProperties properties, byte[] body,
+            Throwable cause) {
+        if (spool(queue, properties, body)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.failedFuture(cause != null ? cause
+                : new IOException("No se pudo guardar el mensaje en la bandeja de salida."));
+    }
+
+    /**
+     * Codifica un mensaje con el códec configurado.
+     *
+     * @param message Mensaje a codificar.
+     * @return Cuerpo a publicar.
+     * @throws IOException Si el mensaje no se puede serializar.
+     * @throws IllegalArgumentException Si el códec no admite el mensaje.
+     */
+    private byte[] encode(MessageModel message) throws IOException {
+        if (claimCheck != null) {
+            message = claimCheck.apply(message);
+        }
+        if (!codec.supports(message)) {
+            throw new IllegalArgumentException("El códec " + codec.getContentType() + " no admite el mensaje "
+                    + (message == null ? "null" : message.getClass().getSimpleName()) + ".");
+        }
+        return codec.encode(message);
+    }
+
+    /**
+     * Describe un cuerpo codificado para el log. La salida de un códec binario
+     * no es texto, así que de ella solo se registra el tamaño.
+     *
+     * @param encoded Cuerpo codificado.
+     * @return Contenido recortado, o el número de bytes si el códec es binario.
+     */
+    private String describe(byte[] encoded) {
+        return codec.isBinary() ? encoded.length + " bytes" : logger.payload(encoded);
+    }
+
+    /**
+     * Crea las propiedades AMQP del mensaje.
+     *
+     * @param priority Prioridad del mensaje.
+     * @param deliveryMode Modo de entrega del mensaje.
+     * @param contentEncoding Algoritmo de compresión del cuerpo, o null.
+     * @return Propiedades del mensaje.
+     */
+    private AMQP.BasicProperties buildProperties(int priority, int deliveryMode, String contentEncoding) {
+        return new AMQP.BasicProperties.Builder()
+                .contentType(codec.getContentType())
+                .contentEncoding(contentEncoding)
+                .deliveryMode(deliveryMode < 1 ? 1 : deliveryMode)
+                .priority(priority < 1 ? 1 : priority)
+                .build();
+    }
+
+    /**
+     * Declara la cola, omitiendo la llamada al broker si ya fue declarada en
+     * esta conexión y la caché está activa.
+     *
+     * @param channel Canal con el que se declara la cola.
+     * @param queue Nombre de la cola.
+     * @return true si se envió la declaración al broker.
+     * @throws IOException Si el broker rechaza la declaración.
+     */
+    private boolean declareQueue(Channel channel, String queue) throws IOException {
+        if (declaredQueues != null) {
+            return declaredQueues.declareIfNeeded(channel, queue);
+        }
+        channel.queueDeclare(queue, true, false, false, null);
+        return true;
     }
 
     /**
@@ -89,7 +1078,51 @@ public class RabbitMQStrategy implements MessagingStrategy {
      */
     @Override
     public void readMessage(String queue, MessageModel message) {
-        String logMessage = String.format("Intento de lectura de mensaje desde la cola: %s, pero el método no está implementado.", queue);
-        compositeLogger.log(logMessage, LogLevel.WARN);
+        logger.log(LogLevel.WARN, "Intento de lectura de mensaje desde la cola: %s, pero el método no está implementado.", queue);
+    }
+
+    /**
+     * Obtiene la conexión utilizada por la estrategia.
+     *
+     * @return Conexión a RabbitMQ.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Obtiene las métricas de compresión de los mensajes publicados.
+     *
+     * @return Métricas de compresión; vacías si la compresión no está
+     * activa.
+     */
+    public CompressionMetrics getCompressionMetrics() {
+        return compressor.getMetrics();
+    }
+
+    /**
+     * Cierra los canales reutilizables de la estrategia y detiene el reenvío
+     * de la bandeja de salida. La conexión y la bandeja no se cierran, ya que
+     * pueden ser compartidas por otras estrategias.
+     */
+    @Override
+    public void close() {
+        if (replayer != null) {
+            replayer.shutdownNow();
+        }
+        channelPool.close();
+    }
+
+    /**
+     * Cierra los canales reutilizables de la estrategia. Las publicaciones de
+     * RabbitMQ no se acumulan en memoria, por lo que no hay nada que esperar;
+     * los mensajes de la bandeja de salida se conservan en ella y se
+     * reenvían la próxima vez que se use.
+     *
+     * @param timeout Tiempo máximo de espera; no se utiliza.
+     */
+    @Override
+    public void close(Duration timeout) {
+        close();
     }
 }
\ No newline at end of file
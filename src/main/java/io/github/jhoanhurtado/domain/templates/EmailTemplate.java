@@ -0,0 +1,127 @@
+package io.github.jhoanhurtado.domain.templates;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plantilla de correo electrónico con asunto y cuerpo precompilados.
+ *
+ * <p>
+ * El asunto y el cuerpo se analizan una sola vez con {@link TextTemplate} y la
+ * plantilla se comparte entre todos los destinatarios: renderizar un correo
+ * solo concatena fragmentos y valores. Se identifica con un id para que el
+ * productor pueda enviar solo el id y las variables cuando el consumidor
+ * tiene la plantilla registrada en un {@link TemplateRegistry} (ver
+ * {@code EmailMessage.Builder#templateReference(EmailTemplate, Map)}).
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * EmailTemplate welcome = EmailTemplate.compile("bienvenida",
+ *         "Bienvenido, {nombre}", "<p>Hola {nombre}, su usuario es {usuario}.</p>", true);
+ * EmailMessage email = new EmailMessage.Builder()
+ *         .senderEmail("no-reply@example.com")
+ *         .recipients(List.of("ana@example.com"))
+ *         .template(welcome, Map.of("nombre", "Ana", "usuario", "ana"))
+ *         .build();
+ * }
+ * </pre>
+ */
+public final class EmailTemplate {
+
+    private final String id;
+    private final TextTemplate subject;
+    private final TextTemplate body;
+    private final boolean isHtml;
+    private final List<String> variables;
+
+    private EmailTemplate(String id, TextTemplate subject, TextTemplate body, boolean isHtml) {
+        this.id = id;
+        this.subject = subject;
+        this.body = body;
+        this.isHtml = isHtml;
+        Set<String> names = new LinkedHashSet<>(subject.getVariables());
+        names.addAll(body.getVariables());
+        this.variables = List.copyOf(names);
+    }
+
+    /**
+     * Analiza una plantilla de correo.
+     *
+     * @param id Identificador de la plantilla.
+     * @param subject Asunto con variables {@code {nombre}}.
+     * @param body Cuerpo con variables {@code {nombre}}.
+     * @param isHtml true si el cuerpo es HTML.
+     * @return Plantilla analizada.
+     * @throws IllegalArgumentException Si el id está vacío, o el asunto o el
+     * cuerpo están vacíos o no son plantillas válidas.
+     */
+    public static EmailTemplate compile(String id, String subject, String body, boolean isHtml) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("El id de la plantilla no puede estar vacío.");
+        }
+        if (subject == null || subject.isBlank()) {
+            throw new IllegalArgumentException("El asunto de la plantilla no puede estar vacío.");
+        }
+        if (body == null || body.isBlank()) {
+            throw new IllegalArgumentException("El cuerpo de la plantilla no puede estar vacío.");
+        }
+        return new EmailTemplate(id, TextTemplate.compile(subject), TextTemplate.compile(body), isHtml);
+    }
+
+    /**
+     * Obtiene el identificador de la plantilla.
+     *
+     * @return Id de la plantilla.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Indica si el cuerpo es HTML.
+     *
+     * @return true si el cuerpo es HTML.
+     */
+    public boolean isHtml() {
+        return isHtml;
+    }
+
+    /**
+     * Obtiene los nombres de las variables del asunto y del cuerpo, sin
+     * repetir, en el orden en que aparecen.
+     *
+     * @return Nombres de las variables.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Renderiza el asunto.
+     *
+     * @param values Valores de las variables; las que faltan quedan vacías.
+     * @return Asunto renderizado.
+     */
+    public String renderSubject(Map<String, String> values) {
+        return subject.render(values);
+    }
+
+    /**
+     * Renderiza el cuerpo.
+     *
+     * @param values Valores de las variables; las que faltan quedan vacías.
+     * @return Cuerpo renderizado.
+     */
+    public String renderBody(Map<String, String> values) {
+        return body.render(values);
+    }
+
+    @Override
+    public String toString() {
+        return "EmailTemplate{id='" + id + "', subject='" + subject + "', isHtml=" + isHtml + '}';
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.jhoanhurtado.domain.templates;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plantillas de correo disponibles por id.
+ *
+ * <p>
+ * El consumidor registra las plantillas que conoce y asocia los correos
+ * recibidos por referencia con {@code EmailMessage#withTemplates}, que
+ * renderizan el asunto y el cuerpo la primera vez que se piden. Se puede usar
+ * desde varios hilos.
+ * </p>
+ */
+public final class TemplateRegistry {
+
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Registra una plantilla, reemplazando la que tenga el mismo id.
+     *
+     * @param template Plantilla a registrar.
+     * @return Este registro para encadenamiento de métodos.
+     * @throws IllegalArgumentException Si la plantilla es nula.
+     */
+    public TemplateRegistry register(EmailTemplate template) {
+        if (template == null) {
+            throw new IllegalArgumentException("La plantilla no puede ser nula.");
+        }
+        templates.put(template.getId(), template);
+        return this;
+    }
+
+    /**
+     * Busca una plantilla por id.
+     *
+     * @param id Id de la plantilla.
+     * @return La plantilla, o vacío si no está registrada.
+     */
+    public Optional<EmailTemplate> find(String id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(templates.get(id));
+    }
+
+    /**
+     * Indica si hay una plantilla registrada con el id indicado.
+     *
+     * @param id Id de la plantilla.
+     * @return true si está registrada.
+     */
+    public boolean contains(String id) {
+        return id != null && templates.containsKey(id);
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.jhoanhurtado.domain.templates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla de texto con variables {@code {nombre}}, analizada una sola vez.
+ *
+ * <p>
+ * El texto se divide al crear la plantilla en fragmentos literales y nombres
+ * de variables, y la misma instancia se comparte entre todos los
+ * destinatarios. {@link #bind(List)} resuelve los nombres contra las columnas
+ * de una fuente de datos, de modo que al renderizar cada destinatario solo se
+ * concatenan fragmentos y valores en un búfer por hilo que se reutiliza entre
+ * destinatarios. Para escribir una llave literal se usa <code>{{</code>.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * TextTemplate template = TextTemplate.compile("Hola {nombre}, su código es {codigo}.");
+ * TextTemplate.Binding binding = template.bind(List.of("phone", "nombre", "codigo"));
+ * String text = binding.render(new String[] {"+573001234567", "Ana", "1234"});
+ * }
+ * </pre>
+ */
+public final class TextTemplate {
+
+    /**
+     * Tamaño máximo de búfer que se conserva entre renderizados.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String source;
+    private final String[] literals;
+    private final String[] variables;
+
+    private TextTemplate(String source, String[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Analiza una plantilla.
+     *
+     * @param template Texto con variables {@code {nombre}}.
+     * @return Plantilla analizada.
+     * @throws IllegalArgumentException Si la plantilla es nula, tiene una
+     * llave sin cerrar o una variable sin nombre.
+     */
+    public static TextTemplate compile(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("La plantilla no puede ser nula.");
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if (c == '{' && i + 1 < template.length() && template.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+            } else if (c == '{') {
+                int end = template.indexOf('}', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Llave sin cerrar en la posición " + i + " de la plantilla.");
+                }
+                String name = template.substring(i + 1, end).trim();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Variable sin nombre en la posición " + i + " de la plantilla.");
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                variables.add(name);
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new TextTemplate(template, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * Obtiene los nombres de las variables, en el orden en que aparecen.
+     *
+     * @return Nombres de las variables.
+     */
+    public List<String> getVariables() {
+        return List.of(variables);
+    }
+
+    /**
+     * Asocia las variables de la plantilla a las columnas de una fuente de
+     * datos.
+     *
+     * @param columns Nombres de las columnas, en orden.
+     * @return Plantilla lista para renderizar filas con esas columnas.
+     * @throws IllegalArgumentException Si una variable no tiene columna.
+     */
+    public Binding bind(List<String> columns) {
+        int[] indexes = new int[variables.length];
+        for (int v = 0; v < variables.length; v++) {
+            indexes[v] = columns.indexOf(variables[v]);
+            if (indexes[v] < 0) {
+                throw new IllegalArgumentException("La variable '" + variables[v]
+                        + "' de la plantilla no es una columna de " + columns + ".");
+            }
+        }
+        return new Binding(indexes);
+    }
+
+    /**
+     * Renderiza la plantilla con valores por nombre. Para muchos
+     * destinatarios conviene {@link #bind(List)}.
+     *
+     * @param values Valores de las variables; las que faltan quedan vacías.
+     * @return Texto renderizado.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder text = buffer();
+        renderTo(values, text);
+        return release(text);
+    }
+
+    /**
+     * Renderiza la plantilla con valores por nombre al final de un búfer.
+     *
+     * @param values Valores de las variables; las que faltan quedan vacías.
+     * @param text Búfer en el que se escribe el texto.
+     */
+    public void renderTo(Map<String, String> values, StringBuilder text) {
+        for (int v = 0; v < variables.length; v++) {
+            text.append(literals[v]);
+            String value = values.get(variables[v]);
+            if (value != null) {
+                text.append(value);
+            }
+        }
+        text.append(literals[variables.length]);
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder text = BUFFERS.get();
+        text.setLength(0);
+        return text;
+    }
+
+    private static String release(StringBuilder text) {
+        String result = text.toString();
+        if (text.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFERS.remove();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Plantilla asociada a las columnas de una fuente de datos.
+     */
+    public final class Binding {
+
+        private final int[] indexes;
+
+        private Binding(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        /**
+         * Renderiza la plantilla con los valores de una fila.
+         *
+         * @param row Valores de la fila, en el orden de las columnas. Los
+         * valores nulos o ausentes quedan vacíos.
+         * @return Texto renderizado.
+         */
+        public String render(String[] row) {
+            StringBuilder text = buffer();
+            for (int v = 0; v < indexes.length; v++) {
+                text.append(literals[v]);
+                int index = indexes[v];
+                if (index < row.length && row[index] != null) {
+                    text.append(row[index]);
+                }
+            }
+            text.append(literals[indexes.length]);
+            return release(text);
+        }
+
+        @Override
+        public String toString() {
+            return source + " " + Arrays.toString(indexes);
+        }
+    }
+}
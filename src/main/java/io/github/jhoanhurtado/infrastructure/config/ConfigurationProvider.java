@@ -0,0 +1,275 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Punto único de acceso a la configuración de {@code local.properties}.
+ *
+ * <p>
+ * El archivo se lee una sola vez y se expone como un
+ * {@link ConfigurationSnapshot} inmutable. Si el archivo está en el sistema
+ * de archivos (y no dentro de un JAR), un hilo de fondo lo vigila con un
+ * {@link WatchService} y reemplaza la configuración de forma atómica cuando
+ * cambia, ya sea por {@link LogConfigManager#saveConfig()} o por una edición
+ * externa. Los interesados en los cambios pueden registrarse con
+ * {@link #addListener(Consumer)}.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * ConfigurationSnapshot config = ConfigurationProvider.getInstance().current();
+ * boolean fileLogEnabled = config.getBoolean("filelog.enable", true);
+ * }
+ * </pre>
+ */
+public final class ConfigurationProvider {
+
+    /**
+     * Nombre del archivo de configuración en el classpath.
+     */
+    public static final String FILE_NAME = "local.properties";
+
+    private static volatile ConfigurationProvider instance;
+    private static final Object lock = new Object();
+
+    /**
+     * Tiempo sin cambios en el archivo antes de recargarlo.
+     */
+    private static final long RELOAD_QUIET_PERIOD_MILLIS = 100;
+
+    private final Path configFile;
+    private final AtomicReference<ConfigurationSnapshot> snapshot = new AtomicReference<>();
+    private final List<Consumer<ConfigurationSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private volatile WatchService watchService;
+
+    /**
+     * Crea un proveedor para un archivo concreto.
+     *
+     * @param configFile Archivo de propiedades; si es null, la configuración
+     * se lee del classpath y no se vigila.
+     */
+    ConfigurationProvider(Path configFile) {
+        this.configFile = configFile;
+        this.snapshot.set(load(1));
+    }
+
+    /**
+     * Obtiene el proveedor compartido, leyendo {@code local.properties} del
+     * classpath la primera vez y empezando a vigilarlo si es un archivo.
+     *
+     * @return Instancia única del proveedor.
+     */
+    public static ConfigurationProvider getInstance() {
+        ConfigurationProvider provider = instance;
+        if (provider == null) {
+            synchronized (lock) {
+                provider = instance;
+                if (provider == null) {
+                    provider = new ConfigurationProvider(locateClasspathFile());
+                    provider.startWatching();
+                    instance = provider;
+                }
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * Obtiene la configuración vigente. No realiza ninguna lectura de disco.
+     *
+     * @return Configuración actual.
+     */
+    public ConfigurationSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Obtiene el archivo del que se lee la configuración.
+     *
+     * @return Ruta del archivo, o null si la configuración viene de un JAR o
+     * no existe.
+     */
+    public Path getConfigFile() {
+        return configFile;
+    }
+
+    /**
+     * Vuelve a leer el archivo y, si los valores cambiaron, reemplaza la
+     * configuración y notifica a los interesados.
+     *
+     * @return Configuración vigente tras la recarga.
+     */
+    public ConfigurationSnapshot reload() {
+        synchronized (snapshot) {
+            ConfigurationSnapshot previous = snapshot.get();
+            ConfigurationSnapshot loaded = load(previous.getVersion() + 1);
+            if (loaded.hasSameValues(previous)) {
+                return previous;
+            }
+            snapshot.set(loaded);
+            for (Consumer<ConfigurationSnapshot> listener : listeners) {
+                try {
+                    listener.accept(loaded);
+                } catch (RuntimeException e) {
+                    System.err.println("Error al aplicar la nueva configuración: " + e.getMessage());
+                }
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Registra una acción que se ejecuta cada vez que la configuración cambia.
+     *
+     * @param listener Acción que recibe la nueva configuración.
+     */
+    public void addListener(Consumer<ConfigurationSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Elimina una acción registrada con {@link #addListener(Consumer)}.
+     *
+     * @param listener Acción a eliminar.
+     */
+    public void removeListener(Consumer<ConfigurationSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Empieza a vigilar el archivo de configuración en un hilo de fondo. No
+     * hace nada si la configuración no viene de un archivo o ya se vigila.
+     */
+    void startWatching() {
+        if (configFile == null || configFile.getParent() == null || watchService != null) {
+            return;
+        }
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            configFile.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            Thread watcher = new Thread(() -> watch(service), "queue-helper-config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            System.err.println("No se pudo vigilar " + configFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deja de vigilar el archivo de configuración.
+     */
+    void stopWatching() {
+        WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                // El servicio ya no se usa.
+            }
+        }
+    }
+
+    private void watch(WatchService service) {
+        Path fileName = configFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+                if (changed) {
+                    awaitQuietPeriod(service);
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Se dejó de vigilar el archivo.
+        }
+    }
+
+    /**
+     * Espera a que el archivo deje de cambiar antes de recargarlo. Un editor
+     * o {@code Files.writeString} primero trunca el archivo y luego lo
+     * escribe, lo que genera varios eventos; recargar en el primero leería un
+     * archivo vacío o a medio escribir.
+     */
+    private static void awaitQuietPeriod(WatchService service) throws InterruptedException {
+        WatchKey next;
+        while ((next = service.poll(RELOAD_QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+            next.pollEvents();
+            next.reset();
+        }
+    }
+
+    private ConfigurationSnapshot load(long version) {
+        Properties properties = new Properties();
+        try (InputStream inputStream = openConfig()) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            } else {
+                ConfigurationSnapshot previous = snapshot.get();
+                if (previous != null) {
+                    // Un editor puede borrar y reemplazar el archivo al
+                    // guardar; se conserva la configuración vigente.
+                    System.out.println("El archivo de configuración no fue encontrado. Se conserva la configuración actual.");
+                    return previous;
+                }
+                System.out.println("El archivo de configuración no fue encontrado. Se usará una configuración vacía.");
+            }
+        } catch (IOException e) {
+            System.err.println("Error al cargar " + FILE_NAME + ": " + e.getMessage());
+            ConfigurationSnapshot previous = snapshot.get();
+            return previous != null ? previous : ConfigurationSnapshot.empty();
+        }
+        return ConfigurationSnapshot.of(properties, version);
+    }
+
+    private InputStream openConfig() throws IOException {
+        if (configFile != null) {
+            return Files.exists(configFile) ? Files.newInputStream(configFile) : null;
+        }
+        return ConfigurationProvider.class.getClassLoader().getResourceAsStream(FILE_NAME);
+    }
+
+    private static Path locateClasspathFile() {
+        URL resource = ConfigurationProvider.class.getClassLoader().getResource(FILE_NAME);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Copia inmutable de la configuración de {@code local.properties} en un
+ * momento dado.
+ *
+ * <p>
+ * Se obtiene de {@link ConfigurationProvider#current()} y puede compartirse
+ * entre hilos sin sincronización. Los valores se exponen con getters
+ * tipados que devuelven un valor por defecto cuando la propiedad no existe o
+ * no es válida.
+ * </p>
+ */
+public final class ConfigurationSnapshot {
+
+    private static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(Map.of(), 0);
+
+    private final Map<String, String> values;
+    private final long version;
+
+    private ConfigurationSnapshot(Map<String, String> values, long version) {
+        this.values = values;
+        this.version = version;
+    }
+
+    /**
+     * Crea una copia de un conjunto de propiedades.
+     *
+     * @param properties Propiedades a copiar.
+     * @param version Número de versión de la copia.
+     * @return Configuración inmutable.
+     */
+    public static ConfigurationSnapshot of(Properties properties, long version) {
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name).trim());
+        }
+        return new ConfigurationSnapshot(Map.copyOf(values), version);
+    }
+
+    /**
+     * Obtiene una configuración sin propiedades.
+     *
+     * @return Configuración vacía.
+     */
+    public static ConfigurationSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Obtiene el valor de una propiedad.
+     *
+     * @param key Nombre de la propiedad.
+     * @param defaultValue Valor si la propiedad no existe.
+     * @return Valor de la propiedad.
+     */
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Obtiene el valor booleano de una propiedad.
+     *
+     * @param key Nombre de la propiedad.
+     * @param defaultValue Valor si la propiedad no existe o está vacía.
+     * @return Valor de la propiedad.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Obtiene el valor entero de una propiedad.
+     *
+     * @param key Nombre de la propiedad.
+     * @param defaultValue Valor si la propiedad no existe o no es un número.
+     * @return Valor de la propiedad.
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Obtiene el valor de una propiedad como lista separada por comas.
+     *
+     * @param key Nombre de la propiedad.
+     * @return Elementos no vacíos de la lista; vacía si la propiedad no
+     * existe.
+     */
+    public List<String> getList(String key) {
+        String value = values.get(key);
+        if (value == null || value.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+
+    /**
+     * Obtiene el valor de una propiedad como constante de un enum, sin
+     * distinguir mayúsculas.
+     *
+     * @param <E> Tipo del enum.
+     * @param key Nombre de la propiedad.
+     * @param type Clase del enum.
+     * @param defaultValue Valor si la propiedad no existe o no es válida.
+     * @return Valor de la propiedad.
+     */
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Indica si alguna propiedad cuyo nombre empieza por uno de los prefijos
+     * tiene un valor distinto en otra configuración.
+     *
+     * @param other Configuración a comparar.
+     * @param prefixes Prefijos de los nombres de propiedad a comparar.
+     * @return true si algún valor cambió.
+     */
+    public boolean differs(ConfigurationSnapshot other, String... prefixes) {
+        for (String prefix : prefixes) {
+            for (String key : values.keySet()) {
+                if (key.startsWith(prefix) && !Objects.equals(values.get(key), other.values.get(key))) {
+                    return true;
+                }
+            }
+            for (String key : other.values.keySet()) {
+                if (key.startsWith(prefix) && !values.containsKey(key)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Crea una copia modificable de las propiedades.
+     *
+     * @return Propiedades de esta configuración.
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.putAll(values);
+        return properties;
+    }
+
+    /**
+     * Obtiene el número de versión, que aumenta en cada recarga.
+     *
+     * @return Versión de la configuración.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Indica si otra configuración tiene exactamente los mismos valores.
+     *
+     * @param other Configuración a comparar.
+     * @return true si los valores son iguales.
+     */
+    public boolean hasSameValues(ConfigurationSnapshot other) {
+        return other != null && values.equals(other.values);
+    }
+}
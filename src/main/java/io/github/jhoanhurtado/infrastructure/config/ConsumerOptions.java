@@ -0,0 +1,592 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import io.github.jhoanhurtado.domain.codecs.CodecRegistry;
+import io.github.jhoanhurtado.domain.codecs.PayloadCompressor;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+/**
+ * Opciones de consumo de {@link io.github.jhoanhurtado.domain.strategies.RabbitMQConsumer}.
+ *
+ * <p>
+ * Por defecto el consumidor usa confirmación automática (auto-ack), como en
+ * versiones anteriores. Con {@link #manualAck()} el consumidor confirma cada
+ * mensaje solo después de que los observadores lo procesan, limita los
+ * mensajes sin confirmar con {@code basicQos(prefetch)} y agrupa las
+ * confirmaciones en un único {@code basicAck(multiple=true)} cada
+ * {@code ackBatchSize} mensajes o cada {@code ackFlushIntervalMillis}
+ * milisegundos. Si el procesamiento falla, el mensaje se rechaza con
+ * {@code basicNack} y, según {@code requeueOnFailure}, vuelve a la cola. Los
+ * mensajes que no se pueden descomprimir o decodificar se rechazan sin
+ * reencolar, porque fallarían de nuevo en cada entrega.
+ * </p>
+ *
+ * <p>
+ * Por defecto los mensajes se procesan de uno en uno en el hilo de entrega del
+ * cliente de RabbitMQ. Con {@code parallelism} mayor que 1 se procesan hasta
+ * ese número de mensajes a la vez en hilos virtuales (o en el
+ * {@code executor} indicado). Si se define {@code orderingKey}, los mensajes
+ * con la misma clave (por ejemplo, el remitente) se procesan en el orden de
+ * entrega; los demás, en paralelo. Las confirmaciones siempre se envían en el
+ * orden de entrega.
+ * </p>
+ *
+ * <p>
+ * Con {@code inFlightCapacity} mayor que 0 los mensajes recibidos pasan por un
+ * buffer acotado antes de llegar a los observadores. Cuando el buffer alcanza
+ * {@code highWatermark} el consumo se pausa (ver {@link PauseMode}) y se
+ * reanuda cuando baja a {@code lowWatermark}. Si a pesar de la pausa el buffer
+ * se llena, cada mensaje nuevo se trata según {@link SheddingPolicy}.
+ * </p>
+ *
+ * <p>
+ * Cada mensaje se decodifica con el códec de {@code codecs} que corresponde a
+ * su propiedad {@code content-type}; los mensajes sin ella se leen como sobre
+ * JSON. Los cuerpos comprimidos se descomprimen antes, y se rechazan si
+ * descomprimidos superan {@code maxDecompressedBytes}.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * ConsumerOptions options = ConsumerOptions.manualAck().toBuilder()
+ *         .prefetch(500)
+ *         .ackBatchSize(100)
+ *         .parallelism(32)
+ *         .orderingKey(MessageModelRequest::getSender)
+ *         .build();
+ * new RabbitMQConsumer(observer, connection, "cola", options).startListening();
+ * }
+ * </pre>
+ */
+public final class ConsumerOptions {
+
+    /**
+     * Mensajes sin confirmar por defecto en modo manual.
+     */
+    public static final int DEFAULT_PREFETCH = 250;
+
+    /**
+     * Mensajes por confirmación agrupada por defecto.
+     */
+    public static final int DEFAULT_ACK_BATCH_SIZE = 50;
+
+    /**
+     * Tiempo máximo por defecto (en milisegundos) que una confirmación espera
+     * a completar su grupo.
+     */
+    public static final long DEFAULT_ACK_FLUSH_INTERVAL_MILLIS = 200L;
+
+    private static final ConsumerOptions AUTO_ACK = builder().build();
+
+    /**
+     * Forma de pausar el consumo cuando el buffer alcanza la marca alta.
+     */
+    public enum PauseMode {
+        /**
+         * Cancela el consumidor ({@code basicCancel}) y lo vuelve a registrar
+         * al reanudar. Funciona con confirmación automática y manual.
+         */
+        CANCEL_CONSUMER,
+        /**
+         * Limita el canal a un mensaje sin confirmar ({@code basicQos} global)
+         * y quita el límite al reanudar. El consumidor sigue registrado, pero
+         * el broker no entrega más mensajes hasta que se confirmen los
+         * pendientes. Requiere confirmación manual.
+         */
+        REDUCE_PREFETCH
+    }
+
+    /**
+     * Tratamiento de los mensajes que llegan con el buffer lleno.
+     */
+    public enum SheddingPolicy {
+        /**
+         * El hilo de entrega espera a que haya espacio.
+         */
+        BLOCK,
+        /**
+         * El mensaje se rechaza y vuelve a la cola. Con confirmación automática
+         * el mensaje se pierde.
+         */
+        REQUEUE,
+        /**
+         * El mensaje se rechaza sin volver a la cola (va a la dead-letter
+         * exchange si la cola tiene una). Con confirmación automática el
+         * mensaje se pierde.
+         */
+        REJECT
+    }
+
+    private final boolean autoAck;
+    private final int prefetch;
+    private final int ackBatchSize;
+    private final long ackFlushIntervalMillis;
+    private final boolean requeueOnFailure;
+    private final int parallelism;
+    private final Function<MessageModelRequest, ?> orderingKey;
+    private final ExecutorService executor;
+    private final int inFlightCapacity;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final PauseMode pauseMode;
+    private final SheddingPolicy sheddingPolicy;
+    private final CodecRegistry codecs;
+    private final int maxDecompressedBytes;
+
+    private ConsumerOptions(Builder builder) {
+        this.autoAck = builder.autoAck;
+        this.prefetch = builder.prefetch;
+        this.ackBatchSize = builder.ackBatchSize;
+        this.ackFlushIntervalMillis = builder.ackFlushIntervalMillis;
+        this.requeueOnFailure = builder.requeueOnFailure;
+        this.parallelism = builder.parallelism;
+        this.orderingKey = builder.orderingKey;
+        this.executor = builder.executor;
+        this.inFlightCapacity = builder.inFlightCapacity;
+        this.highWatermark = builder.highWatermark > 0 ? builder.highWatermark : builder.inFlightCapacity;
+        this.lowWatermark = builder.lowWatermark > 0 ? builder.lowWatermark : this.highWatermark / 2;
+        this.pauseMode = builder.pauseMode;
+        this.sheddingPolicy = builder.sheddingPolicy;
+        this.codecs = builder.codecs;
+        this.maxDecompressedBytes = builder.maxDecompressedBytes;
+    }
+
+    /**
+     * Opciones con confirmación automática y sin límite de mensajes sin
+     * confirmar.
+     *
+     * @return Opciones por defecto.
+     */
+    public static ConsumerOptions autoAck() {
+        return AUTO_ACK;
+    }
+
+    /**
+     * Opciones con confirmación manual, prefetch de
+     * {@value #DEFAULT_PREFETCH} y confirmaciones agrupadas.
+     *
+     * @return Opciones de confirmación manual.
+     */
+    public static ConsumerOptions manualAck() {
+        return builder().autoAck(false).build();
+    }
+
+    /**
+     * Crea un constructor con las opciones por defecto.
+     *
+     * @return Nuevo constructor.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Crea un constructor con los valores de estas opciones.
+     *
+     * @return Constructor inicializado con estas opciones.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .autoAck(autoAck)
+                .prefetch(prefetch)
+                .ackBatchSize(ackBatchSize)
+                .ackFlushIntervalMillis(ackFlushIntervalMillis)
+                .requeueOnFailure(requeueOnFailure)
+                .parallelism(parallelism)
+                .orderingKey(orderingKey)
+                .executor(executor)
+                .inFlightCapacity(inFlightCapacity)
+                .watermarks(highWatermark, lowWatermark)
+                .pauseMode(pauseMode)
+                .sheddingPolicy(sheddingPolicy)
+                .codecs(codecs)
+                .maxDecompressedBytes(maxDecompressedBytes);
+    }
+
+    /**
+     * Indica si el broker da por confirmado cada mensaje al entregarlo.
+     *
+     * @return true si la confirmación es automática.
+     */
+    public boolean isAutoAck() {
+        return autoAck;
+    }
+
+    /**
+     * Obtiene el número máximo de mensajes entregados sin confirmar.
+     *
+     * @return Prefetch del canal; 0 significa sin límite.
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Obtiene el número de mensajes que se confirman juntos.
+     *
+     * @return Tamaño del grupo de confirmaciones.
+     */
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    /**
+     * Obtiene el tiempo máximo que una confirmación espera a completar su
+     * grupo.
+     *
+     * @return Intervalo en milisegundos.
+     */
+    public long getAckFlushIntervalMillis() {
+        return ackFlushIntervalMillis;
+    }
+
+    /**
+     * Indica si un mensaje cuyo procesamiento falla en los observadores vuelve
+     * a la cola. Los mensajes que no se pueden decodificar nunca se reencolan.
+     *
+     * @return true si se reencola al fallar.
+     */
+    public boolean isRequeueOnFailure() {
+        return requeueOnFailure;
+    }
+
+    /**
+     * Obtiene el número máximo de mensajes que se procesan a la vez.
+     *
+     * @return Paralelismo; 1 procesa en el hilo de entrega.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Obtiene la función que calcula la clave de orden de un mensaje.
+     *
+     * @return Función de la clave, o null si no se conserva orden.
+     */
+    public Function<MessageModelRequest, ?> getOrderingKey() {
+        return orderingKey;
+    }
+
+    /**
+     * Obtiene el ejecutor del procesamiento en paralelo.
+     *
+     * @return Ejecutor, o null para usar hilos virtuales.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Obtiene la capacidad del buffer de mensajes en proceso.
+     *
+     * @return Capacidad; 0 si no hay buffer ni control de flujo.
+     */
+    public int getInFlightCapacity() {
+        return inFlightCapacity;
+    }
+
+    /**
+     * Obtiene la ocupación del buffer a partir de la cual se pausa el
+     * consumo.
+     *
+     * @return Marca alta.
+     */
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * Obtiene la ocupación del buffer a la que se reanuda el consumo.
+     *
+     * @return Marca baja.
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * Obtiene la forma de pausar el consumo.
+     *
+     * @return Modo de pausa.
+     */
+    public PauseMode getPauseMode() {
+        return pauseMode;
+    }
+
+    /**
+     * Obtiene el tratamiento de los mensajes que llegan con el buffer lleno.
+     *
+     * @return Política de descarte.
+     */
+    public SheddingPolicy getSheddingPolicy() {
+        return sheddingPolicy;
+    }
+
+    /**
+     * Obtiene los códecs con los que se decodifican los mensajes.
+     *
+     * @return Registro de códecs.
+     */
+    public CodecRegistry getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * Obtiene el tamaño máximo de un cuerpo descomprimido.
+     *
+     * @return Límite en bytes.
+     */
+    public int getMaxDecompressedBytes() {
+        return maxDecompressedBytes;
+    }
+
+    /**
+     * Constructor de {@link ConsumerOptions}.
+     */
+    public static final class Builder {
+
+        private boolean autoAck = true;
+        private int prefetch = DEFAULT_PREFETCH;
+        private int ackBatchSize = DEFAULT_ACK_BATCH_SIZE;
+        private long ackFlushIntervalMillis = DEFAULT_ACK_FLUSH_INTERVAL_MILLIS;
+        private boolean requeueOnFailure = true;
+        private int parallelism = 1;
+        private Function<MessageModelRequest, ?> orderingKey;
+        private ExecutorService executor;
+        private int inFlightCapacity;
+        private int highWatermark;
+        private int lowWatermark;
+        private PauseMode pauseMode = PauseMode.CANCEL_CONSUMER;
+        private SheddingPolicy sheddingPolicy = SheddingPolicy.BLOCK;
+        private CodecRegistry codecs = CodecRegistry.defaults();
+        private int maxDecompressedBytes = PayloadCompressor.DEFAULT_MAX_DECOMPRESSED_BYTES;
+
+        private Builder() {
+        }
+
+        /**
+         * Confirmación automática o manual.
+         *
+         * @param autoAck true para que el broker confirme al entregar.
+         * @return Este constructor.
+         */
+        public Builder autoAck(boolean autoAck) {
+            this.autoAck = autoAck;
+            return this;
+        }
+
+        /**
+         * Mensajes entregados sin confirmar ({@code basicQos}). Solo aplica
+         * en modo manual.
+         *
+         * @param prefetch Número de mensajes; 0 para no limitar.
+         * @return Este constructor.
+         */
+        public Builder prefetch(int prefetch) {
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * Mensajes que se confirman juntos con {@code multiple=true}.
+         *
+         * @param ackBatchSize Tamaño del grupo; 1 confirma cada mensaje.
+         * @return Este constructor.
+         */
+        public Builder ackBatchSize(int ackBatchSize) {
+            this.ackBatchSize = ackBatchSize;
+            return this;
+        }
+
+        /**
+         * Tiempo máximo que una confirmación espera a completar su grupo.
+         *
+         * @param ackFlushIntervalMillis Intervalo en milisegundos.
+         * @return Este constructor.
+         */
+        public Builder ackFlushIntervalMillis(long ackFlushIntervalMillis) {
+            this.ackFlushIntervalMillis = ackFlushIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Si un mensaje cuyo procesamiento falla en los observadores vuelve a
+         * la cola. Los mensajes que no se pueden decodificar nunca se
+         * reencolan.
+         *
+         * @param requeueOnFailure true para reencolar.
+         * @return Este constructor.
+         */
+        public Builder requeueOnFailure(boolean requeueOnFailure) {
+            this.requeueOnFailure = requeueOnFailure;
+            return this;
+        }
+
+        /**
+         * Mensajes que se procesan a la vez.
+         *
+         * @param parallelism Número de mensajes; 1 procesa en el hilo de
+         * entrega, de uno en uno.
+         * @return Este constructor.
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Clave con la que se conserva el orden de procesamiento en modo
+         * paralelo. Los mensajes con la misma clave se procesan en orden de
+         * entrega.
+         *
+         * @param orderingKey Función de la clave; null para no conservar orden.
+         * @return Este constructor.
+         */
+        public Builder orderingKey(Function<MessageModelRequest, ?> orderingKey) {
+            this.orderingKey = orderingKey;
+            return this;
+        }
+
+        /**
+         * Ejecutor del procesamiento en paralelo. El consumidor no lo cierra.
+         *
+         * @param executor Ejecutor; null para usar un hilo virtual por mensaje.
+         * @return Este constructor.
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Capacidad del buffer de mensajes en proceso. Si no se indican las
+         * marcas, la marca alta es la capacidad y la baja, la mitad de la
+         * alta.
+         *
+         * @param inFlightCapacity Mensajes en proceso como máximo; 0 para no
+         * usar buffer.
+         * @return Este constructor.
+         */
+        public Builder inFlightCapacity(int inFlightCapacity) {
+            this.inFlightCapacity = inFlightCapacity;
+            return this;
+        }
+
+        /**
+         * Marcas de ocupación del buffer para pausar y reanudar el consumo.
+         *
+         * @param highWatermark Ocupación a partir de la cual se pausa.
+         * @param lowWatermark Ocupación a la que se reanuda.
+         * @return Este constructor.
+         */
+        public Builder watermarks(int highWatermark, int lowWatermark) {
+            this.highWatermark = highWatermark;
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * Forma de pausar el consumo.
+         *
+         * @param pauseMode Modo de pausa.
+         * @return Este constructor.
+         */
+        public Builder pauseMode(PauseMode pauseMode) {
+            this.pauseMode = pauseMode;
+            return this;
+        }
+
+        /**
+         * Tratamiento de los mensajes que llegan con el buffer lleno.
+         *
+         * @param sheddingPolicy Política de descarte.
+         * @return Este constructor.
+         */
+        public Builder sheddingPolicy(SheddingPolicy sheddingPolicy) {
+            this.sheddingPolicy = sheddingPolicy;
+            return this;
+        }
+
+        /**
+         * Códecs con los que se decodifican los mensajes según su tipo de
+         * contenido. Por defecto, {@link CodecRegistry#defaults()}.
+         *
+         * @param codecs Registro de códecs.
+         * @return Este constructor.
+         */
+        public Builder codecs(CodecRegistry codecs) {
+            this.codecs = codecs;
+            return this;
+        }
+
+        /**
+         * Tamaño máximo de un cuerpo descomprimido; los mensajes que lo
+         * superan se rechazan. Por defecto,
+         * {@value PayloadCompressor#DEFAULT_MAX_DECOMPRESSED_BYTES} bytes.
+         *
+         * @param maxDecompressedBytes Límite en bytes.
+         * @return Este constructor.
+         */
+        public Builder maxDecompressedBytes(int maxDecompressedBytes) {
+            this.maxDecompressedBytes = maxDecompressedBytes;
+            return this;
+        }
+
+        /**
+         * Crea las opciones.
+         *
+         * @return Opciones de consumo.
+         * @throws IllegalArgumentException Si algún valor no es válido o si el
+         * grupo de confirmaciones es mayor que el prefetch, lo que haría que
+         * el consumidor esperara siempre al intervalo para confirmar.
+         */
+        public ConsumerOptions build() {
+            if (prefetch < 0 || prefetch > 65_535) {
+                throw new IllegalArgumentException("El prefetch debe estar entre 0 y 65535.");
+            }
+            if (ackBatchSize < 1) {
+                throw new IllegalArgumentException("El tamaño del grupo de confirmaciones debe ser mayor que cero.");
+            }
+            if (ackFlushIntervalMillis < 1) {
+                throw new IllegalArgumentException("El intervalo de confirmación debe ser mayor que cero.");
+            }
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("El paralelismo debe ser mayor que cero.");
+            }
+            if (codecs == null) {
+                throw new IllegalArgumentException("El registro de códecs no puede ser nulo.");
+            }
+            if (maxDecompressedBytes <= 0) {
+                throw new IllegalArgumentException("El tamaño máximo descomprimido debe ser mayor que cero.");
+            }
+            if (inFlightCapacity < 0) {
+                throw new IllegalArgumentException("La capacidad del buffer no puede ser negativa.");
+            }
+            if (inFlightCapacity > 0) {
+                validateFlowControl();
+            }
+            if (!autoAck && prefetch > 0 && ackBatchSize > prefetch) {
+                throw new IllegalArgumentException("El tamaño del grupo de confirmaciones no puede superar el prefetch.");
+            }
+            return new ConsumerOptions(this);
+        }
+
+        private void validateFlowControl() {
+            int high = highWatermark > 0 ? highWatermark : inFlightCapacity;
+            int low = lowWatermark > 0 ? lowWatermark : high / 2;
+            if (high > inFlightCapacity || low >= high || low < 0) {
+                throw new IllegalArgumentException("Las marcas deben cumplir 0 <= baja < alta <= capacidad del buffer.");
+            }
+            if (pauseMode == null || sheddingPolicy == null) {
+                throw new IllegalArgumentException("El modo de pausa y la política de descarte son obligatorios.");
+            }
+            if (pauseMode == PauseMode.REDUCE_PREFETCH && autoAck) {
+                throw new IllegalArgumentException("REDUCE_PREFETCH requiere confirmación manual.");
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.rabbitmq.client.RecoveryDelayHandler;
+
+/**
+ * Espera exponencial con variación aleatoria entre intentos de conexión.
+ *
+ * <p>
+ * El retraso del intento {@code n} es {@code initialDelayMillis * 2^(n-1)},
+ * limitado a {@code maxDelayMillis}, y se reduce al azar hasta en la fracción
+ * {@code jitter}. La variación evita que todos los clientes de un nodo caído
+ * vuelvan a conectarse al mismo tiempo. Se usa como
+ * {@link RecoveryDelayHandler} de la recuperación automática de RabbitMQ y
+ * entre los intentos de la conexión inicial.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * ExponentialBackoff backoff = new ExponentialBackoff(500, 30_000, 0.5);
+ * long delay = backoff.getDelay(3); // entre 1000 y 2000 ms
+ * }
+ * </pre>
+ */
+public final class ExponentialBackoff implements RecoveryDelayHandler {
+
+    /**
+     * Retraso inicial por defecto, en milisegundos.
+     */
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 1_000L;
+
+    /**
+     * Retraso máximo por defecto, en milisegundos.
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 30_000L;
+
+    /**
+     * Fracción por defecto del retraso que varía al azar.
+     */
+    public static final double DEFAULT_JITTER = 0.5;
+
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final double jitter;
+
+    /**
+     * Crea una espera con los valores por defecto.
+     */
+    public ExponentialBackoff() {
+        this(DEFAULT_INITIAL_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_JITTER);
+    }
+
+    /**
+     * Crea una espera exponencial.
+     *
+     * @param initialDelayMillis Retraso del primer intento.
+     * @param maxDelayMillis Retraso máximo.
+     * @param jitter Fracción del retraso que varía al azar, entre 0 y 1.
+     * @throws IllegalArgumentException Si los retrasos no son positivos, el
+     * máximo es menor que el inicial o la variación no está entre 0 y 1.
+     */
+    public ExponentialBackoff(long initialDelayMillis, long maxDelayMillis, double jitter) {
+        if (initialDelayMillis <= 0) {
+            throw new IllegalArgumentException("El retraso inicial debe ser mayor que cero.");
+        }
+        if (maxDelayMillis < initialDelayMillis) {
+            throw new IllegalArgumentException("El retraso máximo no puede ser menor que el inicial.");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("La variación debe estar entre 0 y 1.");
+        }
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Obtiene el retraso antes de un intento.
+     *
+     * @param attempt Número del intento; el 0 y el 1 usan el retraso inicial.
+     * @return Retraso en milisegundos.
+     */
+    @Override
+    public long getDelay(int attempt) {
+        long ceiling = getMaxDelay(attempt);
+        if (jitter == 0) {
+            return ceiling;
+        }
+        long floor = (long) (ceiling * (1 - jitter));
+        return floor + ThreadLocalRandom.current().nextLong(ceiling - floor + 1);
+    }
+
+    /**
+     * Obtiene el retraso de un intento sin la variación aleatoria.
+     *
+     * @param attempt Número del intento.
+     * @return Retraso máximo del intento, en milisegundos.
+     */
+    public long getMaxDelay(int attempt) {
+        int exponent = Math.max(attempt - 1, 0);
+        if (exponent >= Long.numberOfLeadingZeros(initialDelayMillis) - 1) {
+            return maxDelayMillis;
+        }
+        return Math.min(initialDelayMillis << exponent, maxDelayMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExponentialBackoff{inicial=%d ms, máximo=%d ms, variación=%.2f}",
+                initialDelayMillis, maxDelayMillis, jitter);
+    }
+}
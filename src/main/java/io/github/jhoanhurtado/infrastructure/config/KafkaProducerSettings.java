@@ -0,0 +1,391 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import java.util.Locale;
+import java.util.Properties;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+/**
+ * Configuración tipada del productor de Kafka usado por
+ * {@link io.github.jhoanhurtado.domain.strategies.KafkaStrategy}.
+ *
+ * <p>
+ * Los valores que no se configuran quedan con el valor por defecto del
+ * cliente de Kafka. Los perfiles {@link #throughput()} y
+ * {@link #lowLatency()} sirven como punto de partida y pueden ajustarse con
+ * {@link #toBuilder()}.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * KafkaProducerSettings settings = KafkaProducerSettings.throughput().toBuilder()
+ *         .lingerMillis(10)
+ *         .build();
+ * queueHelper.withKafka("KAFKA_EVENTS", "localhost:9092", settings);
+ * }
+ * </pre>
+ */
+public final class KafkaProducerSettings {
+
+    /**
+     * Confirmación que el productor exige al broker antes de dar un registro
+     * por enviado.
+     */
+    public enum Acks {
+        /**
+         * No se espera confirmación.
+         */
+        NONE("0"),
+        /**
+         * Basta con la confirmación del líder de la partición.
+         */
+        LEADER("1"),
+        /**
+         * Se espera a todas las réplicas sincronizadas.
+         */
+        ALL("all");
+
+        private final String value;
+
+        Acks(String value) {
+            this.value = value;
+        }
+
+        /**
+         * Obtiene el valor de la propiedad {@code acks} de Kafka.
+         *
+         * @return Valor de {@code acks}.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Obtiene la confirmación que corresponde a un modo de entrega, con la
+         * misma semántica que en RabbitMQ: 1 (no persistente) solo requiere al
+         * líder y 2 (persistente) requiere todas las réplicas.
+         *
+         * @param deliveryMode Modo de entrega del mensaje.
+         * @return Confirmación requerida, o null si el modo no define una.
+         */
+        public static Acks forDeliveryMode(int deliveryMode) {
+            return switch (deliveryMode) {
+                case 1 -> LEADER;
+                case 2 -> ALL;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * Algoritmo de compresión de los lotes del productor.
+     */
+    public enum Compression {
+        NONE, GZIP, SNAPPY, LZ4, ZSTD;
+
+        /**
+         * Obtiene el valor de la propiedad {@code compression.type} de Kafka.
+         *
+         * @return Valor de {@code compression.type}.
+         */
+        public String getValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final KafkaProducerSettings DEFAULTS = builder().build();
+
+    private final Integer lingerMillis;
+    private final Integer batchSize;
+    private final Compression compression;
+    private final Acks acks;
+    private final Boolean idempotence;
+    private final Integer maxInFlightRequests;
+    private final Long bufferMemory;
+    private final Properties extraProperties;
+
+    private KafkaProducerSettings(Builder builder) {
+        this.lingerMillis = builder.lingerMillis;
+        this.batchSize = builder.batchSize;
+        this.compression = builder.compression;
+        this.acks = builder.acks;
+        this.idempotence = builder.idempotence;
+        this.maxInFlightRequests = builder.maxInFlightRequests;
+        this.bufferMemory = builder.bufferMemory;
+        this.extraProperties = new Properties();
+        this.extraProperties.putAll(builder.extraProperties);
+    }
+
+    /**
+     * Configuración con los valores por defecto del cliente de Kafka.
+     *
+     * @return Configuración por defecto.
+     */
+    public static KafkaProducerSettings defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Perfil para alto volumen: lotes grandes que esperan hasta 20 ms, con
+     * compresión LZ4 y productor idempotente.
+     *
+     * @return Configuración orientada a rendimiento.
+     */
+    public static KafkaProducerSettings throughput() {
+        return builder()
+                .lingerMillis(20)
+                .batchSize(256 * 1024)
+                .compression(Compression.LZ4)
+                .acks(Acks.ALL)
+                .idempotence(true)
+                .maxInFlightRequests(5)
+                .bufferMemory(64L * 1024 * 1024)
+                .build();
+    }
+
+    /**
+     * Perfil para baja latencia: cada registro se envía de inmediato, sin
+     * compresión y con confirmación solo del líder.
+     *
+     * @return Configuración orientada a latencia.
+     */
+    public static KafkaProducerSettings lowLatency() {
+        return builder()
+                .lingerMillis(0)
+                .batchSize(16 * 1024)
+                .compression(Compression.NONE)
+                .acks(Acks.LEADER)
+                .idempotence(false)
+                .build();
+    }
+
+    /**
+     * Crea un constructor vacío.
+     *
+     * @return Nuevo constructor.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Crea un constructor con los valores de esta configuración.
+     *
+     * @return Constructor inicializado con esta configuración.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.lingerMillis = lingerMillis;
+        builder.batchSize = batchSize;
+        builder.compression = compression;
+        builder.acks = acks;
+        builder.idempotence = idempotence;
+        builder.maxInFlightRequests = maxInFlightRequests;
+        builder.bufferMemory = bufferMemory;
+        builder.extraProperties.putAll(extraProperties);
+        return builder;
+    }
+
+    /**
+     * Obtiene la confirmación configurada.
+     *
+     * @return Confirmación, o null si se usa la del cliente de Kafka.
+     */
+    public Acks getAcks() {
+        return acks;
+    }
+
+    /**
+     * Indica si el productor es idempotente. El cliente de Kafka lo activa por
+     * defecto cuando no se configura, salvo que la confirmación no sea
+     * {@link Acks#ALL}.
+     *
+     * @return true si el productor es idempotente.
+     */
+    public boolean isIdempotent() {
+        return idempotence != null ? idempotence : acks == null || acks == Acks.ALL;
+    }
+
+    /**
+     * Obtiene la confirmación efectiva del productor.
+     *
+     * @return Confirmación configurada, o {@link Acks#ALL} si no se configuró.
+     */
+    public Acks getEffectiveAcks() {
+        return acks != null ? acks : Acks.ALL;
+    }
+
+    /**
+     * Crea las propiedades del productor, con claves y valores de tipo texto.
+     *
+     * @param bootstrapServers Dirección de los brokers.
+     * @return Propiedades para {@code new KafkaProducer<>(props)}.
+     */
+    public Properties toProperties(String bootstrapServers) {
+        Properties props = new Properties();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        putIfSet(props, ProducerConfig.LINGER_MS_CONFIG, lingerMillis);
+        putIfSet(props, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfSet(props, ProducerConfig.COMPRESSION_TYPE_CONFIG, compression != null ? compression.getValue() : null);
+        putIfSet(props, ProducerConfig.ACKS_CONFIG, acks != null ? acks.getValue() : null);
+        putIfSet(props, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        putIfSet(props, ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequests);
+        putIfSet(props, ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        props.putAll(extraProperties);
+        return props;
+    }
+
+    private static void putIfSet(Properties props, String key, Object value) {
+        if (value != null) {
+            props.put(key, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Constructor de {@link KafkaProducerSettings}.
+     */
+    public static final class Builder {
+
+        private Integer lingerMillis;
+        private Integer batchSize;
+        private Compression compression;
+        private Acks acks;
+        private Boolean idempotence;
+        private Integer maxInFlightRequests;
+        private Long bufferMemory;
+        private final Properties extraProperties = new Properties();
+
+        private Builder() {
+        }
+
+        /**
+         * Tiempo que el productor espera para completar un lote
+         * ({@code linger.ms}).
+         *
+         * @param lingerMillis Espera en milisegundos.
+         * @return Este constructor.
+         */
+        public Builder lingerMillis(int lingerMillis) {
+            this.lingerMillis = lingerMillis;
+            return this;
+        }
+
+        /**
+         * Tamaño máximo de un lote por partición en bytes
+         * ({@code batch.size}).
+         *
+         * @param batchSize Tamaño del lote.
+         * @return Este constructor.
+         */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Compresión de los lotes ({@code compression.type}).
+         *
+         * @param compression Algoritmo de compresión.
+         * @return Este constructor.
+         */
+        public Builder compression(Compression compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Confirmación requerida al broker ({@code acks}).
+         *
+         * @param acks Confirmación.
+         * @return Este constructor.
+         */
+        public Builder acks(Acks acks) {
+            this.acks = acks;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva el productor idempotente
+         * ({@code enable.idempotence}).
+         *
+         * @param idempotence true para evitar duplicados en los reintentos.
+         * @return Este constructor.
+         */
+        public Builder idempotence(boolean idempotence) {
+            this.idempotence = idempotence;
+            return this;
+        }
+
+        /**
+         * Solicitudes sin confirmar por conexión
+         * ({@code max.in.flight.requests.per.connection}).
+         *
+         * @param maxInFlightRequests Número máximo de solicitudes en vuelo.
+         * @return Este constructor.
+         */
+        public Builder maxInFlightRequests(int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * Memoria para los registros que esperan ser enviados
+         * ({@code buffer.memory}).
+         *
+         * @param bufferMemory Memoria en bytes.
+         * @return Este constructor.
+         */
+        public Builder bufferMemory(long bufferMemory) {
+            this.bufferMemory = bufferMemory;
+            return this;
+        }
+
+        /**
+         * Agrega una propiedad del productor que no tiene un método propio.
+         *
+         * @param key Nombre de la propiedad de Kafka.
+         * @param value Valor de la propiedad.
+         * @return Este constructor.
+         */
+        public Builder property(String key, String value) {
+            this.extraProperties.put(key, value);
+            return this;
+        }
+
+        /**
+         * Crea la configuración.
+         *
+         * @return Configuración del productor.
+         * @throws IllegalArgumentException Si algún valor no es válido o si el
+         * productor idempotente se combina con una confirmación distinta de
+         * {@link Acks#ALL} o con más de 5 solicitudes en vuelo.
+         */
+        public KafkaProducerSettings build() {
+            if (lingerMillis != null && lingerMillis < 0) {
+                throw new IllegalArgumentException("linger.ms no puede ser negativo.");
+            }
+            if (batchSize != null && batchSize < 0) {
+                throw new IllegalArgumentException("batch.size no puede ser negativo.");
+            }
+            if (maxInFlightRequests != null && maxInFlightRequests < 1) {
+                throw new IllegalArgumentException("max.in.flight.requests.per.connection debe ser mayor que cero.");
+            }
+            if (bufferMemory != null && bufferMemory < 0) {
+                throw new IllegalArgumentException("buffer.memory no puede ser negativo.");
+            }
+            if (Boolean.TRUE.equals(idempotence)) {
+                if (acks != null && acks != Acks.ALL) {
+                    throw new IllegalArgumentException("El productor idempotente requiere acks=all.");
+                }
+                if (maxInFlightRequests != null && maxInFlightRequests > 5) {
+                    throw new IllegalArgumentException("El productor idempotente admite como máximo 5 solicitudes en vuelo.");
+                }
+            }
+            return new KafkaProducerSettings(this);
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package io.github.jhoanhurtado.infrastructure.config;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.net.URL;
 import java.util.Properties;
 
+import io.github.jhoanhurtado.domain.strategies.AsyncLogAppender;
 import io.github.jhoanhurtado.enums.AwsRegion;
 
 /**
@@ -18,31 +17,28 @@ import io.github.jhoanhurtado.enums.AwsRegion;
  * Garantiza que si el log de CloudWatch no está habilitado, el log de archivo
  * local no pueda desactivarse.
  * </p>
+ * <p>
+ * Al guardar, {@link ConfigurationProvider} recarga la configuración y los
+ * loggers existentes aplican los cambios.
+ * </p>
  */
 public class LogConfigManager {
 
-    private static final String FILE_NAME = "local.properties";
-    private final Properties properties = new Properties();
-    private File configFile;
+    private final ConfigurationProvider provider;
+    private final Properties properties;
+    private final File configFile;
 
     /**
-     * Carga la configuración desde el archivo "local.properties" en la carpeta
-     * de recursos. Si el archivo no existe, se usa una configuración vacía.
+     * Carga la configuración vigente del archivo "local.properties" en la
+     * carpeta de recursos. Si el archivo no existe, se usa una configuración
+     * vacía.
      */
     public LogConfigManager() {
-        try {
-            URL resource = getClass().getClassLoader().getResource(FILE_NAME);
-            System.err.println(resource);
-            if (resource != null) {
-                configFile = new File(resource.getFile());
-                try (FileInputStream fis = new FileInputStream(configFile)) {
-                    properties.load(fis);
-                }
-            } else {
-                System.out.println("Archivo de configuración no encontrado. Se usará una configuración vacía.");
-            }
-        } catch (IOException e) {
-            System.out.println("Error al cargar la configuración: " + e.getMessage());
+        this.provider = ConfigurationProvider.getInstance();
+        this.properties = provider.current().toProperties();
+        this.configFile = provider.getConfigFile() != null ? provider.getConfigFile().toFile() : null;
+        if (configFile == null) {
+            System.out.println("Archivo de configuración no encontrado. Se usará una configuración vacía.");
         }
     }
 
@@ -108,6 +104,39 @@ public class LogConfigManager {
         properties.setProperty("cloudwatch.region", region.name());
     }
 
+    /**
+     * Habilita o deshabilita la escritura asíncrona de logs. Cuando está
+     * habilitada, los logs se escriben desde un hilo de fondo y no en el hilo
+     * que envía o consume los mensajes. Por defecto está deshabilitada.
+     *
+     * @param enable {@code true} para habilitar, {@code false} para
+     * deshabilitar.
+     */
+    public void setAsyncLogEnable(boolean enable) {
+        properties.setProperty("log.async.enable", String.valueOf(enable));
+    }
+
+    /**
+     * Establece la capacidad del buffer de logs asíncronos.
+     *
+     * @param bufferSize Número de registros que caben en el buffer.
+     */
+    public void setAsyncLogBufferSize(int bufferSize) {
+        properties.setProperty("log.async.bufferSize", String.valueOf(bufferSize));
+    }
+
+    /**
+     * Establece qué hacer con los logs cuando el buffer asíncrono está lleno.
+     *
+     * @param policy Política de desborde.
+     * @param sampleRate Para {@link AsyncLogAppender.OverflowPolicy#SAMPLE},
+     * se conserva uno de cada {@code sampleRate} registros que no caben.
+     */
+    public void setAsyncLogOverflowPolicy(AsyncLogAppender.OverflowPolicy policy, int sampleRate) {
+        properties.setProperty("log.async.overflowPolicy", policy.name());
+        properties.setProperty("log.async.sampleRate", String.valueOf(sampleRate));
+    }
+
     /**
      * Guarda la configuración en el archivo "local.properties".
      */
@@ -121,7 +150,9 @@ public class LogConfigManager {
             System.out.println("Configuración guardada correctamente.");
         } catch (IOException e) {
             System.out.println("Error al guardar el archivo de configuración: " + e.getMessage());
+            return;
         }
+        provider.reload();
     }
 
     /**
@@ -4,12 +4,19 @@ import java.io.IOException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
+import com.rabbitmq.client.Address;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
 
 import io.github.jhoanhurtado.domain.strategies.LoggerFactory;
 import io.github.jhoanhurtado.enums.LogLevel;
@@ -18,51 +25,257 @@ import io.github.jhoanhurtado.interfaces.Logger;
 /**
  * Singleton para manejar conexiones con RabbitMQ. Implementado con `enum` para
  * garantizar seguridad en múltiples hilos y evitar problemas de serialización.
+ *
+ * <p>
+ * Una conexión puede apuntar a varios nodos de un clúster. En cada intento de
+ * conexión los nodos se recorren en un orden aleatorio, para repartir los
+ * clientes entre ellos, hasta que uno acepta. Las conexiones se recuperan
+ * automáticamente cuando se pierden: el cliente de RabbitMQ vuelve a
+ * conectarse a alguno de los nodos con una {@link ExponentialBackoff} y
+ * restablece los canales, las colas, los enlaces y los consumidores
+ * declarados en ella. Una conexión que no se pudo establecer no se guarda, de
+ * modo que la siguiente llamada lo vuelve a intentar.
+ * </p>
+ *
+ * <p>
+ * Las conexiones se guardan por el conjunto de nodos, sin importar el orden en
+ * que se indiquen. Solo un hilo a la vez intenta conectar a un mismo clúster;
+ * los demás que piden esa conexión esperan su resultado, y los que piden otras
+ * conexiones no se bloquean.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * Connection connection = MessagingConnection.INSTANCE.getRabbitMQConnection(
+ *         List.of("rabbit-1:5672", "rabbit-2:5672", "rabbit-3:5672"), "usuario", "clave");
+ * }
+ * </pre>
  */
 public enum MessagingConnection {
     INSTANCE;
 
     /**
-     * Mapa para almacenar conexiones a diferentes servidores RabbitMQ.
+     * Número por defecto de intentos de la conexión inicial. Cada intento
+     * prueba todos los nodos.
      */
+    public static final int DEFAULT_CONNECT_ATTEMPTS = 3;
+
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private final Map<String, Connection> rabbitConnections = new HashMap<>();
+    /**
+     * Mapa para almacenar conexiones a diferentes servidores RabbitMQ.
+     */
+    private final Map<String, Connection> rabbitConnections = new ConcurrentHashMap<>();
+
+    /**
+     * Candados por clúster para que solo un hilo a la vez intente conectar.
+     */
+    private final Map<String, Object> connectLocks = new ConcurrentHashMap<>();
     Logger compositeLogger = new LoggerFactory().getCompositeLogger();
 
     /**
      * Obtiene una conexión a RabbitMQ para un host específico. Si la conexión
      * no existe, se crea y se almacena en caché.
      *
-     * @param host Dirección del servidor RabbitMQ.
+     * @param host Dirección del servidor RabbitMQ, o varias direcciones
+     * {@code host[:puerto]} separadas por comas.
      * @param username Nombre de usuario para la autenticación.
      * @param password Contraseña para la autenticación.
      * @return Objeto {@link Connection} conectado al servidor especificado.
      * @throws RuntimeException Si ocurre un error al establecer la conexión.
      */
     public Connection getRabbitMQConnection(String host, String username, String password) {
-        return rabbitConnections.computeIfAbsent(host, h -> {
+        if (host == null || host.isBlank()) {
+            throw new IllegalArgumentException("El host de RabbitMQ no puede estar vacío.");
+        }
+        return getRabbitMQConnection(Arrays.asList(host.split(",")), username, password);
+    }
+
+    /**
+     * Obtiene una conexión a un clúster de RabbitMQ con la espera y el número
+     * de intentos por defecto. Si la conexión no existe o fue cerrada, se crea
+     * y se almacena en caché.
+     *
+     * @param addresses Direcciones {@code host[:puerto]} de los nodos.
+     * @param username Nombre de usuario para la autenticación.
+     * @param password Contraseña para la autenticación.
+     * @return Conexión a alguno de los nodos.
+     * @throws IllegalStateException Si ningún nodo aceptó la conexión.
+     */
+    public Connection getRabbitMQConnection(List<String> addresses, String username, String password) {
+        return getRabbitMQConnection(addresses, username, password, new ExponentialBackoff(), DEFAULT_CONNECT_ATTEMPTS);
+    }
+
+    /**
+     * Obtiene una conexión a un clúster de RabbitMQ. Si la conexión no existe
+     * o fue cerrada, se crea y se almacena en caché.
+     *
+     * @param addresses Direcciones {@code host[:puerto]} de los nodos.
+     * @param username Nombre de usuario para la autenticación.
+     * @param password Contraseña para la autenticación.
+     * @param backoff Espera entre los intentos de conexión y de recuperación.
+     * @param connectAttempts Intentos de la conexión inicial.
+     * @return Conexión a alguno de los nodos.
+     * @throws IllegalArgumentException Si no hay direcciones, alguna no es
+     * válida o el número de intentos no es positivo.
+     * @throws IllegalStateException Si ningún nodo aceptó la conexión.
+     */
+    public Connection getRabbitMQConnection(List<String> addresses, String username, String password,
+            ExponentialBackoff backoff, int connectAttempts) {
+        List<Address> nodes = parseAddresses(addresses);
+        if (backoff == null) {
+            throw new IllegalArgumentException("La espera entre intentos no puede ser nula.");
+        }
+        if (connectAttempts <= 0) {
+            throw new IllegalArgumentException("El número de intentos de conexión debe ser mayor que cero.");
+        }
+        String key = keyOf(nodes);
+        Connection existing = rabbitConnections.get(key);
+        if (isUsable(existing)) {
+            return existing;
+        }
+        // Se conecta fuera del mapa: los reintentos y esperas de connect solo
+        // bloquean a los hilos que piden este mismo clúster
+        synchronized (connectLocks.computeIfAbsent(key, k -> new Object())) {
+            existing = rabbitConnections.get(key);
+            if (isUsable(existing)) {
+                return existing;
+            }
+            Connection created = connect(key, nodes, username, password, backoff, connectAttempts);
+            boolean stored = existing == null
+                    ? rabbitConnections.putIfAbsent(key, created) == null
+                    : rabbitConnections.replace(key, existing, created);
+            if (!stored) {
+                // closeAllConnections vació el mapa o lo cambió mientras se conectaba
+                Connection winner = rabbitConnections.putIfAbsent(key, created);
+                if (winner != null) {
+                    closeQuietly(created);
+                    return winner;
+                }
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Indica si una conexión guardada se puede seguir usando. Las conexiones
+     * que se están recuperando se conservan; las cerradas por la aplicación
+     * se reemplazan.
+     */
+    private static boolean isUsable(Connection connection) {
+        return connection != null
+                && (connection.isOpen() || connection instanceof Recoverable && !isClosedByApplication(connection));
+    }
+
+    /**
+     * Clave de una conexión: las direcciones de los nodos ordenadas, para que
+     * la misma lista en otro orden use la misma conexión.
+     */
+    private static String keyOf(List<Address> nodes) {
+        List<String> sorted = new ArrayList<>(nodes.size());
+        for (Address node : nodes) {
+            sorted.add(node.toString());
+        }
+        Collections.sort(sorted);
+        return sorted.toString();
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (IOException | RuntimeException e) {
+            compositeLogger.log(String.format("Error cerrando una conexión duplicada con RabbitMQ. Error: %s - Hora: %s",
+                    e.getMessage(), getFormattedCurrentTime()), LogLevel.WARN);
+        }
+    }
+
+    private Connection connect(String key, List<Address> nodes, String username, String password,
+            ExponentialBackoff backoff, int connectAttempts) {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setUsername(username);
+        factory.setPassword(password);
+        factory.setAutomaticRecoveryEnabled(true);
+        factory.setTopologyRecoveryEnabled(true);
+        factory.setRecoveryDelayHandler(backoff);
+        Exception lastError = null;
+        for (int attempt = 1; attempt <= connectAttempts; attempt++) {
             try {
-                // Crear la conexión a RabbitMQ
-                ConnectionFactory factory = new ConnectionFactory();
-                factory.setHost(h);
-                factory.setUsername(username);
-                factory.setPassword(password);
-                Connection connection = factory.newConnection();
+                // Cada intento, y cada recuperación, recorre los nodos en un
+                // orden distinto
+                Connection connection = factory.newConnection(() -> shuffled(nodes));
+                if (connection instanceof Recoverable recoverable) {
+                    recoverable.addRecoveryListener(recoveryLogger(key));
+                }
 
                 // Log de éxito en la conexión
-                String logMessage = String.format("Conexión establecida con RabbitMQ en el host: %s, con usuario: %s - Hora: %s",
-                        host, username, getFormattedCurrentTime());
+                String logMessage = String.format("Conexión establecida con RabbitMQ en el host: %s (nodos: %s), con usuario: %s - Hora: %s",
+                        connection.getAddress().getHostAddress(), key, username, getFormattedCurrentTime());
                 compositeLogger.log(logMessage, LogLevel.INFO);
                 return connection;
             } catch (IOException | TimeoutException e) {
+                lastError = e;
                 // Log de error al intentar conectar
-                String errorMessage = String.format("Error al conectar con RabbitMQ en el host: %s. Error: %s - Hora: %s",
-                        host, e.getMessage(), getFormattedCurrentTime());
-                compositeLogger.log(errorMessage, LogLevel.CRITICAL);
+                String errorMessage = String.format("Error al conectar con RabbitMQ en los nodos: %s (intento %d de %d). Error: %s - Hora: %s",
+                        key, attempt, connectAttempts, e.getMessage(), getFormattedCurrentTime());
+                compositeLogger.log(errorMessage, attempt < connectAttempts ? LogLevel.WARN : LogLevel.CRITICAL);
+            }
+            if (attempt < connectAttempts) {
+                try {
+                    Thread.sleep(backoff.getDelay(attempt));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrumpido mientras se esperaba para reconectar con RabbitMQ.", e);
+                }
+            }
+        }
+        throw new IllegalStateException("No se pudo conectar con ningún nodo de RabbitMQ: " + key, lastError);
+    }
+
+    private RecoveryListener recoveryLogger(String key) {
+        return new RecoveryListener() {
+            @Override
+            public void handleRecoveryStarted(Recoverable recoverable) {
+                compositeLogger.log(String.format("Se perdió la conexión con RabbitMQ en los nodos: %s; recuperando - Hora: %s",
+                        key, getFormattedCurrentTime()), LogLevel.WARN);
+            }
+
+            @Override
+            public void handleRecovery(Recoverable recoverable) {
+                compositeLogger.log(String.format("Conexión con RabbitMQ recuperada en los nodos: %s - Hora: %s",
+                        key, getFormattedCurrentTime()), LogLevel.INFO);
+            }
+        };
+    }
+
+    private static boolean isClosedByApplication(Connection connection) {
+        return connection.getCloseReason() != null && connection.getCloseReason().isInitiatedByApplication();
+    }
+
+    private static List<Address> parseAddresses(List<String> addresses) {
+        if (addresses == null) {
+            throw new IllegalArgumentException("La lista de nodos de RabbitMQ no puede ser nula.");
+        }
+        List<Address> nodes = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            if (address != null && !address.isBlank()) {
+                try {
+                    nodes.add(Address.parseAddress(address.trim()));
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Dirección de RabbitMQ inválida: " + address, e);
+                }
             }
-            return null;
-        });
+        }
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("La lista de nodos de RabbitMQ no puede estar vacía.");
+        }
+        return List.copyOf(nodes);
+    }
+
+    private static List<Address> shuffled(List<Address> nodes) {
+        List<Address> order = new ArrayList<>(nodes);
+        Collections.shuffle(order);
+        return order;
     }
 
     /**
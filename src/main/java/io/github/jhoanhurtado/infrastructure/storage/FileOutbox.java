@@ -0,0 +1,409 @@
+package io.github.jhoanhurtado.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import io.github.jhoanhurtado.domain.interfaces.Outbox;
+import io.github.jhoanhurtado.domain.models.OutboxEntry;
+
+/**
+ * {@link Outbox} en un directorio local, como un registro segmentado de solo
+ * escritura al final, mapeado en memoria.
+ *
+ * <p>
+ * Las entradas se escriben una tras otra en segmentos de tamaño fijo
+ * ({@code outbox-<secuencia>.log}) reservados en disco al crearlos y mapeados
+ * en memoria, de modo que guardar una entrada es copiar sus bytes al mapa, sin
+ * llamadas al sistema. Cada entrada lleva su longitud, su secuencia y un
+ * CRC32C; al abrir la bandeja se recorren los segmentos y la lectura se
+ * detiene en la primera entrada incompleta o dañada (por ejemplo, escrita a
+ * medias durante una caída), que se descarta.
+ * </p>
+ *
+ * <p>
+ * La última secuencia confirmada se guarda en {@code outbox.ack}. Los
+ * segmentos cuyas entradas están todas confirmadas se borran, así que el
+ * espacio usado solo depende de las entradas pendientes. Los datos escritos en
+ * el mapa sobreviven a una caída de la aplicación; con
+ * {@code forceOnAppend} también se fuerzan al disco en cada escritura, para
+ * sobrevivir a una caída del sistema operativo a cambio de más latencia.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * Outbox outbox = new FileOutbox(Path.of("/var/lib/queue-helper/outbox"));
+ * RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+ *         .connection(connection)
+ *         .outbox(outbox)
+ *         .build();
+ * }
+ * </pre>
+ */
+public final class FileOutbox implements Outbox {
+
+    /**
+     * Tamaño por defecto de cada segmento.
+     */
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ACK_FILE = "outbox.ack";
+
+    /**
+     * Longitud (int), CRC32C (int) y secuencia (long) de cada entrada.
+     */
+    private static final int HEADER_BYTES = 16;
+    private static final int PREALLOCATION_CHUNK = 1024 * 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final MappedByteBuffer acknowledgement;
+    private final CRC32C crc = new CRC32C();
+
+    private long nextSequence = 1;
+    private long acknowledged;
+    private volatile long pending;
+    private boolean closed;
+
+    /**
+     * Abre la bandeja con segmentos del tamaño por defecto, sin forzar cada
+     * escritura al disco.
+     *
+     * @param directory Directorio de la bandeja; se crea si no existe.
+     * @throws IOException Si el directorio o los segmentos no se pueden leer.
+     */
+    public FileOutbox(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES, false);
+    }
+
+    /**
+     * Abre la bandeja, recuperando las entradas sin confirmar.
+     *
+     * @param directory Directorio de la bandeja; se crea si no existe.
+     * @param segmentBytes Tamaño de cada segmento. Una entrada mayor ocupa un
+     * segmento propio.
+     * @param forceOnAppend true para forzar cada escritura al disco.
+     * @throws IOException Si el directorio o los segmentos no se pueden leer.
+     */
+    public FileOutbox(Path directory, int segmentBytes, boolean forceOnAppend) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("El directorio de la bandeja no puede ser nulo.");
+        }
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("El tamaño del segmento debe ser mayor que " + HEADER_BYTES + " bytes.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+        this.acknowledgement = map(directory.resolve(ACK_FILE), Long.BYTES);
+        this.acknowledged = acknowledgement.getLong(0);
+        recover();
+    }
+
+    @Override
+    public synchronized long append(OutboxEntry entry) throws IOException {
+        ensureOpen();
+        byte[] queue = bytesOf(entry.getQueue());
+        byte[] contentType = bytesOf(entry.getContentType());
+        byte[] contentEncoding = bytesOf(entry.getContentEncoding());
+        byte[] body = entry.getBody();
+        long length = 3L * Short.BYTES + length(queue) + length(contentType) + length(contentEncoding) + 2
+                + Integer.BYTES + body.length;
+        if (length > Integer.MAX_VALUE - HEADER_BYTES) {
+            throw new IllegalArgumentException("La entrada es demasiado grande para la bandeja.");
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + HEADER_BYTES + length > segment.buffer.capacity()) {
+            segment = createSegment(HEADER_BYTES + (int) length);
+        }
+
+        long sequence = nextSequence;
+        ByteBuffer record = segment.buffer.duplicate();
+        int start = segment.writePosition;
+        record.position(start + HEADER_BYTES);
+        putString(record, queue);
+        putString(record, contentType);
+        putString(record, contentEncoding);
+        record.put((byte) entry.getPriority());
+        record.put((byte) entry.getDeliveryMode());
+        record.putInt(body.length);
+        record.put(body);
+        // La longitud se escribe al final: hasta entonces la entrada no existe
+        record.putLong(start + 8, sequence);
+        record.putInt(start + 4, checksum(segment.buffer, start + 8, Long.BYTES + (int) length));
+        record.putInt(start, (int) length);
+        if (forceOnAppend) {
+            segment.buffer.force(start, HEADER_BYTES + (int) length);
+        }
+
+        segment.writePosition = start + HEADER_BYTES + (int) length;
+        nextSequence++;
+        pending++;
+        return sequence;
+    }
+
+    @Override
+    public synchronized List<OutboxEntry> peek(int max) throws IOException {
+        ensureOpen();
+        if (max <= 0 || pending == 0) {
+            return Collections.emptyList();
+        }
+        List<OutboxEntry> entries = new ArrayList<>((int) Math.min(max, pending));
+        for (Segment segment : segments) {
+            int position = segment.readPosition;
+            while (position < segment.writePosition && entries.size() < max) {
+                entries.add(read(segment.buffer, position));
+                position += HEADER_BYTES + segment.buffer.getInt(position);
+            }
+            if (entries.size() == max) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void acknowledge(long sequence) throws IOException {
+        ensureOpen();
+        long last = Math.min(sequence, nextSequence - 1);
+        if (last <= acknowledged) {
+            return;
+        }
+        acknowledged = last;
+        acknowledgement.putLong(0, last);
+        if (forceOnAppend) {
+            acknowledgement.force();
+        }
+        while (!segments.isEmpty()) {
+            Segment segment = segments.peekFirst();
+            while (segment.readPosition < segment.writePosition
+                    && segment.buffer.getLong(segment.readPosition + 8) <= acknowledged) {
+                segment.readPosition += HEADER_BYTES + segment.buffer.getInt(segment.readPosition);
+                pending--;
+            }
+            if (segment.readPosition < segment.writePosition) {
+                break;
+            }
+            // Compactación: el segmento ya no tiene entradas pendientes
+            segments.pollFirst();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    @Override
+    public long getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Obtiene el número de segmentos en disco.
+     *
+     * @return Segmentos abiertos.
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Fuerza al disco las entradas y confirmaciones escritas y cierra la
+     * bandeja. Las entradas pendientes se recuperan al volver a abrirla.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        acknowledgement.force();
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        // El nombre lleva la primera secuencia con ceros a la izquierda
+        Collections.sort(files);
+        for (Path file : files) {
+            Segment segment = new Segment(file, map(file, 0));
+            scan(segment);
+            if (segment.readPosition == segment.writePosition) {
+                // Todo confirmado, o un segmento vacío
+                Files.deleteIfExists(file);
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        nextSequence = Math.max(nextSequence, acknowledged + 1);
+    }
+
+    /**
+     * Recorre las entradas válidas de un segmento, situando la lectura en la
+     * primera sin confirmar y la escritura después de la última válida.
+     */
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        segment.readPosition = -1;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_BYTES
+                    || buffer.getInt(position + 4) != checksum(buffer, position + 8, Long.BYTES + length)) {
+                if (length != 0) {
+                    // Entrada escrita a medias: se borra para no confundirla
+                    // con las siguientes escrituras
+                    int end = length > 0 ? (int) Math.min(buffer.capacity(), (long) position + HEADER_BYTES + length)
+                            : position + HEADER_BYTES;
+                    for (int i = position; i < end; i++) {
+                        buffer.put(i, (byte) 0);
+                    }
+                }
+                break;
+            }
+            long sequence = buffer.getLong(position + 8);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            if (sequence > acknowledged) {
+                pending++;
+                if (segment.readPosition < 0) {
+                    segment.readPosition = position;
+                }
+            }
+            position += HEADER_BYTES + length;
+        }
+        segment.writePosition = position;
+        if (segment.readPosition < 0) {
+            segment.readPosition = position;
+        }
+    }
+
+    private Segment createSegment(int minimumBytes) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        int size = Math.max(segmentBytes, minimumBytes);
+        preallocate(file, size);
+        Segment segment = new Segment(file, map(file, size));
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /**
+     * Reserva el espacio del segmento escribiendo ceros, para que quedarse
+     * sin disco falle aquí y no al escribir en el mapa.
+     */
+    private static void preallocate(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer zeros = ByteBuffer.allocate(Math.min(size, PREALLOCATION_CHUNK));
+            long position = 0;
+            while (position < size) {
+                zeros.clear().limit((int) Math.min(zeros.capacity(), size - position));
+                position += channel.write(zeros, position);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, int minimumSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), minimumSize);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segmento de la bandeja demasiado grande: " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private int checksum(ByteBuffer buffer, int position, int length) {
+        crc.reset();
+        crc.update(buffer.duplicate().limit(position + length).position(position));
+        return (int) crc.getValue();
+    }
+
+    private static OutboxEntry read(ByteBuffer buffer, int position) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(position + HEADER_BYTES);
+        long sequence = buffer.getLong(position + 8);
+        String queue = getString(record);
+        String contentType = getString(record);
+        String contentEncoding = getString(record);
+        int priority = record.get() & 0xFF;
+        int deliveryMode = record.get() & 0xFF;
+        byte[] body = new byte[record.getInt()];
+        record.get(body);
+        return OutboxEntry.of(queue, contentType, contentEncoding, priority, deliveryMode, body).withSequence(sequence);
+    }
+
+    private static byte[] bytesOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Campo demasiado largo para la bandeja: " + value.length() + " caracteres.");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("La bandeja de salida está cerrada.");
+        }
+    }
+
+    /**
+     * Segmento mapeado en memoria.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+
+        Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
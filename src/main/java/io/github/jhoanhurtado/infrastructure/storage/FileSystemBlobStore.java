@@ -0,0 +1,172 @@
+package io.github.jhoanhurtado.infrastructure.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.jhoanhurtado.domain.interfaces.BlobStore;
+
+/**
+ * {@link BlobStore} en un directorio local o compartido.
+ *
+ * <p>
+ * Cada contenido se guarda en {@code raíz/ab/abcdef...}, donde el nombre es
+ * su hash SHA-256. La escritura se hace en un archivo temporal del mismo
+ * directorio que luego se mueve de forma atómica, de modo que un lector nunca
+ * ve un archivo a medio escribir y dos publicadores que guardan el mismo
+ * contenido a la vez no se interfieren. Los contenidos que ya existen no se
+ * vuelven a escribir. Las lecturas mapean el archivo en memoria, sin copiarlo
+ * al heap.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * BlobStore store = new FileSystemBlobStore(Path.of("/var/lib/queue-helper/blobs"));
+ * String reference = store.put(bytes);
+ * ByteBuffer content = store.get(reference);
+ * }
+ * </pre>
+ */
+public final class FileSystemBlobStore implements BlobStore {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int HASH_HEX_LENGTH = 64;
+
+    private final Path root;
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+
+    /**
+     * Crea el almacén, creando el directorio si no existe.
+     *
+     * @param root Directorio raíz del almacén.
+     * @throws IOException Si no se puede crear el directorio.
+     */
+    public FileSystemBlobStore(Path root) throws IOException {
+        if (root == null) {
+            throw new IllegalArgumentException("El directorio del almacén no puede ser nulo.");
+        }
+        this.root = Files.createDirectories(root);
+    }
+
+    @Override
+    public String put(byte[] data) throws IOException {
+        return put(ByteBuffer.wrap(data));
+    }
+
+    @Override
+    public String put(ByteBuffer data) throws IOException {
+        String hash = HEX.formatHex(sha256(data.duplicate()));
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            deduplicated.increment();
+            return REFERENCE_PREFIX + hash;
+        }
+        Path directory = Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(directory, hash, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer content = data.duplicate();
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            stored.increment();
+        } catch (FileAlreadyExistsException e) {
+            // Otro publicador guardó el mismo contenido
+            deduplicated.increment();
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return REFERENCE_PREFIX + hash;
+    }
+
+    @Override
+    public ByteBuffer get(String reference) throws IOException {
+        Path path = pathOf(hashOf(reference));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return ByteBuffer.allocate(0).asReadOnlyBuffer();
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    @Override
+    public boolean contains(String reference) {
+        return Files.exists(pathOf(hashOf(reference)));
+    }
+
+    /**
+     * Obtiene el directorio raíz del almacén.
+     *
+     * @return Directorio raíz.
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Obtiene el número de contenidos escritos por este almacén.
+     *
+     * @return Contenidos escritos.
+     */
+    public long getStoredCount() {
+        return stored.sum();
+    }
+
+    /**
+     * Obtiene el número de veces que se pidió guardar un contenido que ya
+     * existía.
+     *
+     * @return Contenidos no escritos por estar duplicados.
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Extrae el hash de una referencia, validando que solo tenga dígitos
+     * hexadecimales para que no pueda apuntar fuera del almacén.
+     */
+    private static String hashOf(String reference) {
+        if (reference == null || !reference.startsWith(REFERENCE_PREFIX)
+                || reference.length() != REFERENCE_PREFIX.length() + HASH_HEX_LENGTH) {
+            throw new IllegalArgumentException("Referencia de contenido inválida: " + reference);
+        }
+        String hash = reference.substring(REFERENCE_PREFIX.length());
+        for (int i = 0; i < hash.length(); i++) {
+            if (Character.digit(hash.charAt(i), 16) < 0 || Character.isUpperCase(hash.charAt(i))) {
+                throw new IllegalArgumentException("Referencia de contenido inválida: " + reference);
+            }
+        }
+        return hash;
+    }
+
+    private static byte[] sha256(ByteBuffer data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible en esta JVM.", e);
+        }
+    }
+}
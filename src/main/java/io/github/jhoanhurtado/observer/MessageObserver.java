@@ -1,55 +1,219 @@
 package io.github.jhoanhurtado.observer;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.observer.RoutingTable.Registration;
 
 /**
  * La clase MessageObserver permite suscribir oyentes y notificarles cuando se recibe un mensaje.
  * Los oyentes deben implementar la interfaz MessageListener.
- * 
+ *
  * <p>Esta clase proporciona los siguientes métodos:</p>
  * <ul>
  *   <li>{@link #subscribe(MessageListener)} - Suscribe un nuevo oyente al observador de mensajes.</li>
+ *   <li>{@link #subscribe(MessageSelector, MessageListener)} - Suscribe un oyente solo a los mensajes que cumplen un selector.</li>
+ *   <li>{@link #unsubscribe(MessageListener)} - Cancela la suscripción de un oyente.</li>
  *   <li>{@link #notify(MessageModelRequest)} - Notifica a todos los oyentes registrados con el mensaje dado.</li>
  * </ul>
- * 
+ *
+ * <p>
+ * Las suscripciones se guardan en una tabla inmutable que se reemplaza en cada
+ * cambio: cada notificación usa una instantánea de la tabla, por lo que
+ * suscribir o cancelar suscripciones mientras se notifican mensajes es seguro
+ * y no bloquea la notificación. La tabla indexa los selectores de igualdad
+ * (ver {@link MessageSelector}), de modo que cada mensaje solo se entrega a los
+ * oyentes que coinciden sin recorrer el resto. En
+ * modo {@link DispatchMode#SYNC} (por defecto) los oyentes se invocan uno tras
+ * otro en el hilo que notifica. En modo {@link DispatchMode#ASYNC} cada oyente
+ * se invoca en paralelo y {@link #notify(MessageModelRequest)} devuelve un
+ * futuro que se completa cuando todos terminan, de modo que un oyente lento no
+ * retrasa a los demás.
+ * </p>
+ *
  * <p>Ejemplo de uso:</p>
  * <pre>{@code
- * MessageObserver observer = new MessageObserver();
- * observer.subscribe(new MessageListener() {
+ * MessageObserver observer = new MessageObserver(MessageObserver.DispatchMode.ASYNC);
+ * Subscription subscription = observer.subscribe(new MessageListener() {
  *     @Override
  *     public void onMessageReceived(MessageModelRequest message) {
  *         // Manejar el mensaje recibido
  *     }
  * });
- * observer.notify(new MessageModelRequest("Mensaje de prueba"));
+ * observer.notify(new MessageModelRequest("Mensaje de prueba", "remitente")).join();
+ * subscription.unsubscribe();
  * }</pre>
- * 
+ *
  * @see MessageListener
  * @see MessageModelRequest
  */
 public class MessageObserver {
-    private final List<MessageListener> listeners = new ArrayList<>();
+
+    /**
+     * Forma de invocar a los oyentes.
+     */
+    public enum DispatchMode {
+        /**
+         * Los oyentes se invocan uno tras otro en el hilo que notifica. El
+         * primer error interrumpe la notificación y se propaga.
+         */
+        SYNC,
+        /**
+         * Los oyentes se invocan en paralelo. El futuro devuelto falla si
+         * alguno de ellos falla, después de que todos terminen.
+         */
+        ASYNC
+    }
+
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Object writeLock = new Object();
+    private volatile RoutingTable table = RoutingTable.EMPTY;
+    private long nextId;
+    private final DispatchMode mode;
+    private final Executor executor;
+
+    /**
+     * Crea un observador que notifica a los oyentes en el hilo que llama a
+     * {@link #notify(MessageModelRequest)}.
+     */
+    public MessageObserver() {
+        this(DispatchMode.SYNC);
+    }
+
+    /**
+     * Crea un observador con el modo indicado. En modo asíncrono cada oyente
+     * se ejecuta en un hilo virtual.
+     *
+     * @param mode Modo de notificación.
+     */
+    public MessageObserver(DispatchMode mode) {
+        this(mode, VIRTUAL_THREADS);
+    }
+
+    /**
+     * Crea un observador asíncrono que ejecuta los oyentes en el ejecutor
+     * indicado.
+     *
+     * @param executor Ejecutor de los oyentes.
+     */
+    public MessageObserver(Executor executor) {
+        this(DispatchMode.ASYNC, executor);
+    }
+
+    private MessageObserver(DispatchMode mode, Executor executor) {
+        if (mode == null || executor == null) {
+            throw new IllegalArgumentException("El modo y el ejecutor del observador son obligatorios.");
+        }
+        this.mode = mode;
+        this.executor = executor;
+    }
 
     /**
      * Suscribe un nuevo oyente al observador de mensajes.
      *
      * @param listener el MessageListener que se añadirá a la lista de oyentes
+     * @return la suscripción, para cancelarla cuando ya no se necesite
+     */
+    public Subscription subscribe(MessageListener listener) {
+        return subscribe(MessageSelector.all(), listener);
+    }
+
+    /**
+     * Suscribe un oyente a los mensajes que cumplen un selector.
+     *
+     * @param selector la condición que deben cumplir los mensajes
+     * @param listener el MessageListener que recibirá los mensajes
+     * @return la suscripción, para cancelarla cuando ya no se necesite
+     */
+    public Subscription subscribe(MessageSelector selector, MessageListener listener) {
+        if (selector == null || listener == null) {
+            throw new IllegalArgumentException("El selector y el oyente no pueden ser nulos.");
+        }
+        Registration registration;
+        synchronized (writeLock) {
+            registration = new Registration(nextId++, selector, listener);
+            table = table.with(registration);
+        }
+        return () -> remove(registration);
+    }
+
+    /**
+     * Cancela la suscripción de un oyente. Si el oyente se suscribió varias
+     * veces, se cancela la primera suscripción.
+     *
+     * @param listener el oyente a eliminar
+     * @return true si el oyente estaba suscrito
+     */
+    public boolean unsubscribe(MessageListener listener) {
+        synchronized (writeLock) {
+            Registration registration = table.find(listener);
+            if (registration == null) {
+                return false;
+            }
+            table = table.without(registration);
+            return true;
+        }
+    }
+
+    /**
+     * Obtiene el número de oyentes suscritos.
+     *
+     * @return número de oyentes
+     */
+    public int getListenerCount() {
+        return table.size();
+    }
+
+    /**
+     * Obtiene el modo de notificación.
+     *
+     * @return modo de notificación
      */
-    public void subscribe(MessageListener listener) {
-        listeners.add(listener);
+    public DispatchMode getMode() {
+        return mode;
     }
 
     /**
-     * Notifica a todos los oyentes registrados con el mensaje dado.
+     * Notifica a todos los oyentes registrados con el mensaje dado, es decir,
+     * a los oyentes cuyo selector acepta el mensaje.
+     *
+     * <p>
+     * En modo síncrono los oyentes ya terminaron cuando el método retorna y
+     * un error de un oyente se propaga como excepción. En modo asíncrono el
+     * error se informa a través del futuro.
+     * </p>
      *
      * @param message el mensaje que se enviará a los oyentes
+     * @return futuro que se completa cuando todos los oyentes terminan
      */
-    public void notify(MessageModelRequest message) {
-        for (MessageListener listener : listeners) {
-            listener.onMessageReceived(message);
+    public CompletableFuture<Void> notify(MessageModelRequest message) {
+        List<MessageListener> targets = table.route(message);
+        if (mode == DispatchMode.SYNC) {
+            for (MessageListener listener : targets) {
+                listener.onMessageReceived(message);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        if (targets.size() == 1) {
+            MessageListener listener = targets.get(0);
+            return CompletableFuture.runAsync(() -> listener.onMessageReceived(message), executor);
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[targets.size()];
+        for (int i = 0; i < futures.length; i++) {
+            MessageListener listener = targets.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> listener.onMessageReceived(message), executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private void remove(Registration registration) {
+        synchronized (writeLock) {
+            table = table.without(registration);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,246 @@
+package io.github.jhoanhurtado.observer;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+/**
+ * Condición que debe cumplir un mensaje para que se notifique a un oyente.
+ *
+ * <p>
+ * Los selectores de igualdad ({@link #sender(String)},
+ * {@link #contentType(String)}, {@link #header(String, String)} y
+ * {@link #jsonField(String, String)}) se indexan en el
+ * {@link MessageObserver}: notificar un mensaje solo consulta los oyentes
+ * cuyo valor coincide, sin recorrer los demás. Los selectores con
+ * {@link #matching(Predicate)} se evalúan para cada mensaje, por lo que
+ * conviene combinarlos con un selector de igualdad usando
+ * {@link #and(MessageSelector...)}.
+ * </p>
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * observer.subscribe(MessageSelector.sender("facturacion@empresa.com"), message -> ...);
+ * observer.subscribe(MessageSelector.and(
+ *         MessageSelector.contentType("application/json"),
+ *         MessageSelector.jsonField("priority", "high")), message -> ...);
+ * }
+ * </pre>
+ */
+public final class MessageSelector {
+
+    private static final MessageSelector ALL = new MessageSelector(null, null, null, message -> true);
+
+    private final Dimension dimension;
+    private final String value;
+    private final MessageSelector[] parts;
+    private final Predicate<MessageModelRequest> predicate;
+
+    private MessageSelector(Dimension dimension, String value, MessageSelector[] parts, Predicate<MessageModelRequest> predicate) {
+        this.dimension = dimension;
+        this.value = value;
+        this.parts = parts;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Selector que acepta todos los mensajes.
+     *
+     * @return Selector sin condición.
+     */
+    public static MessageSelector all() {
+        return ALL;
+    }
+
+    /**
+     * Mensajes de un remitente.
+     *
+     * @param sender Remitente esperado.
+     * @return Selector de igualdad sobre el remitente.
+     */
+    public static MessageSelector sender(String sender) {
+        return equality(Dimension.SENDER, sender);
+    }
+
+    /**
+     * Mensajes con un tipo de contenido.
+     *
+     * @param contentType Valor esperado de la cabecera
+     * {@value MessageModelRequest#CONTENT_TYPE_HEADER}.
+     * @return Selector de igualdad sobre el tipo de contenido.
+     */
+    public static MessageSelector contentType(String contentType) {
+        return header(MessageModelRequest.CONTENT_TYPE_HEADER, contentType);
+    }
+
+    /**
+     * Mensajes con una cabecera de transporte.
+     *
+     * @param name Nombre de la cabecera.
+     * @param value Valor esperado.
+     * @return Selector de igualdad sobre la cabecera.
+     */
+    public static MessageSelector header(String name, String value) {
+        return equality(Dimension.header(name), value);
+    }
+
+    /**
+     * Mensajes cuyo contenido es un objeto JSON con un campo de primer nivel
+     * igual al valor indicado.
+     *
+     * @param field Nombre del campo.
+     * @param value Valor esperado, como texto.
+     * @return Selector de igualdad sobre el campo.
+     */
+    public static MessageSelector jsonField(String field, String value) {
+        return equality(Dimension.jsonField(field), value);
+    }
+
+    /**
+     * Mensajes que cumplen un predicado. No se indexa.
+     *
+     * @param predicate Condición a evaluar.
+     * @return Selector de predicado.
+     */
+    public static MessageSelector matching(Predicate<MessageModelRequest> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("El predicado no puede ser nulo.");
+        }
+        return new MessageSelector(null, null, null, predicate);
+    }
+
+    /**
+     * Mensajes que cumplen todos los selectores. Se indexa por el primer
+     * selector de igualdad.
+     *
+     * @param selectors Selectores a combinar.
+     * @return Selector combinado.
+     */
+    public static MessageSelector and(MessageSelector... selectors) {
+        if (selectors == null || selectors.length == 0 || Arrays.asList(selectors).contains(null)) {
+            throw new IllegalArgumentException("Debe indicar al menos un selector y ninguno puede ser nulo.");
+        }
+        if (selectors.length == 1) {
+            return selectors[0];
+        }
+        MessageSelector[] parts = selectors.clone();
+        return new MessageSelector(null, null, parts, message -> {
+            for (MessageSelector part : parts) {
+                if (!part.matches(message)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Evalúa el selector sobre un mensaje.
+     *
+     * @param message Mensaje a evaluar.
+     * @return true si el mensaje cumple la condición.
+     */
+    public boolean matches(MessageModelRequest message) {
+        return predicate.test(message);
+    }
+
+    /**
+     * Obtiene el selector de igualdad por el que se indexa este selector.
+     *
+     * @return Selector de igualdad, o null si se debe evaluar siempre.
+     */
+    MessageSelector indexedPart() {
+        if (dimension != null) {
+            return this;
+        }
+        if (parts != null) {
+            for (MessageSelector part : parts) {
+                MessageSelector indexed = part.indexedPart();
+                if (indexed != null) {
+                    return indexed;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si el selector acepta todos los mensajes.
+     */
+    boolean isAll() {
+        return this == ALL;
+    }
+
+    Dimension getDimension() {
+        return dimension;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    private static MessageSelector equality(Dimension dimension, String expected) {
+        if (expected == null) {
+            throw new IllegalArgumentException("El valor del selector no puede ser nulo.");
+        }
+        return new MessageSelector(dimension, expected, null, message -> expected.equals(dimension.extract(message)));
+    }
+
+    /**
+     * Atributo del mensaje sobre el que se indexan los selectores de
+     * igualdad.
+     */
+    static final class Dimension {
+
+        static final Dimension SENDER = new Dimension("sender", "", MessageModelRequest::getSender);
+
+        private final String kind;
+        private final String name;
+        private final Function<MessageModelRequest, String> extractor;
+
+        private Dimension(String kind, String name, Function<MessageModelRequest, String> extractor) {
+            this.kind = kind;
+            this.name = name;
+            this.extractor = extractor;
+        }
+
+        static Dimension header(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("El nombre de la cabecera no puede ser nulo.");
+            }
+            return new Dimension("header", name, message -> message.getHeader(name));
+        }
+
+        static Dimension jsonField(String field) {
+            if (field == null) {
+                throw new IllegalArgumentException("El nombre del campo no puede ser nulo.");
+            }
+            return new Dimension("json", field, message -> message.getContentField(field));
+        }
+
+        String extract(MessageModelRequest message) {
+            return extractor.apply(message);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Dimension)) {
+                return false;
+            }
+            Dimension that = (Dimension) other;
+            return kind.equals(that.kind) && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, name);
+        }
+    }
+}
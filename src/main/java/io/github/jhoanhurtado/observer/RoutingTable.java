@@ -0,0 +1,148 @@
+package io.github.jhoanhurtado.observer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.observer.MessageSelector.Dimension;
+
+/**
+ * Tabla inmutable de suscripciones de un {@link MessageObserver}.
+ *
+ * <p>
+ * Las suscripciones con selector de igualdad se guardan en un índice por
+ * atributo y valor; las que aceptan todo se guardan aparte y solo las que
+ * tienen un predicado sin igualdad se evalúan una a una. Para encontrar los
+ * oyentes de un mensaje se extrae una vez cada atributo indexado y se
+ * consultan los valores coincidentes, por lo que el costo depende del número
+ * de atributos distintos y de oyentes que coinciden, no del total de
+ * suscripciones. Cada cambio crea una tabla nueva.
+ * </p>
+ */
+final class RoutingTable {
+
+    static final RoutingTable EMPTY = new RoutingTable(Collections.emptyList());
+
+    private static final Comparator<Registration> BY_ID = Comparator.comparingLong(registration -> registration.id);
+
+    private final List<Registration> registrations;
+    private final List<Registration> unfiltered = new ArrayList<>();
+    private final List<Registration> scanned = new ArrayList<>();
+    private final Map<Dimension, Map<String, List<Registration>>> index = new HashMap<>();
+
+    private RoutingTable(List<Registration> registrations) {
+        this.registrations = registrations;
+        for (Registration registration : registrations) {
+            MessageSelector indexed = registration.selector.indexedPart();
+            if (registration.selector.isAll()) {
+                unfiltered.add(registration);
+            } else if (indexed == null) {
+                scanned.add(registration);
+            } else {
+                index.computeIfAbsent(indexed.getDimension(), dimension -> new HashMap<>())
+                        .computeIfAbsent(indexed.getValue(), value -> new ArrayList<>())
+                        .add(registration);
+            }
+        }
+    }
+
+    /**
+     * Crea una tabla con una suscripción más.
+     */
+    RoutingTable with(Registration registration) {
+        List<Registration> next = new ArrayList<>(registrations.size() + 1);
+        next.addAll(registrations);
+        next.add(registration);
+        return new RoutingTable(next);
+    }
+
+    /**
+     * Crea una tabla sin la suscripción indicada.
+     */
+    RoutingTable without(Registration registration) {
+        List<Registration> next = new ArrayList<>(registrations);
+        return next.remove(registration) ? new RoutingTable(next) : this;
+    }
+
+    /**
+     * Busca la primera suscripción de un oyente.
+     *
+     * @return Suscripción, o null si el oyente no está suscrito.
+     */
+    Registration find(MessageListener listener) {
+        for (Registration registration : registrations) {
+            if (registration.listener.equals(listener)) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return registrations.size();
+    }
+
+    /**
+     * Obtiene los oyentes que deben recibir un mensaje, en orden de
+     * suscripción.
+     */
+    List<MessageListener> route(MessageModelRequest message) {
+        if (index.isEmpty() && scanned.isEmpty()) {
+            return listenersOf(unfiltered);
+        }
+        List<Registration> matches = new ArrayList<>(unfiltered);
+        int sources = unfiltered.isEmpty() ? 0 : 1;
+        for (Map.Entry<Dimension, Map<String, List<Registration>>> entry : index.entrySet()) {
+            String value = entry.getKey().extract(message);
+            List<Registration> candidates = value == null ? null : entry.getValue().get(value);
+            if (candidates == null) {
+                continue;
+            }
+            sources++;
+            for (Registration candidate : candidates) {
+                // Los selectores combinados se indexan por una sola parte
+                if (candidate.selector.indexedPart() == candidate.selector || candidate.selector.matches(message)) {
+                    matches.add(candidate);
+                }
+            }
+        }
+        for (Registration candidate : scanned) {
+            if (candidate.selector.matches(message)) {
+                matches.add(candidate);
+                sources++;
+            }
+        }
+        if (sources > 1) {
+            matches.sort(BY_ID);
+        }
+        return listenersOf(matches);
+    }
+
+    private static List<MessageListener> listenersOf(List<Registration> registrations) {
+        List<MessageListener> listeners = new ArrayList<>(registrations.size());
+        for (Registration registration : registrations) {
+            listeners.add(registration.listener);
+        }
+        return listeners;
+    }
+
+    /**
+     * Suscripción de un oyente con su selector.
+     */
+    static final class Registration {
+
+        final long id;
+        final MessageSelector selector;
+        final MessageListener listener;
+
+        Registration(long id, MessageSelector selector, MessageListener listener) {
+            this.id = id;
+            this.selector = selector;
+            this.listener = listener;
+        }
+    }
+}
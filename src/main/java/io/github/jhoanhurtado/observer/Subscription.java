@@ -0,0 +1,23 @@
+package io.github.jhoanhurtado.observer;
+
+/**
+ * Suscripción de un {@link MessageListener} a un {@link MessageObserver}.
+ *
+ * <p>Ejemplo de uso:</p>
+ * <pre>
+ * {@code
+ * Subscription subscription = observer.subscribe(message -> procesar(message));
+ * // ...
+ * subscription.unsubscribe();
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface Subscription {
+
+    /**
+     * Cancela la suscripción. El oyente deja de recibir mensajes a partir de
+     * la siguiente notificación; llamarlo más de una vez no tiene efecto.
+     */
+    void unsubscribe();
+}
@@ -0,0 +1,128 @@
+package io.github.jhoanhurtado.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+
+/**
+ * Compara la serialización de {@link EmailMessage} con la concatenación de
+ * cadenas que usaba antes, para cuerpos pequeños y grandes.
+ *
+ * <p>
+ * {@code legacyConcatenation} reproduce el {@code toJson()} anterior (sin
+ * escapes y con {@code Collectors.joining}). {@code toJson} y
+ * {@code toJsonBytes} serializan un mensaje nuevo en cada invocación, y
+ * {@code cachedToJson} vuelve a pedir el JSON de un mensaje ya serializado.
+ * </p>
+ *
+ * <p>Se ejecuta con:</p>
+ * <pre>
+ * {@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.github.jhoanhurtado.benchmarks.EmailMessageSerializationBenchmark
+ * }
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailMessageSerializationBenchmark {
+
+    @Param({"200", "200000"})
+    public int bodyLength;
+
+    private String body;
+    private EmailMessage cached;
+
+    @Setup
+    public void setUp() {
+        body = "<p>Hola mundo</p>".repeat(bodyLength / 17 + 1).substring(0, bodyLength);
+        cached = newMessage();
+        cached.toJson();
+    }
+
+    @Benchmark
+    public String legacyConcatenation() {
+        return legacyToJson(newMessage());
+    }
+
+    @Benchmark
+    public String toJson() {
+        return newMessage().toJson();
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() {
+        return newMessage().toJsonBytes();
+    }
+
+    @Benchmark
+    public String cachedToJson() {
+        return cached.toJson();
+    }
+
+    private EmailMessage newMessage() {
+        return new EmailMessage.Builder()
+                .senderEmail("sender@example.com")
+                .recipients(List.of("recipient1@example.com", "recipient2@example.com"))
+                .ccRecipients(List.of("cc@example.com"))
+                .subject("Factura de octubre")
+                .body(body)
+                .isHtml(true)
+                .build();
+    }
+
+    /**
+     * Serialización anterior de {@link EmailMessage#toJson()}.
+     */
+    private static String legacyToJson(EmailMessage email) {
+        StringBuilder json = new StringBuilder();
+        json.append("{");
+        json.append("\"sender\": \"").append(email.getDestination()).append("\", ");
+        json.append("\"recipients\": ").append(formatArray(email.getRecipients())).append(", ");
+        json.append("\"ccRecipients\": ").append(formatArray(email.getCcRecipients())).append(", ");
+        json.append("\"bccRecipients\": ").append(formatArray(email.getBccRecipients())).append(", ");
+        json.append("\"subject\": \"").append(email.getSubject()).append("\", ");
+        json.append("\"body\": \"").append(email.getBody()).append("\", ");
+        json.append("\"isHtml\": ").append(email.isHtml()).append(", ");
+        json.append("\"attachmentName\": \"").append(email.getAttachmentName()).append("\", ");
+        json.append("\"attachmentBase64\": \"").append(email.getAttachmentBase64()).append("\"");
+        json.append("}");
+        return json.toString();
+    }
+
+    private static String formatArray(List<String> list) {
+        if (list == null || list.isEmpty()) {
+            return "[]";
+        }
+        return "[" + list.stream()
+                .map(item -> "\"" + item + "\"")
+                .collect(Collectors.joining(", ")) + "]";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailMessageSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
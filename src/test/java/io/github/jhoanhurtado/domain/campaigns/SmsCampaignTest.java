@@ -0,0 +1,93 @@
+package io.github.jhoanhurtado.domain.campaigns;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.interfaces.MessagingStrategy;
+import io.github.jhoanhurtado.domain.models.SendResult;
+
+public class SmsCampaignTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> published = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private final MessagingStrategy strategy = new MessagingStrategy() {
+        @Override
+        public void sendMessage(String queue, MessageModel message, int priority, int deliveryMode) {
+            if (message.getDestination().equals("+573")) {
+                throw new IllegalStateException("Número bloqueado");
+            }
+            published.add(message.getDestination() + "|" + message.getContent());
+        }
+
+        @Override
+        public List<SendResult> sendBatch(String queue, List<MessageModel> messages, int priority,
+                int deliveryMode) {
+            batchSizes.add(messages.size());
+            return MessagingStrategy.super.sendBatch(queue, messages, priority, deliveryMode);
+        }
+
+        @Override
+        public void readMessage(String queue, MessageModel message) {
+        }
+    };
+
+    @Test
+    public void testRecipientsAreStreamedThroughTheTemplateInBatches() throws Exception {
+        Path csv = folder.newFile("campaña.csv").toPath();
+        Files.write(csv, ("﻿phone,nombre,codigo\r\n"
+                + "+571,Ana,1\n"
+                + "\n"
+                + "+572,\"Pérez, \"\"Luis\"\"\",2\r\n"
+                + ",Sin teléfono,3\n"
+                + "+573,Zoë,4").getBytes(StandardCharsets.UTF_8));
+        List<Long> progressRows = new ArrayList<>();
+
+        // Ventanas de pocos bytes para que las filas crucen sus bordes
+        SmsCampaign campaign = new SmsCampaign.Builder()
+                .recipients(csv)
+                .template("Hola {nombre}, su código es {codigo}.")
+                .batchSize(2)
+                .windowBytes(5)
+                .onProgress(progress -> progressRows.add(progress.getRows()))
+                .build();
+        CampaignProgress progress = campaign.send(strategy, "sms", 1, 2);
+
+        assertEquals(List.of("+571|Hola Ana, su código es 1.", "+572|Hola Pérez, \"Luis\", su código es 2."),
+                published);
+        assertEquals(List.of(2, 1), batchSizes);
+        assertEquals(List.of(2L, 4L), progressRows);
+        assertEquals(4, progress.getRows());
+        assertEquals(2, progress.getSent());
+        assertEquals(1, progress.getFailed());
+        assertEquals(1, progress.getSkipped());
+        assertEquals(3, progress.getFailureSamples().get(0).getIndex());
+        assertEquals(1.0, progress.getFractionRead(), 0.0);
+        assertTrue(progress.isFinished());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateVariablesMustBeColumns() throws Exception {
+        Path csv = folder.newFile("campaña.csv").toPath();
+        Files.write(csv, "phone,nombre\n+571,Ana\n".getBytes(StandardCharsets.UTF_8));
+
+        new SmsCampaign.Builder()
+                .recipients(csv)
+                .template("Hola {apellido}")
+                .build()
+                .send(strategy, "sms", 1, 2);
+    }
+}
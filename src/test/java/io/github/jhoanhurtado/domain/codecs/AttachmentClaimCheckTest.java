@@ -0,0 +1,76 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+import io.github.jhoanhurtado.infrastructure.storage.FileSystemBlobStore;
+
+public class AttachmentClaimCheckTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final String attachment = Base64.getEncoder()
+            .encodeToString("contenido del adjunto ".repeat(500).getBytes(StandardCharsets.UTF_8));
+
+    private EmailMessage emailTo(String recipient) {
+        return new EmailMessage.Builder()
+                .senderEmail("sender@example.com")
+                .recipients(List.of(recipient))
+                .subject("Factura")
+                .body("Adjuntamos su factura.")
+                .attachmentName("factura.txt")
+                .attachmentBase64(attachment)
+                .build();
+    }
+
+    @Test
+    public void testLargeAttachmentsArePublishedByReferenceAndResolvedLazily() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.getRoot().toPath());
+        AttachmentClaimCheck claimCheck = new AttachmentClaimCheck(store, 1024);
+
+        EmailMessage first = (EmailMessage) claimCheck.apply(emailTo("a@example.com"));
+        EmailMessage second = (EmailMessage) claimCheck.apply(emailTo("b@example.com"));
+
+        assertEquals(first.getAttachmentReference(), second.getAttachmentReference());
+        assertEquals(1, store.getStoredCount());
+        assertFalse(first.toJson().contains(attachment));
+        assertTrue(first.toJson().contains(first.getAttachmentReference()));
+
+        byte[] body = BinaryMessageCodec.INSTANCE.encode(first);
+        EmailMessage received = (EmailMessage) BinaryMessageCodec.resolvingWith(store).decode(body).getPayload();
+
+        assertEquals(first.getAttachmentReference(), received.getAttachmentReference());
+        assertEquals("FileName: factura.txt\nFileBase64: " + attachment, received.getAttachmentInfo());
+        assertEquals(attachment, received.getAttachmentBase64());
+    }
+
+    @Test
+    public void testSmallAttachmentsStayInTheMessage() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.getRoot().toPath());
+        EmailMessage email = emailTo("a@example.com");
+
+        assertSame(email, new AttachmentClaimCheck(store, attachment.length() + 1).apply(email));
+        assertEquals(0, store.getStoredCount());
+    }
+
+    @Test
+    public void testUnresolvedReferenceIsReported() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.getRoot().toPath());
+        EmailMessage email = (EmailMessage) new AttachmentClaimCheck(store, 0).apply(emailTo("a@example.com"));
+
+        assertNull(email.getAttachmentBase64());
+        assertEquals("FileName: factura.txt\nFileReference: " + email.getAttachmentReference(), email.getAttachmentInfo());
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.domain.models.SmsMessage;
+
+public class BinaryMessageCodecTest {
+
+    private final EmailMessage email = new EmailMessage.Builder()
+            .senderEmail("sender@example.com")
+            .recipients(Arrays.asList("a@example.com", "b@example.com"))
+            .subject("Asunto con \"comillas\"")
+            .body("<p>Línea 1</p>\n<p>Línea 2</p>")
+            .isHtml(true)
+            .build();
+
+    @Test
+    public void testEmailRoundTripIsSmallerThanJsonEnvelope() throws Exception {
+        byte[] binary = BinaryMessageCodec.INSTANCE.encode(email);
+
+        MessageModelRequest request = BinaryMessageCodec.INSTANCE.decode(binary);
+
+        EmailMessage decoded = (EmailMessage) request.getPayload();
+        assertEquals("application", request.getSender());
+        assertEquals(email.getDestination(), decoded.getDestination());
+        assertEquals(email.getRecipients(), decoded.getRecipients());
+        assertEquals(email.getSubject(), decoded.getSubject());
+        assertEquals(email.getBody(), decoded.getBody());
+        assertTrue(decoded.isHtml());
+        assertNull(decoded.getAttachmentName());
+        assertEquals(email.toJson(), request.getContent());
+        assertTrue(binary.length < JsonMessageCodec.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(email).length);
+    }
+
+    @Test
+    public void testSmsRoundTrip() {
+        MessageModelRequest request = BinaryMessageCodec.INSTANCE.decode(
+                BinaryMessageCodec.INSTANCE.encode(new SmsMessage("+573001234567", "Código: 1234")));
+
+        SmsMessage decoded = (SmsMessage) request.getPayload();
+        assertEquals("+573001234567", decoded.getDestination());
+        assertEquals("Código: 1234", decoded.getContent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedBodyIsRejected() throws Exception {
+        byte[] binary = BinaryMessageCodec.INSTANCE.encode(email);
+        BinaryMessageCodec.INSTANCE.decode(Arrays.copyOf(binary, binary.length / 2));
+    }
+
+    @Test
+    public void testRegistryResolvesCodecByContentType() {
+        CodecRegistry codecs = CodecRegistry.defaults();
+
+        assertSame(BinaryMessageCodec.INSTANCE, codecs.forContentType("Application/vnd.queue-helper.binary; v=1"));
+        assertSame(TextMessageCodec.INSTANCE, codecs.forContentType(TextMessageCodec.CONTENT_TYPE));
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.forContentType(null).getContentType());
+        assertNull(codecs.find("application/x-desconocido"));
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.forContentType("application/octet-stream").getContentType());
+        assertEquals(JsonMessageCodec.CONTENT_TYPE, codecs.forContentType("application/json; charset=utf-8").getContentType());
+        assertTrue(codecs.isUnknown("text/json"));
+        assertFalse(codecs.isUnknown("application/json; charset=utf-8"));
+        assertFalse(BinaryMessageCodec.INSTANCE.supports(new UnknownModel()));
+    }
+
+    /**
+     * Modelo que el códec binario no conoce.
+     */
+    private static final class UnknownModel implements MessageModel {
+
+        @Override
+        public String getDestination() {
+            return "destino";
+        }
+
+        @Override
+        public String getContent() {
+            return "contenido";
+        }
+
+        @Override
+        public String toJson() {
+            return "{}";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+public class EnvelopeEncoderTest {
+
+    private final EmailMessage email = new EmailMessage.Builder()
+            .senderEmail("sender@example.com")
+            .recipients(Arrays.asList("recipient@example.com"))
+            .subject("Asunto con \"comillas\"")
+            .body("Línea 1\nLínea 2")
+            .build();
+
+    @Test
+    public void testEmbeddedEnvelopeKeepsPayloadAsJson() throws Exception {
+        byte[] envelope = EnvelopeEncoder.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(email);
+
+        String json = new String(envelope, StandardCharsets.UTF_8);
+        assertEquals("{\"content\":" + email.toJson() + ",\"sender\":\"application\"}", json);
+
+        MessageModelRequest request = MessageModelRequest.fromJson(json);
+        assertEquals("application", request.getSender());
+        EmailMessage decoded = new ObjectMapper().readValue(request.getContent(), EmailMessage.class);
+        assertEquals(email.getSubject(), decoded.getSubject());
+        assertEquals(email.getBody(), decoded.getBody());
+    }
+
+    @Test
+    public void testLargeAttachmentEnvelopeFitsPresizedBuffer() throws Exception {
+        byte[] attachment = new byte[2 * 1024 * 1024];
+        Arrays.fill(attachment, (byte) 7);
+        EmailMessage large = new EmailMessage.Builder()
+                .senderEmail("sender@example.com")
+                .recipients(Arrays.asList("recipient@example.com"))
+                .subject("Adjunto grande")
+                .attachment(attachment)
+                .attachmentName("datos.bin")
+                .build();
+        assertFalse(large.retainsJson());
+
+        byte[] envelope = EnvelopeEncoder.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(large);
+
+        // El búfer no crece: la única copia es el arreglo final
+        int capacity = EnvelopeEncoder.capacityFor(large, EnvelopeEncoder.DEFAULT_SENDER);
+        assertTrue(capacity >= envelope.length);
+        assertTrue(capacity - envelope.length < 1024);
+        assertEquals("{\"content\":" + large.toJson() + ",\"sender\":\"application\"}",
+                new String(envelope, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLegacyEnvelopeIsStillReadable() throws Exception {
+        byte[] envelope = EnvelopeEncoder.of(EnvelopeEncoder.Format.LEGACY_STRING).encode(email);
+
+        MessageModelRequest request = MessageModelRequest.fromJson(new String(envelope, StandardCharsets.UTF_8));
+
+        assertEquals(email.toJson(), request.getContent());
+        assertEquals("application", request.getSender());
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.jhoanhurtado.domain.codecs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class PayloadCompressorTest {
+
+    private final byte[] text = ("{\"content\":{\"body\":\"" + "Estimado cliente, su factura está disponible. ".repeat(300)
+            + "\"},\"sender\":\"application\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testEveryAlgorithmRoundTrips() {
+        byte[] random = new byte[20_000];
+        new Random(7).nextBytes(random);
+        for (CompressionAlgorithm algorithm : CompressionAlgorithm.values()) {
+            for (byte[] data : new byte[][] {text, random, new byte[0], "abc".getBytes(StandardCharsets.UTF_8)}) {
+                byte[] compressed = algorithm.compress(data);
+                assertArrayEquals(algorithm.name(), data, algorithm.decompress(compressed));
+            }
+            assertTrue(algorithm.name(), algorithm.compress(text).length < text.length / 5);
+        }
+    }
+
+    @Test
+    public void testThresholdAndMetrics() {
+        PayloadCompressor compressor = PayloadCompressor.of(CompressionAlgorithm.GZIP, 1024);
+        byte[] small = Arrays.copyOf(text, 100);
+
+        byte[] result = compressor.compress(text);
+
+        assertSame(small, compressor.compress(small));
+        assertEquals("gzip", compressor.encodingOf(text, result));
+        assertArrayEquals(text, compressor.decompress("gzip", result));
+        assertEquals(1, compressor.getMetrics().getCompressedCount());
+        assertEquals(1, compressor.getMetrics().getDecompressedCount());
+        assertEquals((double) text.length / result.length, compressor.getMetrics().getCompressionRatio(), 0.0001);
+    }
+
+    @Test
+    public void testUnknownEncodingsAreLeftUntouched() {
+        assertSame(text, PayloadCompressor.disabled().decompress("UTF-8", text));
+        assertSame(text, PayloadCompressor.disabled().compress(text));
+    }
+
+    @Test
+    public void testBodiesAboveTheDecompressedLimitAreRejected() {
+        byte[] zeros = new byte[1024 * 1024];
+        PayloadCompressor limited = PayloadCompressor.disabled(64 * 1024);
+        for (CompressionAlgorithm algorithm : CompressionAlgorithm.values()) {
+            byte[] compressed = algorithm.compress(zeros);
+            try {
+                limited.decompress(algorithm.getEncoding(), compressed);
+                fail(algorithm.name());
+            } catch (IllegalArgumentException expected) {
+                assertTrue(algorithm.name(), expected.getMessage().contains("límite"));
+            }
+            assertArrayEquals(algorithm.name(), zeros, PayloadCompressor.disabled().decompress(algorithm.getEncoding(), compressed));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCorruptLzBodyIsRejected() {
+        byte[] compressed = CompressionAlgorithm.LZ.compress(text);
+        CompressionAlgorithm.LZ.decompress(Arrays.copyOf(compressed, compressed.length / 2));
+    }
+}
@@ -1,13 +1,33 @@
 package io.github.jhoanhurtado.domain.models;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.jhoanhurtado.domain.codecs.BinaryMessageCodec;
+import io.github.jhoanhurtado.domain.codecs.EnvelopeEncoder;
 
 public class EmailMessageTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testRecipients() {
         List<String> recipients = Arrays.asList("recipient1@example.com", "recipient2@example.com");
@@ -407,4 +427,102 @@ public class EmailMessageTest {
 
         assertEquals("No hay archivos adjuntos.", emailMessage.getAttachmentInfo());
     }
+
+    @Test
+    public void testByteBackedAttachmentsAreEncodedWhenSerialized() throws Exception {
+        byte[] data = "contenido binario \u0000\u00ff ".repeat(200).getBytes(StandardCharsets.UTF_8);
+        String expected = Base64.getEncoder().encodeToString(data);
+        Path file = folder.newFile("factura.pdf").toPath();
+        Files.write(file, data);
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+
+        for (EmailMessage.Builder builder : List.of(
+                attachmentBuilder().attachment(data),
+                attachmentBuilder().attachment(direct),
+                attachmentBuilder().attachment(file),
+                attachmentBuilder().attachment(new ByteArrayInputStream(data)))) {
+            EmailMessage email = builder.build();
+
+            assertEquals(expected, email.getAttachmentBase64());
+            assertEquals(expected.length(), email.getAttachmentContent().base64Length());
+
+            EmailMessage fromJson = new ObjectMapper().readValue(email.toJson(), EmailMessage.class);
+            assertEquals(expected, fromJson.getAttachmentBase64());
+
+            String envelope = new String(EnvelopeEncoder.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(email),
+                    StandardCharsets.UTF_8);
+            assertEquals("{\"content\":" + email.toJson() + ",\"sender\":\"application\"}", envelope);
+
+            EmailMessage decoded = (EmailMessage) BinaryMessageCodec.INSTANCE
+                    .decode(BinaryMessageCodec.INSTANCE.encode(email)).getPayload();
+            assertEquals(expected, decoded.getAttachmentBase64());
+        }
+    }
+
+    @Test
+    public void testJsonEscapesFieldsAndIsComputedOnce() throws Exception {
+        EmailMessage email = new EmailMessage.Builder()
+                .senderEmail("sender@example.com")
+                .recipients(Arrays.asList("\"Ana\" <ana@example.com>"))
+                .subject("Asunto con \"comillas\" y \\barras\\")
+                .body("Línea 1\nLínea 2\t<p>ñ</p>")
+                .build();
+
+        EmailMessage decoded = new ObjectMapper().readValue(email.toJsonBytes(), EmailMessage.class);
+
+        assertEquals(email.getRecipients(), decoded.getRecipients());
+        assertEquals(email.getSubject(), decoded.getSubject());
+        assertEquals(email.getBody(), decoded.getBody());
+        assertEquals(email.toJson(), new String(email.toJsonBytes(), StandardCharsets.UTF_8));
+        assertSame(email.toJsonBytes(), email.toJsonBytes());
+        assertSame(email.toJson(), email.toJson());
+        assertSame(email.getContent(), email.getContent());
+        assertSame(email.getFullEmailInfo(), email.getFullEmailInfo());
+    }
+
+    @Test
+    public void testFileAttachmentsAreNotCached() throws Exception {
+        Path file = folder.newFile("factura.pdf").toPath();
+        Files.write(file, new byte[] {1, 2, 3});
+        EmailMessage email = attachmentBuilder().attachment(file).build();
+
+        assertNotSame(email.toJsonBytes(), email.toJsonBytes());
+    }
+
+    @Test
+    public void testEnvelopeStreamsMessagesThatDoNotRetainJson() throws Exception {
+        Path file = folder.newFile("factura.pdf").toPath();
+        Files.write(file, new byte[] {1, 2, 3});
+        EmailMessage email = attachmentBuilder().attachment(file).build();
+
+        byte[] envelope = EnvelopeEncoder.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(email);
+
+        assertFalse(email.retainsJson());
+        assertEquals("{\"content\":" + email.toJson() + ",\"sender\":\"application\"}",
+                new String(envelope, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testConstructorCopiesRecipientLists() {
+        List<String> recipients = new ArrayList<>(List.of("recipient@example.com"));
+        List<String> cc = new ArrayList<>(List.of("cc@example.com"));
+        EmailMessage email = new EmailMessage("sender@example.com", recipients, cc, null,
+                "Asunto", "Cuerpo", false, null, null);
+
+        recipients.add("otro@example.com");
+        cc.clear();
+
+        assertEquals(List.of("recipient@example.com"), email.getRecipients());
+        assertEquals(List.of("cc@example.com"), email.getCcRecipients());
+        assertEquals(List.of(), email.getBccRecipients());
+    }
+
+    private EmailMessage.Builder attachmentBuilder() {
+        return new EmailMessage.Builder()
+                .senderEmail("sender@example.com")
+                .recipients(Arrays.asList("recipient@example.com"))
+                .subject("Factura")
+                .body("Adjuntamos su factura.")
+                .attachmentName("factura.pdf");
+    }
 }
@@ -0,0 +1,49 @@
+package io.github.jhoanhurtado.domain.models;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class MessageModelRequestTest {
+
+    @Test
+    public void testEmbeddedContentIsReadFromBytes() {
+        byte[] body = "{\"sender\":\"app\",\"content\":{\"to\":\"a@b.com\",\"tags\":[1,2]},\"extra\":{\"x\":1}}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        MessageModelRequest request = MessageModelRequest.fromBytes(body);
+
+        assertEquals("app", request.getSender());
+        assertEquals("a@b.com", request.getContentField("to"));
+        assertEquals("{\"to\":\"a@b.com\",\"tags\":[1,2]}", request.getContent());
+    }
+
+    @Test
+    public void testLegacyEscapedContentIsUnescaped() {
+        MessageModelRequest request = MessageModelRequest.fromJson("{\"content\":\"{\\\"to\\\":\\\"ñ@b.com\\\"}\",\"sender\":null}");
+
+        assertEquals("{\"to\":\"ñ@b.com\"}", request.getContent());
+        assertEquals("ñ@b.com", request.getContentField("to"));
+        assertNull(request.getSender());
+    }
+
+    @Test
+    public void testByteBufferSliceIsReadWithoutCopy() {
+        byte[] framed = "xx{\"content\":{\"texto\":\"hola\"},\"sender\":\"sms\"}yy".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.wrap(framed, 2, framed.length - 4).slice();
+
+        MessageModelRequest request = MessageModelRequest.fromBytes(body);
+
+        assertEquals("{\"texto\":\"hola\"}", request.getContent());
+        assertEquals("sms", request.getSender());
+        assertEquals(0, body.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidJsonIsRejected() {
+        MessageModelRequest.fromBytes("{\"content\":".getBytes(StandardCharsets.UTF_8));
+    }
+}
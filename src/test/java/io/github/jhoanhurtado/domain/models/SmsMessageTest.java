@@ -3,6 +3,8 @@ package io.github.jhoanhurtado.domain.models;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 public class SmsMessageTest {
     @Test
     public void testGetContent() {
@@ -15,4 +17,14 @@ public class SmsMessageTest {
         SmsMessage smsMessage = new SmsMessage("1234567890", "Hello, World!");
         assertEquals("1234567890", smsMessage.getDestination());
     }
+
+    @Test
+    public void testToJsonRoundTrip() throws Exception {
+        SmsMessage smsMessage = new SmsMessage("+573001234567", "Código \"1234\"\nválido");
+
+        SmsMessage decoded = new ObjectMapper().readValue(smsMessage.toJson(), SmsMessage.class);
+
+        assertEquals(smsMessage.getDestination(), decoded.getDestination());
+        assertEquals(smsMessage.getContent(), decoded.getContent());
+    }
 }
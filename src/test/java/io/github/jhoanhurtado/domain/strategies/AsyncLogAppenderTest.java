@@ -0,0 +1,152 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.interfaces.Logger;
+
+public class AsyncLogAppenderTest {
+
+    @Test
+    public void testRecordsReachLocalSinksInOrder() {
+        RecordingLogger file = new RecordingLogger();
+        AsyncLogAppender appender = new AsyncLogAppender(List.of(file), List.of(), 16,
+                AsyncLogAppender.OverflowPolicy.BLOCK, 1);
+
+        for (int i = 0; i < 100; i++) {
+            appender.log("mensaje " + i, LogLevel.INFO);
+        }
+        assertTrue(appender.flush(5_000));
+        appender.close();
+
+        assertEquals(100, file.messages.size());
+        assertEquals("mensaje 0", file.messages.get(0));
+        assertEquals("mensaje 99", file.messages.get(99));
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(100, appender.getWrittenCount());
+    }
+
+    @Test
+    public void testRemoteSinksReceiveGroupedRecords() throws InterruptedException {
+        BlockingLogger gate = new BlockingLogger();
+        RecordingLogger remote = new RecordingLogger();
+        AsyncLogAppender appender = new AsyncLogAppender(List.of(gate), List.of(remote), 16,
+                AsyncLogAppender.OverflowPolicy.BLOCK, 1);
+
+        appender.log("inicio", LogLevel.DEBUG);
+        assertTrue(gate.entered.await(5, TimeUnit.SECONDS));
+        appender.log("a", LogLevel.INFO);
+        appender.log("b", LogLevel.INFO);
+        appender.log("c", LogLevel.ERROR);
+        gate.release.countDown();
+        appender.close();
+
+        assertEquals(List.of("inicio", "a\nb", "c"), remote.messages);
+        assertEquals(List.of(LogLevel.DEBUG, LogLevel.INFO, LogLevel.ERROR), remote.levels);
+    }
+
+    @Test
+    public void testDropLowestLevelDiscardsInfoWhenFull() throws InterruptedException {
+        BlockingLogger gate = new BlockingLogger();
+        AsyncLogAppender appender = new AsyncLogAppender(List.of(gate), List.of(), 2,
+                AsyncLogAppender.OverflowPolicy.DROP_LOWEST_LEVEL, 1);
+
+        appender.log("inicio", LogLevel.INFO);
+        assertTrue(gate.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            appender.log("mensaje " + i, LogLevel.INFO);
+        }
+        gate.release.countDown();
+        appender.close();
+
+        assertEquals(3, appender.getDroppedCount());
+        assertEquals(List.of("inicio", "mensaje 0", "mensaje 1"), gate.messages);
+    }
+
+    @Test
+    public void testSampleKeepsOneOfEveryRateOverflowingRecords() throws InterruptedException {
+        BlockingLogger gate = new BlockingLogger();
+        AsyncLogAppender appender = new AsyncLogAppender(List.of(gate), List.of(), 2,
+                AsyncLogAppender.OverflowPolicy.SAMPLE, 2);
+
+        appender.log("inicio", LogLevel.INFO);
+        assertTrue(gate.entered.await(5, TimeUnit.SECONDS));
+        appender.log("mensaje 0", LogLevel.INFO);
+        appender.log("mensaje 1", LogLevel.INFO);
+        // Buffer lleno: el primer desborde se descarta; el segundo esperaría espacio.
+        appender.log("mensaje 2", LogLevel.INFO);
+        gate.release.countDown();
+        appender.log("mensaje 3", LogLevel.INFO);
+        appender.close();
+
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals(List.of("inicio", "mensaje 0", "mensaje 1", "mensaje 3"), gate.messages);
+    }
+
+    @Test
+    public void testRecordsLoggedWhileClosingAreNotLost() throws InterruptedException {
+        RecordingLogger file = new RecordingLogger();
+        AsyncLogAppender appender = new AsyncLogAppender(List.of(file), List.of(), 64,
+                AsyncLogAppender.OverflowPolicy.BLOCK, 1);
+        int threads = 4;
+        int perThread = 5_000;
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread writer = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < perThread; i++) {
+                    appender.log("mensaje " + i, LogLevel.INFO);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        appender.close();
+        for (Thread writer : writers) {
+            writer.join(10_000);
+        }
+
+        assertEquals(threads * perThread, file.messages.size());
+        assertEquals(0, appender.getPendingCount());
+    }
+
+    private static class RecordingLogger implements Logger {
+
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<LogLevel> levels = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void log(String message, LogLevel level) {
+            messages.add(message);
+            levels.add(level);
+        }
+    }
+
+    private static class BlockingLogger extends RecordingLogger {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void log(String message, LogLevel level) {
+            super.log(message, level);
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+
+public class ChannelPoolTest {
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws IOException {
+        connection = mock(Connection.class);
+        when(connection.createChannel()).thenAnswer(invocation -> openChannel());
+    }
+
+    @Test
+    public void testReleasedChannelIsReused() throws Exception {
+        ChannelPool pool = new ChannelPool(connection, 2, 100);
+
+        Channel first = pool.borrow();
+        pool.release(first);
+        Channel second = pool.borrow();
+
+        assertSame(first, second);
+        verify(connection, times(1)).createChannel();
+    }
+
+    @Test
+    public void testInvalidatedChannelIsReplaced() throws Exception {
+        ChannelPool pool = new ChannelPool(connection, 1, 100);
+
+        Channel broken = pool.borrow();
+        pool.invalidate(broken);
+        Channel replacement = pool.borrow();
+
+        assertNotSame(broken, replacement);
+        verify(broken).close();
+    }
+
+    @Test
+    public void testClosedIdleChannelIsEvicted() throws Exception {
+        ChannelPool pool = new ChannelPool(connection, 1, 100);
+
+        Channel channel = pool.borrow();
+        pool.release(channel);
+        when(channel.isOpen()).thenReturn(false);
+
+        assertNotSame(channel, pool.borrow());
+    }
+
+    @Test(expected = IOException.class)
+    public void testBorrowFailsWhenPoolIsExhausted() throws Exception {
+        ChannelPool pool = new ChannelPool(connection, 1, 10);
+
+        pool.borrow();
+        pool.borrow();
+    }
+
+    @Test
+    public void testCloseClosesIdleChannels() throws Exception {
+        ChannelPool pool = new ChannelPool(connection, 2, 100);
+
+        Channel channel = pool.borrow();
+        pool.release(channel);
+        pool.close();
+
+        verify(channel).close();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testChannelsAreReplacedAfterRecovery() throws Exception {
+        Connection recoverable = mock(Connection.class, withSettings().extraInterfaces(Recoverable.class));
+        when(recoverable.createChannel()).thenAnswer(invocation -> openChannel());
+        ChannelPool pool = new ChannelPool(recoverable, 2, 100);
+        ArgumentCaptor<RecoveryListener> listener = ArgumentCaptor.forClass(RecoveryListener.class);
+        verify((Recoverable) recoverable).addRecoveryListener(listener.capture());
+
+        Channel idle = pool.borrow();
+        Channel inUse = pool.borrow();
+        pool.release(idle);
+        listener.getValue().handleRecovery((Recoverable) recoverable);
+
+        verify(idle).close();
+        verify(inUse, never()).close();
+        pool.release(inUse);
+        verify(inUse).close();
+        assertEquals(0, pool.getIdleCount());
+
+        Channel fresh = pool.borrow();
+        pool.release(fresh);
+        assertSame(fresh, pool.borrow());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new ChannelPool(connection, 0, 100);
+    }
+
+    private static Channel openChannel() {
+        Channel channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        return channel;
+    }
+}
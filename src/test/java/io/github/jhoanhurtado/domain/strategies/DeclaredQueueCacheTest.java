@@ -0,0 +1,117 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+
+public class DeclaredQueueCacheTest {
+
+    private Connection connection;
+    private Channel channel;
+
+    @Before
+    public void setUp() {
+        connection = mock(Connection.class);
+        channel = mock(Channel.class);
+    }
+
+    @Test
+    public void testQueueIsDeclaredOncePerConnection() throws IOException {
+        DeclaredQueueCache cache = DeclaredQueueCache.forConnection(connection);
+
+        assertTrue(cache.declareIfNeeded(channel, "queue"));
+        assertFalse(cache.declareIfNeeded(channel, "queue"));
+
+        verify(channel, times(1)).queueDeclare("queue", true, false, false, null);
+        assertSame(cache, DeclaredQueueCache.forConnection(connection));
+    }
+
+    @Test
+    public void testNotFoundErrorInvalidatesQueue() throws IOException {
+        DeclaredQueueCache cache = DeclaredQueueCache.forConnection(connection);
+        cache.declareIfNeeded(channel, "queue");
+
+        cache.handleChannelError("queue", new IOException(channelClose(DeclaredQueueCache.NOT_FOUND)));
+
+        assertFalse(cache.isDeclared("queue"));
+    }
+
+    @Test
+    public void testOtherErrorsKeepQueue() throws IOException {
+        DeclaredQueueCache cache = DeclaredQueueCache.forConnection(connection);
+        cache.declareIfNeeded(channel, "queue");
+
+        cache.handleChannelError("queue", new IOException(channelClose(320)));
+
+        assertTrue(cache.isDeclared("queue"));
+    }
+
+    @Test
+    public void testAsynchronousChannelCloseInvalidatesNamedQueue() throws IOException {
+        DeclaredQueueCache cache = DeclaredQueueCache.forConnection(connection);
+        cache.declareIfNeeded(channel, "queue");
+        cache.declareIfNeeded(channel, "other");
+        ArgumentCaptor<ShutdownListener> listener = ArgumentCaptor.forClass(ShutdownListener.class);
+        verify(channel).addShutdownListener(listener.capture());
+
+        listener.getValue().shutdownCompleted(channelClose(DeclaredQueueCache.NOT_FOUND,
+                "NOT_FOUND - no queue 'queue' in vhost '/'"));
+
+        assertFalse(cache.isDeclared("queue"));
+        assertTrue(cache.isDeclared("other"));
+    }
+
+    @Test
+    public void testConnectionCloseClearsCache() throws IOException {
+        DeclaredQueueCache cache = DeclaredQueueCache.forConnection(connection);
+        cache.declareIfNeeded(channel, "queue");
+        ArgumentCaptor<ShutdownListener> listener = ArgumentCaptor.forClass(ShutdownListener.class);
+        verify(connection).addShutdownListener(listener.capture());
+
+        AMQP.Connection.Close close = new AMQP.Connection.Close.Builder().replyCode(320).replyText("CONNECTION_FORCED").build();
+        listener.getValue().shutdownCompleted(new ShutdownSignalException(true, false, close, connection));
+
+        assertFalse(cache.isDeclared("queue"));
+    }
+
+    @Test
+    public void testRabbitMQStrategyDeclaresQueueOnce() throws IOException {
+        when(channel.isOpen()).thenReturn(true);
+        when(connection.createChannel()).thenReturn(channel);
+        MessageModel message = mock(MessageModel.class);
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+
+        strategy.sendMessage("queue", message, 1, 2);
+        strategy.sendMessage("queue", message, 1, 2);
+
+        verify(channel, times(1)).queueDeclare("queue", true, false, false, null);
+        verify(channel, times(2)).basicPublish(any(), any(), any(), any());
+    }
+
+    private static ShutdownSignalException channelClose(int code) {
+        return channelClose(code, "error");
+    }
+
+    private static ShutdownSignalException channelClose(int code, String text) {
+        AMQP.Channel.Close close = new AMQP.Channel.Close.Builder().replyCode(code).replyText(text).build();
+        return new ShutdownSignalException(false, false, close, null);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.interfaces.Logger;
+
+public class GatedLoggerTest {
+
+    private Logger delegate;
+
+    @Before
+    public void setUp() {
+        delegate = mock(Logger.class);
+    }
+
+    @Test
+    public void testMessagesBelowThresholdAreNotBuilt() {
+        GatedLogger logger = new GatedLogger(delegate, LogLevel.WARN, 0, Collections.emptyList());
+        AtomicInteger built = new AtomicInteger();
+
+        logger.log(LogLevel.INFO, () -> {
+            built.incrementAndGet();
+            return "mensaje";
+        });
+        logger.log(LogLevel.DEBUG, "mensaje %s", "descartado");
+
+        assertFalse(logger.isEnabled(LogLevel.INFO));
+        assertEquals(0, built.get());
+        verify(delegate, never()).log(any(), any());
+    }
+
+    @Test
+    public void testMessagesAtOrAboveThresholdAreFormatted() {
+        GatedLogger logger = new GatedLogger(delegate, LogLevel.WARN, 0, Collections.emptyList());
+
+        logger.log(LogLevel.WARN, "cola %s con %s mensajes", "ventas", 3);
+        logger.log(LogLevel.CRITICAL, () -> "caída");
+
+        verify(delegate).log("cola ventas con 3 mensajes", LogLevel.WARN);
+        verify(delegate).log("caída", LogLevel.CRITICAL);
+    }
+
+    @Test
+    public void testThresholdCanBeChanged() {
+        GatedLogger logger = new GatedLogger(delegate, LogLevel.ERROR, 0, Collections.emptyList());
+
+        logger.setThreshold(LogLevel.DEBUG);
+
+        assertTrue(logger.isEnabled(LogLevel.DEBUG));
+    }
+
+    @Test
+    public void testPayloadIsTruncated() {
+        GatedLogger logger = new GatedLogger(delegate, LogLevel.INFO, 5, Collections.emptyList());
+
+        assertEquals("abcde...(3 caracteres omitidos)", logger.payload("abcdefgh"));
+        assertEquals("abcde...(3 bytes omitidos)", logger.payload("abcdefgh".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("abc", logger.payload("abc"));
+    }
+
+    @Test
+    public void testPayloadRedactsConfiguredFields() {
+        GatedLogger logger = new GatedLogger(delegate, LogLevel.INFO, 0, List.of("attachmentBase64"));
+
+        String payload = "{\"to\":\"a@b.com\",\"attachmentBase64\": \"SGVsbG8=\",\"subject\":\"hola\"}";
+
+        assertEquals("{\"to\":\"a@b.com\",\"attachmentBase64\": \"[REDACTED]\",\"subject\":\"hola\"}",
+                logger.payload(payload));
+    }
+
+    @Test
+    public void testParseLevelFallsBackToDefault() {
+        assertEquals(LogLevel.ERROR, GatedLogger.parseLevel("error", LogLevel.INFO));
+        assertEquals(LogLevel.INFO, GatedLogger.parseLevel("desconocido", LogLevel.INFO));
+        assertEquals(LogLevel.INFO, GatedLogger.parseLevel(null, LogLevel.INFO));
+    }
+}
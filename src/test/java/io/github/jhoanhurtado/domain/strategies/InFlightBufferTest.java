@@ -0,0 +1,101 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InFlightBufferTest {
+
+    private AtomicInteger pauses;
+    private AtomicInteger resumes;
+    private InFlightBuffer<String> buffer;
+
+    @Before
+    public void setUp() {
+        pauses = new AtomicInteger();
+        resumes = new AtomicInteger();
+        buffer = new InFlightBuffer<>(4, 3, 1, new InFlightBuffer.FlowListener() {
+            @Override
+            public void onPause() {
+                pauses.incrementAndGet();
+            }
+
+            @Override
+            public void onResume() {
+                resumes.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    public void testPausesAtHighWatermarkAndResumesAtLowWatermark() throws Exception {
+        buffer.put("a", true);
+        buffer.put("b", true);
+        assertEquals(0, pauses.get());
+
+        buffer.put("c", true);
+        assertEquals(1, pauses.get());
+        assertTrue(buffer.isPaused());
+
+        assertEquals("a", buffer.take());
+        buffer.release();
+        assertEquals(0, resumes.get());
+
+        assertEquals("b", buffer.take());
+        buffer.release();
+        assertEquals(1, resumes.get());
+        assertFalse(buffer.isPaused());
+        assertEquals(1, buffer.getOccupancy());
+        assertEquals(3, buffer.getPeakOccupancy());
+        assertEquals(1, buffer.getPauseCount());
+    }
+
+    @Test
+    public void testShedsWhenFullAndNotWaiting() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.put("m" + i, false));
+        }
+
+        assertFalse(buffer.put("extra", false));
+        assertEquals(1, buffer.getShedCount());
+        assertEquals(4, buffer.getOccupancy());
+    }
+
+    @Test
+    public void testBlockedPutContinuesWhenSpaceIsReleased() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            buffer.put("m" + i, true);
+        }
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.put("late", true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        buffer.take();
+        buffer.release();
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(producer.isAlive());
+        assertEquals(4, buffer.getOccupancy());
+    }
+
+    @Test
+    public void testCloseDrainsRemainingItemsThenReturnsNull() throws Exception {
+        buffer.put("a", true);
+        buffer.close();
+
+        assertFalse(buffer.put("b", true));
+        assertEquals("a", buffer.take());
+        assertNull(buffer.take());
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.jhoanhurtado.observer.MessageObserver;
+
+public class KafkaConsumerRunnerTest {
+
+    private static final String TOPIC = "emails";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private MockConsumer<String, String> consumer;
+    private MessageObserver observer;
+
+    @Before
+    public void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        observer = new MessageObserver();
+    }
+
+    @Test
+    public void testRecordsAreProcessedInOrderPerPartitionAndCommitted() throws Exception {
+        Map<Integer, List<String>> received = new HashMap<>();
+        received.put(0, new CopyOnWriteArrayList<>());
+        received.put(1, new CopyOnWriteArrayList<>());
+        observer.subscribe(message -> {
+            String[] parts = message.getContent().split("-");
+            received.get(Integer.parseInt(parts[0])).add(parts[1]);
+        });
+        KafkaConsumerRunner runner = runner(100);
+        assignPartitionsOnFirstPoll();
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < 50; i++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key", "0-" + i));
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, i, "key", "1-" + i));
+            }
+        });
+
+        runner.startListening();
+        await(() -> received.get(0).size() == 50 && received.get(1).size() == 50);
+        await(() -> committedOffset(PARTITION_0) == 50 && committedOffset(PARTITION_1) == 50);
+        runner.close();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(String.valueOf(i), received.get(0).get(i));
+            assertEquals(String.valueOf(i), received.get(1).get(i));
+        }
+        assertTrue(consumer.closed());
+    }
+
+    @Test
+    public void testPartitionIsPausedWhileProcessingFallsBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        observer.subscribe(message -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        KafkaConsumerRunner runner = runner(2);
+        assignPartitionsOnFirstPoll();
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < 4; i++) {
+                consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key", "0-" + i));
+            }
+        });
+
+        runner.startListening();
+        await(() -> consumer.paused().contains(PARTITION_0));
+        release.countDown();
+        await(() -> consumer.paused().isEmpty());
+        await(() -> committedOffset(PARTITION_0) == 4);
+        runner.close();
+    }
+
+    private KafkaConsumerRunner runner(int maxPendingPerPartition) {
+        return new KafkaConsumerRunner.Builder()
+                .consumer(consumer)
+                .topics(List.of(TOPIC))
+                .observer(observer)
+                .maxPendingPerPartition(maxPendingPerPartition)
+                .build();
+    }
+
+    private void assignPartitionsOnFirstPoll() {
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(PARTITION_0, PARTITION_1));
+            consumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+        });
+    }
+
+    private long committedOffset(TopicPartition partition) {
+        var committed = consumer.committed(Set.of(partition)).get(partition);
+        return committed == null ? -1 : committed.offset();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue("La condición no se cumplió a tiempo", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
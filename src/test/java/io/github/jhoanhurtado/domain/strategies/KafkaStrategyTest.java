@@ -1,10 +1,23 @@
 package io.github.jhoanhurtado.domain.strategies;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.Test;
@@ -14,6 +27,7 @@ import org.mockito.ArgumentCaptor;
 
 
 import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.infrastructure.config.KafkaProducerSettings;
 
 public class KafkaStrategyTest {
     private KafkaProducer<String, String> producerMock;
@@ -41,11 +55,98 @@ public class KafkaStrategyTest {
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        verify(producerMock).send(captor.capture());
+        verify(producerMock).send(captor.capture(), any(Callback.class));
 
         ProducerRecord<String, String> record = captor.getValue();
         assertEquals(topic, record.topic());
         assertEquals("destination", record.key());
         assertEquals("content", record.value());
+        assertEquals("text/plain", new String(record.headers().lastHeader(KafkaStrategy.CONTENT_TYPE_HEADER).value(),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSendAsyncCompletesFromProducerCallback() {
+        MessageModel message = mock(MessageModel.class);
+        when(message.getDestination()).thenReturn("destination");
+        when(message.getContent()).thenReturn("content");
+
+        CompletableFuture<Void> future = kafkaStrategy.sendAsync("test-topic", message, 0, 0);
+
+        ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+        verify(producerMock).send(any(), callbackCaptor.capture());
+        assertFalse(future.isDone());
+
+        callbackCaptor.getValue().onCompletion(null, new RuntimeException("broker no disponible"));
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDeliveryModeStrongerThanConfiguredAcksIsRejected() {
+        List<Properties> created = new ArrayList<>();
+        KafkaProducer<String, String> leaderProducer = mock(KafkaProducer.class);
+        KafkaStrategy strategy = new KafkaStrategy("localhost:9092", KafkaProducerSettings.lowLatency()) {
+            @Override
+            protected KafkaProducer<String, String> createProducer(Properties props) {
+                created.add(props);
+                return leaderProducer;
+            }
+        };
+        MessageModel message = mock(MessageModel.class);
+        when(message.getContent()).thenReturn("content");
+
+        strategy.sendMessage("test-topic", message, 5, 1);
+        try {
+            strategy.sendMessage("test-topic", message, 5, 2);
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // acks=1 no cumple el modo persistente
+        }
+        CompletableFuture<Void> future = strategy.sendAsync("test-topic", message, 5, 2);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(1, created.size());
+        assertEquals("1", created.get(0).get("acks"));
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(leaderProducer).send(captor.capture(), any(Callback.class));
+        assertEquals("5", new String(captor.getValue().headers().lastHeader(KafkaStrategy.PRIORITY_HEADER).value(),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchWithDeliveryModeStrongerThanConfiguredAcksIsRejected() {
+        KafkaStrategy strategy = new KafkaStrategy("localhost:9092", KafkaProducerSettings.lowLatency()) {
+            {
+                this.producer = producerMock;
+            }
+        };
+
+        try {
+            strategy.sendBatch("test-topic", List.of(mock(MessageModel.class)), 0, 2);
+        } finally {
+            verify(producerMock, never()).send(any(), any(Callback.class));
+        }
+    }
+
+    @Test
+    public void testStrongerMainProducerServesWeakerDeliveryMode() {
+        MessageModel message = mock(MessageModel.class);
+
+        kafkaStrategy.sendMessage("test-topic", message, 0, 1);
+        kafkaStrategy.flush();
+
+        verify(producerMock).send(any(), any(Callback.class));
+        verify(producerMock).flush();
+        verify(producerMock, never()).close(any(Duration.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIdempotentProducerRequiresAcksAll() {
+        KafkaProducerSettings.builder()
+                .idempotence(true)
+                .acks(KafkaProducerSettings.Acks.LEADER)
+                .build();
     }
 }
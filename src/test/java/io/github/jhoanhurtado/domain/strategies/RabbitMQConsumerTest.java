@@ -2,23 +2,47 @@ package io.github.jhoanhurtado.domain.strategies;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.CancelCallback;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
 
+import io.github.jhoanhurtado.domain.codecs.BinaryMessageCodec;
+import io.github.jhoanhurtado.domain.codecs.CompressionAlgorithm;
+import io.github.jhoanhurtado.domain.codecs.PayloadCompressor;
 import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+import io.github.jhoanhurtado.domain.models.SmsMessage;
+import io.github.jhoanhurtado.enums.LogLevel;
+import io.github.jhoanhurtado.infrastructure.config.ConsumerOptions;
+import io.github.jhoanhurtado.interfaces.Logger;
 import io.github.jhoanhurtado.observer.MessageObserver;
 
 public class RabbitMQConsumerTest {
@@ -55,4 +79,241 @@ public class RabbitMQConsumerTest {
 
         verify(observer).notify(any(MessageModelRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDecoderIsChosenByContentType() throws Exception {
+        rabbitMQConsumer.startListening();
+        ArgumentCaptor<DeliverCallback> deliverCallbackCaptor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel).basicConsume(eq("queue-email-message-sending"), eq(true), deliverCallbackCaptor.capture(), any(CancelCallback.class));
+
+        byte[] body = BinaryMessageCodec.INSTANCE.encode(new SmsMessage("+573001234567", "Hola"));
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentType(BinaryMessageCodec.CONTENT_TYPE)
+                .build();
+        deliverCallbackCaptor.getValue().handle("consumerTag",
+                new Delivery(new Envelope(1, false, "", "queue-email-message-sending"), properties, body));
+
+        ArgumentCaptor<MessageModelRequest> messageCaptor = ArgumentCaptor.forClass(MessageModelRequest.class);
+        verify(observer).notify(messageCaptor.capture());
+        assertEquals("Hola", messageCaptor.getValue().getPayload().getContent());
+        assertEquals(BinaryMessageCodec.CONTENT_TYPE, messageCaptor.getValue().getContentType());
+    }
+
+    @Test
+    public void testCompressedBodiesAreDecompressedBeforeDecoding() throws Exception {
+        rabbitMQConsumer.startListening();
+        ArgumentCaptor<DeliverCallback> deliverCallbackCaptor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel).basicConsume(eq("queue-email-message-sending"), eq(true), deliverCallbackCaptor.capture(), any(CancelCallback.class));
+
+        String content = "comprimido ".repeat(100);
+        byte[] json = ("{\"content\":\"" + content + "\",\"sender\":\"a\"}").getBytes(StandardCharsets.UTF_8);
+        byte[] body = PayloadCompressor.of(CompressionAlgorithm.DEFLATE, 0).compress(json);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentEncoding(CompressionAlgorithm.DEFLATE.getEncoding())
+                .build();
+        deliverCallbackCaptor.getValue().handle("consumerTag",
+                new Delivery(new Envelope(1, false, "", "queue-email-message-sending"), properties, body));
+
+        ArgumentCaptor<MessageModelRequest> messageCaptor = ArgumentCaptor.forClass(MessageModelRequest.class);
+        verify(observer).notify(messageCaptor.capture());
+        assertEquals(content, messageCaptor.getValue().getContent());
+        assertEquals(1, rabbitMQConsumer.getCompressionMetrics().getDecompressedCount());
+    }
+
+    @Test
+    public void testBodyOverDecompressionLimitIsRejectedWithoutRequeue() throws Exception {
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck().toBuilder()
+                .maxDecompressedBytes(64)
+                .build());
+
+        byte[] json = ("{\"content\":\"" + "x".repeat(1000) + "\",\"sender\":\"a\"}").getBytes(StandardCharsets.UTF_8);
+        byte[] body = PayloadCompressor.of(CompressionAlgorithm.DEFLATE, 0).compress(json);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .contentEncoding(CompressionAlgorithm.DEFLATE.getEncoding())
+                .build();
+        deliverCallback.handle("consumerTag",
+                new Delivery(new Envelope(4, false, "", "queue-email-message-sending"), properties, body));
+
+        verify(channel).basicNack(4L, false, false);
+        verify(observer, never()).notify(any(MessageModelRequest.class));
+    }
+
+    @Test
+    public void testManualAckCoalescesAcknowledgements() throws Exception {
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck().toBuilder()
+                .prefetch(10)
+                .ackBatchSize(2)
+                .ackFlushIntervalMillis(60_000)
+                .build());
+
+        verify(channel).basicQos(10);
+        deliverCallback.handle("consumerTag", delivery(1));
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        deliverCallback.handle("consumerTag", delivery(2));
+        verify(channel).basicAck(2L, true);
+    }
+
+    @Test
+    public void testManualAckFlushesPendingAcknowledgementsAfterInterval() throws Exception {
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck().toBuilder()
+                .ackBatchSize(50)
+                .ackFlushIntervalMillis(20)
+                .build());
+
+        deliverCallback.handle("consumerTag", delivery(1));
+
+        verify(channel, timeout(2000)).basicAck(1L, true);
+    }
+
+    @Test
+    public void testManualAckRejectsMessageWhenProcessingFails() throws Exception {
+        doThrow(new IllegalStateException("fallo")).when(observer).notify(any(MessageModelRequest.class));
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck().toBuilder()
+                .requeueOnFailure(false)
+                .build());
+
+        deliverCallback.handle("consumerTag", delivery(7));
+
+        verify(channel).basicNack(7L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    public void testMalformedBodyIsRejectedWithoutRequeue() throws Exception {
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck());
+
+        deliverCallback.handle("consumerTag", delivery(9, "no es json"));
+
+        verify(channel).basicNack(9L, false, false);
+        verify(observer, never()).notify(any(MessageModelRequest.class));
+    }
+
+    @Test
+    public void testNackReleasesAcknowledgementsWaitingBehindIt() throws Exception {
+        GatedLogger logger = new GatedLogger(mock(Logger.class), LogLevel.ERROR, 0, Collections.emptyList());
+        AckCoalescer coalescer = new AckCoalescer(channel, 50, 20, logger);
+        coalescer.track(1);
+        coalescer.track(2);
+        coalescer.track(3);
+
+        coalescer.ack(2);
+        coalescer.ack(3);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        coalescer.nack(1, true);
+
+        InOrder order = inOrder(channel);
+        order.verify(channel).basicNack(1L, false, true);
+        order.verify(channel, timeout(2000)).basicAck(3L, true);
+    }
+
+    @Test
+    public void testStopListeningFlushesAcknowledgementsAndClosesChannel() throws Exception {
+        when(channel.basicConsume(eq("queue-email-message-sending"), eq(false), any(DeliverCallback.class), any(CancelCallback.class)))
+                .thenReturn("ctag");
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck());
+        deliverCallback.handle("ctag", delivery(3));
+
+        rabbitMQConsumer.stopListening();
+
+        verify(channel).basicCancel("ctag");
+        verify(channel).basicAck(3L, true);
+        verify(channel).close();
+    }
+
+    @Test
+    public void testParallelModeKeepsPerKeyOrderAndAcksInDeliveryOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherKeyProcessed = new CountDownLatch(1);
+        List<String> processed = new CopyOnWriteArrayList<>();
+        observer = new MessageObserver();
+        observer.subscribe(message -> {
+            if (message.getContent().equals("a-1")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            processed.add(message.getContent());
+            if (message.getSender().equals("b")) {
+                otherKeyProcessed.countDown();
+            }
+        });
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck().toBuilder()
+                .ackBatchSize(1)
+                .parallelism(4)
+                .orderingKey(MessageModelRequest::getSender)
+                .build());
+
+        deliverCallback.handle("consumerTag", delivery(1, "a", "a-1"));
+        deliverCallback.handle("consumerTag", delivery(2, "b", "b-1"));
+        deliverCallback.handle("consumerTag", delivery(3, "a", "a-2"));
+
+        // El mensaje de otra clave no espera al mensaje lento
+        assertTrue(otherKeyProcessed.await(5, TimeUnit.SECONDS));
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        release.countDown();
+        verify(channel, timeout(2000)).basicAck(3L, true);
+        rabbitMQConsumer.stopListening();
+
+        assertEquals(List.of("b-1", "a-1", "a-2"), processed);
+        verify(channel, never()).basicAck(eq(1L), anyBoolean());
+    }
+
+    @Test
+    public void testFullBufferPausesConsumerUntilListenersCatchUp() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        observer = new MessageObserver();
+        observer.subscribe(message -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        when(channel.basicConsume(eq("queue-email-message-sending"), eq(false), any(DeliverCallback.class), any(CancelCallback.class)))
+                .thenReturn("ctag-1", "ctag-2");
+        DeliverCallback deliverCallback = startManual(ConsumerOptions.manualAck().toBuilder()
+                .inFlightCapacity(4)
+                .watermarks(2, 1)
+                .build());
+
+        deliverCallback.handle("ctag-1", delivery(1));
+        deliverCallback.handle("ctag-1", delivery(2));
+
+        verify(channel, timeout(2000)).basicCancel("ctag-1");
+        assertTrue(rabbitMQConsumer.getInFlightBuffer().isPaused());
+
+        release.countDown();
+        verify(channel, timeout(2000).times(2))
+                .basicConsume(eq("queue-email-message-sending"), eq(false), any(DeliverCallback.class), any(CancelCallback.class));
+        assertEquals(1, rabbitMQConsumer.getInFlightBuffer().getPauseCount());
+        rabbitMQConsumer.stopListening();
+        verify(channel).basicCancel("ctag-2");
+    }
+
+    private DeliverCallback startManual(ConsumerOptions options) throws IOException {
+        when(channel.isOpen()).thenReturn(true);
+        rabbitMQConsumer = new RabbitMQConsumer(observer, connection, "queue-email-message-sending", options);
+        rabbitMQConsumer.startListening();
+
+        ArgumentCaptor<DeliverCallback> deliverCallbackCaptor = ArgumentCaptor.forClass(DeliverCallback.class);
+        verify(channel).basicConsume(eq("queue-email-message-sending"), eq(false), deliverCallbackCaptor.capture(), any(CancelCallback.class));
+        return deliverCallbackCaptor.getValue();
+    }
+
+    private static Delivery delivery(long deliveryTag) {
+        return delivery(deliveryTag, "{\"message\":\"test\"}");
+    }
+
+    private static Delivery delivery(long deliveryTag, String sender, String content) {
+        return delivery(deliveryTag, "{\"content\":\"" + content + "\",\"sender\":\"" + sender + "\"}");
+    }
+
+    private static Delivery delivery(long deliveryTag, String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new Delivery(new Envelope(deliveryTag, false, "", "queue-email-message-sending"), null, body);
+    }
+}
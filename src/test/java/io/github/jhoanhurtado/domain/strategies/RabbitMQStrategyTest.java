@@ -0,0 +1,355 @@
+package io.github.jhoanhurtado.domain.strategies;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ShutdownSignalException;
+
+import io.github.jhoanhurtado.domain.codecs.CompressionAlgorithm;
+import io.github.jhoanhurtado.domain.codecs.EnvelopeEncoder;
+import io.github.jhoanhurtado.domain.codecs.JsonMessageCodec;
+import io.github.jhoanhurtado.domain.codecs.PayloadCompressor;
+import io.github.jhoanhurtado.domain.interfaces.MessageModel;
+import io.github.jhoanhurtado.domain.models.OutboxEntry;
+import io.github.jhoanhurtado.domain.models.SendResult;
+import io.github.jhoanhurtado.infrastructure.storage.FileOutbox;
+
+public class RabbitMQStrategyTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Connection connection;
+    private Channel channel;
+    private MessageModel message;
+
+    @Before
+    public void setUp() throws IOException {
+        connection = mock(Connection.class);
+        channel = mock(Channel.class);
+        message = mock(MessageModel.class);
+
+        when(channel.isOpen()).thenReturn(true);
+        when(connection.createChannel()).thenReturn(channel);
+        when(message.toJson()).thenReturn("{\"text\": \"hola\"}");
+    }
+
+    @Test
+    public void testSendMessageReusesChannel() throws Exception {
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+
+        strategy.sendMessage("queue", message, 1, 2);
+        strategy.sendMessage("queue", message, 1, 2);
+
+        verify(connection, times(1)).createChannel();
+        verify(channel, times(2)).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel, never()).close();
+    }
+
+    @Test
+    public void testLargeBodiesAreCompressedAndMarked() throws Exception {
+        MessageModel large = mock(MessageModel.class);
+        when(large.toJson()).thenReturn("{\"body\": \"" + "<p>Hola mundo</p>".repeat(500) + "\"}");
+        RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+                .connection(connection)
+                .compression(CompressionAlgorithm.LZ, 1024)
+                .build();
+
+        strategy.sendMessage("queue", large, 1, 2);
+        strategy.sendMessage("queue", message, 1, 2);
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        ArgumentCaptor<byte[]> bodies = ArgumentCaptor.forClass(byte[].class);
+        verify(channel, times(2)).basicPublish(eq(""), eq("queue"), properties.capture(), bodies.capture());
+        assertEquals("x-queue-helper-lz", properties.getAllValues().get(0).getContentEncoding());
+        assertEquals(null, properties.getAllValues().get(1).getContentEncoding());
+        byte[] restored = PayloadCompressor.disabled().decompress("x-queue-helper-lz", bodies.getAllValues().get(0));
+        assertArrayEquals(JsonMessageCodec.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(large), restored);
+        assertEquals(1, strategy.getCompressionMetrics().getCompressedCount());
+        assertTrue(strategy.getCompressionMetrics().getCompressionRatio() > 10);
+    }
+
+    @Test
+    public void testSendMessageEvictsBrokenChannel() throws Exception {
+        Channel broken = mock(Channel.class);
+        when(broken.isOpen()).thenReturn(true);
+        when(broken.queueDeclare(anyString(), eq(true), eq(false), eq(false), any())).thenThrow(new IOException("canal cerrado"));
+        when(connection.createChannel()).thenReturn(broken, channel);
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+
+        strategy.sendMessage("queue", message, 1, 2);
+        strategy.sendMessage("queue", message, 1, 2);
+
+        verify(broken).close();
+        verify(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+    }
+
+    @Test
+    public void testSendAsyncCompletesOnBrokerAck() throws Exception {
+        when(channel.getNextPublishSeqNo()).thenReturn(1L, 2L);
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+
+        CompletableFuture<Void> first = strategy.sendAsync("queue", message, 1, 2);
+        CompletableFuture<Void> second = strategy.sendAsync("queue", message, 1, 2);
+
+        verify(channel, times(1)).confirmSelect();
+        ConfirmListener listener = captureConfirmListener();
+        assertFalse(first.isDone());
+
+        listener.handleAck(2L, true);
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testSendAsyncFailsOnBrokerNack() throws Exception {
+        when(channel.getNextPublishSeqNo()).thenReturn(1L);
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+
+        CompletableFuture<Void> future = strategy.sendAsync("queue", message, 1, 2);
+        captureConfirmListener().handleNack(1L, false);
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testSendAsyncFailsWhenPublishFails() throws Exception {
+        when(connection.createChannel()).thenThrow(new IOException("conexión cerrada"));
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+
+        CompletableFuture<Void> future = strategy.sendAsync("queue", message, 1, 2);
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testSendBatchConfirmsOncePerBatch() throws Exception {
+        MessageModel invalid = mock(MessageModel.class);
+        when(invalid.toJson()).thenThrow(new UnsupportedOperationException("sin JSON"));
+        when(channel.getNextPublishSeqNo()).thenReturn(1L, 2L);
+        AtomicReference<ConfirmListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(channel).addConfirmListener(any(ConfirmListener.class));
+        // El broker confirma el primer mensaje y rechaza el segundo
+        doAnswer(invocation -> {
+            listener.get().handleAck(1L, false);
+            return null;
+        }).doAnswer(invocation -> {
+            listener.get().handleNack(2L, false);
+            return null;
+        }).when(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+                .connection(connection)
+                .confirmTimeoutMillis(2_000)
+                .build();
+
+        List<SendResult> results = strategy.sendBatch("queue", Arrays.asList(message, invalid, message), 1, 2);
+
+        verify(connection, times(1)).createChannel();
+        verify(channel, times(2)).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    public void testMessagesAreSpooledWhileBrokerIsDownAndReplayed() throws Exception {
+        when(connection.createChannel()).thenThrow(new IOException("broker caído")).thenReturn(channel);
+        when(connection.isOpen()).thenReturn(true);
+        when(channel.getNextPublishSeqNo()).thenReturn(1L, 2L);
+        AtomicReference<ConfirmListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(channel).addConfirmListener(any(ConfirmListener.class));
+        doAnswer(invocation -> {
+            listener.get().handleAck(2L, true);
+            return null;
+        }).when(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        try (FileOutbox outbox = new FileOutbox(folder.getRoot().toPath(), 4096, false)) {
+            RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+                    .connection(connection)
+                    .outbox(outbox)
+                    .replayIntervalMillis(60_000)
+                    .build();
+
+            strategy.sendMessage("queue", message, 1, 2);
+            // Con mensajes pendientes, los nuevos envíos van a la bandeja
+            assertTrue(strategy.sendAsync("queue", message, 1, 2).isDone());
+
+            assertEquals(2, outbox.getPendingCount());
+            verify(connection, times(1)).createChannel();
+            verify(channel, never()).basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class), any(byte[].class));
+
+            assertEquals(2, strategy.replayOutbox());
+
+            assertEquals(0, outbox.getPendingCount());
+            ArgumentCaptor<byte[]> bodies = ArgumentCaptor.forClass(byte[].class);
+            verify(channel, times(2)).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), bodies.capture());
+            assertArrayEquals(JsonMessageCodec.of(EnvelopeEncoder.Format.EMBEDDED_JSON).encode(message), bodies.getValue());
+            strategy.close();
+        }
+    }
+
+    @Test
+    public void testRejectedOutboxEntryIsMovedAsideAfterMaxAttempts() throws Exception {
+        when(connection.isOpen()).thenReturn(true);
+        AtomicLong sequence = new AtomicLong(1);
+        when(channel.getNextPublishSeqNo()).thenAnswer(invocation -> sequence.get());
+        AtomicReference<ConfirmListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(channel).addConfirmListener(any(ConfirmListener.class));
+        doAnswer(invocation -> {
+            long tag = sequence.getAndIncrement();
+            if ("veneno".equals(new String((byte[]) invocation.getArgument(3), StandardCharsets.UTF_8))) {
+                listener.get().handleNack(tag, false);
+            } else {
+                listener.get().handleAck(tag, false);
+            }
+            return null;
+        }).when(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        try (FileOutbox outbox = new FileOutbox(folder.newFolder("outbox").toPath(), 4096, false);
+                FileOutbox deadLetters = new FileOutbox(folder.newFolder("dead").toPath(), 4096, false)) {
+            for (String body : new String[] {"uno", "veneno", "tres"}) {
+                outbox.append(OutboxEntry.of("queue", "application/json", null, 1, 2, body.getBytes(StandardCharsets.UTF_8)));
+            }
+            RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+                    .connection(connection)
+                    .outbox(outbox)
+                    .deadLetterOutbox(deadLetters)
+                    .maxReplayAttempts(2)
+                    .replayIntervalMillis(60_000)
+                    .build();
+
+            assertEquals(1, strategy.replayOutbox());
+            assertEquals(2, outbox.getPendingCount());
+
+            // Segundo rechazo: se aparta y el reenvío continúa con el siguiente
+            assertEquals(1, strategy.replayOutbox());
+            assertEquals(0, outbox.getPendingCount());
+            assertEquals("veneno", new String(deadLetters.peek(1).get(0).getBody(), StandardCharsets.UTF_8));
+            strategy.close();
+        }
+    }
+
+    @Test
+    public void testTopologyErrorsAreNotSpooled() throws Exception {
+        AMQP.Channel.Close close = new AMQP.Channel.Close.Builder()
+                .replyCode(DeclaredQueueCache.NOT_FOUND).replyText("NOT_FOUND - no queue 'queue'").build();
+        doThrow(new ShutdownSignalException(false, false, close, channel))
+                .when(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        try (FileOutbox outbox = new FileOutbox(folder.getRoot().toPath(), 4096, false)) {
+            RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+                    .connection(connection)
+                    .outbox(outbox)
+                    .replayIntervalMillis(60_000)
+                    .build();
+
+            strategy.sendMessage("queue", message, 1, 2);
+            CompletableFuture<Void> future = strategy.sendAsync("queue", message, 1, 2);
+
+            assertTrue(future.isCompletedExceptionally());
+            assertEquals(0, outbox.getPendingCount());
+            strategy.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentPublishingOpensAtMostPoolSizeChannels() throws Exception {
+        int messages = 1_000;
+        RabbitMQStrategy strategy = new RabbitMQStrategy.Builder()
+                .connection(connection)
+                .channelPoolSize(4)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> sends = new ArrayList<>(messages);
+            for (int i = 0; i < messages; i++) {
+                sends.add(executor.submit(() -> strategy.sendMessage("queue", message, 1, 2)));
+            }
+            for (Future<?> send : sends) {
+                send.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(connection, atMost(4)).createChannel();
+        verify(channel, times(messages)).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel, never()).close();
+    }
+
+    @Test
+    public void testChannelIsKeptAfterNonChannelError() throws Exception {
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+        doThrow(new IllegalArgumentException("propiedades inválidas")).doNothing()
+                .when(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+
+        strategy.sendMessage("queue", message, 1, 2);
+        strategy.sendMessage("queue", message, 1, 2);
+
+        verify(connection, times(1)).createChannel();
+        verify(channel, never()).close();
+    }
+
+    @Test
+    public void testChannelIsReplacedAfterIoError() throws Exception {
+        RabbitMQStrategy strategy = new RabbitMQStrategy(connection);
+        doThrow(new IOException("canal cerrado")).doNothing()
+                .when(channel).basicPublish(eq(""), eq("queue"), any(AMQP.BasicProperties.class), any(byte[].class));
+
+        strategy.sendMessage("queue", message, 1, 2);
+        strategy.sendMessage("queue", message, 1, 2);
+
+        verify(connection, times(2)).createChannel();
+        verify(channel).close();
+    }
+
+    private ConfirmListener captureConfirmListener() {
+        ArgumentCaptor<ConfirmListener> captor = ArgumentCaptor.forClass(ConfirmListener.class);
+        verify(channel).addConfirmListener(captor.capture());
+        return captor.getValue();
+    }
+}
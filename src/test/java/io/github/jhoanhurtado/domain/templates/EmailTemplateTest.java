@@ -0,0 +1,95 @@
+package io.github.jhoanhurtado.domain.templates;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.jhoanhurtado.domain.codecs.BinaryMessageCodec;
+import io.github.jhoanhurtado.domain.models.EmailMessage;
+
+public class EmailTemplateTest {
+
+    private final EmailTemplate welcome = EmailTemplate.compile("bienvenida",
+            "Bienvenido, {nombre}", "<p>Hola {nombre}, su usuario es {usuario}. {{literal}</p>", true);
+
+    private final Map<String, String> variables = Map.of("nombre", "Ana", "usuario", "ana\"01");
+
+    @Test
+    public void testRendersSubjectAndBodyIntoTheBuilder() {
+        EmailMessage email = builder().template(welcome, variables).build();
+
+        assertEquals(List.of("nombre", "usuario"), welcome.getVariables());
+        assertEquals("Bienvenido, Ana", email.getSubject());
+        assertEquals("<p>Hola Ana, su usuario es ana\"01. {literal}</p>", email.getBody());
+        assertTrue(email.isHtml());
+        assertNull(email.getTemplateId());
+    }
+
+    @Test
+    public void testTemplateReferenceIsRenderedByTheConsumer() throws Exception {
+        EmailMessage email = builder().templateReference(welcome, variables).build();
+        TemplateRegistry registry = new TemplateRegistry().register(welcome);
+
+        assertEquals("bienvenida", email.getTemplateId());
+        assertNull(email.getBody());
+        assertFalse(email.toJson().contains("Hola"));
+
+        EmailMessage fromJson = new ObjectMapper().readValue(email.toJson(), EmailMessage.class)
+                .withTemplates(registry);
+        assertEquals("Bienvenido, Ana", fromJson.getSubject());
+        assertEquals("<p>Hola Ana, su usuario es ana\"01. {literal}</p>", fromJson.getBody());
+        assertTrue(fromJson.isHtml());
+
+        BinaryMessageCodec codec = BinaryMessageCodec.INSTANCE.withTemplates(registry);
+        EmailMessage decoded = (EmailMessage) codec.decode(codec.encode(email)).getPayload();
+        assertEquals(variables, decoded.getTemplateVariables());
+        assertEquals(fromJson.getSubject(), decoded.getSubject());
+        assertEquals(fromJson.getBody(), decoded.getBody());
+    }
+
+    @Test
+    public void testTextContentCarriesTheTemplateReference() {
+        EmailMessage email = builder().templateReference(welcome, Map.of("nombre", "Ana")).build();
+
+        assertTrue(email.getContent().contains("Template: bienvenida"));
+        assertTrue(email.getContent().contains("Template Variables: {nombre=Ana}"));
+        assertFalse(builder().template(welcome, variables).build().getContent().contains("Template"));
+    }
+
+    @Test
+    public void testMissingTemplateVariablesAreEmpty() throws Exception {
+        EmailMessage email = new EmailMessage("sender@example.com", List.of("ana@example.com"), null, null,
+                null, null, true, null, null, null, "bienvenida", null);
+
+        assertEquals(Map.of(), email.getTemplateVariables());
+        EmailMessage fromJson = new ObjectMapper().readValue(email.toJson(), EmailMessage.class);
+        assertEquals("bienvenida", fromJson.getTemplateId());
+        assertEquals(Map.of(), fromJson.getTemplateVariables());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownTemplateIsRejectedWhenRendered() {
+        EmailMessage email = builder().templateReference(welcome, variables).build();
+
+        email.withTemplates(new TemplateRegistry()).getBody();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTemplateWithoutIdIsRejected() {
+        EmailTemplate.compile(" ", "Asunto", "Cuerpo", false);
+    }
+
+    private EmailMessage.Builder builder() {
+        return new EmailMessage.Builder()
+                .senderEmail("sender@example.com")
+                .recipients(Arrays.asList("ana@example.com"));
+    }
+}
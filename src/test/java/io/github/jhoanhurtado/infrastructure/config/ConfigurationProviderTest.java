@@ -0,0 +1,95 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConfigurationProviderTest {
+
+    private Path directory;
+    private Path file;
+    private ConfigurationProvider provider;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("queue-helper-config");
+        file = directory.resolve(ConfigurationProvider.FILE_NAME);
+        Files.writeString(file, "filelog.enable = true\nlog.payload.maxLength = 128\nlog.payload.redactFields = a, b\n");
+        provider = new ConfigurationProvider(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        provider.stopWatching();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testSnapshotExposesTypedValues() {
+        ConfigurationSnapshot config = provider.current();
+
+        assertTrue(config.getBoolean("filelog.enable", false));
+        assertEquals(128, config.getInt("log.payload.maxLength", 0));
+        assertEquals(List.of("a", "b"), config.getList("log.payload.redactFields"));
+        assertEquals(7, config.getInt("no.existe", 7));
+        assertSame(config, provider.current());
+    }
+
+    @Test
+    public void testReloadSwapsSnapshotAndNotifiesListeners() throws IOException {
+        ConfigurationSnapshot before = provider.current();
+        AtomicReference<ConfigurationSnapshot> notified = new AtomicReference<>();
+        provider.addListener(notified::set);
+
+        Files.writeString(file, "filelog.enable = false\n");
+        ConfigurationSnapshot after = provider.reload();
+
+        assertFalse(after.getBoolean("filelog.enable", true));
+        assertSame(after, notified.get());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertTrue(after.differs(before, "filelog."));
+        assertTrue(before.getBoolean("filelog.enable", false));
+    }
+
+    @Test
+    public void testReloadWithoutChangesKeepsSnapshot() {
+        ConfigurationSnapshot before = provider.current();
+
+        assertSame(before, provider.reload());
+    }
+
+    @Test
+    public void testReloadKeepsSnapshotWhileFileIsMissing() throws IOException {
+        ConfigurationSnapshot before = provider.current();
+
+        Files.delete(file);
+
+        assertSame(before, provider.reload());
+        assertTrue(provider.current().getBoolean("filelog.enable", false));
+    }
+
+    @Test
+    public void testWatcherReloadsExternalEdits() throws Exception {
+        CountDownLatch reloaded = new CountDownLatch(1);
+        provider.addListener(config -> reloaded.countDown());
+        provider.startWatching();
+
+        Files.writeString(file, "filelog.enable = false\n");
+
+        assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+        assertFalse(provider.current().getBoolean("filelog.enable", true));
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.jhoanhurtado.infrastructure.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ExponentialBackoffTest {
+
+    @Test
+    public void testDelayDoublesUpToMaximum() {
+        ExponentialBackoff backoff = new ExponentialBackoff(100, 1_000, 0);
+
+        assertEquals(100, backoff.getDelay(0));
+        assertEquals(100, backoff.getDelay(1));
+        assertEquals(200, backoff.getDelay(2));
+        assertEquals(800, backoff.getDelay(4));
+        assertEquals(1_000, backoff.getDelay(5));
+        assertEquals(1_000, backoff.getDelay(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testJitterStaysWithinRange() {
+        ExponentialBackoff backoff = new ExponentialBackoff(100, 1_000, 0.5);
+
+        for (int i = 0; i < 1_000; i++) {
+            long delay = backoff.getDelay(3);
+            assertTrue("Retraso fuera de rango: " + delay, delay >= 200 && delay <= 400);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidJitter() {
+        new ExponentialBackoff(100, 1_000, 1.5);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.jhoanhurtado.infrastructure.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.jhoanhurtado.domain.models.OutboxEntry;
+
+public class FileOutboxTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntriesSurviveReopenUntilAcknowledged() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (FileOutbox outbox = new FileOutbox(directory, 256, false)) {
+            for (int i = 1; i <= 10; i++) {
+                assertEquals(i, outbox.append(entry("mensaje-" + i)));
+            }
+            assertTrue(outbox.getSegmentCount() > 1);
+
+            outbox.acknowledge(4);
+            assertEquals(6, outbox.getPendingCount());
+        }
+
+        try (FileOutbox outbox = new FileOutbox(directory, 256, false)) {
+            List<OutboxEntry> entries = outbox.peek(100);
+
+            assertEquals(6, outbox.getPendingCount());
+            assertEquals(5, entries.get(0).getSequence());
+            assertArrayEquals("mensaje-5".getBytes(StandardCharsets.UTF_8), entries.get(0).getBody());
+            assertEquals("queue", entries.get(0).getQueue());
+            assertEquals("application/json", entries.get(0).getContentType());
+            assertNull(entries.get(0).getContentEncoding());
+            assertEquals(2, entries.get(0).getDeliveryMode());
+            assertEquals(11, outbox.append(entry("mensaje-11")));
+        }
+    }
+
+    @Test
+    public void testAcknowledgedSegmentsAreDeleted() throws Exception {
+        FileOutbox outbox = new FileOutbox(folder.getRoot().toPath(), 256, false);
+        for (int i = 0; i < 10; i++) {
+            outbox.append(entry("mensaje-" + i));
+        }
+
+        outbox.acknowledge(10);
+
+        assertEquals(0, outbox.getPendingCount());
+        assertEquals(0, outbox.getSegmentCount());
+        try (var files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(1, files.count());
+        }
+        outbox.close();
+    }
+
+    @Test
+    public void testTornEntryIsDiscardedOnRecovery() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (FileOutbox outbox = new FileOutbox(directory)) {
+            outbox.append(entry("completo"));
+            outbox.append(entry("escrito a medias"));
+        }
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        // Se altera el último byte de la segunda entrada
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int second = 16 + 2 + 5 + 2 + 16 + 2 + 2 + 4 + "completo".length();
+            int last = second + 16 + 2 + 5 + 2 + 16 + 2 + 2 + 4 + "escrito a medias".length() - 1;
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), last);
+        }
+
+        try (FileOutbox outbox = new FileOutbox(directory)) {
+            List<OutboxEntry> entries = outbox.peek(10);
+
+            assertEquals(1, entries.size());
+            assertArrayEquals("completo".getBytes(StandardCharsets.UTF_8), entries.get(0).getBody());
+            assertEquals(2, outbox.append(entry("reintento")));
+            assertEquals(2, outbox.peek(10).size());
+        }
+    }
+
+    private static OutboxEntry entry(String body) {
+        return OutboxEntry.of("queue", "application/json", null, 1, 2, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
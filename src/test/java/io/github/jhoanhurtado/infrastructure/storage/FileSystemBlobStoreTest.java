@@ -0,0 +1,60 @@
+package io.github.jhoanhurtado.infrastructure.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileSystemBlobStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.getRoot().toPath().resolve("blobs"));
+        byte[] data = "factura-2024.pdf".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        String first = store.put(data);
+        String second = store.put(data.clone());
+
+        assertEquals(first, second);
+        assertTrue(first.startsWith("sha256:"));
+        assertEquals(1, store.getStoredCount());
+        assertEquals(1, store.getDeduplicatedCount());
+        try (var files = Files.walk(store.getRoot())) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    public void testGetMapsTheStoredContent() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.getRoot().toPath());
+        byte[] data = {1, 2, 3, 4, 5};
+        String reference = store.put(data);
+
+        ByteBuffer content = store.get(reference);
+
+        byte[] read = new byte[content.remaining()];
+        content.get(read);
+        assertArrayEquals(data, read);
+        assertTrue(content.isReadOnly());
+        assertTrue(store.contains(reference));
+        assertEquals(0, store.get(store.put(new byte[0])).remaining());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReferencesOutsideTheStoreAreRejected() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.getRoot().toPath());
+        assertFalse(store.contains("sha256:" + "0".repeat(64)));
+
+        store.get("sha256:../../" + "0".repeat(58));
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.jhoanhurtado.observer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+public class MessageObserverTest {
+
+    private static final MessageModelRequest MESSAGE = new MessageModelRequest("contenido", "remitente");
+
+    @Test
+    public void testSyncNotifiesListenersInOrderUntilUnsubscribed() {
+        MessageObserver observer = new MessageObserver();
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Subscription first = observer.subscribe(message -> calls.add("primero"));
+        observer.subscribe(message -> calls.add("segundo"));
+
+        assertTrue(observer.notify(MESSAGE).isDone());
+        first.unsubscribe();
+        observer.notify(MESSAGE);
+
+        assertEquals(List.of("primero", "segundo", "segundo"), calls);
+        assertEquals(1, observer.getListenerCount());
+    }
+
+    @Test
+    public void testSubscribingDuringNotificationAppliesToNextMessage() {
+        MessageObserver observer = new MessageObserver();
+        List<String> calls = new CopyOnWriteArrayList<>();
+        observer.subscribe(message -> observer.subscribe(next -> calls.add("nuevo")));
+
+        observer.notify(MESSAGE);
+        assertTrue(calls.isEmpty());
+
+        observer.notify(MESSAGE);
+        assertEquals(List.of("nuevo"), calls);
+    }
+
+    @Test
+    public void testAsyncSlowListenerDoesNotDelayOthers() throws Exception {
+        MessageObserver observer = new MessageObserver(MessageObserver.DispatchMode.ASYNC);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(1);
+        observer.subscribe(message -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        observer.subscribe(message -> fastDone.countDown());
+
+        CompletableFuture<Void> completion = observer.notify(MESSAGE);
+
+        assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+        assertFalse(completion.isDone());
+        release.countDown();
+        completion.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testAsyncFailureIsReportedThroughFuture() {
+        MessageObserver observer = new MessageObserver(MessageObserver.DispatchMode.ASYNC);
+        observer.subscribe(message -> {
+            throw new IllegalStateException("fallo");
+        });
+        observer.subscribe(message -> {
+        });
+
+        try {
+            observer.notify(MESSAGE).join();
+            fail("Se esperaba el error del oyente");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.jhoanhurtado.observer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import io.github.jhoanhurtado.domain.models.MessageModelRequest;
+
+public class MessageSelectorTest {
+
+    @Test
+    public void testEqualitySelectorsMatchMessageAttributes() {
+        MessageModelRequest message = new MessageModelRequest("{\"priority\":\"high\",\"retries\":3}", "ventas",
+                Map.of(MessageModelRequest.CONTENT_TYPE_HEADER, "application/json"));
+
+        assertTrue(MessageSelector.sender("ventas").matches(message));
+        assertFalse(MessageSelector.sender("soporte").matches(message));
+        assertTrue(MessageSelector.contentType("application/json").matches(message));
+        assertTrue(MessageSelector.jsonField("priority", "high").matches(message));
+        assertTrue(MessageSelector.jsonField("retries", "3").matches(message));
+        assertFalse(MessageSelector.jsonField("priority", "high").matches(new MessageModelRequest("texto plano", "ventas")));
+    }
+
+    @Test
+    public void testObserverDeliversOnlyToMatchingSubscriptionsInSubscriptionOrder() {
+        MessageObserver observer = new MessageObserver();
+        List<String> calls = new CopyOnWriteArrayList<>();
+        observer.subscribe(MessageSelector.sender("ventas"), message -> calls.add("ventas"));
+        observer.subscribe(message -> calls.add("todos"));
+        observer.subscribe(MessageSelector.sender("soporte"), message -> calls.add("soporte"));
+        observer.subscribe(MessageSelector.and(MessageSelector.sender("ventas"), MessageSelector.jsonField("priority", "high")),
+                message -> calls.add("ventas-alta"));
+        observer.subscribe(MessageSelector.matching(message -> message.getContent().contains("urgente")),
+                message -> calls.add("urgente"));
+
+        observer.notify(new MessageModelRequest("{\"priority\":\"high\",\"note\":\"urgente\"}", "ventas"));
+        assertEquals(List.of("ventas", "todos", "ventas-alta", "urgente"), calls);
+
+        calls.clear();
+        observer.notify(new MessageModelRequest("{\"priority\":\"low\"}", "ventas"));
+        assertEquals(List.of("ventas", "todos"), calls);
+    }
+
+    @Test
+    public void testUnsubscribeRemovesIndexedSubscription() {
+        MessageObserver observer = new MessageObserver();
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Subscription subscription = observer.subscribe(MessageSelector.sender("ventas"), message -> calls.add("ventas"));
+
+        subscription.unsubscribe();
+        observer.notify(new MessageModelRequest("{}", "ventas"));
+
+        assertTrue(calls.isEmpty());
+        assertEquals(0, observer.getListenerCount());
+    }
+}